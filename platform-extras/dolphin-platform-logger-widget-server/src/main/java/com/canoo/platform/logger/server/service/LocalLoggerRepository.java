@@ -28,9 +28,7 @@ public class LocalLoggerRepository implements LoggerRepository {
     @Override
     public Stream<LogMessage> search(final LoggerSearchRequest searchRequest) {
         Assert.requireNonNull(searchRequest, "searchRequest");
-        return DolphinLoggerFactory.getLogCache().stream().
-                filter(l -> l.getTimestamp().isAfter(searchRequest.getStartDate())).
-                filter(l -> l.getTimestamp().isBefore(searchRequest.getEndDateTime())).
+        return DolphinLoggerFactory.findInLogCache(searchRequest.getStartDate(), searchRequest.getEndDateTime()).stream().
                 filter(l -> searchRequest.getLevel().contains(l.getLevel())).
                 sorted(Comparator.comparing(LogMessage::getTimestamp).reversed()).
                 limit(searchRequest.getMaxResults());
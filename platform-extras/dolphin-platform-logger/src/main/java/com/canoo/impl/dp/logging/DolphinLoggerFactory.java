@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -35,6 +36,10 @@ import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -42,11 +47,15 @@ public class DolphinLoggerFactory implements ILoggerFactory {
 
     private final CopyOnWriteArrayList<String> markers = new CopyOnWriteArrayList<>();
 
-    private static final List<LogMessage> messageCache = new CopyOnWriteArrayList<>();
+    private static final int maxCacheSize = 10_000;
+
+    private static final LogMessageRingBuffer messageCache = new LogMessageRingBuffer(maxCacheSize);
 
     private static final List<Consumer<List<LogMessage>>> listeners = new CopyOnWriteArrayList<>();
 
-    private static final int maxCacheSize = 10_000;
+    private static final AtomicBoolean notificationScheduled = new AtomicBoolean(false);
+
+    private static final Executor notificationExecutor = createNotificationExecutor();
 
     private final AtomicBoolean configured = new AtomicBoolean(false);
 
@@ -126,19 +135,8 @@ public class DolphinLoggerFactory implements ILoggerFactory {
     }
 
     public void addToCache(final LogMessage logMessage) {
-        //TODO: Must be done in background thread...
-        while(messageCache.size() > maxCacheSize) {
-            messageCache.remove(0);
-        }
         messageCache.add(logMessage);
-
-        listeners.forEach(l -> {
-            try {
-                l.accept(messageCache);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
+        scheduleNotification();
     }
 
     public static void applyConfiguration(final DolphinLoggerConfiguration configuration) {
@@ -152,23 +150,51 @@ public class DolphinLoggerFactory implements ILoggerFactory {
     }
 
     public static List<LogMessage> getLogCache() {
-        return messageCache;
+        return messageCache.snapshot();
+    }
+
+    public static List<LogMessage> findInLogCache(final ZonedDateTime startDate, final ZonedDateTime endDate) {
+        return messageCache.findInRange(startDate, endDate);
     }
 
     public static void clearCache() {
         messageCache.clear();
+        scheduleNotification();
+    }
+
+    public static Subscription addListener(final Consumer<List<LogMessage>> listener) {
+        Assert.requireNonNull(listener, "listener");
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    private static void scheduleNotification() {
+        if (!listeners.isEmpty() && notificationScheduled.compareAndSet(false, true)) {
+            notificationExecutor.execute(DolphinLoggerFactory::notifyListeners);
+        }
+    }
+
+    private static void notifyListeners() {
+        // all messages that are added before the flag is reset are part of this batch,
+        // all later messages will schedule a new batch
+        notificationScheduled.set(false);
+        final List<LogMessage> snapshot = messageCache.snapshot();
         listeners.forEach(l -> {
             try {
-                l.accept(messageCache);
+                l.accept(snapshot);
             } catch (Exception e) {
                 e.printStackTrace();
             }
         });
     }
 
-    public static Subscription addListener(final Consumer<List<LogMessage>> listener) {
-        Assert.requireNonNull(listener, "listener");
-        listeners.add(listener);
-        return () -> listeners.remove(listener);
+    private static Executor createNotificationExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            final Thread thread = new Thread(task, "Dolphin Platform Log Cache Notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 }
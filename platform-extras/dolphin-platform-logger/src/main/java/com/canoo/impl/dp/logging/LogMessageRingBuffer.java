@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.impl.dp.logging;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.platform.logging.spi.LogMessage;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer for {@link LogMessage} instances. Writers claim a sequence number and publish the
+ * message into the slot of that sequence, overwriting the oldest entry once the buffer is full. Readers never block
+ * writers: a snapshot contains all entries that were published when the slot was read, in write order.
+ */
+public class LogMessageRingBuffer implements Iterable<LogMessage> {
+
+    private final int capacity;
+
+    private final AtomicReferenceArray<Entry> slots;
+
+    private final AtomicLong writeSequence = new AtomicLong(0);
+
+    private final AtomicLong clearedSequence = new AtomicLong(0);
+
+    public LogMessageRingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(final LogMessage logMessage) {
+        Assert.requireNonNull(logMessage, "logMessage");
+        final long sequence = writeSequence.getAndIncrement();
+        slots.set(index(sequence), new Entry(sequence, logMessage));
+    }
+
+    /**
+     * Removes all messages that were added before this call. Messages that are added concurrently might or might not
+     * be part of the buffer afterwards.
+     */
+    public void clear() {
+        final long current = writeSequence.get();
+        long cleared = clearedSequence.get();
+        while (cleared < current && !clearedSequence.compareAndSet(cleared, current)) {
+            cleared = clearedSequence.get();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns an immutable snapshot of the buffer, oldest message first.
+     * @return the snapshot
+     */
+    public List<LogMessage> snapshot() {
+        final long end = writeSequence.get();
+        final long start = firstSequence(end);
+        final List<LogMessage> result = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            final LogMessage message = read(sequence);
+            if (message != null) {
+                result.add(message);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns all messages with a timestamp that is after the given start and before the given end, newest message
+     * first. Only the matching messages are copied.
+     * @param startDate the exclusive start of the time range
+     * @param endDate the exclusive end of the time range
+     * @return the matching messages
+     */
+    public List<LogMessage> findInRange(final ZonedDateTime startDate, final ZonedDateTime endDate) {
+        Assert.requireNonNull(startDate, "startDate");
+        Assert.requireNonNull(endDate, "endDate");
+        final long end = writeSequence.get();
+        final long start = firstSequence(end);
+        final List<LogMessage> result = new ArrayList<>();
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            final LogMessage message = read(sequence);
+            if (message != null) {
+                final ZonedDateTime timestamp = message.getTimestamp();
+                if (timestamp != null && timestamp.isAfter(startDate) && timestamp.isBefore(endDate)) {
+                    result.add(message);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the buffer. The iterator never throws a
+     * {@link java.util.ConcurrentModificationException} and does not support removal.
+     * @return the iterator
+     */
+    @Override
+    public Iterator<LogMessage> iterator() {
+        return snapshot().iterator();
+    }
+
+    private long firstSequence(final long end) {
+        return Math.max(Math.max(0, end - capacity), clearedSequence.get());
+    }
+
+    private LogMessage read(final long sequence) {
+        final Entry entry = slots.get(index(sequence));
+        if (entry == null || entry.sequence != sequence) {
+            // slot is not published yet or was already overwritten by a newer message
+            return null;
+        }
+        return entry.message;
+    }
+
+    private int index(final long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private static final class Entry {
+
+        private final long sequence;
+
+        private final LogMessage message;
+
+        private Entry(final long sequence, final LogMessage message) {
+            this.sequence = sequence;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.impl.dp.logging.bridges;
+
+import com.canoo.impl.dp.logging.DolphinLoggerUtils;
+import com.canoo.platform.core.http.HttpURLConnectionFactory;
+import com.canoo.platform.logging.DolphinLoggerConfiguration;
+import com.canoo.platform.logging.RemoteQueueOverflowPolicy;
+import com.canoo.platform.logging.spi.DolphinLoggerBridge;
+import com.canoo.platform.logging.spi.LogMessage;
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.CHARSET;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.CONTENT_ENCODING_HEADER;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.CONTENT_TYPE_HEADER;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.GZIP_ENCODING;
+import static com.canoo.dp.impl.platform.core.http.HttpStatus.HTTP_OK;
+import static com.canoo.dp.impl.platform.core.http.HttpStatus.SC_INTERNAL_SERVER_ERROR;
+import static com.canoo.dp.impl.platform.core.http.HttpStatus.SC_MULTIPLE_CHOICES;
+import static com.canoo.platform.core.http.RequestMethod.POST;
+
+/**
+ * Remote logger bridge that sends log messages in batches. Each request contains up to
+ * {@link DolphinLoggerConfiguration#getMaxMessagesPerRequest()} GELF messages as newline-delimited JSON. A batch is
+ * sent once it is full or {@link DolphinLoggerConfiguration#getMaxBatchDelay()} milliseconds after its first message
+ * was queued. Messages are held in a bounded queue; when it is full the configured
+ * {@link RemoteQueueOverflowPolicy} decides whether messages are dropped or the logging thread blocks.
+ * A batch is sent again after {@link DolphinLoggerConfiguration#getRemotingErrorWaitTime()} milliseconds if the
+ * request failed with an I/O error or a server error (5xx). Any other status (like 4xx) means that the server will
+ * never accept the batch and therefore it is dropped.
+ */
+public class BatchingRemoteLogger implements DolphinLoggerBridge {
+
+    private final static Logger LOG = LoggerFactory.getLogger(BatchingRemoteLogger.class);
+
+    public final static String NDJSON_MIME_TYPE = "application/x-ndjson;charset=utf-8";
+
+    private final static byte[] NEW_LINE = {'\n'};
+
+    private final URI remoteUrl;
+
+    private final Gson gson = new Gson();
+
+    private final HttpURLConnectionFactory connectionFactory;
+
+    private final BlockingQueue<LogMessage> messageQueue;
+
+    private final RemoteQueueOverflowPolicy overflowPolicy;
+
+    private final int maxMessagesPerRequest;
+
+    private final long maxBatchDelay;
+
+    private final boolean compression;
+
+    private final long remotingErrorWaitTime;
+
+    private final AtomicLong sentCount = new AtomicLong(0);
+
+    private final AtomicLong droppedCount = new AtomicLong(0);
+
+    private final AtomicLong retriedCount = new AtomicLong(0);
+
+    private Level level;
+
+    public BatchingRemoteLogger(final DolphinLoggerConfiguration configuration) {
+        Objects.requireNonNull(configuration);
+        this.remoteUrl = Objects.requireNonNull(configuration.getRemoteUrl());
+        this.level = Objects.requireNonNull(configuration.getGlobalLevel());
+        this.connectionFactory = Objects.requireNonNull(configuration.getConnectionFactory());
+        this.overflowPolicy = Objects.requireNonNull(configuration.getRemoteQueueOverflowPolicy());
+        this.messageQueue = new ArrayBlockingQueue<>(Math.max(1, configuration.getMaxRemotingQueueSize()));
+        this.maxMessagesPerRequest = Math.max(1, configuration.getMaxMessagesPerRequest());
+        this.maxBatchDelay = Math.max(0, configuration.getMaxBatchDelay());
+        this.compression = configuration.isRemoteCompression();
+        this.remotingErrorWaitTime = configuration.getRemotingErrorWaitTime();
+
+        final Executor executor = Objects.requireNonNull(configuration.getRemoteLoggingExecutor());
+        final int workerCount = Math.max(1, configuration.getParallelRequests());
+        for (int i = 0; i < workerCount; i++) {
+            executor.execute(this::sendLoop);
+        }
+    }
+
+    @Override
+    public void log(final LogMessage logMessage) {
+        if (DolphinLoggerUtils.isLevelEnabled(this.level, logMessage.getLevel())) {
+            enqueue(logMessage);
+        }
+    }
+
+    /**
+     * Returns the number of messages that were accepted by the remote server.
+     * @return the number of sent messages
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * Returns the number of messages that were dropped because the queue was full or the server rejected them.
+     * @return the number of dropped messages
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Returns the number of message transmissions that were repeated after a failed request.
+     * @return the number of retried messages
+     */
+    public long getRetriedCount() {
+        return retriedCount.get();
+    }
+
+    private void enqueue(final LogMessage logMessage) {
+        if (overflowPolicy == RemoteQueueOverflowPolicy.BLOCK) {
+            try {
+                messageQueue.put(logMessage);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedCount.incrementAndGet();
+            }
+        } else if (overflowPolicy == RemoteQueueOverflowPolicy.DROP_NEWEST) {
+            if (!messageQueue.offer(logMessage)) {
+                droppedCount.incrementAndGet();
+            }
+        } else {
+            while (!messageQueue.offer(logMessage)) {
+                if (messageQueue.poll() != null) {
+                    droppedCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void sendLoop() {
+        final List<LogMessage> batch = new ArrayList<>(maxMessagesPerRequest);
+        boolean lastRequestFailed = false;
+        while (true) {
+            try {
+                collectBatch(batch);
+                SendResult result;
+                while ((result = send(batch)) == SendResult.RETRY) {
+                    retriedCount.addAndGet(batch.size());
+                    if (!lastRequestFailed) {
+                        lastRequestFailed = true;
+                        LOG.error("Error in RemoteLogger! {} messages in current batch, {} waiting messages!", batch.size(), messageQueue.size());
+                    }
+                    Thread.sleep(remotingErrorWaitTime);
+                }
+                lastRequestFailed = false;
+                if (result == SendResult.SENT) {
+                    sentCount.addAndGet(batch.size());
+                } else {
+                    LOG.error("Remote server rejected batch of {} log messages! Messages are dropped.", batch.size());
+                    droppedCount.addAndGet(batch.size());
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                throw new RuntimeException("END!", e);
+            }
+        }
+    }
+
+    private void collectBatch(final List<LogMessage> batch) throws InterruptedException {
+        batch.add(messageQueue.take());
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBatchDelay);
+        while (batch.size() < maxMessagesPerRequest) {
+            messageQueue.drainTo(batch, maxMessagesPerRequest - batch.size());
+            final long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxMessagesPerRequest || remaining <= 0) {
+                return;
+            }
+            final LogMessage message = messageQueue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (message == null) {
+                return;
+            }
+            batch.add(message);
+        }
+    }
+
+    private SendResult send(final List<LogMessage> batch) {
+        try {
+            final byte[] content = createContent(batch);
+            final HttpURLConnection conn = connectionFactory.create(remoteUrl);
+            conn.setDoOutput(true);
+            conn.setDoInput(true);
+            conn.setRequestProperty(CONTENT_TYPE_HEADER, NDJSON_MIME_TYPE);
+            if (compression) {
+                conn.setRequestProperty(CONTENT_ENCODING_HEADER, GZIP_ENCODING);
+            }
+            conn.setRequestMethod(POST.getRawName());
+            conn.setFixedLengthStreamingMode(content.length);
+
+            try (final OutputStream outputStream = conn.getOutputStream()) {
+                outputStream.write(content);
+            }
+
+            final int responseCode = conn.getResponseCode();
+            if (responseCode >= HTTP_OK && responseCode < SC_MULTIPLE_CHOICES) {
+                consumeResponse(conn.getInputStream());
+                return SendResult.SENT;
+            }
+            consumeResponse(conn.getErrorStream());
+            LOG.debug("Can not send batch of {} log messages! status code {}", batch.size(), responseCode);
+            return responseCode >= SC_INTERNAL_SERVER_ERROR ? SendResult.RETRY : SendResult.REJECTED;
+        } catch (Exception e) {
+            LOG.debug("Can not send batch of {} log messages", batch.size(), e);
+            return SendResult.RETRY;
+        }
+    }
+
+    private byte[] createContent(final List<LogMessage> batch) throws IOException {
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (final OutputStream outputStream = compression ? new GZIPOutputStream(byteStream) : byteStream) {
+            for (final LogMessage message : batch) {
+                outputStream.write(gson.toJson(GelfMessage.of(message)).getBytes(CHARSET));
+                outputStream.write(NEW_LINE);
+            }
+        }
+        return byteStream.toByteArray();
+    }
+
+    private void consumeResponse(final InputStream responseStream) throws IOException {
+        // the response must be read completely and closed so that the underlying connection can be reused
+        if (responseStream == null) {
+            return;
+        }
+        try (final InputStream inputStream = responseStream) {
+            final byte[] buffer = new byte[1024];
+            while (inputStream.read(buffer) >= 0) {
+                //read until the end of the stream
+            }
+        }
+    }
+
+    private enum SendResult {
+        SENT, RETRY, REJECTED
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.canoo.impl.dp.logging.bridges;
 
+import com.canoo.platform.logging.spi.LogMessage;
+
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +43,21 @@ public class GelfMessage implements Serializable {
 
     private Map<String, String> context;
 
+    public static GelfMessage of(final LogMessage message) {
+        final GelfMessage gelfMessage = new GelfMessage();
+        gelfMessage.setMessage(message.getMessage());
+        gelfMessage.setLoggerName(message.getLoggerName());
+        gelfMessage.setLogLevel(message.getLevel().toString());
+        gelfMessage.setLogTimestamp(message.getTimestamp().toInstant().toEpochMilli());
+        gelfMessage.setTimeZone(message.getTimestamp().getZone().getId());
+        gelfMessage.setThreadName(message.getThreadName());
+        gelfMessage.setExceptionClass(message.getExceptionClass());
+        gelfMessage.setExceptionMessage(message.getExceptionMessage());
+        gelfMessage.setMarker(message.getMarker());
+        gelfMessage.setContext(message.getContext());
+        return gelfMessage;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -29,7 +29,6 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
-import java.util.Date;
 import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
@@ -106,20 +105,7 @@ public class RemoteLogger implements DolphinLoggerBridge {
                                 conn.setRequestProperty(CONTENT_TYPE_HEADER, JSON_MIME_TYPE);
                                 conn.setRequestMethod(POST.getRawName());
 
-                                GelfMessage gelfMessage = new GelfMessage();
-                                gelfMessage.setMessage(message.getMessage());
-                                gelfMessage.setLoggerName(message.getLoggerName());
-                                gelfMessage.setLogLevel(message.getLevel().toString());
-                                final Date timestamp = Date.from(message.getTimestamp().toInstant());
-                                gelfMessage.setLogTimestamp(timestamp.getTime());
-                                gelfMessage.setTimeZone(message.getTimestamp().getZone().getId());
-                                gelfMessage.setThreadName(message.getThreadName());
-                                gelfMessage.setExceptionClass(message.getExceptionClass());
-                                gelfMessage.setExceptionMessage(message.getExceptionMessage());
-                                gelfMessage.setMarker(message.getMarker());
-                                gelfMessage.setContext(message.getContext());
-
-
+                                final GelfMessage gelfMessage = GelfMessage.of(message);
                                 final String content = gson.toJson(gelfMessage);
                                 OutputStream w = conn.getOutputStream();
                                 w.write(content.getBytes(CHARSET));
@@ -29,6 +29,9 @@ public class RemoteLoggerFactory implements DolphinLoggerBridgeFactory {
     @Override
     public DolphinLoggerBridge create(DolphinLoggerConfiguration configuration) {
         if(configuration.getRemoteUrl() != null) {
+            if(configuration.isRemoteBatching()) {
+                return new BatchingRemoteLogger(configuration);
+            }
             return new RemoteLogger(configuration);
         }
         return null;
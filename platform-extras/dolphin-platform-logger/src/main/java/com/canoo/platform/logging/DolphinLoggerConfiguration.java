@@ -36,7 +36,7 @@ public class DolphinLoggerConfiguration {
 
     private URI remoteUrl;
 
-    private int parallelRequests = Runtime.getRuntime().availableProcessors() / 2 - 1;
+    private int parallelRequests = Math.max(1, Runtime.getRuntime().availableProcessors() / 2 - 1);
 
     private int maxMessagesPerRequest = 100;
 
@@ -46,6 +46,14 @@ public class DolphinLoggerConfiguration {
 
     private int remotingQueueCheckSleepTime = 100;
 
+    private boolean remoteBatching = false;
+
+    private int maxBatchDelay = 1_000;
+
+    private boolean remoteCompression = false;
+
+    private RemoteQueueOverflowPolicy remoteQueueOverflowPolicy = RemoteQueueOverflowPolicy.DROP_OLDEST;
+
     private Level globalLevel = Level.INFO;
 
     private Executor remoteLoggingExecutor = new ThreadPoolExecutor(parallelRequests + 1, parallelRequests + 1,
@@ -149,4 +157,36 @@ public class DolphinLoggerConfiguration {
     public void setRemotingQueueCheckSleepTime(final int remotingQueueCheckSleepTime) {
         this.remotingQueueCheckSleepTime = remotingQueueCheckSleepTime;
     }
+
+    public boolean isRemoteBatching() {
+        return remoteBatching;
+    }
+
+    public void setRemoteBatching(final boolean remoteBatching) {
+        this.remoteBatching = remoteBatching;
+    }
+
+    public int getMaxBatchDelay() {
+        return maxBatchDelay;
+    }
+
+    public void setMaxBatchDelay(final int maxBatchDelay) {
+        this.maxBatchDelay = maxBatchDelay;
+    }
+
+    public boolean isRemoteCompression() {
+        return remoteCompression;
+    }
+
+    public void setRemoteCompression(final boolean remoteCompression) {
+        this.remoteCompression = remoteCompression;
+    }
+
+    public RemoteQueueOverflowPolicy getRemoteQueueOverflowPolicy() {
+        return remoteQueueOverflowPolicy;
+    }
+
+    public void setRemoteQueueOverflowPolicy(final RemoteQueueOverflowPolicy remoteQueueOverflowPolicy) {
+        this.remoteQueueOverflowPolicy = remoteQueueOverflowPolicy;
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.platform.logging;
+
+/**
+ * Defines what happens to a log message that should be sent to a remote server while the bounded queue of the remote
+ * logger is full.
+ */
+public enum RemoteQueueOverflowPolicy {
+
+    /**
+     * The oldest queued message is dropped to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new message is dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The logging thread is blocked until the queue has space again.
+     */
+    BLOCK
+}
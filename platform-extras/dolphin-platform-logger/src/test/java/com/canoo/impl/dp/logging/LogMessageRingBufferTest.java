@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.impl.dp.logging;
+
+import com.canoo.platform.logging.spi.LogMessage;
+import org.testng.annotations.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class LogMessageRingBufferTest {
+
+    @Test
+    public void testSnapshotKeepsWriteOrder() {
+        //given:
+        final LogMessageRingBuffer buffer = new LogMessageRingBuffer(10);
+
+        //when:
+        buffer.add(createMessage("a", ZonedDateTime.now()));
+        buffer.add(createMessage("b", ZonedDateTime.now()));
+        buffer.add(createMessage("c", ZonedDateTime.now()));
+
+        //then:
+        final List<LogMessage> snapshot = buffer.snapshot();
+        assertEquals(snapshot.size(), 3);
+        assertEquals(snapshot.get(0).getMessage(), "a");
+        assertEquals(snapshot.get(1).getMessage(), "b");
+        assertEquals(snapshot.get(2).getMessage(), "c");
+    }
+
+    @Test
+    public void testOldestMessagesAreOverwritten() {
+        //given:
+        final LogMessageRingBuffer buffer = new LogMessageRingBuffer(3);
+
+        //when:
+        for (int i = 0; i < 5; i++) {
+            buffer.add(createMessage("m" + i, ZonedDateTime.now()));
+        }
+
+        //then:
+        final List<LogMessage> snapshot = buffer.snapshot();
+        assertEquals(snapshot.size(), 3);
+        assertEquals(snapshot.get(0).getMessage(), "m2");
+        assertEquals(snapshot.get(2).getMessage(), "m4");
+    }
+
+    @Test
+    public void testIteratorIsNotAffectedByLaterWrites() {
+        //given:
+        final LogMessageRingBuffer buffer = new LogMessageRingBuffer(2);
+        buffer.add(createMessage("a", ZonedDateTime.now()));
+        buffer.add(createMessage("b", ZonedDateTime.now()));
+
+        //when:
+        final Iterator<LogMessage> iterator = buffer.iterator();
+        buffer.add(createMessage("c", ZonedDateTime.now()));
+        buffer.add(createMessage("d", ZonedDateTime.now()));
+
+        //then:
+        assertEquals(iterator.next().getMessage(), "a");
+        assertEquals(iterator.next().getMessage(), "b");
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testClear() {
+        //given:
+        final LogMessageRingBuffer buffer = new LogMessageRingBuffer(10);
+        buffer.add(createMessage("a", ZonedDateTime.now()));
+        buffer.add(createMessage("b", ZonedDateTime.now()));
+
+        //when:
+        buffer.clear();
+        buffer.add(createMessage("c", ZonedDateTime.now()));
+
+        //then:
+        final List<LogMessage> snapshot = buffer.snapshot();
+        assertEquals(snapshot.size(), 1);
+        assertEquals(snapshot.get(0).getMessage(), "c");
+    }
+
+    @Test
+    public void testFindInRange() {
+        //given:
+        final LogMessageRingBuffer buffer = new LogMessageRingBuffer(10);
+        final ZonedDateTime now = ZonedDateTime.now();
+        buffer.add(createMessage("old", now.minusHours(2)));
+        buffer.add(createMessage("inRange1", now.minusMinutes(30)));
+        buffer.add(createMessage("inRange2", now.minusMinutes(10)));
+        buffer.add(createMessage("new", now.plusHours(1)));
+
+        //when:
+        final List<LogMessage> result = buffer.findInRange(now.minusHours(1), now);
+
+        //then:
+        assertEquals(result.size(), 2);
+        assertEquals(result.get(0).getMessage(), "inRange2");
+        assertEquals(result.get(1).getMessage(), "inRange1");
+    }
+
+    @Test
+    public void testConcurrentWrites() throws Exception {
+        //given:
+        final int threadCount = 8;
+        final int messagesPerThread = 1_000;
+        final LogMessageRingBuffer buffer = new LogMessageRingBuffer(threadCount * messagesPerThread);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                for (int i = 0; i < messagesPerThread; i++) {
+                    buffer.add(createMessage("m", ZonedDateTime.now()));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        //when:
+        startLatch.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        //then:
+        assertEquals(buffer.snapshot().size(), threadCount * messagesPerThread);
+        assertTrue(buffer.snapshot().stream().allMatch(m -> "m".equals(m.getMessage())));
+    }
+
+    private LogMessage createMessage(final String text, final ZonedDateTime timestamp) {
+        final LogMessage message = new LogMessage();
+        message.setMessage(text);
+        message.setTimestamp(timestamp);
+        return message;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.impl.dp.logging.bridges;
+
+import com.canoo.platform.logging.DolphinLoggerConfiguration;
+import com.canoo.platform.logging.RemoteQueueOverflowPolicy;
+import com.canoo.platform.logging.spi.LogMessage;
+import org.slf4j.event.Level;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class BatchingRemoteLoggerTest {
+
+    @Test
+    public void testMessagesAreSentAsOneBatch() throws Exception {
+        //given:
+        final List<RecordingConnection> connections = new CopyOnWriteArrayList<>();
+        final DolphinLoggerConfiguration configuration = createConfiguration(connections);
+        final DeferredExecutor executor = new DeferredExecutor();
+        configuration.setRemoteLoggingExecutor(executor);
+        final BatchingRemoteLogger logger = new BatchingRemoteLogger(configuration);
+
+        //when:
+        logger.log(createMessage("a"));
+        logger.log(createMessage("b"));
+        logger.log(createMessage("c"));
+        executor.start();
+        waitForSentMessages(logger, 3);
+
+        //then:
+        assertEquals(connections.size(), 1);
+        final String[] lines = new String(connections.get(0).getContent(), "UTF-8").split("\n");
+        assertEquals(lines.length, 3);
+        assertTrue(lines[0].contains("\"message\":\"a\""));
+        assertTrue(lines[2].contains("\"message\":\"c\""));
+        assertEquals(connections.get(0).getRequestProperty("Content-Type"), BatchingRemoteLogger.NDJSON_MIME_TYPE);
+    }
+
+    @Test
+    public void testCompressedBatch() throws Exception {
+        //given:
+        final List<RecordingConnection> connections = new CopyOnWriteArrayList<>();
+        final DolphinLoggerConfiguration configuration = createConfiguration(connections);
+        configuration.setRemoteCompression(true);
+        final BatchingRemoteLogger logger = new BatchingRemoteLogger(configuration);
+
+        //when:
+        logger.log(createMessage("compressed"));
+        waitForSentMessages(logger, 1);
+
+        //then:
+        assertEquals(connections.get(0).getRequestProperty("Content-Encoding"), "gzip");
+        final String content = new String(unzip(connections.get(0).getContent()), "UTF-8");
+        assertTrue(content.contains("\"message\":\"compressed\""));
+        assertTrue(content.endsWith("\n"));
+    }
+
+    @Test
+    public void testFailedBatchIsRetried() throws Exception {
+        //given:
+        final List<RecordingConnection> connections = new CopyOnWriteArrayList<>();
+        final DolphinLoggerConfiguration configuration = createConfiguration(connections);
+        configuration.setConnectionFactory(url -> {
+            final RecordingConnection connection = new RecordingConnection(connections.isEmpty() ? 500 : 200);
+            connections.add(connection);
+            return connection;
+        });
+        final BatchingRemoteLogger logger = new BatchingRemoteLogger(configuration);
+
+        //when:
+        logger.log(createMessage("a"));
+        waitForSentMessages(logger, 1);
+
+        //then:
+        assertEquals(connections.size(), 2);
+        assertEquals(logger.getRetriedCount(), 1L);
+    }
+
+    @Test
+    public void testRejectedBatchIsDropped() throws Exception {
+        //given:
+        final List<RecordingConnection> connections = new CopyOnWriteArrayList<>();
+        final DolphinLoggerConfiguration configuration = createConfiguration(connections);
+        configuration.setConnectionFactory(url -> {
+            final RecordingConnection connection = new RecordingConnection(connections.isEmpty() ? 400 : 200);
+            connections.add(connection);
+            return connection;
+        });
+        final BatchingRemoteLogger logger = new BatchingRemoteLogger(configuration);
+
+        //when:
+        logger.log(createMessage("a"));
+        waitForDroppedMessages(logger, 1);
+        logger.log(createMessage("b"));
+        waitForSentMessages(logger, 1);
+
+        //then:
+        assertEquals(connections.size(), 2);
+        assertEquals(logger.getRetriedCount(), 0L);
+        assertTrue(connections.get(0).isErrorStreamClosed());
+        assertTrue(new String(connections.get(1).getContent(), "UTF-8").contains("\"message\":\"b\""));
+    }
+
+    @Test
+    public void testDropNewest() {
+        //given:
+        final DolphinLoggerConfiguration configuration = createConfiguration(new CopyOnWriteArrayList<>());
+        configuration.setRemoteLoggingExecutor(r -> {});
+        configuration.setMaxRemotingQueueSize(2);
+        configuration.setRemoteQueueOverflowPolicy(RemoteQueueOverflowPolicy.DROP_NEWEST);
+        final BatchingRemoteLogger logger = new BatchingRemoteLogger(configuration);
+
+        //when:
+        logger.log(createMessage("a"));
+        logger.log(createMessage("b"));
+        logger.log(createMessage("c"));
+
+        //then:
+        assertEquals(logger.getDroppedCount(), 1L);
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        //given:
+        final List<RecordingConnection> connections = new CopyOnWriteArrayList<>();
+        final DolphinLoggerConfiguration configuration = createConfiguration(connections);
+        final DeferredExecutor executor = new DeferredExecutor();
+        configuration.setRemoteLoggingExecutor(executor);
+        configuration.setMaxRemotingQueueSize(2);
+        configuration.setRemoteQueueOverflowPolicy(RemoteQueueOverflowPolicy.DROP_OLDEST);
+        final BatchingRemoteLogger logger = new BatchingRemoteLogger(configuration);
+
+        //when:
+        logger.log(createMessage("a"));
+        logger.log(createMessage("b"));
+        logger.log(createMessage("c"));
+        executor.start();
+        waitForSentMessages(logger, 2);
+
+        //then:
+        assertEquals(logger.getDroppedCount(), 1L);
+        final String content = new String(connections.get(0).getContent(), "UTF-8");
+        assertTrue(content.contains("\"message\":\"b\""));
+        assertTrue(content.contains("\"message\":\"c\""));
+    }
+
+    private DolphinLoggerConfiguration createConfiguration(final List<RecordingConnection> connections) {
+        final DolphinLoggerConfiguration configuration = new DolphinLoggerConfiguration();
+        configuration.setRemoteUrl(URI.create("http://localhost:12201/gelf"));
+        configuration.setRemoteBatching(true);
+        configuration.setParallelRequests(1);
+        configuration.setMaxBatchDelay(10);
+        configuration.setRemotingErrorWaitTime(10);
+        configuration.setRemoteLoggingExecutor(r -> {
+            final Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.start();
+        });
+        configuration.setConnectionFactory(url -> {
+            final RecordingConnection connection = new RecordingConnection(200);
+            connections.add(connection);
+            return connection;
+        });
+        return configuration;
+    }
+
+    private void waitForSentMessages(final BatchingRemoteLogger logger, final long count) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + 10_000;
+        while (logger.getSentCount() < count && System.currentTimeMillis() < timeout) {
+            Thread.sleep(5);
+        }
+        assertEquals(logger.getSentCount(), count);
+    }
+
+    private void waitForDroppedMessages(final BatchingRemoteLogger logger, final long count) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + 10_000;
+        while (logger.getDroppedCount() < count && System.currentTimeMillis() < timeout) {
+            Thread.sleep(5);
+        }
+        assertEquals(logger.getDroppedCount(), count);
+    }
+
+    private LogMessage createMessage(final String text) {
+        final LogMessage message = new LogMessage();
+        message.setMessage(text);
+        message.setLoggerName("test");
+        message.setLevel(Level.ERROR);
+        message.setTimestamp(ZonedDateTime.now());
+        return message;
+    }
+
+    private byte[] unzip(final byte[] data) throws IOException {
+        try (final InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            final ByteArrayOutputStream result = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0) {
+                result.write(buffer, 0, read);
+            }
+            return result.toByteArray();
+        }
+    }
+
+    private static class DeferredExecutor implements Executor {
+
+        private final List<Runnable> tasks = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void execute(final Runnable task) {
+            tasks.add(task);
+        }
+
+        public void start() {
+            for (final Runnable task : tasks) {
+                final Thread thread = new Thread(task);
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    private static class RecordingConnection extends HttpURLConnection {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        private final int status;
+
+        private final AtomicBoolean errorStreamClosed = new AtomicBoolean(false);
+
+        private RecordingConnection(final int status) throws IOException {
+            super(new URL("http://localhost:12201/gelf"));
+            this.status = status;
+        }
+
+        public byte[] getContent() {
+            return content.toByteArray();
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return content;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            if (status < 400) {
+                return null;
+            }
+            return new ByteArrayInputStream("error".getBytes()) {
+                @Override
+                public void close() throws IOException {
+                    errorStreamClosed.set(true);
+                    super.close();
+                }
+            };
+        }
+
+        public boolean isErrorStreamClosed() {
+            return errorStreamClosed.get();
+        }
+
+        @Override
+        public int getResponseCode() {
+            return status;
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        @Override
+        public void connect() {
+        }
+    }
+}
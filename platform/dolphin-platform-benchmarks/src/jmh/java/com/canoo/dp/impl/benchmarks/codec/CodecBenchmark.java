@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.codec;
+
+import com.canoo.dp.impl.remoting.codec.OptimizedJsonCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
+import com.canoo.dp.impl.remoting.commands.CallActionCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Codec;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
+import com.canoo.dp.impl.remoting.legacy.core.Attribute;
+import org.apiguardian.api.API;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Measures encoding and decoding of command batches. A batch contains a realistic mix of model creations, value
+ * changes and action calls.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodecBenchmark {
+
+    @Param({"optimized", "streaming"})
+    private String codecType;
+
+    @Param({"1", "10", "100", "1000"})
+    private int batchSize;
+
+    private Codec codec;
+
+    private List<Command> commands;
+
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        if ("streaming".equals(codecType)) {
+            codec = StreamingJsonCodec.getInstance();
+        } else {
+            codec = OptimizedJsonCodec.getInstance();
+        }
+        commands = createCommands(batchSize);
+        encoded = codec.encode(commands);
+    }
+
+    @Benchmark
+    public String encode() {
+        return codec.encode(commands);
+    }
+
+    @Benchmark
+    public List<Command> decode() {
+        return codec.decode(encoded);
+    }
+
+    private static List<Command> createCommands(final int count) {
+        final List<Command> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (i % 4) {
+                case 0:
+                    commands.add(createPresentationModelCommand(i));
+                    break;
+                case 3:
+                    commands.add(createCallActionCommand(i));
+                    break;
+                default:
+                    commands.add(createValueChangedCommand(i));
+            }
+        }
+        return commands;
+    }
+
+    private static Command createPresentationModelCommand(final int index) {
+        final CreatePresentationModelCommand command = new CreatePresentationModelCommand();
+        command.setPmId("model-" + index);
+        command.setPmType("com.canoo.sample.Bean");
+        final List<Map<String, Object>> attributes = new ArrayList<>();
+        final Map<String, Object> nameAttribute = new HashMap<>();
+        nameAttribute.put(Attribute.PROPERTY_NAME, "name");
+        nameAttribute.put(Attribute.ID, index + "-1S");
+        nameAttribute.put(Attribute.VALUE_NAME, "Name " + index);
+        attributes.add(nameAttribute);
+        final Map<String, Object> countAttribute = new HashMap<>();
+        countAttribute.put(Attribute.PROPERTY_NAME, "count");
+        countAttribute.put(Attribute.ID, index + "-2S");
+        countAttribute.put(Attribute.VALUE_NAME, index);
+        attributes.add(countAttribute);
+        command.setAttributes(attributes);
+        return command;
+    }
+
+    private static Command createValueChangedCommand(final int index) {
+        final ValueChangedCommand command = new ValueChangedCommand();
+        command.setAttributeId(index + "-1S");
+        command.setNewValue("Value " + index);
+        return command;
+    }
+
+    private static Command createCallActionCommand(final int index) {
+        final CallActionCommand command = new CallActionCommand();
+        command.setControllerId("controller-" + (index % 8));
+        command.setActionName("action");
+        command.addParam("index", index);
+        command.addParam("name", "Name " + index);
+        return command;
+    }
+}
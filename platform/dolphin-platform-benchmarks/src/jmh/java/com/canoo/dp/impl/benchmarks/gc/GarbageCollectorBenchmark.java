@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.gc;
+
+import com.canoo.dp.impl.server.config.RemotingConfiguration;
+import com.canoo.dp.impl.server.gc.GarbageCollector;
+import org.apiguardian.api.API;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Measures the {@link GarbageCollector} for deep graphs (a chain of beans that reference each other by a property)
+ * and wide graphs (one bean that references all other beans in a list).
+ * <p>
+ * {@link #collect(Graph)} measures the removal of a complete graph once its root is removed.
+ * {@link #attachAndDetach()} measures the bookkeeping of the garbage collector when a bean is added to and removed
+ * from an existing graph. For deep graphs the bean is attached to the leaf so that the check for circular references
+ * must visit the complete graph.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GarbageCollectorBenchmark {
+
+    @Param({"deep", "wide"})
+    private String shape;
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private GarbageCollector garbageCollector;
+
+    private GcBean attachTarget;
+
+    private GcBean attachedBean;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        garbageCollector = createGarbageCollector();
+        final GcBean root = new GcBean(garbageCollector);
+        garbageCollector.onBeanCreated(root, true);
+        attachTarget = createGraph(garbageCollector, root, shape, size);
+        attachedBean = new GcBean(garbageCollector);
+        garbageCollector.onBeanCreated(attachedBean, false);
+    }
+
+    @Benchmark
+    public GcBean attachAndDetach() {
+        if ("deep".equals(shape)) {
+            attachTarget.getChild().set(attachedBean);
+            attachTarget.getChild().set(null);
+        } else {
+            attachTarget.getChildren().add(attachedBean);
+            attachTarget.getChildren().remove(attachedBean);
+        }
+        return attachedBean;
+    }
+
+    @Benchmark
+    public int collect(final Graph graph) {
+        graph.garbageCollector.onBeanRemoved(graph.root);
+        graph.garbageCollector.gc();
+        return graph.garbageCollector.getManagedInstancesCount();
+    }
+
+    @State(Scope.Thread)
+    public static class Graph {
+
+        private GarbageCollector garbageCollector;
+
+        private GcBean root;
+
+        @Setup(Level.Invocation)
+        public void setup(final GarbageCollectorBenchmark benchmark) {
+            garbageCollector = createGarbageCollector();
+            root = new GcBean(garbageCollector);
+            garbageCollector.onBeanCreated(root, true);
+            createGraph(garbageCollector, root, benchmark.shape, benchmark.size);
+        }
+    }
+
+    /**
+     * Creates a graph below the given root.
+     * @return the leaf of a deep graph or the root of a wide graph
+     */
+    private static GcBean createGraph(final GarbageCollector garbageCollector, final GcBean root, final String shape, final int size) {
+        GcBean parent = root;
+        for (int i = 0; i < size; i++) {
+            final GcBean bean = new GcBean(garbageCollector);
+            garbageCollector.onBeanCreated(bean, false);
+            if ("deep".equals(shape)) {
+                parent.getChild().set(bean);
+                parent = bean;
+            } else {
+                root.getChildren().add(bean);
+            }
+        }
+        return parent;
+    }
+
+    private static GarbageCollector createGarbageCollector() {
+        return new GarbageCollector(new RemotingConfiguration(), instances -> {});
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.gc;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.MockedProperty;
+import com.canoo.dp.impl.remoting.collections.ObservableArrayList;
+import com.canoo.dp.impl.server.gc.GarbageCollector;
+import com.canoo.platform.remoting.ListChangeEvent;
+import com.canoo.platform.remoting.ObservableList;
+import com.canoo.platform.remoting.Property;
+import com.canoo.platform.remoting.RemotingBean;
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Bean that is used to create deep (by {@link #getChild()}) and wide (by {@link #getChildren()}) bean graphs. The
+ * property and list of the bean notify the {@link GarbageCollector} like the properties and lists of a managed bean.
+ */
+@RemotingBean
+@API(since = "1.0.0", status = INTERNAL)
+public class GcBean {
+
+    private final Property<GcBean> child;
+
+    private final ObservableList<GcBean> children;
+
+    public GcBean(final GarbageCollector garbageCollector) {
+        Assert.requireNonNull(garbageCollector, "garbageCollector");
+        child = new GcProperty<>(garbageCollector);
+        children = new GcList<>(garbageCollector);
+    }
+
+    public Property<GcBean> getChild() {
+        return child;
+    }
+
+    public ObservableList<GcBean> getChildren() {
+        return children;
+    }
+
+    private static class GcProperty<T> extends MockedProperty<T> {
+
+        private final GarbageCollector garbageCollector;
+
+        private GcProperty(final GarbageCollector garbageCollector) {
+            this.garbageCollector = garbageCollector;
+        }
+
+        @Override
+        public void set(final T value) {
+            final T oldValue = get();
+            super.set(value);
+            garbageCollector.onPropertyValueChanged(this, oldValue, value);
+        }
+    }
+
+    private static class GcList<E> extends ObservableArrayList<E> {
+
+        private final GarbageCollector garbageCollector;
+
+        private GcList(final GarbageCollector garbageCollector) {
+            this.garbageCollector = garbageCollector;
+        }
+
+        @Override
+        protected void notifyInternalListeners(final ListChangeEvent<E> event) {
+            for (final ListChangeEvent.Change<? extends E> change : event.getChanges()) {
+                for (final E element : change.getRemovedElements()) {
+                    garbageCollector.onRemovedFromList(event.getSource(), element);
+                }
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    garbageCollector.onAddedToList(event.getSource(), event.getSource().get(i));
+                }
+            }
+        }
+    }
+}
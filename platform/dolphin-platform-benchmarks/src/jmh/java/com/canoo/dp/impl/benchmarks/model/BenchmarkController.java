@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.model;
+
+import com.canoo.platform.remoting.server.Param;
+import com.canoo.platform.remoting.server.RemotingAction;
+import com.canoo.platform.remoting.server.RemotingController;
+import com.canoo.platform.remoting.server.RemotingModel;
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+@RemotingController(BenchmarkController.CONTROLLER_NAME)
+@API(since = "1.0.0", status = INTERNAL)
+public class BenchmarkController {
+
+    public static final String CONTROLLER_NAME = "BenchmarkController";
+
+    public static final String NOOP_ACTION = "noop";
+
+    public static final String UPDATE_ACTION = "update";
+
+    public static final String INCREMENT_ACTION = "increment";
+
+    public static final String NAME_PARAM = "name";
+
+    public static final String COUNT_PARAM = "count";
+
+    @RemotingModel
+    private BenchmarkModel model;
+
+    @RemotingAction(NOOP_ACTION)
+    public void noop() {
+    }
+
+    @RemotingAction(UPDATE_ACTION)
+    public void update(@Param(NAME_PARAM) final String name, @Param(COUNT_PARAM) final int count) {
+        model.nameProperty().set(name);
+        model.countProperty().set(count);
+    }
+
+    @RemotingAction(INCREMENT_ACTION)
+    public void increment() {
+        final Integer count = model.countProperty().get();
+        model.countProperty().set(count == null ? 1 : count + 1);
+    }
+}
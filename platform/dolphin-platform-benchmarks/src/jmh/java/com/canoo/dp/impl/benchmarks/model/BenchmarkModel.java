@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.model;
+
+import com.canoo.platform.remoting.ObservableList;
+import com.canoo.platform.remoting.Property;
+import com.canoo.platform.remoting.RemotingBean;
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+@RemotingBean
+@API(since = "1.0.0", status = INTERNAL)
+public class BenchmarkModel {
+
+    private Property<String> name;
+
+    private Property<Integer> count;
+
+    private ObservableList<String> values;
+
+    public Property<String> nameProperty() {
+        return name;
+    }
+
+    public Property<Integer> countProperty() {
+        return count;
+    }
+
+    public ObservableList<String> getValues() {
+        return values;
+    }
+}
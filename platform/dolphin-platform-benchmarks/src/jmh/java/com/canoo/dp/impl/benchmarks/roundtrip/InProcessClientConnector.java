@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.roundtrip;
+
+import com.canoo.dp.impl.client.legacy.ClientModelStore;
+import com.canoo.dp.impl.client.legacy.communication.AbstractClientConnector;
+import com.canoo.dp.impl.client.legacy.communication.CommandAndHandler;
+import com.canoo.dp.impl.client.legacy.communication.CommandBatcher;
+import com.canoo.dp.impl.client.legacy.communication.HandlerType;
+import com.canoo.dp.impl.client.legacy.communication.OnFinishedHandler;
+import com.canoo.dp.impl.client.legacy.communication.SimpleExceptionHandler;
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.legacy.communication.Codec;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.util.DirectExecutor;
+import org.apiguardian.api.API;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Client connector that sends each command directly to an in-process server (see {@code DolphinTestClientConnector}
+ * of the spring controller tester). Requests and responses are encoded and decoded by the given codec to include the
+ * serialization in a round trip. Results are processed in the calling thread.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class InProcessClientConnector extends AbstractClientConnector {
+
+    private final Codec codec;
+
+    private final Function<List<Command>, List<Command>> server;
+
+    public InProcessClientConnector(final ClientModelStore clientModelStore, final Codec codec, final Function<List<Command>, List<Command>> server) {
+        super(clientModelStore, DirectExecutor.getInstance(), new CommandBatcher(), new SimpleExceptionHandler(), DirectExecutor.getInstance());
+        this.codec = Assert.requireNonNull(codec, "codec");
+        this.server = Assert.requireNonNull(server, "server");
+    }
+
+    @Override
+    protected void commandProcessing() {
+        /* do nothing! */
+    }
+
+    @Override
+    public void connect() {
+        /* do nothing! */
+    }
+
+    @Override
+    public void disconnect() {
+        /* do nothing! */
+    }
+
+    @Override
+    public void send(final Command command, final OnFinishedHandler callback, final HandlerType handlerType) {
+        final List<Command> response = transmit(Collections.singletonList(command));
+        processResults(response, Collections.singletonList(new CommandAndHandler(command, callback, handlerType)));
+    }
+
+    @Override
+    public void send(final Command command, final OnFinishedHandler callback) {
+        send(command, callback, HandlerType.UI);
+    }
+
+    @Override
+    public void send(final Command command) {
+        send(command, null);
+    }
+
+    @Override
+    protected void listen() {
+        /* long polling is not used in process */
+    }
+
+    @Override
+    protected List<Command> transmit(final List<Command> commands) {
+        final List<Command> received = codec.decode(codec.encode(commands));
+        final List<Command> response = server.apply(received);
+        return codec.decode(codec.encode(response));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.roundtrip;
+
+import com.canoo.dp.impl.benchmarks.model.BenchmarkController;
+import com.canoo.dp.impl.benchmarks.model.BenchmarkModel;
+import com.canoo.dp.impl.benchmarks.server.InMemoryClientSession;
+import com.canoo.dp.impl.benchmarks.server.ServerRemotingEnvironment;
+import com.canoo.dp.impl.benchmarks.server.SimpleManagedBeanFactory;
+import com.canoo.dp.impl.client.ClientContextImpl;
+import com.canoo.dp.impl.platform.client.DefaultClientConfiguration;
+import com.canoo.dp.impl.platform.client.session.ClientSessionStoreImpl;
+import com.canoo.dp.impl.remoting.codec.OptimizedJsonCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
+import com.canoo.dp.impl.remoting.legacy.communication.Codec;
+import com.canoo.dp.impl.remoting.legacy.util.DirectExecutor;
+import com.canoo.dp.impl.server.config.RemotingConfiguration;
+import com.canoo.dp.impl.server.context.DolphinContext;
+import com.canoo.dp.impl.server.controller.ControllerRepository;
+import com.canoo.dp.impl.server.scanner.DefaultClasspathScanner;
+import com.canoo.platform.remoting.client.ControllerProxy;
+import com.canoo.platform.remoting.client.Param;
+import com.canoo.platform.server.client.ClientSession;
+import org.apiguardian.api.API;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.net.URI;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.COUNT_PARAM;
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.INCREMENT_ACTION;
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.NAME_PARAM;
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.NOOP_ACTION;
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.UPDATE_ACTION;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Measures a complete round trip of an action call from a client to a {@link DolphinContext} in the same JVM. The
+ * round trip contains the client side handling, the serialization of the request and the response, the command
+ * handling of the server and the synchronization of the model changes on the client.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoundTripBenchmark {
+
+    @org.openjdk.jmh.annotations.Param({"optimized", "streaming"})
+    private String codecType;
+
+    private DefaultClientConfiguration clientConfiguration;
+
+    private DolphinContext dolphinContext;
+
+    private ClientContextImpl clientContext;
+
+    private ControllerProxy<BenchmarkModel> controller;
+
+    private int counter;
+
+    @Setup
+    public void setup() throws Exception {
+        final Codec codec = "streaming".equals(codecType) ? StreamingJsonCodec.getInstance() : OptimizedJsonCodec.getInstance();
+
+        final ClientSession clientSession = new InMemoryClientSession();
+        final ControllerRepository controllerRepository = new ControllerRepository(new DefaultClasspathScanner(ServerRemotingEnvironment.CONTROLLER_PACKAGE));
+        dolphinContext = new DolphinContext(new RemotingConfiguration(), clientSession, () -> clientSession, new SimpleManagedBeanFactory(), controllerRepository, c -> {});
+
+        clientConfiguration = new DefaultClientConfiguration(new Properties());
+        clientConfiguration.setUiExecutor(DirectExecutor.getInstance());
+        clientContext = new ClientContextImpl(clientConfiguration, new URI("http://localhost/dolphin-platform/remoting"), s -> new InProcessClientConnector(s, codec, c -> dolphinContext.handle(c)), new ClientSessionStoreImpl());
+        clientContext.connect().get();
+        controller = clientContext.<BenchmarkModel>createController(BenchmarkController.CONTROLLER_NAME).get();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        controller.destroy().get();
+        clientContext.disconnect().get();
+        clientConfiguration.getBackgroundExecutor().shutdown();
+    }
+
+    @Benchmark
+    public void invokeWithoutParams() throws Exception {
+        controller.invoke(NOOP_ACTION).get();
+    }
+
+    @Benchmark
+    public String invokeWithParams() throws Exception {
+        controller.invoke(UPDATE_ACTION, new Param(NAME_PARAM, "name-" + counter), new Param(COUNT_PARAM, counter++)).get();
+        return controller.getModel().nameProperty().get();
+    }
+
+    @Benchmark
+    public Integer invokeWithModelChange() throws Exception {
+        controller.invoke(INCREMENT_ACTION).get();
+        return controller.getModel().countProperty().get();
+    }
+}
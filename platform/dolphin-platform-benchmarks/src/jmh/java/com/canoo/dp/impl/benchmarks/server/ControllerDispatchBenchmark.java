@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.server;
+
+import com.canoo.dp.impl.benchmarks.model.BenchmarkController;
+import com.canoo.dp.impl.server.controller.ControllerHandler;
+import org.apiguardian.api.API;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.COUNT_PARAM;
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.INCREMENT_ACTION;
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.NAME_PARAM;
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.NOOP_ACTION;
+import static com.canoo.dp.impl.benchmarks.model.BenchmarkController.UPDATE_ACTION;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Measures the dispatch of actions by {@link ControllerHandler#invokeAction(String, String, Map)}. The value changes
+ * that are created by an action are part of the measurement.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ControllerDispatchBenchmark {
+
+    private ServerRemotingEnvironment environment;
+
+    private ControllerHandler controllerHandler;
+
+    private String controllerId;
+
+    private final Map<String, Object> noParams = Collections.emptyMap();
+
+    private final Map<String, Object> updateParams = new HashMap<>();
+
+    @Setup
+    public void setup() throws Exception {
+        environment = new ServerRemotingEnvironment();
+        controllerHandler = environment.getControllerHandler();
+        controllerId = controllerHandler.createController(BenchmarkController.CONTROLLER_NAME, null);
+        updateParams.put(NAME_PARAM, "name");
+        updateParams.put(COUNT_PARAM, 42);
+        environment.clearResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        controllerHandler.destroyAllControllers();
+    }
+
+    @Benchmark
+    public void invokeWithoutParams() throws Exception {
+        controllerHandler.invokeAction(controllerId, NOOP_ACTION, noParams);
+    }
+
+    @Benchmark
+    public void invokeWithParams() throws Exception {
+        controllerHandler.invokeAction(controllerId, UPDATE_ACTION, updateParams);
+        environment.clearResponse();
+    }
+
+    @Benchmark
+    public void invokeWithModelChange() throws Exception {
+        controllerHandler.invokeAction(controllerId, INCREMENT_ACTION, noParams);
+        environment.clearResponse();
+    }
+}
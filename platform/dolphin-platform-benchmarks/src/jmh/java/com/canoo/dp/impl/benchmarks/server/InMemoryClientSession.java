@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.server;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.platform.server.client.ClientSession;
+import org.apiguardian.api.API;
+
+import javax.servlet.http.HttpSession;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * {@link ClientSession} for in-process benchmarks. Since no servlet container is used the session is not backed by
+ * a {@link HttpSession}.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class InMemoryClientSession implements ClientSession {
+
+    private final String id = UUID.randomUUID().toString();
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    @Override
+    public void setAttribute(final String name, final Object value) {
+        Assert.requireNonBlank(name, "name");
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(final String name) {
+        Assert.requireNonBlank(name, "name");
+        return (T) attributes.get(name);
+    }
+
+    @Override
+    public void removeAttribute(final String name) {
+        Assert.requireNonBlank(name, "name");
+        attributes.remove(name);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return Collections.unmodifiableSet(attributes.keySet());
+    }
+
+    @Override
+    public void invalidate() {
+        attributes.clear();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public HttpSession getHttpSession() {
+        return null;
+    }
+}
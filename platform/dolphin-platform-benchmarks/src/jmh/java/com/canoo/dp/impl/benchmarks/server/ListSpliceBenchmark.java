@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.server;
+
+import com.canoo.dp.impl.benchmarks.model.BenchmarkModel;
+import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
+import com.canoo.dp.impl.server.legacy.ServerModelStore;
+import com.canoo.dp.impl.server.legacy.ServerPresentationModel;
+import com.canoo.platform.remoting.ObservableList;
+import org.apiguardian.api.API;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Measures changes of an {@link ObservableList} of a server side bean. Each change is mapped by the
+ * {@link com.canoo.dp.impl.remoting.collections.ListMapperImpl} to a list splice command or (for legacy clients that
+ * do not support list splice commands) to list splice models for the client. The removal of the splice models is part
+ * of the measurement since the models are removed on the server once the client has received them.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListSpliceBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int listSize;
+
+    @Param({"1", "10", "100"})
+    private int spliceSize;
+
+    @Param({"true", "false"})
+    private boolean listSpliceCommandSupported;
+
+    private ServerRemotingEnvironment environment;
+
+    private ObservableList<String> values;
+
+    private List<String> splice;
+
+    private int spliceIndex;
+
+    private long replaceCounter;
+
+    @Setup
+    public void setup() throws Exception {
+        environment = new ServerRemotingEnvironment(listSpliceCommandSupported);
+        final BenchmarkModel model = environment.getBeanManager().create(BenchmarkModel.class);
+        values = model.getValues();
+        final List<String> initialValues = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            initialValues.add("value-" + i);
+        }
+        values.addAll(initialValues);
+        splice = new ArrayList<>(spliceSize);
+        for (int i = 0; i < spliceSize; i++) {
+            splice.add("splice-" + i);
+        }
+        spliceIndex = listSize / 2;
+        removeListSplices();
+    }
+
+    @Benchmark
+    public int insertAndRemoveRange() {
+        values.addAll(spliceIndex, splice);
+        values.remove(spliceIndex, spliceIndex + spliceSize);
+        removeListSplices();
+        return values.size();
+    }
+
+    @Benchmark
+    public int replaceSingleElement() {
+        values.set(spliceIndex, "replaced-" + replaceCounter++);
+        removeListSplices();
+        return values.size();
+    }
+
+    /**
+     * Removes the list splice models of legacy clients and the commands that were created for the client.
+     */
+    private void removeListSplices() {
+        final ServerModelStore modelStore = environment.getServerModelStore();
+        for (final ServerPresentationModel model : new ArrayList<>(modelStore.findAllPresentationModelsByType(PlatformRemotingConstants.LIST_SPLICE))) {
+            modelStore.remove(model);
+        }
+        environment.clearResponse();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.server;
+
+import com.canoo.dp.impl.remoting.BeanManagerImpl;
+import com.canoo.dp.impl.remoting.ClassRepository;
+import com.canoo.dp.impl.remoting.ClassRepositoryImpl;
+import com.canoo.dp.impl.remoting.Converters;
+import com.canoo.dp.impl.remoting.EventDispatcher;
+import com.canoo.dp.impl.remoting.PresentationModelBuilderFactory;
+import com.canoo.dp.impl.remoting.collections.ListMapperImpl;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.server.config.RemotingConfiguration;
+import com.canoo.dp.impl.server.controller.ControllerHandler;
+import com.canoo.dp.impl.server.controller.ControllerRepository;
+import com.canoo.dp.impl.server.gc.GarbageCollectionCallback;
+import com.canoo.dp.impl.server.gc.GarbageCollector;
+import com.canoo.dp.impl.server.gc.Instance;
+import com.canoo.dp.impl.server.legacy.ServerModelStore;
+import com.canoo.dp.impl.server.legacy.ServerPresentationModel;
+import com.canoo.dp.impl.server.mbean.DolphinContextMBeanRegistry;
+import com.canoo.dp.impl.server.model.ServerBeanBuilder;
+import com.canoo.dp.impl.server.model.ServerBeanBuilderImpl;
+import com.canoo.dp.impl.server.model.ServerBeanRepositoryImpl;
+import com.canoo.dp.impl.server.model.ServerEventDispatcher;
+import com.canoo.dp.impl.server.model.ServerPresentationModelBuilderFactory;
+import com.canoo.dp.impl.server.scanner.DefaultClasspathScanner;
+import com.canoo.platform.remoting.BeanManager;
+import org.apiguardian.api.API;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Creates the server side remoting infrastructure of a {@link com.canoo.dp.impl.server.context.DolphinContext}
+ * without the command handling so that single parts can be measured directly. All commands that are created for the
+ * client are collected in a response list that should be cleared by calling {@link #clearResponse()}.
+ * List changes are sent as list splice presentation models (legacy clients) or as list splice commands if the
+ * environment is created for a client that supports them.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class ServerRemotingEnvironment {
+
+    public static final String CONTROLLER_PACKAGE = "com.canoo.dp.impl.benchmarks.model";
+
+    private final ServerModelStore serverModelStore;
+
+    private final List<Command> response = new ArrayList<>();
+
+    private final ServerBeanRepositoryImpl beanRepository;
+
+    private final BeanManager beanManager;
+
+    private final ControllerHandler controllerHandler;
+
+    public ServerRemotingEnvironment() throws Exception {
+        this(false);
+    }
+
+    public ServerRemotingEnvironment(final boolean listSpliceCommandSupported) throws Exception {
+        final RemotingConfiguration configuration = new RemotingConfiguration();
+
+        serverModelStore = new ServerModelStore();
+        serverModelStore.setCurrentResponse(response);
+
+        final GarbageCollector garbageCollector = new GarbageCollector(configuration, new GarbageCollectionCallback() {
+            @Override
+            public void onReject(final Set<Instance> instances) {
+                for (final Instance instance : instances) {
+                    beanRepository.onGarbageCollectionRejection(instance.getBean());
+                }
+            }
+        });
+
+        final EventDispatcher dispatcher = new ServerEventDispatcher(serverModelStore);
+        beanRepository = new ServerBeanRepositoryImpl(serverModelStore, dispatcher, garbageCollector);
+        final Converters converters = new Converters(beanRepository);
+
+        final PresentationModelBuilderFactory<ServerPresentationModel> builderFactory = new ServerPresentationModelBuilderFactory(serverModelStore);
+        final ClassRepository classRepository = new ClassRepositoryImpl(serverModelStore, converters, builderFactory);
+        final ListMapperImpl listMapper = new ListMapperImpl(serverModelStore, classRepository, beanRepository, builderFactory, dispatcher);
+        if (listSpliceCommandSupported) {
+            listMapper.setCommandSender(serverModelStore::addResponseCommand);
+        }
+        final ServerBeanBuilder beanBuilder = new ServerBeanBuilderImpl(classRepository, beanRepository, listMapper, builderFactory, dispatcher, garbageCollector);
+        beanManager = new BeanManagerImpl(beanRepository, beanBuilder);
+
+        final ControllerRepository controllerRepository = new ControllerRepository(new DefaultClasspathScanner(CONTROLLER_PACKAGE));
+        final DolphinContextMBeanRegistry mBeanRegistry = new DolphinContextMBeanRegistry(UUID.randomUUID().toString());
+        controllerHandler = new ControllerHandler(mBeanRegistry, new SimpleManagedBeanFactory(), beanBuilder, beanRepository, controllerRepository, converters);
+    }
+
+    public ServerModelStore getServerModelStore() {
+        return serverModelStore;
+    }
+
+    public BeanManager getBeanManager() {
+        return beanManager;
+    }
+
+    public ControllerHandler getControllerHandler() {
+        return controllerHandler;
+    }
+
+    public List<Command> getResponse() {
+        return response;
+    }
+
+    public void clearResponse() {
+        response.clear();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.server;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.server.beans.PostConstructInterceptor;
+import com.canoo.platform.server.spi.components.ManagedBeanFactory;
+import org.apiguardian.api.API;
+
+import javax.servlet.ServletContext;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * {@link ManagedBeanFactory} that creates controllers by their default constructor. No dependency injection is
+ * supported.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class SimpleManagedBeanFactory implements ManagedBeanFactory {
+
+    @Override
+    public void init(final ServletContext servletContext) {
+    }
+
+    @Override
+    public <T> T createDependentInstance(final Class<T> cls) {
+        Assert.requireNonNull(cls, "cls");
+        try {
+            return cls.newInstance();
+        } catch (final Exception e) {
+            throw new IllegalStateException("Can not create instance of " + cls.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T createDependentInstance(final Class<T> cls, final PostConstructInterceptor<T> interceptor) {
+        Assert.requireNonNull(interceptor, "interceptor");
+        final T instance = createDependentInstance(cls);
+        interceptor.intercept(instance);
+        return instance;
+    }
+
+    @Override
+    public <T> void destroyDependentInstance(final T instance, final Class<T> cls) {
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.benchmarks.store;
+
+import com.canoo.dp.impl.remoting.legacy.core.BaseAttribute;
+import com.canoo.dp.impl.remoting.legacy.core.BasePresentationModel;
+import com.canoo.dp.impl.remoting.legacy.core.ModelStore;
+import org.apiguardian.api.API;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Measures the basic operations of the {@link ModelStore} for stores that already contain a given number of models.
+ * Add and remove are measured together so that the size of the store stays constant between invocations.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelStoreBenchmark {
+
+    private static final int TYPE_COUNT = 10;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int modelCount;
+
+    private ModelStore<BenchmarkAttribute, BasePresentationModel<BenchmarkAttribute>> modelStore;
+
+    private String[] modelIds;
+
+    private String[] attributeIds;
+
+    private BasePresentationModel<BenchmarkAttribute> additionalModel;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        modelStore = new ModelStore<>();
+        modelIds = new String[modelCount];
+        attributeIds = new String[modelCount];
+        for (int i = 0; i < modelCount; i++) {
+            final BasePresentationModel<BenchmarkAttribute> model = createModel("model-" + i, i);
+            modelStore.add(model);
+            modelIds[i] = model.getId();
+            attributeIds[i] = model.getAttributes().get(0).getId();
+        }
+        additionalModel = createModel("additional-model", modelCount);
+    }
+
+    @Benchmark
+    public boolean addAndRemove() {
+        modelStore.add(additionalModel);
+        return modelStore.remove(additionalModel);
+    }
+
+    @Benchmark
+    public BasePresentationModel<BenchmarkAttribute> findById() {
+        return modelStore.findPresentationModelById(modelIds[nextIndex()]);
+    }
+
+    @Benchmark
+    public BenchmarkAttribute findAttributeById() {
+        return modelStore.findAttributeById(attributeIds[nextIndex()]);
+    }
+
+    @Benchmark
+    public List<BasePresentationModel<BenchmarkAttribute>> findByType() {
+        return modelStore.findAllPresentationModelsByType("type-" + (nextIndex() % TYPE_COUNT));
+    }
+
+    @Benchmark
+    public List<BenchmarkAttribute> findByQualifier() {
+        return modelStore.findAllAttributesByQualifier("qualifier-" + nextIndex());
+    }
+
+    private int nextIndex() {
+        index = (index + 1) % modelCount;
+        return index;
+    }
+
+    private static BasePresentationModel<BenchmarkAttribute> createModel(final String id, final int index) {
+        final BenchmarkAttribute qualified = new BenchmarkAttribute("name", "value-" + index, "qualifier-" + index);
+        final BenchmarkAttribute unqualified = new BenchmarkAttribute("description", null, null);
+        final BasePresentationModel<BenchmarkAttribute> model = new BasePresentationModel<>(id, Arrays.asList(qualified, unqualified));
+        model.setPresentationModelType("type-" + (index % TYPE_COUNT));
+        return model;
+    }
+
+    public static class BenchmarkAttribute extends BaseAttribute {
+
+        public BenchmarkAttribute(final String propertyName, final Object value, final String qualifier) {
+            super(propertyName, value, qualifier);
+        }
+
+        @Override
+        public String getOrigin() {
+            return "B";
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.canoo.dp.impl.platform.client.http;
 
 import com.canoo.dp.impl.platform.core.Assert;
 import com.canoo.dp.impl.platform.core.http.ConnectionUtils;
+import com.canoo.dp.impl.platform.core.http.ContentEncodings;
 import com.canoo.dp.impl.platform.core.http.HttpClientConnection;
 import com.canoo.dp.impl.platform.core.http.HttpHeaderImpl;
 import com.canoo.platform.client.ClientConfiguration;
@@ -39,6 +40,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.ACCEPT_CHARSET_HEADER;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.ACCEPT_ENCODING_HEADER;
 import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.ACCEPT_HEADER;
 import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.CHARSET;
 import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.JSON_MIME_TYPE;
@@ -154,6 +156,8 @@ public class HttpCallResponseBuilderImpl implements HttpCallResponseBuilder {
         handled.set(true);
 
         requestHandlers.forEach(h -> h.handle(connection.getConnection()));
+        // a Content-Encoding is only undone if the client asked for it, otherwise the raw response is provided
+        final boolean decodeContent = connection.getConnection().getRequestProperty(ACCEPT_ENCODING_HEADER) != null;
         final byte[] rawBytes = dataProvider.get();
         try {
             connection.writeRequestContent(rawBytes);
@@ -165,6 +169,13 @@ public class HttpCallResponseBuilderImpl implements HttpCallResponseBuilder {
             int responseCode = connection.readResponseCode();
             responseHandlers.forEach(h -> h.handle(connection.getConnection()));
             final List<HttpHeader> headers = connection.getResponseHeaders();
+            if (decodeContent) {
+                final String contentEncoding = connection.getConnection().getContentEncoding();
+                final InputStream content = ContentEncodings.decode(connection.getContentStream(), contentEncoding);
+                // the Content-Length header describes the encoded body and not the decoded content
+                final long contentSize = ContentEncodings.isEncoded(contentEncoding) ? -1 : connection.getContentSize();
+                return new HttpResponseImpl<>(headers, responseCode, content, contentSize);
+            }
             return new HttpResponseImpl<>(headers, responseCode, connection.getContentStream(), connection.getContentSize());
         } catch (IOException e) {
             throw new ConnectionException("No response from server", e);
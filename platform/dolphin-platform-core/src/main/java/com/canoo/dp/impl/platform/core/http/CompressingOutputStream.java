@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.platform.core.http;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * An output stream that compresses the written content once it exceeds a threshold. Content up to the threshold is
+ * buffered and written uncompressed when the stream is closed. If more content is written the given callback is
+ * called (to define the {@code Content-Encoding} header before the first byte is written to the target) and all
+ * content is compressed while it is written. By doing so a body is never buffered completely.
+ * The stream must be closed to write all content.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class CompressingOutputStream extends OutputStream {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final CountingOutputStream target;
+
+    private final String encoding;
+
+    private final Runnable onCompressionStart;
+
+    private final CompressionStatistics statistics;
+
+    private byte[] buffer;
+
+    private int count;
+
+    private DeflaterOutputStream compressor;
+
+    private long uncompressedBytes;
+
+    private long cpuTime;
+
+    private boolean closed;
+
+    /**
+     * Constructor
+     * @param target the stream that receives the (compressed) content
+     * @param encoding the encoding that is used for compression ({@code gzip} or {@code deflate})
+     * @param threshold the max number of bytes that are written uncompressed
+     * @param onCompressionStart called before the first compressed byte is written to the target
+     * @param statistics statistics that are updated once a compressed stream is closed
+     */
+    public CompressingOutputStream(final OutputStream target, final String encoding, final int threshold, final Runnable onCompressionStart, final CompressionStatistics statistics) {
+        Assert.requireNonNull(target, "target");
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative");
+        }
+        this.target = new CountingOutputStream(target);
+        this.encoding = Assert.requireNonBlank(encoding, "encoding");
+        this.onCompressionStart = Assert.requireNonNull(onCompressionStart, "onCompressionStart");
+        this.statistics = Assert.requireNonNull(statistics, "statistics");
+        this.buffer = new byte[threshold];
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Returns true if the content is compressed. Once the stream is closed this is final.
+     * @return true if the content is compressed
+     */
+    public boolean isCompressed() {
+        return compressor != null;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream already closed");
+        }
+        if (compressor == null) {
+            if (count + len <= buffer.length) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            onCompressionStart.run();
+            compressor = ContentEncodings.encode(target, encoding);
+            compress(buffer, 0, count);
+            buffer = null;
+        }
+        compress(b, off, len);
+    }
+
+    private void compress(final byte[] b, final int off, final int len) throws IOException {
+        final long start = currentCpuTime();
+        compressor.write(b, off, len);
+        cpuTime += currentCpuTime() - start;
+        uncompressedBytes += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (compressor != null) {
+            compressor.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (compressor == null) {
+            target.write(buffer, 0, count);
+            buffer = null;
+            target.close();
+            return;
+        }
+        final long start = currentCpuTime();
+        compressor.finish();
+        cpuTime += currentCpuTime() - start;
+        compressor.close();
+        statistics.record(uncompressedBytes, target.getCount(), cpuTime);
+    }
+
+    private static long currentCpuTime() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+            final long cpuTime = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            if (cpuTime >= 0) {
+                return cpuTime;
+            }
+        }
+        return System.nanoTime();
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.platform.core.http;
+
+import org.apiguardian.api.API;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Collects statistics about the bodies that were compressed by {@link CompressingOutputStream}s. The class is
+ * thread safe.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class CompressionStatistics {
+
+    private final LongAdder compressedBodies = new LongAdder();
+
+    private final LongAdder uncompressedBytes = new LongAdder();
+
+    private final LongAdder compressedBytes = new LongAdder();
+
+    private final LongAdder cpuTime = new LongAdder();
+
+    public void record(final long uncompressedBytes, final long compressedBytes, final long cpuTimeNanos) {
+        compressedBodies.increment();
+        this.uncompressedBytes.add(uncompressedBytes);
+        this.compressedBytes.add(compressedBytes);
+        cpuTime.add(cpuTimeNanos);
+    }
+
+    public long getCompressedBodyCount() {
+        return compressedBodies.sum();
+    }
+
+    public long getUncompressedBytes() {
+        return uncompressedBytes.sum();
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * Returns the ratio of compressed to uncompressed bytes of all compressed bodies.
+     * @return the ratio (a value of 0.25 means that the compressed bodies have a quarter of the original size)
+     */
+    public double getCompressionRatio() {
+        final long uncompressed = getUncompressedBytes();
+        if (uncompressed == 0) {
+            return 1.0;
+        }
+        return getCompressedBytes() / (double) uncompressed;
+    }
+
+    /**
+     * Returns the CPU time that was spent to compress the bodies.
+     * @return the time in nanoseconds
+     */
+    public long getCpuTimeNanos() {
+        return cpuTime.sum();
+    }
+}
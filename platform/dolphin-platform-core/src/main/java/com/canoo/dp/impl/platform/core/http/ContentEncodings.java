@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.platform.core.http;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.DEFLATE_ENCODING;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.GZIP_ENCODING;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Helper methods for the content encodings ({@code gzip} and {@code deflate}) that are supported for HTTP bodies.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class ContentEncodings {
+
+    /**
+     * Value for an {@code Accept-Encoding} header that contains all supported encodings.
+     */
+    public static final String SUPPORTED_ENCODINGS = GZIP_ENCODING + ", " + DEFLATE_ENCODING;
+
+    private static final String IDENTITY_ENCODING = "identity";
+
+    private static final String ANY_ENCODING = "*";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ContentEncodings() {
+    }
+
+    /**
+     * Returns the supported encoding that should be used for a body based on the given {@code Accept-Encoding}
+     * header. {@code gzip} is preferred over {@code deflate}. Encodings with a quality value of 0 are ignored.
+     * @param acceptEncoding the value of the {@code Accept-Encoding} header, can be null
+     * @return the encoding or null if no supported encoding is accepted
+     */
+    public static String negotiate(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        for (final String part : acceptEncoding.split(",")) {
+            final String[] tokens = part.split(";");
+            final String encoding = tokens[0].trim().toLowerCase(Locale.ENGLISH);
+            if (isRefused(tokens)) {
+                continue;
+            }
+            if (GZIP_ENCODING.equals(encoding) || ANY_ENCODING.equals(encoding)) {
+                gzip = true;
+            } else if (DEFLATE_ENCODING.equals(encoding)) {
+                deflate = true;
+            }
+        }
+        if (gzip) {
+            return GZIP_ENCODING;
+        }
+        return deflate ? DEFLATE_ENCODING : null;
+    }
+
+    private static boolean isRefused(final String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            final String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim()) <= 0;
+                } catch (final NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the given {@code Content-Encoding} defines an encoding that differs from {@code identity}.
+     * @param contentEncoding the value of the {@code Content-Encoding} header, can be null
+     * @return true if the content is encoded
+     */
+    public static boolean isEncoded(final String contentEncoding) {
+        if (contentEncoding == null) {
+            return false;
+        }
+        final String encoding = contentEncoding.trim();
+        return !encoding.isEmpty() && !IDENTITY_ENCODING.equalsIgnoreCase(encoding);
+    }
+
+    /**
+     * Wraps the given stream so that the content is decoded based on the given {@code Content-Encoding}.
+     * @param inputStream the stream of the encoded content
+     * @param contentEncoding the value of the {@code Content-Encoding} header, can be null
+     * @return a stream of the decoded content
+     * @throws IOException if the content encoding is not supported or the content can not be read
+     */
+    public static InputStream decode(final InputStream inputStream, final String contentEncoding) throws IOException {
+        Assert.requireNonNull(inputStream, "inputStream");
+        if (!isEncoded(contentEncoding)) {
+            return inputStream;
+        }
+        final String encoding = contentEncoding.trim().toLowerCase(Locale.ENGLISH);
+        if (GZIP_ENCODING.equals(encoding) || ("x-" + GZIP_ENCODING).equals(encoding)) {
+            return new GZIPInputStream(inputStream, BUFFER_SIZE);
+        }
+        if (DEFLATE_ENCODING.equals(encoding)) {
+            return new InflaterInputStream(inputStream);
+        }
+        throw new IOException("Unsupported content encoding '" + contentEncoding + "'");
+    }
+
+    /**
+     * Wraps the given stream so that all content that is written to the returned stream is encoded.
+     * @param outputStream the stream for the encoded content
+     * @param encoding the encoding ({@code gzip} or {@code deflate})
+     * @return a stream that encodes the content
+     * @throws IOException if the encoding is not supported
+     */
+    public static DeflaterOutputStream encode(final OutputStream outputStream, final String encoding) throws IOException {
+        Assert.requireNonNull(outputStream, "outputStream");
+        if (GZIP_ENCODING.equals(encoding)) {
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+        if (DEFLATE_ENCODING.equals(encoding)) {
+            return new DeflaterOutputStream(outputStream);
+        }
+        throw new IOException("Unsupported content encoding '" + encoding + "'");
+    }
+}
@@ -35,6 +35,14 @@ public interface HttpHeaderConstants {
 
     String ACCEPT_CHARSET_HEADER = "Accept-Charset";
 
+    String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
+    String GZIP_ENCODING = "gzip";
+
+    String DEFLATE_ENCODING = "deflate";
+
+    String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+
     String SERVER_TIMING_HEADER = "Server-Timing";
 
     String SERVER_TIMING_HEADER_DUR = "dur=";
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.impl.platform.core.http;
+
+import com.canoo.dp.impl.platform.core.http.CompressingOutputStream;
+import com.canoo.dp.impl.platform.core.http.CompressionStatistics;
+import com.canoo.dp.impl.platform.core.http.ContentEncodings;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CompressingOutputStreamTest {
+
+    @Test
+    public void testSmallContentIsNotCompressed() throws IOException {
+        //given:
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final AtomicInteger compressionStarts = new AtomicInteger();
+        final CompressionStatistics statistics = new CompressionStatistics();
+        final byte[] content = createContent(100);
+
+        //when:
+        try (final CompressingOutputStream outputStream = new CompressingOutputStream(target, "gzip", 100, () -> compressionStarts.incrementAndGet(), statistics)) {
+            outputStream.write(content);
+        }
+
+        //then:
+        Assert.assertEquals(target.toByteArray(), content);
+        Assert.assertEquals(compressionStarts.get(), 0);
+        Assert.assertEquals(statistics.getCompressedBodyCount(), 0L);
+    }
+
+    @Test
+    public void testLargeContentIsCompressed() throws IOException {
+        //given:
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final AtomicInteger compressionStarts = new AtomicInteger();
+        final CompressionStatistics statistics = new CompressionStatistics();
+        final byte[] content = createContent(100_000);
+        final CompressingOutputStream outputStream = new CompressingOutputStream(target, "gzip", 1024, () -> {
+            Assert.assertEquals(target.size(), 0);
+            compressionStarts.incrementAndGet();
+        }, statistics);
+
+        //when:
+        outputStream.write(content, 0, 1000);
+        outputStream.write(content, 1000, content.length - 1000);
+        outputStream.close();
+
+        //then:
+        Assert.assertTrue(outputStream.isCompressed());
+        Assert.assertEquals(compressionStarts.get(), 1);
+        Assert.assertEquals(decode(target.toByteArray(), "gzip"), content);
+        Assert.assertEquals(statistics.getCompressedBodyCount(), 1L);
+        Assert.assertEquals(statistics.getUncompressedBytes(), (long) content.length);
+        Assert.assertEquals(statistics.getCompressedBytes(), (long) target.size());
+        Assert.assertTrue(statistics.getCompressionRatio() < 0.5);
+    }
+
+    @Test
+    public void testDeflateRoundTrip() throws IOException {
+        //given:
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final byte[] content = createContent(10_000);
+
+        //when:
+        try (final CompressingOutputStream outputStream = new CompressingOutputStream(target, "deflate", 0, () -> {}, new CompressionStatistics())) {
+            outputStream.write(content);
+        }
+
+        //then:
+        Assert.assertEquals(decode(target.toByteArray(), "deflate"), content);
+    }
+
+    @Test
+    public void testEncodingNegotiation() {
+        Assert.assertEquals(ContentEncodings.negotiate("gzip, deflate"), "gzip");
+        Assert.assertEquals(ContentEncodings.negotiate("deflate, gzip;q=0.5"), "gzip");
+        Assert.assertEquals(ContentEncodings.negotiate("gzip;q=0, deflate"), "deflate");
+        Assert.assertEquals(ContentEncodings.negotiate("*"), "gzip");
+        Assert.assertNull(ContentEncodings.negotiate("br"));
+        Assert.assertNull(ContentEncodings.negotiate(null));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testUnsupportedContentEncoding() throws IOException {
+        ContentEncodings.decode(new ByteArrayInputStream(new byte[0]), "br");
+    }
+
+    private byte[] createContent(final int size) {
+        final byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) ("[{\"id\":\"ValueChanged\"}]".charAt(i % 23));
+        }
+        return content;
+    }
+
+    private byte[] decode(final byte[] encoded, final String encoding) throws IOException {
+        final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (final InputStream inputStream = ContentEncodings.decode(new ByteArrayInputStream(encoded), encoding)) {
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0) {
+                decoded.write(buffer, 0, read);
+            }
+        }
+        return decoded.toByteArray();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.impl.platform.core.http;
+
+import com.canoo.dp.impl.platform.core.http.ContentEncodings;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class ContentEncodingsTest {
+
+    @Test
+    public void testNegotiateWithoutHeader() {
+        Assert.assertNull(ContentEncodings.negotiate(null));
+        Assert.assertNull(ContentEncodings.negotiate(""));
+    }
+
+    @Test
+    public void testNegotiatePrefersGzip() {
+        Assert.assertEquals(ContentEncodings.negotiate("deflate, gzip"), "gzip");
+        Assert.assertEquals(ContentEncodings.negotiate(ContentEncodings.SUPPORTED_ENCODINGS), "gzip");
+        Assert.assertEquals(ContentEncodings.negotiate("GZIP;q=0.5, deflate;q=1.0"), "gzip");
+    }
+
+    @Test
+    public void testNegotiateDeflate() {
+        Assert.assertEquals(ContentEncodings.negotiate("deflate"), "deflate");
+        Assert.assertEquals(ContentEncodings.negotiate("br, deflate;q=0.8"), "deflate");
+    }
+
+    @Test
+    public void testNegotiateIgnoresRefusedEncodings() {
+        Assert.assertEquals(ContentEncodings.negotiate("gzip;q=0, deflate"), "deflate");
+        Assert.assertEquals(ContentEncodings.negotiate("gzip; q=0.0, deflate;q=0.5"), "deflate");
+        Assert.assertNull(ContentEncodings.negotiate("gzip;q=0, deflate;q=0"));
+        Assert.assertNull(ContentEncodings.negotiate("gzip;q=invalid"));
+    }
+
+    @Test
+    public void testNegotiateWildcard() {
+        Assert.assertEquals(ContentEncodings.negotiate("*"), "gzip");
+        Assert.assertEquals(ContentEncodings.negotiate("identity, *;q=0.1"), "gzip");
+        Assert.assertNull(ContentEncodings.negotiate("*;q=0"));
+    }
+
+    @Test
+    public void testNegotiateUnsupportedEncodings() {
+        Assert.assertNull(ContentEncodings.negotiate("br"));
+        Assert.assertNull(ContentEncodings.negotiate("identity, compress"));
+    }
+
+    @Test
+    public void testIsEncoded() {
+        Assert.assertFalse(ContentEncodings.isEncoded(null));
+        Assert.assertFalse(ContentEncodings.isEncoded(" "));
+        Assert.assertFalse(ContentEncodings.isEncoded("Identity"));
+        Assert.assertTrue(ContentEncodings.isEncoded("gzip"));
+        Assert.assertTrue(ContentEncodings.isEncoded("deflate"));
+    }
+
+    @Test
+    public void testDecodeWithoutEncodingReturnsStream() throws IOException {
+        //given:
+        final InputStream inputStream = new ByteArrayInputStream(new byte[]{1, 2, 3});
+
+        //then:
+        Assert.assertSame(ContentEncodings.decode(inputStream, null), inputStream);
+        Assert.assertSame(ContentEncodings.decode(inputStream, "identity"), inputStream);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testDecodeUnsupportedEncoding() throws IOException {
+        ContentEncodings.decode(new ByteArrayInputStream(new byte[0]), "br");
+    }
+}
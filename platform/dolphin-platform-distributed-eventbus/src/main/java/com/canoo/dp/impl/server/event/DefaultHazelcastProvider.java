@@ -46,6 +46,7 @@ public class DefaultHazelcastProvider implements HazelcastProvider {
             LOG.debug("Hazelcast server name: {}", serverName);
             LOG.debug("Hazelcast server port: {}", serverPort);
             LOG.debug("Hazelcast group name: {}", groupName);
+            LOG.debug("Distributed event spec version: {}", configuration.getEventSpecVersion());
 
             final ClientConfig clientConfig = new ClientConfig();
             clientConfig.getNetworkConfig().setConnectionAttemptLimit(configuration.getConnectionAttemptLimit());
@@ -56,7 +57,7 @@ public class DefaultHazelcastProvider implements HazelcastProvider {
             clientConfig.setProperty(LOGGER_PROPERTY_NAME, LOGGER_PROPERTY_SLF4J_TYPE);
 
             final SerializerConfig dolphinEventSerializerConfig = new SerializerConfig().
-                    setImplementation(new EventStreamSerializer()).setTypeClass(DolphinEvent.class);
+                    setImplementation(new EventStreamSerializer(configuration.getEventSpecVersion(), EventPayloadCodecRegistry.withServiceLoaderCodecs())).setTypeClass(DolphinEvent.class);
 
             clientConfig.getSerializationConfig().getSerializerConfigs().add(dolphinEventSerializerConfig);
 
@@ -19,39 +19,151 @@ import com.canoo.dp.impl.platform.core.Assert;
 import com.canoo.platform.core.functional.Subscription;
 import com.canoo.platform.remoting.server.event.MessageEventContext;
 import com.canoo.platform.remoting.server.event.MessageListener;
+import com.canoo.platform.remoting.server.event.ReplayPolicy;
 import com.canoo.platform.remoting.server.event.Topic;
+import com.hazelcast.core.EntryAdapter;
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
 import com.hazelcast.core.ITopic;
+import com.hazelcast.core.ReplicatedMap;
+import com.hazelcast.ringbuffer.Ringbuffer;
 import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
+/**
+ * Event bus that sends events over Hazelcast to other nodes of the cluster. Each node stores its interest in a topic
+ * in a replicated map so events are only sent over Hazelcast if another node has subscriptions for the topic. Such an
+ * entry is written with a TTL ({@link #INTEREST_TTL_SECONDS}) and refreshed while the subscriptions exist. Therefore
+ * the entries of a node that crashed will expire, the entries of a node that is shut down regularly are removed in
+ * {@link #shutdown()}. * <p>
+ * Older nodes do not store their interest. Therefore the interest is only used to skip the publishing of an event if
+ * it is activated (see {@link HazelcastConfig#isEventInterestActive()}), otherwise each event is sent over Hazelcast.
+ */
 @API(since = "0.x", status = INTERNAL)
 public class DistributedEventBus extends AbstractEventBus {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DistributedEventBus.class);
+
+    public static final long INTEREST_TTL_SECONDS = 60;
+
+    private static final long INTEREST_REFRESH_SECONDS = INTEREST_TTL_SECONDS / 3;
+
     private final HazelcastInstance hazelcastClient;
 
+    private final TopicInterestRegistry interestRegistry;
+
+    private final ReplicatedMap<String, String> interestMap;
+
     private final Map<String, String> iTopicRegistrations = new ConcurrentHashMap<>();
 
     private final Map<String, Integer> iTopicCount = new ConcurrentHashMap<>();
 
     private final Lock hazelcastEventPipeLock = new ReentrantLock();
 
+    private final String interestListenerId;
+
+    private final ScheduledExecutorService interestRefreshExecutor;
+
+    private final boolean interestActive;
+
     public DistributedEventBus(final HazelcastInstance hazelcastClient) {
+        this(hazelcastClient, false);
+    }
+
+    public DistributedEventBus(final HazelcastInstance hazelcastClient, final boolean interestActive) {
         this.hazelcastClient = Assert.requireNonNull(hazelcastClient, "hazelcastClient");
+        this.interestActive = interestActive;
+        this.interestRegistry = new TopicInterestRegistry(UUID.randomUUID().toString());
+        this.interestMap = hazelcastClient.getReplicatedMap(DistributedEventConstants.TOPIC_INTEREST_MAP_NAME);
+        this.interestListenerId = interestMap.addEntryListener(new EntryAdapter<String, String>() {
+            @Override
+            public void entryAdded(final EntryEvent<String, String> event) {
+                interestRegistry.onInterestAdded(event.getKey());
+            }
+
+            @Override
+            public void entryRemoved(final EntryEvent<String, String> event) {
+                interestRegistry.onInterestRemoved(event.getKey());
+            }
+
+            @Override
+            public void entryEvicted(final EntryEvent<String, String> event) {
+                interestRegistry.onInterestRemoved(event.getKey());
+            }
+        });
+        for (final String key : interestMap.keySet()) {
+            interestRegistry.onInterestAdded(key);
+        }
+        this.interestRefreshExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "Dolphin Platform topic interest refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        interestRefreshExecutor.scheduleAtFixedRate(this::refreshInterest, INTEREST_REFRESH_SECONDS, INTEREST_REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Removes all subscriptions of this node from Hazelcast. Once this method is called the event bus can not be used
+     * anymore.
+     */
+    @Override
+    public void shutdown() {
+        interestRefreshExecutor.shutdownNow();
+        hazelcastEventPipeLock.lock();
+        try {
+            for (final Map.Entry<String, String> registration : iTopicRegistrations.entrySet()) {
+                hazelcastClient.getTopic(registration.getKey()).removeMessageListener(registration.getValue());
+                interestMap.remove(interestRegistry.toKey(registration.getKey()));
+            }
+            iTopicRegistrations.clear();
+            iTopicCount.clear();
+            interestMap.removeEntryListener(interestListenerId);
+        } finally {
+            hazelcastEventPipeLock.unlock();
+        }
+    }
+
+    private void refreshInterest() {
+        try {
+            for (final String topicName : iTopicRegistrations.keySet()) {
+                putInterest(topicName);
+            }
+        } catch (final Exception e) {
+            LOG.error("Can not refresh the topic interest of this node", e);
+        }
+    }
+
+    private void putInterest(final String topicName) {
+        interestMap.put(interestRegistry.toKey(topicName), topicName, INTEREST_TTL_SECONDS, TimeUnit.SECONDS);
     }
 
     protected <T extends Serializable> void publishForOtherSessions(final DolphinEvent<T> event) {
         Assert.requireNonNull(event, "event");
-        final ITopic<DolphinEvent<T>> topic = toHazelcastTopic(event.getMessageEventContext().getTopic());
-        topic.publish(event);
+        final Topic<T> topic = event.getMessageEventContext().getTopic();
+        if (!interestActive || interestRegistry.hasRemoteInterest(topic.getName())) {
+            event.addMetadata(DistributedEventConstants.ORIGIN_NODE_PARAM, interestRegistry.getNodeId());
+            final ITopic<DolphinEvent<T>> hazelcastTopic = toHazelcastTopic(topic);
+            hazelcastTopic.publish(event);
+        } else {
+            LOG.trace("No subscriptions for topic {} on other nodes, event will only be handled locally", topic.getName());
+        }
+        // The local sessions are handled directly, the event that comes back from Hazelcast will be ignored
+        triggerEventHandling(event);
     }
 
     @Override
@@ -67,6 +179,14 @@ public class DistributedEventBus extends AbstractEventBus {
         };
     }
 
+    @Override
+    protected ReplayBuffer createReplayBuffer(final Topic<?> topic, final ReplayPolicy policy) {
+        Assert.requireNonNull(topic, "topic");
+        final Ringbuffer<DolphinEvent<?>> ringbuffer = hazelcastClient.getRingbuffer(DistributedEventConstants.REPLAY_BUFFER_PREFIX + topic.getName());
+        final IAtomicLong sequence = hazelcastClient.getAtomicLong(DistributedEventConstants.REPLAY_SEQUENCE_PREFIX + topic.getName());
+        return new HazelcastReplayBuffer(ringbuffer, sequence, policy);
+    }
+
     private <T extends Serializable> Subscription createHazelcastSubscription(final Topic<T> topic) {
         hazelcastEventPipeLock.lock();
         try {
@@ -105,6 +225,10 @@ public class DistributedEventBus extends AbstractEventBus {
                 @Override
                 public void onMessage(com.hazelcast.core.Message<DolphinEvent<T>> message) {
                     final DolphinEvent<T> event = message.getMessageObject();
+                    if (interestRegistry.getNodeId().equals(event.getMessageEventContext().getMetadata().get(DistributedEventConstants.ORIGIN_NODE_PARAM))) {
+                        LOG.trace("Ignoring event for topic {} that was published by this node", topic.getName());
+                        return;
+                    }
                     triggerEventHandling(event);
                 }
             });
@@ -112,6 +236,7 @@ public class DistributedEventBus extends AbstractEventBus {
 
             iTopicRegistrations.put(topic.getName(), registrationId);
             iTopicCount.put(topic.getName(), 1);
+            putInterest(topic.getName());
         } finally {
             hazelcastEventPipeLock.unlock();
         }
@@ -134,6 +259,7 @@ public class DistributedEventBus extends AbstractEventBus {
 
             iTopicRegistrations.remove(topic.getName());
             iTopicCount.remove(topic.getName());
+            interestMap.remove(interestRegistry.toKey(topic.getName()));
         } finally {
             hazelcastEventPipeLock.unlock();
         }
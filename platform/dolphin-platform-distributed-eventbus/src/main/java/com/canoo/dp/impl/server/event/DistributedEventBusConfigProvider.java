@@ -38,6 +38,10 @@ public class DistributedEventBusConfigProvider extends ConfigurationProviderAdap
 
     public static final String HAZELCAST_CONNECTION_TIMEOUT = "hazelcast.connection.timeout";
 
+    public static final String HAZELCAST_EVENT_SPEC_VERSION = "hazelcast.event.spec.version";
+
+    public static final String HAZELCAST_EVENT_INTEREST_ACTIVE = "hazelcast.event.interest.active";
+
 
     public static final String DEFAULT_HAZELCAST_SERVER = "localhost";
 
@@ -51,12 +55,17 @@ public class DistributedEventBusConfigProvider extends ConfigurationProviderAdap
 
     public static final int DEFAULT_HAZELCAST_CONNECTION_TIMEOUT = 5000;
 
+    public static final String DEFAULT_HAZELCAST_EVENT_SPEC_VERSION = DistributedEventConstants.SPEC_1_0;
+
+    public static final boolean DEFAULT_HAZELCAST_EVENT_INTEREST_ACTIVE = false;
+
     @Override
     public Map<String, String> getStringProperties() {
         final Map<String, String> properties = new HashMap<>();
         properties.put(HAZELCAST_SERVER_NAME, DEFAULT_HAZELCAST_SERVER);
         properties.put(HAZELCAST_SERVER_PORT, DEFAULT_HAZELCAST_PORT);
         properties.put(HAZELCAST_GROUP_NAME, DEFAULT_HAZELCAST_GROUP_NAME);
+        properties.put(HAZELCAST_EVENT_SPEC_VERSION, DEFAULT_HAZELCAST_EVENT_SPEC_VERSION);
         return properties;
     }
 
@@ -68,4 +77,11 @@ public class DistributedEventBusConfigProvider extends ConfigurationProviderAdap
         properties.put(HAZELCAST_CONNECTION_TIMEOUT, DEFAULT_HAZELCAST_CONNECTION_TIMEOUT);
         return properties;
     }
+
+    @Override
+    public Map<String, Boolean> getBooleanProperties() {
+        final Map<String, Boolean> properties = new HashMap<>();
+        properties.put(HAZELCAST_EVENT_INTEREST_ACTIVE, DEFAULT_HAZELCAST_EVENT_INTEREST_ACTIVE);
+        return properties;
+    }
 }
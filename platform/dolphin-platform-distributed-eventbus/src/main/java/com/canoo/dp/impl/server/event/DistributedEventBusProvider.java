@@ -59,7 +59,8 @@ public class DistributedEventBusProvider implements EventBusProvider {
 
         LOG.debug("Using Hazelcast provider {}", hazelcastProvider.getClass());
 
-        return new DistributedEventBus(hazelcastProvider.getHazelcastInstance(new HazelcastConfig(configuration.getConfiguration())));
+        final HazelcastConfig hazelcastConfig = new HazelcastConfig(configuration.getConfiguration());
+        return new DistributedEventBus(hazelcastProvider.getHazelcastInstance(hazelcastConfig), hazelcastConfig.isEventInterestActive());
     }
 
 }
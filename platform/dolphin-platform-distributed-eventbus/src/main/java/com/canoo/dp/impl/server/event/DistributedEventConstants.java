@@ -26,6 +26,10 @@ public interface DistributedEventConstants {
 
     String SPEC_1_0 = "1.0";
 
+    String SPEC_2_0 = "2.0";
+
+    String SPEC_2_0_HEADER = "dolphin-event/2.0";
+
     int TYPE_ID = 4711;
 
     String DATA_PARAM = "data";
@@ -42,4 +46,12 @@ public interface DistributedEventConstants {
 
     String METADATA_VALUE_PARAM = "value";
 
+    String REPLAY_BUFFER_PREFIX = "dolphin-replay-";
+
+    String REPLAY_SEQUENCE_PREFIX = "dolphin-replay-sequence-";
+
+    String TOPIC_INTEREST_MAP_NAME = "dolphin-topic-interest";
+
+    String ORIGIN_NODE_PARAM = "sender.nodeId";
+
 }
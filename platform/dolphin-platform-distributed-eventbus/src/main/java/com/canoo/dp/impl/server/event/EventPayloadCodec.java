@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Encodes the payload of a distributed event to raw bytes. Codecs are used by the {@link EventStreamSerializer} when
+ * events are written with {@link DistributedEventConstants#SPEC_2_0}. A codec is chosen by the exact type of the
+ * payload; payloads without a registered codec are encoded by Java serialization. Additional codecs can be provided
+ * by the Java {@link java.util.ServiceLoader} mechanism and must be available on all nodes of the cluster.
+ *
+ * @param <T> the payload type
+ */
+@API(since = "1.0.0", status = EXPERIMENTAL)
+public interface EventPayloadCodec<T extends Serializable> {
+
+    /**
+     * Returns the unique id of the codec. The id is part of every serialized event and used to find the codec on read.
+     * @return the id
+     */
+    String getId();
+
+    /**
+     * Returns the payload type that is supported by this codec.
+     * @return the payload type
+     */
+    Class<T> getSupportedType();
+
+    byte[] encode(T data) throws IOException;
+
+    T decode(byte[] data) throws IOException;
+}
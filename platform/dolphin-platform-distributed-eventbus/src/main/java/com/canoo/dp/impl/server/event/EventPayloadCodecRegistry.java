@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Registry of all {@link EventPayloadCodec} instances that can be used to encode event payloads. Java serialization
+ * is always registered and used as fallback.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class EventPayloadCodecRegistry {
+
+    private final EventPayloadCodec<Serializable> defaultCodec = new JavaSerializationPayloadCodec();
+
+    private final Map<Class<?>, EventPayloadCodec<?>> codecsByType = new ConcurrentHashMap<>();
+
+    private final Map<String, EventPayloadCodec<?>> codecsById = new ConcurrentHashMap<>();
+
+    public EventPayloadCodecRegistry() {
+        codecsById.put(defaultCodec.getId(), defaultCodec);
+    }
+
+    public static EventPayloadCodecRegistry withServiceLoaderCodecs() {
+        final EventPayloadCodecRegistry registry = new EventPayloadCodecRegistry();
+        for (final EventPayloadCodec<?> codec : ServiceLoader.load(EventPayloadCodec.class)) {
+            registry.register(codec);
+        }
+        return registry;
+    }
+
+    public <T extends Serializable> void register(final EventPayloadCodec<T> codec) {
+        Assert.requireNonNull(codec, "codec");
+        final String id = Assert.requireNonBlank(codec.getId(), "id");
+        final Class<T> type = Assert.requireNonNull(codec.getSupportedType(), "supportedType");
+        if (codecsById.putIfAbsent(id, codec) != null) {
+            throw new IllegalStateException("A codec with id '" + id + "' is already registered");
+        }
+        codecsByType.put(type, codec);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> EventPayloadCodec<T> getCodecFor(final T data) {
+        Assert.requireNonNull(data, "data");
+        final EventPayloadCodec<?> codec = codecsByType.get(data.getClass());
+        if (codec != null) {
+            return (EventPayloadCodec<T>) codec;
+        }
+        return (EventPayloadCodec<T>) defaultCodec;
+    }
+
+    public EventPayloadCodec<?> getCodecById(final String id) {
+        Assert.requireNonBlank(id, "id");
+        final EventPayloadCodec<?> codec = codecsById.get(id);
+        if (codec == null) {
+            throw new IllegalArgumentException("No event payload codec with id '" + id + "' registered");
+        }
+        return codec;
+    }
+}
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.CONTEXT_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.DATA_PARAM;
@@ -41,28 +42,80 @@ import static com.canoo.dp.impl.server.event.DistributedEventConstants.METADATA_
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.METADATA_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.METADATA_VALUE_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.SPEC_1_0;
+import static com.canoo.dp.impl.server.event.DistributedEventConstants.SPEC_2_0;
+import static com.canoo.dp.impl.server.event.DistributedEventConstants.SPEC_2_0_HEADER;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.SPEC_VERSION_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.TIMESTAMP_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.TOPIC_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.TYPE_ID;
 import static org.apiguardian.api.API.Status.INTERNAL;
 
+/**
+ * Hazelcast serializer for {@link DolphinEvent}. Events are written in the configured spec version:
+ * <ul>
+ *     <li>{@link DistributedEventConstants#SPEC_1_0}: a single JSON string that contains the Base64 encoded Java
+ *     serialization of the payload and all metadata values</li>
+ *     <li>{@link DistributedEventConstants#SPEC_2_0}: a header followed by topic, timestamp and metadata written
+ *     directly to the stream. The payload is stored as raw bytes that are created by an {@link EventPayloadCodec}</li>
+ * </ul>
+ * Both versions can always be read, so nodes can be upgraded one after another while the older nodes still write
+ * {@link DistributedEventConstants#SPEC_1_0}.
+ */
 @API(since = "1.0.0.RC1", status = INTERNAL)
 public class EventStreamSerializer implements StreamSerializer<DolphinEvent<?>> {
 
     private final Gson gson;
 
-    private EventStreamSerializer(final Gson gson) {
+    private final String writeSpecVersion;
+
+    private final EventPayloadCodecRegistry codecRegistry;
+
+    private EventStreamSerializer(final Gson gson, final String writeSpecVersion, final EventPayloadCodecRegistry codecRegistry) {
         this.gson = Assert.requireNonNull(gson, "gson");
+        this.writeSpecVersion = Assert.requireNonBlank(writeSpecVersion, "writeSpecVersion");
+        this.codecRegistry = Assert.requireNonNull(codecRegistry, "codecRegistry");
+        if (!SPEC_1_0.equals(writeSpecVersion) && !SPEC_2_0.equals(writeSpecVersion)) {
+            throw new IllegalArgumentException("Unsupported spec version: " + writeSpecVersion);
+        }
+    }
+
+    public EventStreamSerializer(final String writeSpecVersion, final EventPayloadCodecRegistry codecRegistry) {
+        this(new GsonBuilder().serializeNulls().create(), writeSpecVersion, codecRegistry);
     }
 
     public EventStreamSerializer() {
-        this(new GsonBuilder().serializeNulls().create());
+        this(SPEC_1_0, new EventPayloadCodecRegistry());
     }
 
     @Override
     public void write(final ObjectDataOutput out, final DolphinEvent<?> event) throws IOException {
-        out.writeUTF(gson.toJson(convertToJson(event)));
+        if (SPEC_2_0.equals(writeSpecVersion)) {
+            writeBinary(out, event);
+        } else {
+            out.writeUTF(gson.toJson(convertToJson(event)));
+        }
+    }
+
+    private void writeBinary(final ObjectDataOutput out, final DolphinEvent<?> event) throws IOException {
+        final MessageEventContext<?> eventContext = event.getMessageEventContext();
+        out.writeUTF(SPEC_2_0_HEADER);
+        out.writeUTF(eventContext.getTopic().getName());
+        out.writeLong(eventContext.getTimestamp());
+
+        final Serializable data = event.getData();
+        out.writeBoolean(data != null);
+        if (data != null) {
+            final EventPayloadCodec<Serializable> codec = codecRegistry.getCodecFor(data);
+            out.writeUTF(codec.getId());
+            out.writeByteArray(codec.encode(data));
+        }
+
+        final Map<String, Serializable> metadata = eventContext.getMetadata();
+        out.writeInt(metadata.size());
+        for (final Map.Entry<String, Serializable> entry : metadata.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
     }
 
     private JsonObject convertToJson(final DolphinEvent<?> event) throws IOException {
@@ -106,7 +159,40 @@ public class EventStreamSerializer implements StreamSerializer<DolphinEvent<?>>
 
     @Override
     public DolphinEvent<?> read(final ObjectDataInput in) throws IOException {
-        final JsonElement root = new JsonParser().parse(in.readUTF());
+        // SPEC_1_0 events contain only a JSON string, SPEC_2_0 events start with a header string
+        final String head = in.readUTF();
+        if (Objects.equals(SPEC_2_0_HEADER, head)) {
+            return readBinary(in);
+        }
+        return readJson(head);
+    }
+
+    private DolphinEvent<?> readBinary(final ObjectDataInput in) throws IOException {
+        final Topic<?> topic = new Topic<>(in.readUTF());
+        final long timestamp = in.readLong();
+
+        Serializable data = null;
+        if (in.readBoolean()) {
+            final EventPayloadCodec<?> codec = codecRegistry.getCodecById(in.readUTF());
+            data = codec.decode(in.readByteArray());
+        }
+
+        final DolphinEvent event = new DolphinEvent(topic, timestamp, data);
+
+        final int metadataCount = in.readInt();
+        for (int i = 0; i < metadataCount; i++) {
+            final String metadataKey = in.readUTF();
+            final Serializable metadataValue = in.readObject();
+            event.addMetadata(metadataKey, metadataValue);
+        }
+        return event;
+    }
+
+    private DolphinEvent<?> readJson(final String json) throws IOException {
+        if (json == null) {
+            throw new IllegalArgumentException("Input can not be parsed!");
+        }
+        final JsonElement root = new JsonParser().parse(json);
         if (!root.isJsonObject()) {
             throw new IllegalArgumentException("Input can not be parsed!");
         }
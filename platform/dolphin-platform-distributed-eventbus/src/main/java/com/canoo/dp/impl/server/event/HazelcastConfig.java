@@ -24,12 +24,16 @@ import java.io.Serializable;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.DEFAULT_HAZELCAST_CONNECTION_ATTEMPT_COUNT;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.DEFAULT_HAZELCAST_CONNECTION_ATTEMPT_PERIOD;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.DEFAULT_HAZELCAST_CONNECTION_TIMEOUT;
+import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.DEFAULT_HAZELCAST_EVENT_INTEREST_ACTIVE;
+import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.DEFAULT_HAZELCAST_EVENT_SPEC_VERSION;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.DEFAULT_HAZELCAST_GROUP_NAME;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.DEFAULT_HAZELCAST_PORT;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.DEFAULT_HAZELCAST_SERVER;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.HAZELCAST_CONNECTION_ATTEMPT_COUNT;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.HAZELCAST_CONNECTION_ATTEMPT_PERIOD;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.HAZELCAST_CONNECTION_TIMEOUT;
+import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.HAZELCAST_EVENT_INTEREST_ACTIVE;
+import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.HAZELCAST_EVENT_SPEC_VERSION;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.HAZELCAST_GROUP_NAME;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.HAZELCAST_SERVER_NAME;
 import static com.canoo.dp.impl.server.event.DistributedEventBusConfigProvider.HAZELCAST_SERVER_PORT;
@@ -68,4 +72,25 @@ public class HazelcastConfig implements Serializable {
         return configuration.getIntProperty(HAZELCAST_CONNECTION_TIMEOUT, DEFAULT_HAZELCAST_CONNECTION_TIMEOUT);
     }
 
+    /**
+     * Returns the spec version that is used to write distributed events. Events of all versions can be read. By default
+     * {@link DistributedEventConstants#SPEC_1_0} is written since older nodes can only read that version.
+     * {@link DistributedEventConstants#SPEC_2_0} must only be activated once all nodes of the cluster are upgraded to a
+     * version that can read it.
+     * @return the spec version
+     */
+    public String getEventSpecVersion() {
+        return configuration.getProperty(HAZELCAST_EVENT_SPEC_VERSION, DEFAULT_HAZELCAST_EVENT_SPEC_VERSION);
+    }
+
+    /**
+     * Defines if events are only sent over Hazelcast if another node has subscriptions for the topic. Older nodes do not
+     * announce their subscriptions and would miss events. Therefore this is deactivated by default and must only be
+     * activated once all nodes of the cluster are upgraded.
+     * @return true if events are only sent to Hazelcast if another node is interested in the topic
+     */
+    public boolean isEventInterestActive() {
+        return configuration.getBooleanProperty(HAZELCAST_EVENT_INTEREST_ACTIVE, DEFAULT_HAZELCAST_EVENT_INTEREST_ACTIVE);
+    }
+
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.platform.remoting.server.event.ReplayPolicy;
+import com.hazelcast.core.IAtomicLong;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * {@link ReplayBuffer} that is shared by all server instances. The events are stored in a Hazelcast
+ * {@link Ringbuffer} and the sequence numbers are created by a Hazelcast {@link IAtomicLong}. The capacity and time to
+ * live of the ring buffer are defined by the Hazelcast cluster configuration (see
+ * {@link DistributedEventConstants#REPLAY_BUFFER_PREFIX}), the {@link ReplayPolicy} of the topic is applied when the
+ * events are read.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class HazelcastReplayBuffer implements ReplayBuffer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HazelcastReplayBuffer.class);
+
+    private static final int MAX_READ_BATCH_SIZE = 1000;
+
+    private final Ringbuffer<DolphinEvent<?>> ringbuffer;
+
+    private final IAtomicLong sequence;
+
+    private final ReplayPolicy policy;
+
+    public HazelcastReplayBuffer(final Ringbuffer<DolphinEvent<?>> ringbuffer, final IAtomicLong sequence, final ReplayPolicy policy) {
+        this.ringbuffer = Assert.requireNonNull(ringbuffer, "ringbuffer");
+        this.sequence = Assert.requireNonNull(sequence, "sequence");
+        this.policy = Assert.requireNonNull(policy, "policy");
+    }
+
+    @Override
+    public long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    @Override
+    public <T extends Serializable> void add(final DolphinEvent<T> event) {
+        Assert.requireNonNull(event, "event");
+        ringbuffer.add(event);
+    }
+
+    @Override
+    public <T extends Serializable> List<DolphinEvent<T>> getEvents() {
+        final long tail = ringbuffer.tailSequence();
+        long next = Math.max(ringbuffer.headSequence(), tail - policy.getMaxEvents() + 1);
+        final List<DolphinEvent<T>> result = new ArrayList<>();
+        final long minTimestamp = System.currentTimeMillis() - policy.getMaxAgeInMillis();
+        while (next <= tail) {
+            final int count = (int) Math.min(MAX_READ_BATCH_SIZE, tail - next + 1);
+            try {
+                final ReadResultSet<DolphinEvent<?>> resultSet = ringbuffer.readManyAsync(next, 0, count, null).get();
+                for (final DolphinEvent<?> event : resultSet) {
+                    if (event.getMessageEventContext().getTimestamp() >= minTimestamp) {
+                        result.add((DolphinEvent<T>) event);
+                    }
+                }
+                next = next + resultSet.readCount();
+                if (resultSet.readCount() == 0) {
+                    break;
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading replay buffer " + ringbuffer.getName(), e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof StaleSequenceException) {
+                    LOG.debug("Events of replay buffer {} were overwritten while reading", ringbuffer.getName());
+                    next = ringbuffer.headSequence();
+                } else {
+                    throw new IllegalStateException("Can not read replay buffer " + ringbuffer.getName(), e);
+                }
+            }
+        }
+        return result;
+    }
+}
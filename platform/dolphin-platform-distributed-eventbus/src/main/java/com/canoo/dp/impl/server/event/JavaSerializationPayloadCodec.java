@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import org.apiguardian.api.API;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+@API(since = "1.0.0", status = INTERNAL)
+public class JavaSerializationPayloadCodec implements EventPayloadCodec<Serializable> {
+
+    public static final String ID = "java";
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public Class<Serializable> getSupportedType() {
+        return Serializable.class;
+    }
+
+    @Override
+    public byte[] encode(final Serializable data) throws IOException {
+        final ByteArrayOutputStream rawOutputStream = new ByteArrayOutputStream();
+        try (final ObjectOutputStream dataOutputStream = new ObjectOutputStream(rawOutputStream)) {
+            dataOutputStream.writeObject(data);
+        }
+        return rawOutputStream.toByteArray();
+    }
+
+    @Override
+    public Serializable decode(final byte[] data) throws IOException {
+        try (final ObjectInputStream dataInputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (Serializable) dataInputStream.readObject();
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Payload can not be deserialized", e);
+        }
+    }
+}
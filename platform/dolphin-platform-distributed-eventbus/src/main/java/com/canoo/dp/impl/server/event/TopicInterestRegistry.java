@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Knows which other nodes of the cluster have subscriptions for a topic. The interest of all nodes is stored in a
+ * replicated map whose keys are created by {@link #toKey(String, String)}. Changes of that map are passed to this
+ * registry so a publisher can decide without a remote call whether an event must be sent over Hazelcast at all.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class TopicInterestRegistry {
+
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId;
+
+    private final Map<String, Set<String>> remoteNodesByTopic = new ConcurrentHashMap<>();
+
+    public TopicInterestRegistry(final String nodeId) {
+        this.nodeId = Assert.requireNonBlank(nodeId, "nodeId");
+        if (nodeId.contains(SEPARATOR)) {
+            throw new IllegalArgumentException("nodeId must not contain " + SEPARATOR);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String toKey(final String topicName) {
+        return toKey(nodeId, topicName);
+    }
+
+    public static String toKey(final String nodeId, final String topicName) {
+        Assert.requireNonBlank(nodeId, "nodeId");
+        Assert.requireNonNull(topicName, "topicName");
+        return nodeId + SEPARATOR + topicName;
+    }
+
+    public void onInterestAdded(final String key) {
+        Assert.requireNonBlank(key, "key");
+        final int index = key.indexOf(SEPARATOR);
+        final String keyNodeId = key.substring(0, index);
+        if (!nodeId.equals(keyNodeId)) {
+            remoteNodesByTopic.computeIfAbsent(key.substring(index + 1), t -> ConcurrentHashMap.newKeySet()).add(keyNodeId);
+        }
+    }
+
+    public void onInterestRemoved(final String key) {
+        Assert.requireNonBlank(key, "key");
+        final int index = key.indexOf(SEPARATOR);
+        final String keyNodeId = key.substring(0, index);
+        remoteNodesByTopic.computeIfPresent(key.substring(index + 1), (t, nodes) -> {
+            nodes.remove(keyNodeId);
+            return nodes.isEmpty() ? null : nodes;
+        });
+    }
+
+    public boolean hasRemoteInterest(final String topicName) {
+        Assert.requireNonNull(topicName, "topicName");
+        final Set<String> nodes = remoteNodesByTopic.get(topicName);
+        return nodes != null && !nodes.isEmpty();
+    }
+}
@@ -29,11 +29,19 @@ import com.hazelcast.version.Version;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.CONTEXT_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.DATA_PARAM;
@@ -41,6 +49,7 @@ import static com.canoo.dp.impl.server.event.DistributedEventConstants.METADATA_
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.METADATA_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.METADATA_VALUE_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.SPEC_1_0;
+import static com.canoo.dp.impl.server.event.DistributedEventConstants.SPEC_2_0;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.SPEC_VERSION_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.TIMESTAMP_PARAM;
 import static com.canoo.dp.impl.server.event.DistributedEventConstants.TOPIC_PARAM;
@@ -184,6 +193,131 @@ public class EventStreamSerializerTests {
         Assert.assertEquals(event.getData(), null);
     }
 
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        //given
+        final Topic<LocalDateTime> topic = Topic.create("test-topic");
+        final long timestamp = System.currentTimeMillis();
+        final LocalDateTime data = LocalDateTime.now();
+        final DolphinEvent<LocalDateTime> dolphinEvent = new DolphinEvent<>(topic, timestamp, data);
+        dolphinEvent.addMetadata("test-key-1", "test-value-1");
+        dolphinEvent.addMetadata("test-key-2", null);
+        dolphinEvent.addMetadata("test-key-3", data);
+        final EventStreamSerializer serializer = new EventStreamSerializer(SPEC_2_0, new EventPayloadCodecRegistry());
+
+        //when
+        final DolphinEvent<?> event = writeAndRead(serializer, serializer, dolphinEvent);
+
+        //then
+        Assert.assertEquals(event.getData(), data);
+        Assert.assertEquals(event.getMessageEventContext().getTimestamp(), timestamp);
+        Assert.assertEquals(event.getMessageEventContext().getTopic(), topic);
+        Assert.assertEquals(event.getMessageEventContext().getMetadata().size(), 3);
+        Assert.assertEquals(event.getMessageEventContext().getMetadata().get("test-key-1"), "test-value-1");
+        Assert.assertTrue(event.getMessageEventContext().getMetadata().containsKey("test-key-2"));
+        Assert.assertNull(event.getMessageEventContext().getMetadata().get("test-key-2"));
+        Assert.assertEquals(event.getMessageEventContext().getMetadata().get("test-key-3"), data);
+    }
+
+    @Test
+    public void testBinaryRoundTripWithNullData() throws IOException {
+        //given
+        final DolphinEvent<String> dolphinEvent = new DolphinEvent<>(Topic.<String>create("test-topic"), System.currentTimeMillis(), null);
+        final EventStreamSerializer serializer = new EventStreamSerializer(SPEC_2_0, new EventPayloadCodecRegistry());
+
+        //when
+        final DolphinEvent<?> event = writeAndRead(serializer, serializer, dolphinEvent);
+
+        //then
+        Assert.assertNull(event.getData());
+        Assert.assertTrue(event.getMessageEventContext().getMetadata().isEmpty());
+    }
+
+    @Test
+    public void testBinaryRoundTripWithLargeData() throws IOException {
+        //given
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.append(i % 10);
+        }
+        final String data = builder.toString();
+        final DolphinEvent<String> dolphinEvent = new DolphinEvent<>(Topic.<String>create("test-topic"), System.currentTimeMillis(), data);
+        final EventStreamSerializer serializer = new EventStreamSerializer(SPEC_2_0, new EventPayloadCodecRegistry());
+
+        //when
+        final DolphinEvent<?> event = writeAndRead(serializer, serializer, dolphinEvent);
+
+        //then
+        Assert.assertEquals(event.getData(), data);
+    }
+
+    @Test
+    public void testBinaryUsesRegisteredCodec() throws IOException {
+        //given
+        final AtomicInteger encodeCounter = new AtomicInteger();
+        final AtomicInteger decodeCounter = new AtomicInteger();
+        final EventPayloadCodecRegistry codecRegistry = new EventPayloadCodecRegistry();
+        codecRegistry.register(new EventPayloadCodec<String>() {
+            @Override
+            public String getId() {
+                return "utf8";
+            }
+
+            @Override
+            public Class<String> getSupportedType() {
+                return String.class;
+            }
+
+            @Override
+            public byte[] encode(final String data) throws IOException {
+                encodeCounter.incrementAndGet();
+                return data.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(final byte[] data) throws IOException {
+                decodeCounter.incrementAndGet();
+                return new String(data, StandardCharsets.UTF_8);
+            }
+        });
+        final EventStreamSerializer serializer = new EventStreamSerializer(SPEC_2_0, codecRegistry);
+        final DolphinEvent<String> dolphinEvent = new DolphinEvent<>(Topic.<String>create("test-topic"), System.currentTimeMillis(), "test-data");
+
+        //when
+        final DolphinEvent<?> event = writeAndRead(serializer, serializer, dolphinEvent);
+
+        //then
+        Assert.assertEquals(event.getData(), "test-data");
+        Assert.assertEquals(encodeCounter.get(), 1);
+        Assert.assertEquals(decodeCounter.get(), 1);
+    }
+
+    @Test
+    public void testBinarySerializerReadsSpec10() throws IOException {
+        //given
+        final Topic<String> topic = Topic.create("test-topic");
+        final long timestamp = System.currentTimeMillis();
+        final DolphinEvent<String> dolphinEvent = new DolphinEvent<>(topic, timestamp, "test-data");
+        dolphinEvent.addMetadata("test-key", "test-value");
+        final EventStreamSerializer legacySerializer = new EventStreamSerializer();
+        final EventStreamSerializer serializer = new EventStreamSerializer(SPEC_2_0, new EventPayloadCodecRegistry());
+
+        //when
+        final DolphinEvent<?> event = writeAndRead(legacySerializer, serializer, dolphinEvent);
+
+        //then
+        Assert.assertEquals(event.getData(), "test-data");
+        Assert.assertEquals(event.getMessageEventContext().getTimestamp(), timestamp);
+        Assert.assertEquals(event.getMessageEventContext().getTopic(), topic);
+        Assert.assertEquals(event.getMessageEventContext().getMetadata().get("test-key"), "test-value");
+    }
+
+    private DolphinEvent<?> writeAndRead(final EventStreamSerializer writer, final EventStreamSerializer reader, final DolphinEvent<?> event) throws IOException {
+        final StreamObjectDataOutput output = new StreamObjectDataOutput();
+        writer.write(output, event);
+        return reader.read(new StreamObjectDataInput(output.toByteArray()));
+    }
+
     private Serializable getMetadataValueForKey(final JsonArray metadataArray, final String key) throws IOException, ClassNotFoundException {
         final Iterator<JsonElement> elementIterator = metadataArray.iterator();
         while (elementIterator.hasNext()) {
@@ -581,4 +715,331 @@ public class EventStreamSerializerTests {
         }
     }
 
+    private static class StreamObjectDataOutput implements ObjectDataOutput {
+
+        private final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        private final DataOutputStream dataStream = new DataOutputStream(byteStream);
+
+        @Override
+        public void writeByteArray(final byte[] bytes) throws IOException {
+            dataStream.writeInt(bytes.length);
+            dataStream.write(bytes);
+        }
+
+        @Override
+        public void writeBooleanArray(final boolean[] booleans) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public void writeCharArray(final char[] chars) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public void writeIntArray(final int[] ints) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public void writeLongArray(final long[] longs) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public void writeDoubleArray(final double[] values) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public void writeFloatArray(final float[] values) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public void writeShortArray(final short[] values) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public void writeUTFArray(final String[] values) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public void writeObject(final Object object) throws IOException {
+            final ByteArrayOutputStream rawOutputStream = new ByteArrayOutputStream();
+            try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(rawOutputStream)) {
+                objectOutputStream.writeObject(object);
+            }
+            writeByteArray(rawOutputStream.toByteArray());
+        }
+
+        @Override
+        public void writeData(final Data data) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public byte[] toByteArray() {
+            return byteStream.toByteArray();
+        }
+
+        @Override
+        public byte[] toByteArray(final int padding) {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public ByteOrder getByteOrder() {
+            return ByteOrder.BIG_ENDIAN;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            dataStream.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b) throws IOException {
+            dataStream.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            dataStream.write(b, off, len);
+        }
+
+        @Override
+        public void writeBoolean(final boolean v) throws IOException {
+            dataStream.writeBoolean(v);
+        }
+
+        @Override
+        public void writeByte(final int v) throws IOException {
+            dataStream.writeByte(v);
+        }
+
+        @Override
+        public void writeShort(final int v) throws IOException {
+            dataStream.writeShort(v);
+        }
+
+        @Override
+        public void writeChar(final int v) throws IOException {
+            dataStream.writeChar(v);
+        }
+
+        @Override
+        public void writeInt(final int v) throws IOException {
+            dataStream.writeInt(v);
+        }
+
+        @Override
+        public void writeLong(final long v) throws IOException {
+            dataStream.writeLong(v);
+        }
+
+        @Override
+        public void writeFloat(final float v) throws IOException {
+            dataStream.writeFloat(v);
+        }
+
+        @Override
+        public void writeDouble(final double v) throws IOException {
+            dataStream.writeDouble(v);
+        }
+
+        @Override
+        public void writeBytes(final String s) throws IOException {
+            dataStream.writeBytes(s);
+        }
+
+        @Override
+        public void writeChars(final String s) throws IOException {
+            dataStream.writeChars(s);
+        }
+
+        @Override
+        public void writeUTF(final String s) throws IOException {
+            // Hazelcast does not limit the length of strings, so the test must not use DataOutputStream#writeUTF
+            writeByteArray(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Version getVersion() {
+            return Version.UNKNOWN;
+        }
+    }
+
+    private static class StreamObjectDataInput implements ObjectDataInput {
+
+        private final DataInputStream dataStream;
+
+        public StreamObjectDataInput(final byte[] data) {
+            this.dataStream = new DataInputStream(new ByteArrayInputStream(data));
+        }
+
+        @Override
+        public byte[] readByteArray() throws IOException {
+            final byte[] bytes = new byte[dataStream.readInt()];
+            dataStream.readFully(bytes);
+            return bytes;
+        }
+
+        @Override
+        public boolean[] readBooleanArray() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public char[] readCharArray() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public int[] readIntArray() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public long[] readLongArray() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public double[] readDoubleArray() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public float[] readFloatArray() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public short[] readShortArray() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public String[] readUTFArray() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public <T> T readObject() throws IOException {
+            try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(readByteArray()))) {
+                return (T) objectInputStream.readObject();
+            } catch (final ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public <T> T readDataAsObject() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public <T> T readObject(final Class aClass) throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public Data readData() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public ByteOrder getByteOrder() {
+            return ByteOrder.BIG_ENDIAN;
+        }
+
+        @Override
+        public void readFully(final byte[] b) throws IOException {
+            dataStream.readFully(b);
+        }
+
+        @Override
+        public void readFully(final byte[] b, final int off, final int len) throws IOException {
+            dataStream.readFully(b, off, len);
+        }
+
+        @Override
+        public int skipBytes(final int n) throws IOException {
+            return dataStream.skipBytes(n);
+        }
+
+        @Override
+        public boolean readBoolean() throws IOException {
+            return dataStream.readBoolean();
+        }
+
+        @Override
+        public byte readByte() throws IOException {
+            return dataStream.readByte();
+        }
+
+        @Override
+        public int readUnsignedByte() throws IOException {
+            return dataStream.readUnsignedByte();
+        }
+
+        @Override
+        public short readShort() throws IOException {
+            return dataStream.readShort();
+        }
+
+        @Override
+        public int readUnsignedShort() throws IOException {
+            return dataStream.readUnsignedShort();
+        }
+
+        @Override
+        public char readChar() throws IOException {
+            return dataStream.readChar();
+        }
+
+        @Override
+        public int readInt() throws IOException {
+            return dataStream.readInt();
+        }
+
+        @Override
+        public long readLong() throws IOException {
+            return dataStream.readLong();
+        }
+
+        @Override
+        public float readFloat() throws IOException {
+            return dataStream.readFloat();
+        }
+
+        @Override
+        public double readDouble() throws IOException {
+            return dataStream.readDouble();
+        }
+
+        @Override
+        public String readLine() throws IOException {
+            throw new RuntimeException("Not needed for test");
+        }
+
+        @Override
+        public String readUTF() throws IOException {
+            return new String(readByteArray(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Version getVersion() {
+            return Version.UNKNOWN;
+        }
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TopicInterestRegistryTests {
+
+    @Test
+    public void testOwnInterestIsNotRemote() {
+        //given
+        final TopicInterestRegistry registry = new TopicInterestRegistry("node-1");
+
+        //when
+        registry.onInterestAdded(registry.toKey("topic"));
+
+        //then
+        Assert.assertFalse(registry.hasRemoteInterest("topic"));
+    }
+
+    @Test
+    public void testRemoteInterest() {
+        //given
+        final TopicInterestRegistry registry = new TopicInterestRegistry("node-1");
+
+        //when
+        registry.onInterestAdded(TopicInterestRegistry.toKey("node-2", "topic|with|separator"));
+
+        //then
+        Assert.assertTrue(registry.hasRemoteInterest("topic|with|separator"));
+        Assert.assertFalse(registry.hasRemoteInterest("topic"));
+
+        //when
+        registry.onInterestRemoved(TopicInterestRegistry.toKey("node-2", "topic|with|separator"));
+
+        //then
+        Assert.assertFalse(registry.hasRemoteInterest("topic|with|separator"));
+    }
+}
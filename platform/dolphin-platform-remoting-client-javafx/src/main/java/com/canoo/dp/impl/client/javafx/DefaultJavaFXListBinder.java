@@ -15,6 +15,7 @@
  */
 package com.canoo.dp.impl.client.javafx;
 
+import com.canoo.dp.impl.remoting.collections.ObservableArrayList;
 import com.canoo.platform.core.functional.Binding;
 import com.canoo.platform.remoting.client.javafx.binding.JavaFXListBinder;
 import com.canoo.platform.remoting.ListChangeEvent;
@@ -24,7 +25,9 @@ import com.canoo.dp.impl.platform.core.Assert;
 import javafx.collections.ListChangeListener;
 import org.apiguardian.api.API;
 
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -114,6 +117,15 @@ public class DefaultJavaFXListBinder<S> implements JavaFXListBinder<S> {
             try {
                 for (final ListChangeEvent.Change<? extends T> c : e.getChanges()) {
                     final int index = c.getFrom();
+                    if (c.isPermutated()) {
+                        //The already converted elements are reordered, no conversion is needed
+                        final List<S> permutated = new ArrayList<>(list.subList(index, c.getTo()));
+                        for (int i = index; i < c.getTo(); i++) {
+                            permutated.set(c.getPermutation(i) - index, list.get(i));
+                        }
+                        list.remove(index, c.getTo());
+                        list.addAll(index, permutated);
+                    }
                     if (c.isRemoved() || c.isReplaced()) {
                         list.subList(index, index + c.getRemovedElements().size()).clear();
                     }
@@ -155,6 +167,13 @@ public class DefaultJavaFXListBinder<S> implements JavaFXListBinder<S> {
                 while (change.next()) {
                     // TODO: Replace with subList() operation once implemented
                     final int index = change.getFrom();
+                    if (change.wasPermutated()) {
+                        final int[] permutation = new int[change.getTo() - index];
+                        for (int i = index; i < change.getTo(); i++) {
+                            permutation[i - index] = change.getPermutation(i) - index;
+                        }
+                        permutate(index, permutation);
+                    }
                     if (change.wasRemoved() || change.wasReplaced()) {
                         for (int i = 0; i < change.getRemovedSize(); i++) {
                             dolphinList.remove(index);
@@ -171,5 +190,21 @@ public class DefaultJavaFXListBinder<S> implements JavaFXListBinder<S> {
                 onChange = false;
             }
         }
+
+        private void permutate(final int from, final int[] permutation) {
+            if (dolphinList instanceof ObservableArrayList) {
+                ((ObservableArrayList<T>) dolphinList).permutate(from, permutation);
+                return;
+            }
+            final List<T> elements = new ArrayList<>(permutation.length);
+            for (int i = 0; i < permutation.length; i++) {
+                elements.add(dolphinList.get(from + i));
+            }
+            dolphinList.runBatched(l -> {
+                for (int i = 0; i < permutation.length; i++) {
+                    l.set(from + permutation[i], elements.get(i));
+                }
+            });
+        }
     }
 }
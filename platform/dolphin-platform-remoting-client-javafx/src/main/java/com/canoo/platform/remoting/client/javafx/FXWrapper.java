@@ -182,6 +182,12 @@ public class FXWrapper {
                     } else if (c.isRemoved()) {
                         final int index = c.getFrom();
                         list.remove(index, index + c.getRemovedElements().size());
+                    } else if (c.isReplaced() || c.isPermutated()) {
+                        final int index = c.getFrom();
+                        list.remove(index, c.isPermutated() ? c.getTo() : index + c.getRemovedElements().size());
+                        for (int i = index; i < c.getTo(); i++) {
+                            list.add(i, dolphinList.get(i));
+                        }
                     }
                 }
                 listenToFx = true;
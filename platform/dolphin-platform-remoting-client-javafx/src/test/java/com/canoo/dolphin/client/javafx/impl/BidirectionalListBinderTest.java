@@ -18,15 +18,23 @@ package com.canoo.dolphin.client.javafx.impl;
 import com.canoo.platform.remoting.client.javafx.FXBinder;
 import com.canoo.platform.remoting.ObservableList;
 import com.canoo.dp.impl.remoting.collections.ObservableArrayList;
+import com.canoo.platform.remoting.ListChangeEvent;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.function.Function;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 
 public class BidirectionalListBinderTest {
 
@@ -801,4 +809,84 @@ public class BidirectionalListBinderTest {
         // then:
         assertThat(javaFXList, contains("1", "2", "42"));
     }
+
+
+
+    //////////////////////////////////////////
+    // Sorting
+    //////////////////////////////////////////
+    @Test
+    public void shouldSortJavaFXListWhenDolphinListIsSorted() {
+        // given:
+        final ObservableList<Integer> dolphinList = new ObservableArrayList<>();
+        final javafx.collections.ObservableList<String> javaFXList = FXCollections.observableArrayList();
+        FXBinder.bind(javaFXList).bidirectionalTo(dolphinList, Object::toString, Integer::parseInt);
+        dolphinList.addAll(3, 1, 4, 2);
+        final List<Boolean> permutations = new ArrayList<>();
+        javaFXList.addListener((ListChangeListener<String>) c -> {
+            while (c.next()) {
+                permutations.add(c.wasPermutated());
+            }
+        });
+
+        // when:
+        dolphinList.sort(Comparator.naturalOrder());
+
+        // then:
+        assertThat(dolphinList, contains(1, 2, 3, 4));
+        assertThat(javaFXList, contains("1", "2", "3", "4"));
+        assertThat(permutations, not(empty()));
+    }
+
+    @Test
+    public void shouldSortRangeOfJavaFXListWhenDolphinListIsSorted() {
+        // given:
+        final ObservableList<Integer> dolphinList = new ObservableArrayList<>();
+        final javafx.collections.ObservableList<String> javaFXList = FXCollections.observableArrayList();
+        FXBinder.bind(javaFXList).bidirectionalTo(dolphinList, Object::toString, Integer::parseInt);
+        dolphinList.addAll(1, 4, 3, 2, 5);
+
+        // when:
+        dolphinList.sort(Comparator.naturalOrder());
+
+        // then:
+        assertThat(dolphinList, contains(1, 2, 3, 4, 5));
+        assertThat(javaFXList, contains("1", "2", "3", "4", "5"));
+    }
+
+    @Test
+    public void shouldSortDolphinListWhenJavaFXListIsSorted() {
+        // given:
+        final ObservableList<Integer> dolphinList = new ObservableArrayList<>();
+        final javafx.collections.ObservableList<String> javaFXList = FXCollections.observableArrayList();
+        FXBinder.bind(javaFXList).bidirectionalTo(dolphinList, Object::toString, Integer::parseInt);
+        javaFXList.addAll("3", "1", "4", "2");
+        final List<ListChangeEvent<? extends Integer>> events = new ArrayList<>();
+        dolphinList.onChanged(events::add);
+
+        // when:
+        FXCollections.sort(javaFXList);
+
+        // then:
+        assertThat(javaFXList, contains("1", "2", "3", "4"));
+        assertThat(dolphinList, contains(1, 2, 3, 4));
+        assertThat(events, hasSize(1));
+        assertThat(events.get(0).getChanges().get(0).isPermutated(), is(true));
+    }
+
+    @Test
+    public void shouldSortDolphinListWhenJavaFXListIsSortedInReverseOrder() {
+        // given:
+        final ObservableList<Integer> dolphinList = new ObservableArrayList<>();
+        final javafx.collections.ObservableList<String> javaFXList = FXCollections.observableArrayList();
+        FXBinder.bind(javaFXList).bidirectionalTo(dolphinList, Object::toString, Integer::parseInt);
+        javaFXList.addAll("3", "1", "4", "2");
+
+        // when:
+        FXCollections.sort(javaFXList, Comparator.reverseOrder());
+
+        // then:
+        assertThat(javaFXList, contains("4", "3", "2", "1"));
+        assertThat(dolphinList, contains(4, 3, 2, 1));
+    }
 }
@@ -19,7 +19,7 @@ import com.canoo.dp.impl.client.legacy.ClientModelStore;
 import com.canoo.dp.impl.client.legacy.communication.AbstractClientConnector;
 import com.canoo.dp.impl.platform.client.session.StrictClientSessionResponseHandler;
 import com.canoo.dp.impl.platform.core.Assert;
-import com.canoo.dp.impl.remoting.codec.OptimizedJsonCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
 import com.canoo.platform.client.ClientConfiguration;
 import com.canoo.platform.client.PlatformClient;
 import com.canoo.platform.client.session.ClientSessionStore;
@@ -60,12 +60,16 @@ public class ClientContextFactoryImpl implements ClientContextFactory {
         final HttpClient httpClient = PlatformClient.getService(HttpClient.class);
         final HttpURLConnectionHandler clientSessionCheckResponseHandler = new StrictClientSessionResponseHandler(endpoint);
         httpClient.addResponseHandler(clientSessionCheckResponseHandler);
+        final ClientSessionStore clientSessionStore = PlatformClient.getService(ClientSessionStore.class);
         final Function<ClientModelStore, AbstractClientConnector> connectionProvider = s -> {
-            return new DolphinPlatformHttpClientConnector(endpoint, clientConfiguration, s, OptimizedJsonCodec.getInstance(), e -> {}, httpClient);
+            if (clientConfiguration.getBooleanProperty(DolphinPlatformWebSocketClientConnector.WEBSOCKET_ACTIVE, false)) {
+                return new DolphinPlatformWebSocketClientConnector(endpoint, clientConfiguration, s, StreamingJsonCodec.getInstance(), e -> {}, httpClient, clientSessionStore);
+            }
+            return new DolphinPlatformHttpClientConnector(endpoint, clientConfiguration, s, StreamingJsonCodec.getInstance(), e -> {}, httpClient);
         };
 
 
-        return new ClientContextImpl(clientConfiguration, endpoint, connectionProvider, PlatformClient.getService(ClientSessionStore.class));
+        return new ClientContextImpl(clientConfiguration, endpoint, connectionProvider, clientSessionStore);
     }
 
 }
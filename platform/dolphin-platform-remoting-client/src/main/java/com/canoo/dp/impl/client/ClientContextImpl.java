@@ -31,6 +31,8 @@ import com.canoo.dp.impl.remoting.PresentationModelBuilderFactory;
 import com.canoo.dp.impl.remoting.collections.ListMapperImpl;
 import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
 import com.canoo.dp.impl.remoting.commands.DestroyContextCommand;
+import com.canoo.dp.impl.remoting.commands.ListPermutationCommand;
+import com.canoo.dp.impl.remoting.commands.ListSpliceCommand;
 import com.canoo.platform.client.ClientConfiguration;
 import com.canoo.platform.client.session.ClientSessionStore;
 import com.canoo.platform.remoting.BeanManager;
@@ -92,9 +94,18 @@ public class ClientContextImpl implements ClientContext {
         final PresentationModelBuilderFactory builderFactory = new ClientPresentationModelBuilderFactory(modelStore);
         final ClassRepository classRepository = new ClassRepositoryImpl(modelStore, converters, builderFactory);
 
+        final ListMapperImpl listMapper = new ListMapperImpl(modelStore, classRepository, beanRepository, builderFactory, dispatcher);
+        clientConnector.registerCommandHandler(CreateContextCommand.class, command -> {
+            if (command.isListSpliceCommandSupported()) {
+                listMapper.setCommandSender(clientConnector::send);
+            }
+        });
+        clientConnector.registerCommandHandler(ListSpliceCommand.class, listMapper::onListSplice);
+        clientConnector.registerCommandHandler(ListPermutationCommand.class, listMapper::onListPermutation);
+
         this.dolphinCommandHandler = new DolphinCommandHandler(clientConnector);
         this.controllerProxyFactory = new ControllerProxyFactory(dolphinCommandHandler, clientConnector, modelStore, beanRepository, dispatcher, converters);
-        this.clientBeanManager = new BeanManagerImpl(beanRepository, new ClientBeanBuilderImpl(classRepository, beanRepository, new ListMapperImpl(modelStore, classRepository, beanRepository, builderFactory, dispatcher), builderFactory, dispatcher));
+        this.clientBeanManager = new BeanManagerImpl(beanRepository, new ClientBeanBuilderImpl(classRepository, beanRepository, listMapper, builderFactory, dispatcher));
     }
 
     protected DolphinCommandHandler getDolphinCommandHandler() {
@@ -148,8 +159,13 @@ public class ClientContextImpl implements ClientContext {
         final CompletableFuture<Void> result = new CompletableFuture<>();
         clientConnector.connect();
 
+        final CreateContextCommand createContextCommand = new CreateContextCommand();
+        createContextCommand.setListSpliceCommandSupported(true);
+        createContextCommand.setPresentationModelSchemaSupported(true);
+        createContextCommand.setResponseChunkSize(clientConfiguration.getIntProperty(DolphinPlatformHttpClientConnector.RESPONSE_CHUNK_SIZE, DolphinPlatformHttpClientConnector.RESPONSE_CHUNK_SIZE_DEFAULT_VALUE));
+
         clientConfiguration.getBackgroundExecutor().execute(() -> {
-            dolphinCommandHandler.invokeDolphinCommand(new CreateContextCommand()).handle((Void aVoid, Throwable throwable) -> {
+            dolphinCommandHandler.invokeDolphinCommand(createContextCommand).handle((Void aVoid, Throwable throwable) -> {
                 if (throwable != null) {
                     result.completeExceptionally(new ClientInitializationException("Can't call init action!", throwable));
                 } else {
@@ -19,12 +19,20 @@ import com.canoo.dp.impl.client.legacy.ClientModelStore;
 import com.canoo.dp.impl.client.legacy.communication.AbstractClientConnector;
 import com.canoo.dp.impl.client.legacy.communication.BlindCommandBatcher;
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.platform.core.http.CompressingOutputStream;
+import com.canoo.dp.impl.platform.core.http.CompressionStatistics;
+import com.canoo.dp.impl.platform.core.http.ContentEncodings;
 import com.canoo.dp.impl.platform.core.http.HttpHeaderConstants;
+import com.canoo.dp.impl.remoting.codec.BinaryCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingCodec;
 import com.canoo.dp.impl.remoting.commands.DestroyContextCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.Codec;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
 import com.canoo.platform.client.ClientConfiguration;
+import com.canoo.platform.core.http.HttpCallRequestBuilder;
 import com.canoo.platform.core.http.HttpClient;
+import com.canoo.platform.core.http.HttpHeader;
+import com.canoo.platform.core.http.HttpResponse;
 import com.canoo.platform.core.http.RequestMethod;
 import com.canoo.platform.remoting.DolphinRemotingException;
 import com.canoo.platform.remoting.client.RemotingExceptionHandler;
@@ -32,11 +40,21 @@ import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static com.canoo.dp.impl.remoting.PlatformRemotingConstants.BINARY_MIME_TYPE;
 import static org.apiguardian.api.API.Status.INTERNAL;
 
 /**
@@ -45,6 +63,18 @@ import static org.apiguardian.api.API.Status.INTERNAL;
 @API(since = "0.x", status = INTERNAL)
 public class DolphinPlatformHttpClientConnector extends AbstractClientConnector {
 
+    public static final String BINARY_CODEC_ACTIVE = "remoting.binaryCodecActive";
+
+    public static final String COMPRESSION_ACTIVE = "remoting.compressionActive";
+
+    public static final String COMPRESSION_THRESHOLD = "remoting.compressionThreshold";
+
+    private static final int COMPRESSION_THRESHOLD_DEFAULT_VALUE = 1024;
+
+    public static final String RESPONSE_CHUNK_SIZE = "remoting.responseChunkSize";
+
+    public static final int RESPONSE_CHUNK_SIZE_DEFAULT_VALUE = 0;
+
     private static final Logger LOG = LoggerFactory.getLogger(DolphinPlatformHttpClientConnector.class);
 
     private final URI servletUrl;
@@ -53,13 +83,37 @@ public class DolphinPlatformHttpClientConnector extends AbstractClientConnector
 
     private final HttpClient client;
 
+    private final BinaryCodec binaryCodec;
+
+    private final AtomicBoolean useBinaryCodec = new AtomicBoolean(false);
+
     private final AtomicBoolean disconnecting = new AtomicBoolean(false);
 
+    private final boolean compressionActive;
+
+    private final int compressionThreshold;
+
+    private final AtomicReference<String> requestEncoding = new AtomicReference<>();
+
+    private final CompressionStatistics compressionStatistics = new CompressionStatistics();
+
     public DolphinPlatformHttpClientConnector(final URI servletUrl, final ClientConfiguration configuration, final ClientModelStore clientModelStore, final Codec codec, final RemotingExceptionHandler onException, final HttpClient client) {
         super(clientModelStore, Assert.requireNonNull(configuration, "configuration").getUiExecutor(), new BlindCommandBatcher(), onException, configuration.getBackgroundExecutor());
         this.servletUrl = Assert.requireNonNull(servletUrl, "servletUrl");
         this.codec = Assert.requireNonNull(codec, "codec");
         this.client = Assert.requireNonNull(client, "client");
+        // the binary format is only negotiated for streaming codecs since the JSON fallback of a response is streamed
+        this.binaryCodec = codec instanceof StreamingCodec && configuration.getBooleanProperty(BINARY_CODEC_ACTIVE, true) ? new BinaryCodec() : null;
+        this.compressionActive = configuration.getBooleanProperty(COMPRESSION_ACTIVE, true);
+        this.compressionThreshold = Math.max(0, configuration.getIntProperty(COMPRESSION_THRESHOLD, COMPRESSION_THRESHOLD_DEFAULT_VALUE));
+    }
+
+    /**
+     * Returns the statistics about the compression of the request bodies that are sent to the server.
+     * @return the compression statistics
+     */
+    public CompressionStatistics getCompressionStatistics() {
+        return compressionStatistics;
     }
 
     public List<Command> transmit(final List<Command> commands) throws DolphinRemotingException {
@@ -78,6 +132,12 @@ public class DolphinPlatformHttpClientConnector extends AbstractClientConnector
         }
 
         try {
+            if (useBinaryCodec.get()) {
+                return transmitBinary(commands);
+            }
+            if (codec instanceof StreamingCodec) {
+                return transmit(commands, (StreamingCodec) codec);
+            }
             final String data = codec.encode(commands);
             final String receivedContent = client.request(servletUrl, RequestMethod.POST).withContent(data, HttpHeaderConstants.JSON_MIME_TYPE).readString().execute().get().getContent();
             return codec.decode(receivedContent);
@@ -86,6 +146,114 @@ public class DolphinPlatformHttpClientConnector extends AbstractClientConnector
         }
     }
 
+    private List<Command> transmit(final List<Command> commands, final StreamingCodec streamingCodec) throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputStream requestStream = createRequestStream(outputStream);
+        try (final Writer writer = new OutputStreamWriter(requestStream, HttpHeaderConstants.CHARSET)) {
+            streamingCodec.encode(commands, writer);
+        }
+        final HttpResponse<InputStream> response = createRequest(requestStream)
+                .withContent(outputStream.toByteArray(), HttpHeaderConstants.JSON_MIME_TYPE)
+                .streamBytes().execute().get();
+        return decode(response, streamingCodec);
+    }
+
+    private List<Command> transmitBinary(final List<Command> commands) throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputStream requestStream = createRequestStream(outputStream);
+        try {
+            binaryCodec.encode(commands, requestStream);
+        } finally {
+            requestStream.close();
+        }
+        final HttpResponse<InputStream> response = createRequest(requestStream)
+                .withContent(outputStream.toByteArray(), BINARY_MIME_TYPE)
+                .streamBytes().execute().get();
+        return decode(response, codec);
+    }
+
+    /**
+     * Returns true if the server answered the last request in the binary remoting format.
+     * @return true if the binary codec is used
+     */
+    protected boolean isBinaryCodecUsed() {
+        return useBinaryCodec.get();
+    }
+
+    private OutputStream createRequestStream(final ByteArrayOutputStream outputStream) {
+        final String encoding = requestEncoding.get();
+        if (encoding == null) {
+            return outputStream;
+        }
+        return new CompressingOutputStream(outputStream, encoding, compressionThreshold, () -> {}, compressionStatistics);
+    }
+
+    private HttpCallRequestBuilder createRequest(final OutputStream requestStream) {
+        final HttpCallRequestBuilder request = client.request(servletUrl, RequestMethod.POST)
+                .withHeader(HttpHeaderConstants.ACCEPT_CHARSET_HEADER, HttpHeaderConstants.CHARSET)
+                .withHeader(HttpHeaderConstants.ACCEPT_HEADER, getAcceptedContentTypes());
+        if (compressionActive) {
+            request.withHeader(HttpHeaderConstants.ACCEPT_ENCODING_HEADER, ContentEncodings.SUPPORTED_ENCODINGS);
+        }
+        if (requestStream instanceof CompressingOutputStream && ((CompressingOutputStream) requestStream).isCompressed()) {
+            request.withHeader(HttpHeaderConstants.CONTENT_ENCODING_HEADER, ((CompressingOutputStream) requestStream).getEncoding());
+        }
+        return request;
+    }
+
+    private List<Command> decode(final HttpResponse<InputStream> response, final Codec responseCodec) throws Exception {
+        if (compressionActive) {
+            // the server defines the encodings that are supported for request bodies (see RFC 7694)
+            requestEncoding.set(ContentEncodings.negotiate(getHeader(response, HttpHeaderConstants.ACCEPT_ENCODING_HEADER)));
+        }
+        final boolean binaryResponse = binaryCodec != null && isBinary(response);
+        if (binaryCodec != null && useBinaryCodec.getAndSet(binaryResponse) != binaryResponse) {
+            LOG.debug("Switching to {} remoting format", binaryResponse ? "binary" : "JSON");
+        }
+        try (final InputStream content = response.getContent()) {
+            if (binaryResponse) {
+                return binaryCodec.decode(content);
+            }
+            try (final Reader reader = new InputStreamReader(content, HttpHeaderConstants.CHARSET)) {
+                if (responseCodec instanceof StreamingCodec) {
+                    return ((StreamingCodec) responseCodec).decode(reader);
+                }
+                return responseCodec.decode(readString(reader));
+            }
+        }
+    }
+
+    private String readString(final Reader reader) throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        final char[] buffer = new char[4096];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            builder.append(buffer, 0, read);
+        }
+        return builder.toString();
+    }
+
+    private boolean isBinary(final HttpResponse<?> response) {
+        final String contentType = getHeader(response, HttpHeaderConstants.CONTENT_TYPE_HEADER);
+        return contentType != null && contentType.startsWith(BINARY_MIME_TYPE);
+    }
+
+    protected String getHeader(final HttpResponse<?> response, final String name) {
+        for (final HttpHeader header : response.getHeaders()) {
+            if (name.equalsIgnoreCase(header.getName()) && header.getContent() != null) {
+                return header.getContent();
+            }
+        }
+        return null;
+    }
+
+    private String getAcceptedContentTypes() {
+        if (binaryCodec == null) {
+            return HttpHeaderConstants.JSON_MIME_TYPE;
+        }
+        return BINARY_MIME_TYPE + ", " + HttpHeaderConstants.JSON_MIME_TYPE;
+    }
+
     @Override
     public void connect() {
         disconnecting.set(false);
@@ -0,0 +1,516 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.client;
+
+import com.canoo.dp.impl.client.legacy.ClientModelStore;
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.platform.core.PlatformConstants;
+import com.canoo.dp.impl.platform.core.http.HttpHeaderConstants;
+import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
+import com.canoo.dp.impl.remoting.codec.BinaryCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
+import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
+import com.canoo.dp.impl.remoting.commands.DestroyContextCommand;
+import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
+import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Codec;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.platform.client.ClientConfiguration;
+import com.canoo.platform.client.session.ClientSessionStore;
+import com.canoo.platform.core.http.HttpClient;
+import com.canoo.platform.core.http.HttpResponse;
+import com.canoo.platform.core.http.RequestMethod;
+import com.canoo.platform.remoting.DolphinRemotingException;
+import com.canoo.platform.remoting.client.RemotingExceptionHandler;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.websocket.ClientEndpointConfig;
+import javax.websocket.CloseReason;
+import javax.websocket.ContainerProvider;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.MessageHandler;
+import javax.websocket.Session;
+import javax.websocket.WebSocketContainer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.CookieStore;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Client connector that transfers the command batches over a WebSocket (JSR-356) instead of single HTTP requests. The
+ * remoting context is always created by a HTTP request. Once the context is created the connector requests a ticket
+ * for the WebSocket by a HTTP request, opens a WebSocket with that ticket and uses it for all following requests. If the WebSocket can not be opened (for example if the server or a proxy
+ * does not support WebSockets or no WebSocket implementation is on the classpath) or if the WebSocket is closed the
+ * connector falls back to HTTP long polling. The connector falls back to HTTP long polling, too, if the server does not
+ * answer a request within the read timeout ({@link #WEBSOCKET_READ_TIMEOUT}) since the socket might be half-open. The
+ * read timeout must be greater than the max poll time of the server.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class DolphinPlatformWebSocketClientConnector extends DolphinPlatformHttpClientConnector {
+
+    public static final String WEBSOCKET_ACTIVE = "remoting.webSocketActive";
+
+    public static final String WEBSOCKET_URL = "remoting.webSocketUrl";
+
+    public static final String WEBSOCKET_OPEN_TIMEOUT = "remoting.webSocketOpenTimeout";
+
+    public static final long WEBSOCKET_OPEN_TIMEOUT_DEFAULT_VALUE = 5000;
+
+    public static final String WEBSOCKET_READ_TIMEOUT = "remoting.webSocketReadTimeout";
+
+    public static final long WEBSOCKET_READ_TIMEOUT_DEFAULT_VALUE = 30000;
+
+    private static final String WEBSOCKET_MAPPING_SUFFIX = "-websocket";
+
+    private static final String COOKIE_HEADER = "Cookie";
+
+    private static final Logger LOG = LoggerFactory.getLogger(DolphinPlatformWebSocketClientConnector.class);
+
+    private final URI servletUrl;
+
+    private final URI webSocketUrl;
+
+    private final long openTimeout;
+
+    private final long readTimeout;
+
+    private final HttpClient client;
+
+    private final ClientSessionStore clientSessionStore;
+
+    private final CookieStore cookieStore;
+
+    private final Object connectionLock = new Object();
+
+    private WebSocketConnection connection;
+
+    private boolean contextCreated = false;
+
+    private boolean webSocketUnavailable = false;
+
+    public DolphinPlatformWebSocketClientConnector(final URI servletUrl, final ClientConfiguration configuration, final ClientModelStore clientModelStore, final Codec codec, final RemotingExceptionHandler onException, final HttpClient client, final ClientSessionStore clientSessionStore) {
+        super(servletUrl, configuration, clientModelStore, codec, onException, client);
+        this.servletUrl = Assert.requireNonNull(servletUrl, "servletUrl");
+        this.webSocketUrl = getWebSocketUrl(servletUrl, configuration);
+        this.openTimeout = configuration.getLongProperty(WEBSOCKET_OPEN_TIMEOUT, WEBSOCKET_OPEN_TIMEOUT_DEFAULT_VALUE);
+        this.readTimeout = configuration.getLongProperty(WEBSOCKET_READ_TIMEOUT, WEBSOCKET_READ_TIMEOUT_DEFAULT_VALUE);
+        this.client = Assert.requireNonNull(client, "client");
+        this.clientSessionStore = Assert.requireNonNull(clientSessionStore, "clientSessionStore");
+        this.cookieStore = configuration.getCookieStore();
+    }
+
+    /**
+     * Returns the url of the WebSocket endpoint. If no url is configured the url is based on the url of the servlet
+     * (for example {@code ws://localhost:8080/dolphin-websocket} for {@code http://localhost:8080/dolphin}).
+     * @param servletUrl the url of the remoting servlet
+     * @param configuration the client configuration
+     * @return the url of the WebSocket endpoint
+     */
+    public static URI getWebSocketUrl(final URI servletUrl, final ClientConfiguration configuration) {
+        Assert.requireNonNull(servletUrl, "servletUrl");
+        Assert.requireNonNull(configuration, "configuration");
+        try {
+            final String configuredUrl = configuration.getProperty(WEBSOCKET_URL, null);
+            if (configuredUrl != null) {
+                return new URI(configuredUrl);
+            }
+            final String scheme = "https".equalsIgnoreCase(servletUrl.getScheme()) ? "wss" : "ws";
+            return new URI(scheme, servletUrl.getUserInfo(), servletUrl.getHost(), servletUrl.getPort(), servletUrl.getPath() + WEBSOCKET_MAPPING_SUFFIX, null, null);
+        } catch (final URISyntaxException e) {
+            throw new IllegalArgumentException("Can not create WebSocket url for " + servletUrl, e);
+        }
+    }
+
+    /**
+     * Returns true if the remoting currently uses a WebSocket.
+     * @return true if a WebSocket is used
+     */
+    public boolean isWebSocketConnected() {
+        synchronized (connectionLock) {
+            return connection != null && connection.isOpen();
+        }
+    }
+
+    @Override
+    public List<Command> transmit(final List<Command> commands) throws DolphinRemotingException {
+        Assert.requireNonNull(commands, "commands");
+
+        if (contains(commands, DestroyContextCommand.class)) {
+            closeConnection();
+            return super.transmit(commands);
+        }
+
+        final WebSocketConnection currentConnection = getOrOpenConnection();
+        if (currentConnection == null) {
+            final List<Command> response = super.transmit(commands);
+            if (contains(commands, CreateContextCommand.class)) {
+                synchronized (connectionLock) {
+                    contextCreated = true;
+                }
+            }
+            return response;
+        }
+
+        try {
+            return currentConnection.transmit(commands, readTimeout);
+        } catch (final TimeoutException e) {
+            // the socket might be half-open, therefore it is closed and all following requests use HTTP
+            LOG.warn("No response over WebSocket {} within {} ms. Falling back to HTTP long polling", webSocketUrl, readTimeout);
+            closeConnection(currentConnection);
+            if (isLongPoll(commands)) {
+                return Collections.emptyList();
+            }
+            throw new DolphinRemotingException("Error in remoting layer", e);
+        } catch (final Exception e) {
+            throw new DolphinRemotingException("Error in remoting layer", e);
+        }
+    }
+
+    private WebSocketConnection getOrOpenConnection() {
+        synchronized (connectionLock) {
+            if (connection != null) {
+                if (connection.isOpen()) {
+                    return connection;
+                }
+                LOG.warn("WebSocket {} was closed. Falling back to HTTP long polling", webSocketUrl);
+                connection = null;
+                webSocketUnavailable = true;
+            }
+            if (webSocketUnavailable || !contextCreated) {
+                return null;
+            }
+            final String clientId = clientSessionStore.getClientIdentifierForUrl(servletUrl);
+            if (clientId == null) {
+                return null;
+            }
+            try {
+                final String ticket = requestTicket();
+                if (ticket == null) {
+                    LOG.warn("Server does not provide a ticket for WebSocket {}. Falling back to HTTP long polling", webSocketUrl);
+                    webSocketUnavailable = true;
+                    return null;
+                }
+                connection = WebSocketConnection.open(getHandshakeUrl(webSocketUrl, ticket), createHandshakeHeaders(clientId), isBinaryCodecUsed(), openTimeout);
+                LOG.debug("Using WebSocket {} for remoting", webSocketUrl);
+            } catch (final Exception | LinkageError e) {
+                LOG.warn("Can not open WebSocket {}. Falling back to HTTP long polling", webSocketUrl, e);
+                webSocketUnavailable = true;
+            }
+            return connection;
+        }
+    }
+
+    private String requestTicket() throws Exception {
+        final HttpResponse<Void> response = client.request(servletUrl, RequestMethod.POST)
+                .withHeader(PlatformRemotingConstants.WEBSOCKET_TICKET_HEADER, "request")
+                .withoutContent()
+                .withoutResult().execute().get();
+        return getHeader(response, PlatformRemotingConstants.WEBSOCKET_TICKET_HEADER);
+    }
+
+    /**
+     * Returns the url that is used to open the WebSocket with the given ticket. The ticket is created by the server for
+     * the client session and is added as query parameter since the server can only access the parameters of the
+     * handshake once the WebSocket is open.
+     * @param webSocketUrl the url of the WebSocket endpoint
+     * @param ticket the ticket that was provided by the server
+     * @return the url of the handshake
+     */
+    public static URI getHandshakeUrl(final URI webSocketUrl, final String ticket) {
+        Assert.requireNonNull(webSocketUrl, "webSocketUrl");
+        Assert.requireNonBlank(ticket, "ticket");
+        try {
+            final String parameter = PlatformRemotingConstants.WEBSOCKET_TICKET_PARAMETER + "=" + URLEncoder.encode(ticket, HttpHeaderConstants.CHARSET);
+            return URI.create(webSocketUrl.toString() + (webSocketUrl.getRawQuery() == null ? "?" : "&") + parameter);
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException("Can not encode ticket", e);
+        }
+    }
+
+    private Map<String, List<String>> createHandshakeHeaders(final String clientId) {
+        final Map<String, List<String>> headers = new HashMap<>();
+        headers.put(PlatformConstants.CLIENT_ID_HTTP_HEADER_NAME, Collections.singletonList(clientId));
+        if (cookieStore != null) {
+            final List<String> cookies = new ArrayList<>();
+            for (final HttpCookie cookie : cookieStore.get(servletUrl)) {
+                cookies.add(cookie.toString());
+            }
+            if (!cookies.isEmpty()) {
+                headers.put(COOKIE_HEADER, Collections.singletonList(String.join("; ", cookies)));
+            }
+        }
+        return headers;
+    }
+
+    private void closeConnection() {
+        synchronized (connectionLock) {
+            if (connection != null) {
+                connection.close();
+                connection = null;
+            }
+        }
+    }
+
+    private void closeConnection(final WebSocketConnection timedOutConnection) {
+        synchronized (connectionLock) {
+            if (connection == timedOutConnection) {
+                connection = null;
+                webSocketUnavailable = true;
+            }
+        }
+        timedOutConnection.close();
+    }
+
+    private static boolean isLongPoll(final List<Command> commands) {
+        return !commands.isEmpty() && commands.get(commands.size() - 1) instanceof StartLongPollCommand;
+    }
+
+    private boolean contains(final List<Command> commands, final Class<? extends Command> commandClass) {
+        for (final Command command : commands) {
+            if (commandClass.isInstance(command)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void connect() {
+        synchronized (connectionLock) {
+            contextCreated = false;
+            webSocketUnavailable = false;
+        }
+        super.connect();
+    }
+
+    @Override
+    public void disconnect() {
+        closeConnection();
+        super.disconnect();
+    }
+
+    /**
+     * A WebSocket that sends a command batch and waits for the response of the server. Only one request can be
+     * pending at a time. Batches that only contain an {@link InterruptLongPollCommand} are not answered by the server
+     * and can be sent while a long poll is pending.
+     */
+    private static class WebSocketConnection extends Endpoint {
+
+        private final boolean binary;
+
+        private final StreamingCodec codec = StreamingJsonCodec.getInstance();
+
+        private final BinaryCodec binaryCodec = new BinaryCodec();
+
+        private final Object sendLock = new Object();
+
+        private final AtomicReference<PendingResponse> pendingResponse = new AtomicReference<>();
+
+        private volatile Session session;
+
+        private WebSocketConnection(final boolean binary) {
+            this.binary = binary;
+        }
+
+        private static WebSocketConnection open(final URI url, final Map<String, List<String>> headers, final boolean binary, final long timeout) throws Exception {
+            final WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+            if (container == null) {
+                throw new IllegalStateException("No WebSocket implementation found");
+            }
+            final ClientEndpointConfig config = ClientEndpointConfig.Builder.create().configurator(new ClientEndpointConfig.Configurator() {
+                @Override
+                public void beforeRequest(final Map<String, List<String>> requestHeaders) {
+                    requestHeaders.putAll(headers);
+                }
+            }).build();
+            final WebSocketConnection connection = new WebSocketConnection(binary);
+            container.connectToServer(connection, config, url);
+            try {
+                // the server answers an empty batch once the socket is accepted for the client session
+                connection.transmit(Collections.<Command>emptyList(), timeout);
+            } catch (final Exception e) {
+                connection.close();
+                throw e;
+            }
+            return connection;
+        }
+
+        @Override
+        public void onOpen(final Session session, final EndpointConfig config) {
+            this.session = session;
+            // The message handlers are defined as inner classes since the container can not resolve the message type of a lambda
+            session.addMessageHandler(new MessageHandler.Whole<Reader>() {
+                @Override
+                public void onMessage(final Reader reader) {
+                    try {
+                        onResponse(codec.decode(reader));
+                    } catch (final Exception e) {
+                        onDecodingError(e);
+                    }
+                }
+            });
+            session.addMessageHandler(new MessageHandler.Whole<InputStream>() {
+                @Override
+                public void onMessage(final InputStream inputStream) {
+                    try {
+                        onResponse(binaryCodec.decode(inputStream));
+                    } catch (final Exception e) {
+                        onDecodingError(e);
+                    }
+                }
+            });
+        }
+
+        private List<Command> transmit(final List<Command> commands, final long timeout) throws Exception {
+            if (isInterruptRequest(commands)) {
+                send(commands);
+                return Collections.emptyList();
+            }
+            final PendingResponse response = new PendingResponse(isLongPoll(commands));
+            if (!pendingResponse.compareAndSet(null, response)) {
+                throw new IllegalStateException("Only one request can be sent at a time");
+            }
+            try {
+                send(commands);
+                return response.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            } finally {
+                pendingResponse.compareAndSet(response, null);
+            }
+        }
+
+        private void send(final List<Command> commands) throws IOException {
+            final Session currentSession = session;
+            if (currentSession == null || !currentSession.isOpen()) {
+                throw new IOException("WebSocket is closed");
+            }
+            synchronized (sendLock) {
+                if (binary) {
+                    try (final OutputStream outputStream = currentSession.getBasicRemote().getSendStream()) {
+                        binaryCodec.encode(commands, outputStream);
+                    }
+                } else {
+                    try (final Writer writer = currentSession.getBasicRemote().getSendWriter()) {
+                        codec.encode(commands, writer);
+                    }
+                }
+            }
+        }
+
+        private void onResponse(final List<Command> commands) {
+            final PendingResponse response = pendingResponse.getAndSet(null);
+            if (response == null) {
+                LOG.warn("Received {} commands over WebSocket without a pending request", commands.size());
+                return;
+            }
+            response.complete(commands);
+        }
+
+        private void onDecodingError(final Exception exception) {
+            final PendingResponse response = pendingResponse.getAndSet(null);
+            if (response != null) {
+                response.completeExceptionally(exception);
+            } else {
+                LOG.error("Can not decode WebSocket message", exception);
+            }
+        }
+
+        private boolean isInterruptRequest(final List<Command> commands) {
+            for (final Command command : commands) {
+                if (!(command instanceof InterruptLongPollCommand)) {
+                    return false;
+                }
+            }
+            return !commands.isEmpty();
+        }
+
+        private boolean isOpen() {
+            final Session currentSession = session;
+            return currentSession != null && currentSession.isOpen();
+        }
+
+        private void close() {
+            final Session currentSession = session;
+            if (currentSession == null) {
+                return;
+            }
+            try {
+                currentSession.close();
+            } catch (final IOException e) {
+                LOG.debug("Can not close WebSocket", e);
+            }
+        }
+
+        @Override
+        public void onClose(final Session session, final CloseReason closeReason) {
+            final PendingResponse response = pendingResponse.getAndSet(null);
+            if (response == null) {
+                return;
+            }
+            if (response.isLongPoll()) {
+                // the long poll simply ends, the next requests will use HTTP
+                response.complete(Collections.<Command>emptyList());
+            } else {
+                response.completeExceptionally(new IOException("WebSocket closed: " + closeReason.getReasonPhrase()));
+            }
+        }
+
+        @Override
+        public void onError(final Session session, final Throwable throwable) {
+            LOG.warn("Error in WebSocket", throwable);
+        }
+    }
+
+    private static class PendingResponse extends CompletableFuture<List<Command>> {
+
+        private final boolean longPoll;
+
+        private PendingResponse(final boolean longPoll) {
+            this.longPoll = longPoll;
+        }
+
+        private boolean isLongPoll() {
+            return longPoll;
+        }
+    }
+}
@@ -18,10 +18,13 @@ package com.canoo.dp.impl.client.legacy;
 import com.canoo.dp.impl.client.legacy.communication.AttributeChangeListener;
 import com.canoo.dp.impl.remoting.legacy.core.ModelStore;
 import com.canoo.dp.impl.remoting.legacy.core.ModelStoreConfig;
+import com.canoo.dp.impl.remoting.legacy.core.PresentationModelSchema;
 import org.apiguardian.api.API;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.apiguardian.api.API.Status.DEPRECATED;
 
@@ -38,6 +41,11 @@ public class ClientModelStore extends ModelStore<ClientAttribute, ClientPresenta
 
     protected final AttributeChangeListener attributeChangeListener;
 
+    /**
+     * The presentation model schemas that were defined by the server for this session.
+     */
+    private final Map<Integer, PresentationModelSchema> schemas = new HashMap<>();
+
     /**
      * Constructs a client model store with default capacities.
      * @see ModelStoreConfig
@@ -68,6 +76,32 @@ public class ClientModelStore extends ModelStore<ClientAttribute, ClientPresenta
         delete(model, true);
     }
 
+    /**
+     * Stores a presentation model schema that was defined by the server.
+     * @param schemaId the id of the schema
+     * @param schema the schema
+     */
+    public void defineSchema(final int schemaId, final PresentationModelSchema schema) {
+        if (schema == null) {
+            throw new IllegalArgumentException("schema must not be null");
+        }
+        schemas.put(schemaId, schema);
+    }
+
+    /**
+     * Returns the presentation model schema with the given id.
+     * @param schemaId the id of the schema
+     * @return the schema
+     * @throws IllegalStateException if the server never defined a schema with the given id
+     */
+    public PresentationModelSchema getSchema(final int schemaId) {
+        final PresentationModelSchema schema = schemas.get(schemaId);
+        if (schema == null) {
+            throw new IllegalStateException("No presentation model schema with id " + schemaId + " defined");
+        }
+        return schema;
+    }
+
     public void delete(final ClientPresentationModel model, boolean notify) {
         if (model == null) return;
         if (containsPresentationModel(model.getId())) {
@@ -16,6 +16,7 @@
 package com.canoo.dp.impl.client.legacy.communication;
 
 import com.canoo.dp.impl.client.legacy.ClientModelStore;
+import com.canoo.dp.impl.remoting.commands.PendingResponseCommand;
 import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
 import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
@@ -29,8 +30,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static org.apiguardian.api.API.Status.DEPRECATED;
 
@@ -114,14 +117,12 @@ public abstract class AbstractClientConnector {
                     LOG.trace("Sending {} commands to server", commands.size());
                 }
 
-                final List<? extends Command> answers = transmit(commands);
-
-                uiExecutor.execute(new Runnable() {
+                receiveChunkedResponse(transmit(commands)).thenAccept(answers -> uiExecutor.execute(new Runnable() {
                     @Override
                     public void run() {
                         processResults(answers, toProcess);
                     }
-                });
+                }));
             } catch (Exception e) {
                 if (connectedFlag.get()) {
                     handleError(e);
@@ -143,6 +144,43 @@ public abstract class AbstractClientConnector {
 
     protected abstract List<Command> transmit(final List<Command> commands) throws DolphinRemotingException;
 
+    /**
+     * Handles a response that was split in chunks by the server (see {@link PendingResponseCommand}). Each chunk is
+     * applied in the UI thread while the next chunk is polled. The chunks are chained so that they are applied in the
+     * order of the response without blocking the calling thread.
+     * @param response the first chunk of the response
+     * @return a future that provides the last chunk of the response once all previous chunks were applied
+     * @throws DolphinRemotingException if the next chunk can not be polled
+     */
+    private CompletableFuture<List<? extends Command>> receiveChunkedResponse(final List<? extends Command> response) throws DolphinRemotingException {
+        List<? extends Command> chunk = response;
+        CompletableFuture<Void> previousChunkApplied = CompletableFuture.completedFuture(null);
+        while (!chunk.isEmpty() && chunk.get(chunk.size() - 1) instanceof PendingResponseCommand) {
+            LOG.trace("Received response chunk, {} commands are pending", ((PendingResponseCommand) chunk.get(chunk.size() - 1)).getRemainingCommandCount());
+            previousChunkApplied = applyChunk(previousChunkApplied, chunk.subList(0, chunk.size() - 1));
+            chunk = transmit(new ArrayList<Command>(Collections.singletonList(new StartLongPollCommand())));
+        }
+        final List<? extends Command> lastChunk = chunk;
+        return previousChunkApplied.thenApply(v -> lastChunk);
+    }
+
+    private CompletableFuture<Void> applyChunk(final CompletableFuture<Void> previousChunkApplied, final List<? extends Command> chunkCommands) {
+        final CompletableFuture<Void> chunkApplied = new CompletableFuture<>();
+        previousChunkApplied.thenRun(() -> uiExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (final Command serverCommand : chunkCommands) {
+                        dispatchHandle(serverCommand);
+                    }
+                } finally {
+                    chunkApplied.complete(null);
+                }
+            }
+        }));
+        return chunkApplied;
+    }
+
     public void send(final Command command, final OnFinishedHandler callback, final HandlerType handlerType) {
         LOG.trace("Command of type {} should be withContent to server", command.getClass().getSimpleName());
         if (!connectedFlag.get()) {
@@ -195,6 +233,10 @@ public abstract class AbstractClientConnector {
         }
     }
 
+    public <T extends Command> void registerCommandHandler(final Class<T> commandClass, final Consumer<T> handler) {
+        responseHandler.registerCommandHandler(commandClass, handler);
+    }
+
     public void dispatchHandle(final Command command) {
         responseHandler.dispatchHandle(command);
     }
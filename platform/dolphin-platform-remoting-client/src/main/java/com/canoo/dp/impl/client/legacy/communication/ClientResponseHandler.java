@@ -18,12 +18,15 @@ package com.canoo.dp.impl.client.legacy.communication;
 import com.canoo.dp.impl.client.legacy.ClientAttribute;
 import com.canoo.dp.impl.client.legacy.ClientModelStore;
 import com.canoo.dp.impl.client.legacy.ClientPresentationModel;
+import com.canoo.dp.impl.remoting.commands.CreateFromSchemaCommand;
+import com.canoo.dp.impl.remoting.commands.PresentationModelSchemaCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.AttributeMetadataChangedCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
 import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.DeletePresentationModelCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
 import com.canoo.dp.impl.remoting.legacy.core.Attribute;
+import com.canoo.dp.impl.remoting.legacy.core.PresentationModelSchema;
 import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +35,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import static org.apiguardian.api.API.Status.DEPRECATED;
 
@@ -42,21 +47,45 @@ public class ClientResponseHandler {
 
     private final ClientModelStore clientModelStore;
 
+    private final Map<Class<? extends Command>, Consumer<Command>> commandHandlers = new ConcurrentHashMap<>();
+
     public ClientResponseHandler(final ClientModelStore clientModelStore) {
         this.clientModelStore = Objects.requireNonNull(clientModelStore);
     }
 
+    /**
+     * Registers a handler for server commands that are not part of the legacy presentation model protocol.
+     * @param commandClass the type of the command
+     * @param handler the handler
+     * @param <T> the type of the command
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Command> void registerCommandHandler(final Class<T> commandClass, final Consumer<T> handler) {
+        Objects.requireNonNull(commandClass);
+        Objects.requireNonNull(handler);
+        commandHandlers.put(commandClass, c -> handler.accept((T) c));
+    }
+
     public void dispatchHandle(final Command command) {
         if (command instanceof DeletePresentationModelCommand) {
             handleDeletePresentationModelCommand((DeletePresentationModelCommand) command);
         } else if (command instanceof CreatePresentationModelCommand) {
             handleCreatePresentationModelCommand((CreatePresentationModelCommand) command);
+        } else if (command instanceof PresentationModelSchemaCommand) {
+            handlePresentationModelSchemaCommand((PresentationModelSchemaCommand) command);
+        } else if (command instanceof CreateFromSchemaCommand) {
+            handleCreateFromSchemaCommand((CreateFromSchemaCommand) command);
         } else if (command instanceof ValueChangedCommand) {
             handleValueChangedCommand((ValueChangedCommand) command);
         } else if (command instanceof AttributeMetadataChangedCommand) {
             handleAttributeMetadataChangedCommand((AttributeMetadataChangedCommand) command);
         } else {
-            LOG.error("C: cannot withoutResult unknown command '{}'", command );
+            final Consumer<Command> handler = command != null ? commandHandlers.get(command.getClass()) : null;
+            if (handler != null) {
+                handler.accept(command);
+            } else {
+                LOG.error("C: cannot withoutResult unknown command '{}'", command );
+            }
         }
 
     }
@@ -100,6 +129,35 @@ public class ClientResponseHandler {
         clientModelStore.updateQualifiers(model);
     }
 
+    private void handlePresentationModelSchemaCommand(final PresentationModelSchemaCommand serverCommand) {
+        clientModelStore.defineSchema(serverCommand.getSchemaId(), serverCommand.getSchema());
+    }
+
+    private void handleCreateFromSchemaCommand(final CreateFromSchemaCommand serverCommand) {
+        if (clientModelStore.containsPresentationModel(serverCommand.getPmId())) {
+            throw new IllegalStateException("There already is a presentation model with id '" + serverCommand.getPmId() + "' known to the client.");
+        }
+        final PresentationModelSchema schema = clientModelStore.getSchema(serverCommand.getSchemaId());
+        final List<String> propertyNames = schema.getPropertyNames();
+        final List<String> attributeIds = serverCommand.getAttributeIds();
+        final List<Object> values = serverCommand.getValues();
+        if (attributeIds.size() != propertyNames.size()) {
+            throw new IllegalStateException("Presentation model '" + serverCommand.getPmId() + "' does not match schema " + schema);
+        }
+
+        final List<ClientAttribute> attributes = new ArrayList<>(propertyNames.size());
+        for (int i = 0; i < propertyNames.size(); i++) {
+            final ClientAttribute attribute = new ClientAttribute(propertyNames.get(i), values.get(i), null);
+            attribute.setId(attributeIds.get(i));
+            attributes.add(attribute);
+        }
+
+        final ClientPresentationModel model = new ClientPresentationModel(serverCommand.getPmId(), attributes);
+        model.setPresentationModelType(schema.getPresentationModelType());
+        clientModelStore.add(model);
+        clientModelStore.updateQualifiers(model);
+    }
+
     private void handleValueChangedCommand(final ValueChangedCommand serverCommand) {
         Attribute attribute = clientModelStore.findAttributeById(serverCommand.getAttributeId());
         if (attribute == null) {
@@ -30,7 +30,9 @@ public interface ControllerFactory {
      * By doing so a new instance of the matching controller class will be created on the server.
      * The {@link ControllerProxy} can be used to communicate with the controller instance on the
      * server. The method don't block. To get the created {@link ControllerProxy} instance {@link CompletableFuture#get()}
-     * must be called on the return value.
+     * must be called on the return value. If the initial model of the controller is transferred in several chunks
+     * (see the {@code remoting.responseChunkSize} property of the client configuration, chunking is deactivated by
+     * default) the {@link CompletableFuture} completes once all chunks have been applied to the client model.
      * @param name the unique name of the controller type
      * @param <T> the type of the model that is bound to the controller and view
      * @return a {@link CompletableFuture} that defines the creation of the controller.
@@ -22,6 +22,7 @@ import com.canoo.dp.impl.client.legacy.communication.SimpleExceptionHandler;
 import com.canoo.dp.impl.platform.client.http.HttpClientImpl;
 import com.canoo.dp.impl.platform.core.http.HttpStatus;
 import com.canoo.dp.impl.platform.core.PlatformConstants;
+import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
 import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
 import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
@@ -109,6 +110,76 @@ public class TestDolphinPlatformHttpClientConnector {
         Assert.assertEquals(((CreatePresentationModelCommand) result.get(0)).getPmId(), "p1");
     }
 
+    @Test
+    public void testBinaryResponseWithNonStreamingCodec() throws DolphinRemotingException {
+        PlatformClient.init(new HeadlessToolkit());
+        PlatformClient.getClientConfiguration().setHttpURLConnectionFactory(new HttpURLConnectionFactory() {
+            @Override
+            public HttpURLConnection create(URI url) throws IOException {
+                return new HttpURLConnection(url.toURL()) {
+                    @Override
+                    public void disconnect() {
+
+                    }
+
+                    @Override
+                    public boolean usingProxy() {
+                        return false;
+                    }
+
+                    @Override
+                    public void connect() throws IOException {
+
+                    }
+
+                    @Override
+                    public int getResponseCode() throws IOException {
+                        return HttpStatus.HTTP_OK;
+                    }
+
+                    @Override
+                    public OutputStream getOutputStream() throws IOException {
+                        return new ByteArrayOutputStream();
+                    }
+
+                    @Override
+                    public InputStream getInputStream() throws IOException {
+                        String response = "[{\"pmId\":\"p1\",\"clientSideOnly\":false,\"id\":\"CreatePresentationModel\",\"attributes\":[],\"pmType\":null,\"className\":\"com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand\"}]";
+                        return new ByteArrayInputStream(response.getBytes("UTF-8"));
+                    }
+
+                    @Override
+                    public String getContentType() {
+                        return PlatformRemotingConstants.BINARY_MIME_TYPE;
+                    }
+
+                    @Override
+                    public String getHeaderField(String name) {
+                        if (PlatformConstants.CLIENT_ID_HTTP_HEADER_NAME.equals(name)) {
+                            return "TEST-ID";
+                        }
+                        if ("Content-Type".equalsIgnoreCase(name)) {
+                            return PlatformRemotingConstants.BINARY_MIME_TYPE;
+                        }
+                        return super.getHeaderField(name);
+                    }
+                };
+            }
+        });
+
+        final ClientModelStore clientModelStore = new ClientModelStore(new DefaultModelSynchronizer(() -> null));
+        final DolphinPlatformHttpClientConnector connector = new DolphinPlatformHttpClientConnector(getDummyURL(), PlatformClient.getClientConfiguration(), clientModelStore, new JsonCodec(), new SimpleExceptionHandler(), PlatformClient.getService(HttpClient.class));
+
+        for (int i = 0; i < 2; i++) {
+            final CreatePresentationModelCommand command = new CreatePresentationModelCommand();
+            command.setPmId("p1");
+            final List<Command> result = connector.transmit(Collections.<Command>singletonList(command));
+
+            Assert.assertEquals(result.size(), 1);
+            Assert.assertTrue(result.get(0) instanceof CreatePresentationModelCommand);
+        }
+    }
+
     @Test(expectedExceptions = DolphinRemotingException.class)
     public void testBadResponse() throws DolphinRemotingException, URISyntaxException {
         PlatformClient.init(new HeadlessToolkit());
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dolphin.client.impl;
+
+import com.canoo.dp.impl.client.DolphinPlatformWebSocketClientConnector;
+import com.canoo.dp.impl.client.legacy.ClientModelStore;
+import com.canoo.dp.impl.client.legacy.DefaultModelSynchronizer;
+import com.canoo.dp.impl.client.legacy.communication.SimpleExceptionHandler;
+import com.canoo.dp.impl.platform.core.PlatformConstants;
+import com.canoo.dp.impl.platform.core.http.HttpStatus;
+import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
+import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.JsonCodec;
+import com.canoo.platform.client.ClientConfiguration;
+import com.canoo.platform.client.HeadlessToolkit;
+import com.canoo.platform.client.PlatformClient;
+import com.canoo.platform.client.session.ClientSessionStore;
+import com.canoo.platform.core.http.HttpClient;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestDolphinPlatformWebSocketClientConnector {
+
+    @Test
+    public void testWebSocketUrl() {
+        //given:
+        PlatformClient.init(new HeadlessToolkit());
+        final ClientConfiguration configuration = PlatformClient.getClientConfiguration();
+
+        //when:
+        final URI httpUrl = DolphinPlatformWebSocketClientConnector.getWebSocketUrl(URI.create("http://localhost:8080/app/dolphin"), configuration);
+        final URI httpsUrl = DolphinPlatformWebSocketClientConnector.getWebSocketUrl(URI.create("https://localhost/dolphin"), configuration);
+
+        //then:
+        Assert.assertEquals(httpUrl, URI.create("ws://localhost:8080/app/dolphin-websocket"));
+        Assert.assertEquals(httpsUrl, URI.create("wss://localhost/dolphin-websocket"));
+
+        //when:
+        configuration.setStringProperty(DolphinPlatformWebSocketClientConnector.WEBSOCKET_URL, "ws://example.com/socket");
+        final URI configuredUrl = DolphinPlatformWebSocketClientConnector.getWebSocketUrl(URI.create("http://localhost:8080/dolphin"), configuration);
+
+        //then:
+        Assert.assertEquals(configuredUrl, URI.create("ws://example.com/socket"));
+    }
+
+    @Test
+    public void testHandshakeUrl() {
+        //when:
+        final URI url = DolphinPlatformWebSocketClientConnector.getHandshakeUrl(URI.create("ws://localhost:8080/dolphin-websocket"), "4711");
+        final URI urlWithQuery = DolphinPlatformWebSocketClientConnector.getHandshakeUrl(URI.create("ws://example.com/socket?a=b"), "4711");
+
+        //then:
+        Assert.assertEquals(url, URI.create("ws://localhost:8080/dolphin-websocket?ticket=4711"));
+        Assert.assertEquals(urlWithQuery, URI.create("ws://example.com/socket?a=b&ticket=4711"));
+    }
+
+    @Test
+    public void testFallbackToHttp() throws Exception {
+        //given:
+        PlatformClient.init(new HeadlessToolkit());
+        final AtomicInteger requestCounter = new AtomicInteger();
+        final AtomicInteger ticketRequestCounter = new AtomicInteger();
+        PlatformClient.getClientConfiguration().setHttpURLConnectionFactory(url -> new HttpURLConnection(url.toURL()) {
+            @Override
+            public void disconnect() {
+
+            }
+
+            @Override
+            public boolean usingProxy() {
+                return false;
+            }
+
+            @Override
+            public void connect() throws IOException {
+
+            }
+
+            @Override
+            public int getResponseCode() throws IOException {
+                return HttpStatus.HTTP_OK;
+            }
+
+            @Override
+            public OutputStream getOutputStream() throws IOException {
+                return new ByteArrayOutputStream();
+            }
+
+            @Override
+            public InputStream getInputStream() throws IOException {
+                if (getRequestProperty(PlatformRemotingConstants.WEBSOCKET_TICKET_HEADER) != null) {
+                    // the server does not provide a ticket for a WebSocket
+                    ticketRequestCounter.incrementAndGet();
+                    return new ByteArrayInputStream(new byte[0]);
+                }
+                requestCounter.incrementAndGet();
+                String response = "[{\"pmId\":\"p1\",\"clientSideOnly\":false,\"id\":\"CreatePresentationModel\",\"attributes\":[],\"pmType\":null,\"className\":\"com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand\"}]";
+                return new ByteArrayInputStream(response.getBytes("UTF-8"));
+            }
+
+            @Override
+            public String getHeaderField(String name) {
+                if (PlatformConstants.CLIENT_ID_HTTP_HEADER_NAME.equals(name)) {
+                    return "TEST-ID";
+                }
+                return super.getHeaderField(name);
+            }
+        });
+        final URI servletUrl = URI.create("http://localhost:1/dolphin");
+        final ClientSessionStore clientSessionStore = PlatformClient.getService(ClientSessionStore.class);
+        clientSessionStore.setClientIdentifierForUrl(servletUrl, "TEST-ID");
+        final ClientModelStore clientModelStore = new ClientModelStore(new DefaultModelSynchronizer(() -> null));
+        final DolphinPlatformWebSocketClientConnector connector = new DolphinPlatformWebSocketClientConnector(servletUrl, PlatformClient.getClientConfiguration(), clientModelStore, new JsonCodec(), new SimpleExceptionHandler(), PlatformClient.getService(HttpClient.class), clientSessionStore);
+
+        //when:
+        connector.transmit(new ArrayList<>(Collections.<Command>singletonList(new CreateContextCommand())));
+        final CreatePresentationModelCommand command = new CreatePresentationModelCommand();
+        command.setPmId("p1");
+        final List<Command> result = connector.transmit(new ArrayList<>(Collections.<Command>singletonList(command)));
+
+        //then:
+        Assert.assertFalse(connector.isWebSocketConnected());
+        Assert.assertEquals(requestCounter.get(), 2);
+        Assert.assertEquals(ticketRequestCounter.get(), 1);
+        Assert.assertEquals(result.size(), 1);
+        Assert.assertTrue(result.get(0) instanceof CreatePresentationModelCommand);
+    }
+}
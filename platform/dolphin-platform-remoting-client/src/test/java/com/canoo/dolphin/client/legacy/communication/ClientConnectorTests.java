@@ -25,6 +25,7 @@ import com.canoo.dp.impl.client.legacy.communication.AttributeChangeListener;
 import com.canoo.dp.impl.client.legacy.communication.CommandBatcher;
 import com.canoo.dp.impl.client.legacy.communication.OnFinishedHandler;
 import com.canoo.dp.impl.client.legacy.communication.SimpleExceptionHandler;
+import com.canoo.dp.impl.remoting.commands.PendingResponseCommand;
 import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
 import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.AttributeMetadataChangedCommand;
@@ -43,14 +44,17 @@ import org.testng.annotations.Test;
 
 import java.beans.PropertyChangeEvent;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 public class ClientConnectorTests {
@@ -289,6 +293,77 @@ public class ClientConnectorTests {
         Assert.assertEquals(1, deletedPresentationModelNotificationCount);
     }
 
+    @Test
+    public void testHandle_ChunkedResponse() {
+        final CreatePresentationModelCommand firstModel = new CreatePresentationModelCommand();
+        firstModel.setPmId("p1");
+        final CreatePresentationModelCommand secondModel = new CreatePresentationModelCommand();
+        secondModel.setPmId("p2");
+        clientConnector.addResponse(Arrays.<Command>asList(firstModel, new PendingResponseCommand(1)));
+        clientConnector.addResponse(Collections.<Command>singletonList(secondModel));
+        final List<Boolean> modelsAvailableInCallback = new ArrayList<>();
+
+        clientConnector.send(new EmptyCommand(), new OnFinishedHandler() {
+            public void onFinished() {
+                modelsAvailableInCallback.add(clientModelStore.findPresentationModelById("p1") != null);
+                modelsAvailableInCallback.add(clientModelStore.findPresentationModelById("p2") != null);
+                syncDone.countDown();
+            }
+        });
+        Assert.assertTrue(waitForLatch());
+        Assert.assertEquals(modelsAvailableInCallback, Arrays.asList(true, true));
+
+        // the client sends the models that were created by the chunks back to the server after the callback has
+        // been called, a second sync is needed to wait until those commands have been transmitted
+        initLatch();
+        syncAndWaitUntilDone();
+        assertCommandsTransmitted(4);
+        final List<Class<?>> transmittedTypes = new ArrayList<>();
+        for (final Command command : clientConnector.getTransmittedCommands()) {
+            transmittedTypes.add(command.getClass());
+        }
+        Assert.assertEquals(transmittedTypes, Arrays.<Class<?>>asList(EmptyCommand.class, CreatePresentationModelCommand.class, CreatePresentationModelCommand.class, EmptyCommand.class));
+    }
+
+    @Test
+    public void testHandle_ChunkedResponseDoesNotWaitForUiThread() throws InterruptedException {
+        final LinkedBlockingQueue<Runnable> uiTasks = new LinkedBlockingQueue<>();
+        clientConnector = new TestClientConnector(clientModelStore, uiTasks::add);
+        clientConnector.connect(false);
+        final CreatePresentationModelCommand firstModel = new CreatePresentationModelCommand();
+        firstModel.setPmId("p1");
+        final CreatePresentationModelCommand secondModel = new CreatePresentationModelCommand();
+        secondModel.setPmId("p2");
+        final CreatePresentationModelCommand thirdModel = new CreatePresentationModelCommand();
+        thirdModel.setPmId("p3");
+        clientConnector.addResponse(Arrays.<Command>asList(firstModel, new PendingResponseCommand(2)));
+        clientConnector.addResponse(Arrays.<Command>asList(secondModel, new PendingResponseCommand(1)));
+        clientConnector.addResponse(Collections.<Command>singletonList(thirdModel));
+
+        clientConnector.send(new EmptyCommand(), new OnFinishedHandler() {
+            public void onFinished() {
+                syncDone.countDown();
+            }
+        });
+
+        // all chunks are polled while the UI thread is busy
+        final long timeout = System.currentTimeMillis() + 2000;
+        while (clientConnector.hasPendingResponses() && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        Assert.assertFalse(clientConnector.hasPendingResponses());
+        Assert.assertNull(clientModelStore.findPresentationModelById("p1"));
+
+        while (syncDone.getCount() > 0) {
+            final Runnable uiTask = uiTasks.poll(2, TimeUnit.SECONDS);
+            Assert.assertNotNull(uiTask);
+            uiTask.run();
+        }
+        Assert.assertNotNull(clientModelStore.findPresentationModelById("p1"));
+        Assert.assertNotNull(clientModelStore.findPresentationModelById("p2"));
+        Assert.assertNotNull(clientModelStore.findPresentationModelById("p3"));
+    }
+
     private TestClientConnector clientConnector;
     private ClientModelStore clientModelStore;
     private AttributeChangeListener attributeChangeListener;
@@ -344,10 +419,23 @@ public class ClientConnectorTests {
         }
 
         public List construct(Command command) {
-            return Collections.emptyList();
+            if (responses.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return responses.removeFirst();
+        }
+
+        public void addResponse(List<Command> response) {
+            responses.add(response);
+        }
+
+        public boolean hasPendingResponses() {
+            return !responses.isEmpty();
         }
 
         private List<Command> transmittedCommands = new ArrayList<Command>();
+
+        private final ConcurrentLinkedDeque<List<Command>> responses = new ConcurrentLinkedDeque<List<Command>>();
     }
 
     public class ExtendedAttribute extends ClientAttribute {
@@ -31,4 +31,10 @@ public interface PlatformRemotingConstants {
     String CONTROLLER_ACTION_CALL_BEAN_NAME = "@@@ CONTROLLER_ACTION_CALL_BEAN @@@";
 
     String INTERNAL_ATTRIBUTES_BEAN_NAME = "@@@ HIGHLANDER_BEAN @@@";
+
+    String BINARY_MIME_TYPE = "application/x-dolphin-platform-binary";
+
+    String WEBSOCKET_TICKET_HEADER = "X-WebSocket-Ticket";
+
+    String WEBSOCKET_TICKET_PARAMETER = "ticket";
 }
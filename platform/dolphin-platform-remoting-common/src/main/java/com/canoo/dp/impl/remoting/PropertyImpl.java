@@ -32,6 +32,11 @@ import static org.apiguardian.api.API.Status.INTERNAL;
 
 /**
  * An implementation of {@link Property} that is used for all Dolphin Beans generated from class definitions.
+ * If the converter creates immutable values (see {@link PropertyInfo#isCacheableConversion()}) the converted value
+ * of the internal attribute is cached and only converted again once the value of the attribute has changed. Values of
+ * mutable types (like {@link java.util.Date}) are converted on every access so that a caller can not modify the value
+ * that is returned to other callers. For converters that don't change the value
+ * (see {@link PropertyInfo#isIdentityConversion()}) no conversion is done at all.
  *
  * @param <T> The type of the wrapped property.
  */
@@ -42,20 +47,27 @@ public class PropertyImpl<T> extends AbstractProperty<T> {
 
     private final PropertyInfo propertyInfo;
 
+    private final boolean identityConversion;
+
+    private final boolean cacheableConversion;
+
+    private volatile CachedValue<T> cachedValue;
+
     private final List<ValueChangeListener<? super T>> listeners = new CopyOnWriteArrayList<>();
 
     public PropertyImpl(final Attribute attribute, final PropertyInfo propertyInfo) {
         this.attribute = Assert.requireNonNull(attribute, "attribute");
         this.propertyInfo = Assert.requireNonNull(propertyInfo, "propertyInfo");
+        this.identityConversion = propertyInfo.isIdentityConversion();
+        this.cacheableConversion = propertyInfo.isCacheableConversion();
 
         attribute.addPropertyChangeListener(Attribute.VALUE_NAME, new PropertyChangeListener() {
-            @SuppressWarnings("unchecked")
             @Override
             public void propertyChange(final PropertyChangeEvent evt) {
                 Assert.requireNonNull(evt, "evt");
                 try {
-                    final T oldValue = (T) PropertyImpl.this.propertyInfo.convertFromDolphin(evt.getOldValue());
-                    final T newValue = (T) PropertyImpl.this.propertyInfo.convertFromDolphin(evt.getNewValue());
+                    final T oldValue = convertFromDolphin(evt.getOldValue());
+                    final T newValue = convertFromDolphin(evt.getNewValue());
                     if (oldValue == null && newValue != null ||
                             oldValue != null && newValue == null ||
                             (oldValue != null && newValue != null && !oldValue.equals(newValue))) {
@@ -71,19 +83,52 @@ public class PropertyImpl<T> extends AbstractProperty<T> {
     @Override
     public void set(final T value) {
         try {
-            attribute.setValue(propertyInfo.convertToDolphin(value));
+            attribute.setValue(identityConversion ? value : propertyInfo.convertToDolphin(value));
         } catch (final ValueConverterException e) {
             throw new MappingException("Error in mutating property value!", e);
         }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public T get() {
         try {
-            return (T) propertyInfo.convertFromDolphin(attribute.getValue());
+            return convertFromDolphin(attribute.getValue());
         } catch (final ValueConverterException e) {
             throw new MappingException("Error in accessing property value!", e);
         }
     }
+
+    /**
+     * Converts the given internal value. If the converter creates immutable values and the value is the last value
+     * that was converted the cached result will be returned. Since the cache is only valid for the identical internal
+     * value it never needs to be invalidated.
+     */
+    @SuppressWarnings("unchecked")
+    private T convertFromDolphin(final Object dolphinValue) throws ValueConverterException {
+        if (identityConversion) {
+            return (T) dolphinValue;
+        }
+        if (!cacheableConversion) {
+            return (T) propertyInfo.convertFromDolphin(dolphinValue);
+        }
+        final CachedValue<T> cached = cachedValue;
+        if (cached != null && cached.dolphinValue == dolphinValue) {
+            return cached.value;
+        }
+        final T value = (T) propertyInfo.convertFromDolphin(dolphinValue);
+        cachedValue = new CachedValue<>(dolphinValue, value);
+        return value;
+    }
+
+    private static final class CachedValue<T> {
+
+        private final Object dolphinValue;
+
+        private final T value;
+
+        private CachedValue(final Object dolphinValue, final T value) {
+            this.dolphinValue = dolphinValue;
+            this.value = value;
+        }
+    }
 }
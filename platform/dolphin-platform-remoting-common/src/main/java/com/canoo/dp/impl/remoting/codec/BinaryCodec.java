@@ -0,0 +1,202 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
+import com.canoo.dp.impl.remoting.codec.binary.IncomingStringTable;
+import com.canoo.dp.impl.remoting.codec.binary.OutgoingStringTable;
+import com.canoo.dp.impl.remoting.codec.encoders.AbstractCommandTranscoder;
+import com.canoo.dp.impl.remoting.codec.encoders.AttributeMetadataChangedCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CallActionCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ChangeAttributeMetadataCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CreateContextCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CreateControllerCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CreateFromSchemaCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CreatePresentationModelCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.DeletePresentationModelCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.DestroyContextCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.DestroyControllerCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.EmptyCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.InterruptLongPollCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ListPermutationCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ListSpliceCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.PresentationModelDeletedCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.PendingResponseCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.PresentationModelSchemaCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.StartLongPollCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ValueChangedCommandEncoder;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.canoo.dp.impl.remoting.codec.binary.BinaryCodecConstants.*;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.*;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Codec for the compact binary remoting format. Commands are identified by a varint tag, values are written with a
+ * type tag and ids (like the ids of presentation models and attributes) are written by using a string table that is
+ * shared between all messages of a connection. Since the string tables are bound to a connection an instance of
+ * this codec must only be used for one connection (one client session).
+ * <p>
+ * A message starts with a header that contains the format version, the id of the string table that is used for
+ * encoding and the number of entries of the string table of the other side that are already known. Based on this
+ * acknowledgement an id will only be referenced by its index once the other side knows it.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class BinaryCodec {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BinaryCodec.class);
+
+    private final Map<String, Integer> tags = new HashMap<>();
+
+    private final Map<Integer, AbstractCommandTranscoder<?>> transcoders = new HashMap<>();
+
+    private final OutgoingStringTable outgoingStringTable = new OutgoingStringTable();
+
+    private final IncomingStringTable incomingStringTable = new IncomingStringTable();
+
+    public BinaryCodec() {
+        addTranscoder(new StartLongPollCommandEncoder(), START_LONG_POLL_COMMAND_ID, START_LONG_POLL_COMMAND_TAG);
+        addTranscoder(new InterruptLongPollCommandEncoder(), INTERRUPT_LONG_POLL_COMMAND_ID, INTERRUPT_LONG_POLL_COMMAND_TAG);
+        addTranscoder(new CreatePresentationModelCommandEncoder(), CREATE_PRESENTATION_MODEL_COMMAND_ID, CREATE_PRESENTATION_MODEL_COMMAND_TAG);
+        addTranscoder(new DeletePresentationModelCommandEncoder(), DELETE_PRESENTATION_MODEL_COMMAND_ID, DELETE_PRESENTATION_MODEL_COMMAND_TAG);
+        addTranscoder(new PresentationModelDeletedCommandEncoder(), PRESENTATION_MODEL_DELETED_COMMAND_ID, PRESENTATION_MODEL_DELETED_COMMAND_TAG);
+        addTranscoder(new ValueChangedCommandEncoder(), VALUE_CHANGED_COMMAND_ID, VALUE_CHANGED_COMMAND_TAG);
+        addTranscoder(new ChangeAttributeMetadataCommandEncoder(), CHANGE_ATTRIBUTE_METADATA_COMMAND_ID, CHANGE_ATTRIBUTE_METADATA_COMMAND_TAG);
+        addTranscoder(new AttributeMetadataChangedCommandEncoder(), ATTRIBUTE_METADATA_CHANGED_COMMAND_ID, ATTRIBUTE_METADATA_CHANGED_COMMAND_TAG);
+        addTranscoder(new EmptyCommandEncoder(), EMPTY_COMMAND_ID, EMPTY_COMMAND_TAG);
+        addTranscoder(new CreateContextCommandEncoder(), CREATE_CONTEXT_COMMAND_ID, CREATE_CONTEXT_COMMAND_TAG);
+        addTranscoder(new DestroyContextCommandEncoder(), DESTROY_CONTEXT_COMMAND_ID, DESTROY_CONTEXT_COMMAND_TAG);
+        addTranscoder(new CreateControllerCommandEncoder(), CREATE_CONTROLLER_COMMAND_ID, CREATE_CONTROLLER_COMMAND_TAG);
+        addTranscoder(new DestroyControllerCommandEncoder(), DESTROY_CONTROLLER_COMMAND_ID, DESTROY_CONTROLLER_COMMAND_TAG);
+        addTranscoder(new CallActionCommandEncoder(), CALL_ACTION_COMMAND_ID, CALL_ACTION_COMMAND_TAG);
+        addTranscoder(new ListSpliceCommandEncoder(), LIST_SPLICE_COMMAND_ID, LIST_SPLICE_COMMAND_TAG);
+        addTranscoder(new ListPermutationCommandEncoder(), LIST_PERMUTATION_COMMAND_ID, LIST_PERMUTATION_COMMAND_TAG);
+        addTranscoder(new PresentationModelSchemaCommandEncoder(), PRESENTATION_MODEL_SCHEMA_COMMAND_ID, PRESENTATION_MODEL_SCHEMA_COMMAND_TAG);
+        addTranscoder(new CreateFromSchemaCommandEncoder(), CREATE_FROM_SCHEMA_COMMAND_ID, CREATE_FROM_SCHEMA_COMMAND_TAG);
+        addTranscoder(new PendingResponseCommandEncoder(), PENDING_RESPONSE_COMMAND_ID, PENDING_RESPONSE_COMMAND_TAG);
+    }
+
+    private <C extends Command> void addTranscoder(final AbstractCommandTranscoder<C> transcoder, final String commandId, final int tag) {
+        Assert.requireNonNull(transcoder, "transcoder");
+        Assert.requireNonNull(commandId, "commandId");
+
+        if(tags.containsKey(commandId) || transcoders.containsKey(tag)) {
+            throw new IllegalStateException("Transcoder for " + commandId + " already defined!");
+        }
+        tags.put(commandId, tag);
+        transcoders.put(tag, transcoder);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void encode(final List<? extends Command> commands, final OutputStream outputStream) throws IOException {
+        Assert.requireNonNull(commands, "commands");
+        Assert.requireNonNull(outputStream, "outputStream");
+        LOG.debug("Encoding command list with {} commands", commands.size());
+
+        final long acknowledgedTableId;
+        final int acknowledgedCount;
+        synchronized (incomingStringTable) {
+            acknowledgedTableId = incomingStringTable.getTableId();
+            acknowledgedCount = incomingStringTable.getKnownCount();
+        }
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        synchronized (outgoingStringTable) {
+            final BinaryWriter writer = new BinaryWriter(buffer, outgoingStringTable);
+            writer.writeByte(VERSION);
+            writer.writeLong(outgoingStringTable.getTableId());
+            writer.writeLong(acknowledgedTableId);
+            writer.writeVarInt(acknowledgedCount);
+            writer.writeVarInt(commands.size());
+            for (final Command command : commands) {
+                if (command == null) {
+                    throw new IllegalArgumentException("Command list contains a null command: " + command);
+                }
+                LOG.trace("Encoding command of type {}", command.getClass());
+                final Integer tag = tags.get(command.getId());
+                if (tag == null) {
+                    throw new RuntimeException("No encoder for command type " + command.getClass() + " found");
+                }
+                writer.writeVarInt(tag);
+                ((AbstractCommandTranscoder) transcoders.get(tag)).encode(command, writer);
+            }
+        }
+        buffer.writeTo(outputStream);
+        outputStream.flush();
+    }
+
+    public List<Command> decode(final InputStream inputStream) throws IOException {
+        Assert.requireNonNull(inputStream, "inputStream");
+        final ByteArrayInputStream content = new ByteArrayInputStream(readContent(inputStream));
+        final long acknowledgedTableId;
+        final int acknowledgedCount;
+        final List<Command> commands = new ArrayList<>();
+        try {
+            synchronized (incomingStringTable) {
+                final BinaryReader reader = new BinaryReader(content, incomingStringTable);
+                final int version = reader.readByte();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported binary format version " + version);
+                }
+                incomingStringTable.useTable(reader.readLong());
+                acknowledgedTableId = reader.readLong();
+                acknowledgedCount = reader.readVarInt();
+                final int commandCount = reader.readVarInt();
+                for (int i = 0; i < commandCount; i++) {
+                    final int tag = reader.readVarInt();
+                    final AbstractCommandTranscoder<?> transcoder = transcoders.get(tag);
+                    if (transcoder == null) {
+                        throw new IOException("Can not decode command with tag " + tag + ". No matching encoder found!");
+                    }
+                    commands.add(Assert.requireNonNull(transcoder.decode(reader), "command"));
+                }
+                if (content.available() > 0) {
+                    throw new IOException("Binary message contains unexpected content");
+                }
+            }
+        } catch (final RuntimeException e) {
+            throw new IOException("Illegal binary message", e);
+        }
+        outgoingStringTable.acknowledge(acknowledgedTableId, acknowledgedCount);
+        LOG.debug("Decoded command list with {} commands", commands.size());
+        return commands;
+    }
+
+    private byte[] readContent(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int count;
+        while ((count = inputStream.read(buffer)) >= 0) {
+            content.write(buffer, 0, count);
+        }
+        return content.toByteArray();
+    }
+}
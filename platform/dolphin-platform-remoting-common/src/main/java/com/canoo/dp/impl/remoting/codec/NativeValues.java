@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec;
+
+import org.apiguardian.api.API;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.canoo.dp.impl.platform.core.PlatformConstants.REMOTING_DATE_FORMAT_PATTERN;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Helper for the native value types of the remoting protocol. Next to {@link String}, {@link Number} and
+ * {@link Boolean} an attribute can hold a {@link ZonedDateTime}, a {@link Date} or an {@link UUID}. The binary codec
+ * transfers such values in a compact native form (epoch millis plus zone, unscaled value plus scale for
+ * {@link java.math.BigDecimal}, 128 bit for UUIDs). JSON has no such types, therefore the JSON codecs transfer the
+ * values in the legacy text form that is understood by all clients (including the JavaScript client). Since that
+ * form is defined in UTC only the binary codec keeps the zone of a {@link ZonedDateTime}.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class NativeValues {
+
+    private static final DateTimeFormatter LEGACY_DATE_FORMAT = DateTimeFormatter.ofPattern(REMOTING_DATE_FORMAT_PATTERN).withZone(ZoneOffset.UTC);
+
+    private NativeValues() {}
+
+    /**
+     * Returns true if the given value is a native value that has no direct JSON representation.
+     * @param value the value
+     * @return true if the value is a native value
+     */
+    public static boolean isNativeValue(final Object value) {
+        return value instanceof ZonedDateTime || value instanceof Date || value instanceof UUID;
+    }
+
+    /**
+     * Converts a native value in the legacy text form that is used by JSON.
+     * @param value the native value
+     * @return the text form
+     */
+    public static String toTextValue(final Object value) {
+        if (value instanceof ZonedDateTime) {
+            return LEGACY_DATE_FORMAT.format((ZonedDateTime) value);
+        }
+        if (value instanceof Date) {
+            return LEGACY_DATE_FORMAT.format(((Date) value).toInstant());
+        }
+        if (value instanceof UUID) {
+            return value.toString();
+        }
+        throw new IllegalArgumentException("Not a native value: " + value);
+    }
+
+    /**
+     * Parses a date that is defined in the legacy text form.
+     * @param value the legacy text form
+     * @return the instant
+     * @throws DateTimeParseException if the text can not be parsed
+     */
+    public static Instant parseLegacyDate(final String value) {
+        return ZonedDateTime.parse(value, LEGACY_DATE_FORMAT).toInstant();
+    }
+
+    /**
+     * Parses a {@link ZonedDateTime} that is defined in the text form of {@link #toTextValue(Object)}. Since that
+     * form contains no zone the result is defined in the default zone of the system.
+     * @param value the text form
+     * @return the date time
+     * @throws DateTimeParseException if the text can not be parsed
+     */
+    public static ZonedDateTime parseZonedDateTime(final String value) {
+        return parseLegacyDate(value).atZone(ZoneId.systemDefault());
+    }
+}
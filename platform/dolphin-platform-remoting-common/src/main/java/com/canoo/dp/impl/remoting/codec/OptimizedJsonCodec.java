@@ -23,13 +23,18 @@ import com.canoo.dp.impl.remoting.codec.encoders.ChangeAttributeMetadataCommandE
 import com.canoo.dp.impl.remoting.codec.encoders.CommandTranscoder;
 import com.canoo.dp.impl.remoting.codec.encoders.CreateContextCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.CreateControllerCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CreateFromSchemaCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.CreatePresentationModelCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.DeletePresentationModelCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.DestroyContextCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.DestroyControllerCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.EmptyCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.InterruptLongPollCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ListPermutationCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ListSpliceCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.PresentationModelDeletedCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.PendingResponseCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.PresentationModelSchemaCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.StartLongPollCommandEncoder;
 import com.canoo.dp.impl.remoting.codec.encoders.ValueChangedCommandEncoder;
 import com.google.gson.Gson;
@@ -82,6 +87,11 @@ public final class OptimizedJsonCodec implements Codec {
         addTranscoder(new CreateControllerCommandEncoder(), CREATE_CONTROLLER_COMMAND_ID);
         addTranscoder(new DestroyControllerCommandEncoder(), DESTROY_CONTROLLER_COMMAND_ID);
         addTranscoder(new CallActionCommandEncoder(), CALL_ACTION_COMMAND_ID);
+        addTranscoder(new ListSpliceCommandEncoder(), LIST_SPLICE_COMMAND_ID);
+        addTranscoder(new ListPermutationCommandEncoder(), LIST_PERMUTATION_COMMAND_ID);
+        addTranscoder(new PresentationModelSchemaCommandEncoder(), PRESENTATION_MODEL_SCHEMA_COMMAND_ID);
+        addTranscoder(new CreateFromSchemaCommandEncoder(), CREATE_FROM_SCHEMA_COMMAND_ID);
+        addTranscoder(new PendingResponseCommandEncoder(), PENDING_RESPONSE_COMMAND_ID);
     }
 
     private <C extends Command> void addTranscoder(final AbstractCommandTranscoder<C> transcoder, final String commandId) {
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec;
+
+import com.canoo.dp.impl.remoting.legacy.communication.Codec;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * A {@link Codec} that can write commands directly to a {@link Writer} and read commands directly from a
+ * {@link Reader} without creating the complete message as a String.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public interface StreamingCodec extends Codec {
+
+    /**
+     * Encodes the given commands to the writer. The writer will be flushed but not closed.
+     * @param commands the commands
+     * @param writer the writer
+     * @throws IOException if the commands can not be written
+     */
+    void encode(List<? extends Command> commands, Writer writer) throws IOException;
+
+    /**
+     * Decodes all commands that can be read from the given reader. The reader will not be closed.
+     * @param reader the reader
+     * @return the commands
+     * @throws IOException if the commands can not be read
+     */
+    List<Command> decode(Reader reader) throws IOException;
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.encoders.AbstractCommandTranscoder;
+import com.canoo.dp.impl.remoting.codec.encoders.AttributeMetadataChangedCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CallActionCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ChangeAttributeMetadataCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CreateContextCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CreateControllerCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CreateFromSchemaCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.CreatePresentationModelCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.DeletePresentationModelCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.DestroyContextCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.DestroyControllerCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.EmptyCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.InterruptLongPollCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ListPermutationCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ListSpliceCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.PresentationModelDeletedCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.PendingResponseCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.PresentationModelSchemaCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.StartLongPollCommandEncoder;
+import com.canoo.dp.impl.remoting.codec.encoders.ValueChangedCommandEncoder;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.*;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Streaming variant of the {@link OptimizedJsonCodec}. Commands are read with a {@link JsonReader} and written
+ * with a {@link JsonWriter} without creating a JSON tree for the message. The wire format is the same as the one of
+ * the {@link OptimizedJsonCodec}. The only difference is that the id of a command is always written as first
+ * property. Commands that do not start with the id (like commands encoded by an older {@link OptimizedJsonCodec})
+ * are still supported but will be decoded by using a JSON tree.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class StreamingJsonCodec implements StreamingCodec {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingJsonCodec.class);
+
+    private static final StreamingJsonCodec INSTANCE = new StreamingJsonCodec();
+
+    private final JsonParser parser = new JsonParser();
+
+    private final Map<String, AbstractCommandTranscoder<?>> transcoders = new HashMap<>();
+
+    private StreamingJsonCodec() {
+        addTranscoder(new StartLongPollCommandEncoder(), START_LONG_POLL_COMMAND_ID);
+        addTranscoder(new InterruptLongPollCommandEncoder(), INTERRUPT_LONG_POLL_COMMAND_ID);
+        addTranscoder(new CreatePresentationModelCommandEncoder(), CREATE_PRESENTATION_MODEL_COMMAND_ID);
+        addTranscoder(new DeletePresentationModelCommandEncoder(), DELETE_PRESENTATION_MODEL_COMMAND_ID);
+        addTranscoder(new PresentationModelDeletedCommandEncoder(), PRESENTATION_MODEL_DELETED_COMMAND_ID);
+        addTranscoder(new ValueChangedCommandEncoder(), VALUE_CHANGED_COMMAND_ID);
+        addTranscoder(new ChangeAttributeMetadataCommandEncoder(), CHANGE_ATTRIBUTE_METADATA_COMMAND_ID);
+        addTranscoder(new AttributeMetadataChangedCommandEncoder(), ATTRIBUTE_METADATA_CHANGED_COMMAND_ID);
+        addTranscoder(new EmptyCommandEncoder(), EMPTY_COMMAND_ID);
+        addTranscoder(new CreateContextCommandEncoder(), CREATE_CONTEXT_COMMAND_ID);
+        addTranscoder(new DestroyContextCommandEncoder(), DESTROY_CONTEXT_COMMAND_ID);
+        addTranscoder(new CreateControllerCommandEncoder(), CREATE_CONTROLLER_COMMAND_ID);
+        addTranscoder(new DestroyControllerCommandEncoder(), DESTROY_CONTROLLER_COMMAND_ID);
+        addTranscoder(new CallActionCommandEncoder(), CALL_ACTION_COMMAND_ID);
+        addTranscoder(new ListSpliceCommandEncoder(), LIST_SPLICE_COMMAND_ID);
+        addTranscoder(new ListPermutationCommandEncoder(), LIST_PERMUTATION_COMMAND_ID);
+        addTranscoder(new PresentationModelSchemaCommandEncoder(), PRESENTATION_MODEL_SCHEMA_COMMAND_ID);
+        addTranscoder(new CreateFromSchemaCommandEncoder(), CREATE_FROM_SCHEMA_COMMAND_ID);
+        addTranscoder(new PendingResponseCommandEncoder(), PENDING_RESPONSE_COMMAND_ID);
+    }
+
+    private <C extends Command> void addTranscoder(final AbstractCommandTranscoder<C> transcoder, final String commandId) {
+        Assert.requireNonNull(transcoder, "transcoder");
+        Assert.requireNonNull(commandId, "commandId");
+
+        if(transcoders.containsKey(commandId)) {
+            throw new IllegalStateException("Transcoder for " + commandId + " already defined!");
+        }
+        transcoders.put(commandId, transcoder);
+    }
+
+    @Override
+    public String encode(final List<? extends Command> commands) {
+        final StringWriter writer = new StringWriter();
+        try {
+            encode(commands, writer);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Can not encode commands", e);
+        }
+        final String encoded = writer.toString();
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Encoded message: {}", encoded);
+        }
+        return encoded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void encode(final List<? extends Command> commands, final Writer writer) throws IOException {
+        Assert.requireNonNull(commands, "commands");
+        Assert.requireNonNull(writer, "writer");
+        LOG.debug("Encoding command list with {} commands", commands.size());
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setSerializeNulls(true);
+        jsonWriter.setHtmlSafe(true);
+        jsonWriter.beginArray();
+        for (final Command command : commands) {
+            if (command == null) {
+                throw new IllegalArgumentException("Command list contains a null command: " + command);
+            }
+            LOG.trace("Encoding command of type {}", command.getClass());
+            final AbstractCommandTranscoder encoder = transcoders.get(command.getId());
+            if (encoder == null) {
+                throw new RuntimeException("No encoder for command type " + command.getClass() + " found");
+            }
+            encoder.encode(command, jsonWriter);
+        }
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
+    @Override
+    public List<Command> decode(final String transmitted) {
+        Assert.requireNonNull(transmitted, "transmitted");
+        LOG.trace("Decoding message: {}", transmitted);
+        try {
+            return decode(new StringReader(transmitted));
+        } catch (final IOException e) {
+            throw new JsonParseException("Illegal JSON detected", e);
+        }
+    }
+
+    @Override
+    public List<Command> decode(final Reader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final JsonReader jsonReader = new JsonReader(reader);
+        try {
+            final List<Command> commands = new ArrayList<>();
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                commands.add(decodeCommand(jsonReader));
+            }
+            jsonReader.endArray();
+            LOG.debug("Decoded command list with {} commands", commands.size());
+            return commands;
+        } catch (final MalformedJsonException | EOFException | RuntimeException ex) {
+            throw new JsonParseException("Illegal JSON detected", ex);
+        }
+    }
+
+    private Command decodeCommand(final JsonReader jsonReader) throws IOException {
+        jsonReader.beginObject();
+        if (!jsonReader.hasNext()) {
+            throw new RuntimeException("Can not decode command without id!");
+        }
+        final String firstName = jsonReader.nextName();
+        final Command command;
+        if (ID.equals(firstName)) {
+            final String id = jsonReader.nextString();
+            LOG.trace("Decoding command: {}", id);
+            command = getTranscoder(id).decode(jsonReader);
+        } else {
+            final JsonObject jsonObject = new JsonObject();
+            jsonObject.add(firstName, parser.parse(jsonReader));
+            while (jsonReader.hasNext()) {
+                jsonObject.add(jsonReader.nextName(), parser.parse(jsonReader));
+            }
+            final JsonElement idElement = jsonObject.get(ID);
+            if (idElement == null || !idElement.isJsonPrimitive()) {
+                throw new RuntimeException("Can not decode command without id!");
+            }
+            final String id = idElement.getAsString();
+            LOG.trace("Decoding command: {}", id);
+            command = getTranscoder(id).decode(jsonObject);
+        }
+        jsonReader.endObject();
+        return Assert.requireNonNull(command, "command");
+    }
+
+    private AbstractCommandTranscoder<?> getTranscoder(final String id) {
+        final AbstractCommandTranscoder<?> transcoder = transcoders.get(id);
+        if (transcoder == null) {
+            throw new RuntimeException("Can not decode command of type " + id + ". No matching encoder found!");
+        }
+        return transcoder;
+    }
+
+    public static StreamingJsonCodec getInstance() {
+        return INSTANCE;
+    }
+}
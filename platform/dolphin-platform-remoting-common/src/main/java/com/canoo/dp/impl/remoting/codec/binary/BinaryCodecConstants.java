@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.binary;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+@API(since = "1.0.0", status = INTERNAL)
+public interface BinaryCodecConstants {
+
+    byte VERSION = 1;
+
+    int MAX_STRING_TABLE_SIZE = 1 << 16;
+
+    int STRING_NULL = 0;
+
+    int STRING_REFERENCE = 1;
+
+    int STRING_DEFINITION = 2;
+
+    int STRING_LITERAL = 3;
+
+    int VALUE_NULL = 0;
+
+    int VALUE_STRING = 1;
+
+    int VALUE_TRUE = 2;
+
+    int VALUE_FALSE = 3;
+
+    int VALUE_INT = 4;
+
+    int VALUE_LONG = 5;
+
+    int VALUE_FLOAT = 6;
+
+    int VALUE_DOUBLE = 7;
+
+    int VALUE_NUMBER = 8;
+
+    int VALUE_ZONED_DATE_TIME = 9;
+
+    int VALUE_DATE = 10;
+
+    int VALUE_DECIMAL = 11;
+
+    int VALUE_UUID = 12;
+
+    int START_LONG_POLL_COMMAND_TAG = 1;
+
+    int INTERRUPT_LONG_POLL_COMMAND_TAG = 2;
+
+    int CREATE_PRESENTATION_MODEL_COMMAND_TAG = 3;
+
+    int DELETE_PRESENTATION_MODEL_COMMAND_TAG = 4;
+
+    int PRESENTATION_MODEL_DELETED_COMMAND_TAG = 5;
+
+    int VALUE_CHANGED_COMMAND_TAG = 6;
+
+    int CHANGE_ATTRIBUTE_METADATA_COMMAND_TAG = 7;
+
+    int ATTRIBUTE_METADATA_CHANGED_COMMAND_TAG = 8;
+
+    int EMPTY_COMMAND_TAG = 9;
+
+    int CREATE_CONTEXT_COMMAND_TAG = 10;
+
+    int DESTROY_CONTEXT_COMMAND_TAG = 11;
+
+    int CREATE_CONTROLLER_COMMAND_TAG = 12;
+
+    int DESTROY_CONTROLLER_COMMAND_TAG = 13;
+
+    int CALL_ACTION_COMMAND_TAG = 14;
+
+    int LIST_SPLICE_COMMAND_TAG = 15;
+
+    int LIST_PERMUTATION_COMMAND_TAG = 16;
+
+    int PRESENTATION_MODEL_SCHEMA_COMMAND_TAG = 17;
+
+    int CREATE_FROM_SCHEMA_COMMAND_TAG = 18;
+
+    int PENDING_RESPONSE_COMMAND_TAG = 19;
+}
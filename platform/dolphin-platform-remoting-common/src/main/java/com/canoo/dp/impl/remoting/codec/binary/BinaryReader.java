@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.binary;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.google.gson.internal.LazilyParsedNumber;
+import org.apiguardian.api.API;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.canoo.dp.impl.remoting.codec.binary.BinaryCodecConstants.*;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Reads the primitives of the binary remoting format. An instance is used to read exactly one message.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class BinaryReader {
+
+    private final InputStream inputStream;
+
+    private final IncomingStringTable stringTable;
+
+    public BinaryReader(final InputStream inputStream, final IncomingStringTable stringTable) {
+        this.inputStream = Assert.requireNonNull(inputStream, "inputStream");
+        this.stringTable = Assert.requireNonNull(stringTable, "stringTable");
+    }
+
+    public int readByte() throws IOException {
+        final int value = inputStream.read();
+        if (value < 0) {
+            throw new EOFException("Unexpected end of binary message");
+        }
+        return value;
+    }
+
+    public int readVarInt() throws IOException {
+        final long value = readVarLong();
+        if (value > 0xFFFFFFFFL) {
+            throw new IOException("Illegal varint in binary message");
+        }
+        return (int) value;
+    }
+
+    public long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int current = readByte();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Illegal varint in binary message");
+    }
+
+    public long readLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    public String readString() throws IOException {
+        final int header = readVarInt();
+        if (header == STRING_NULL) {
+            return null;
+        }
+        if (header == STRING_LITERAL) {
+            return readLiteral();
+        }
+        throw new IOException("Illegal string header " + header);
+    }
+
+    public String readId() throws IOException {
+        final int header = readVarInt();
+        if (header == STRING_NULL) {
+            return null;
+        }
+        final int index = header >>> 2;
+        switch (header & 0x03) {
+            case STRING_REFERENCE:
+                return stringTable.get(index);
+            case STRING_DEFINITION:
+                final String value = readLiteral();
+                stringTable.define(index, value);
+                return value;
+            case STRING_LITERAL:
+                if (index != 0) {
+                    throw new IOException("Illegal string header " + header);
+                }
+                return readLiteral();
+            default:
+                throw new IOException("Illegal string header " + header);
+        }
+    }
+
+    public Object readValue() throws IOException {
+        final int tag = readVarInt();
+        switch (tag) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readLiteral();
+            case VALUE_TRUE:
+                return true;
+            case VALUE_FALSE:
+                return false;
+            case VALUE_INT:
+                final int zigZagInt = readVarInt();
+                return (zigZagInt >>> 1) ^ -(zigZagInt & 1);
+            case VALUE_LONG:
+                return readZigZagLong();
+            case VALUE_FLOAT:
+                int bits = 0;
+                for (int i = 0; i < 4; i++) {
+                    bits = (bits << 8) | readByte();
+                }
+                return Float.intBitsToFloat(bits);
+            case VALUE_DOUBLE:
+                return Double.longBitsToDouble(readLong());
+            case VALUE_NUMBER:
+                return new LazilyParsedNumber(readLiteral());
+            case VALUE_DECIMAL:
+                final long unscaledValue = readZigZagLong();
+                return BigDecimal.valueOf(unscaledValue, (int) readZigZagLong());
+            case VALUE_ZONED_DATE_TIME:
+                final long epochMillis = readZigZagLong();
+                final int nanoAdjustment = readVarInt();
+                final String zoneId = readId();
+                return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis).plusNanos(nanoAdjustment), ZoneId.of(zoneId));
+            case VALUE_DATE:
+                return new Date(readZigZagLong());
+            case VALUE_UUID:
+                final long mostSignificantBits = readLong();
+                return new UUID(mostSignificantBits, readLong());
+            default:
+                throw new IOException("Illegal value tag " + tag);
+        }
+    }
+
+    private long readZigZagLong() throws IOException {
+        final long zigZagLong = readVarLong();
+        return (zigZagLong >>> 1) ^ -(zigZagLong & 1);
+    }
+
+    private String readLiteral() throws IOException {
+        final int length = readVarInt();
+        if (length < 0) {
+            throw new IOException("Illegal string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            final int count = inputStream.read(bytes, offset, length - offset);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of binary message");
+            }
+            offset += count;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
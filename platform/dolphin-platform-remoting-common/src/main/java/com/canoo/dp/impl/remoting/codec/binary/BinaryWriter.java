@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.binary;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.canoo.dp.impl.remoting.codec.binary.BinaryCodecConstants.*;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Writes the primitives of the binary remoting format. An instance is used to write exactly one message.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class BinaryWriter {
+
+    private final OutputStream outputStream;
+
+    private final OutgoingStringTable stringTable;
+
+    private final BitSet definedInMessage = new BitSet();
+
+    public BinaryWriter(final OutputStream outputStream, final OutgoingStringTable stringTable) {
+        this.outputStream = Assert.requireNonNull(outputStream, "outputStream");
+        this.stringTable = Assert.requireNonNull(stringTable, "stringTable");
+    }
+
+    public void writeByte(final int value) throws IOException {
+        outputStream.write(value);
+    }
+
+    public void writeVarInt(final int value) throws IOException {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    public void writeVarLong(final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            outputStream.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        outputStream.write((int) remaining);
+    }
+
+    public void writeLong(final long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            outputStream.write((int) (value >>> shift));
+        }
+    }
+
+    /**
+     * Writes a string without using the string table.
+     * @param value the string (can be null)
+     * @throws IOException if the string can not be written
+     */
+    public void writeString(final String value) throws IOException {
+        if (value == null) {
+            writeVarInt(STRING_NULL);
+        } else {
+            writeVarInt(STRING_LITERAL);
+            writeLiteral(value);
+        }
+    }
+
+    /**
+     * Writes an id (like the id of a presentation model or attribute) by using the string table.
+     * @param value the id (can be null)
+     * @throws IOException if the id can not be written
+     */
+    public void writeId(final String value) throws IOException {
+        if (value == null) {
+            writeVarInt(STRING_NULL);
+            return;
+        }
+        final int index = stringTable.indexOf(value);
+        if (index < 0) {
+            writeVarInt(STRING_LITERAL);
+            writeLiteral(value);
+        } else if (definedInMessage.get(index) || stringTable.isAcknowledged(index)) {
+            writeVarInt(index << 2 | STRING_REFERENCE);
+        } else {
+            writeVarInt(index << 2 | STRING_DEFINITION);
+            writeLiteral(value);
+            definedInMessage.set(index);
+        }
+    }
+
+    public void writeValue(final Object value) throws IOException {
+        if (value == null) {
+            writeVarInt(VALUE_NULL);
+        } else if (value instanceof String) {
+            writeVarInt(VALUE_STRING);
+            writeLiteral((String) value);
+        } else if (value instanceof Boolean) {
+            writeVarInt(((Boolean) value) ? VALUE_TRUE : VALUE_FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeVarInt(VALUE_INT);
+            final int intValue = ((Number) value).intValue();
+            writeVarInt((intValue << 1) ^ (intValue >> 31));
+        } else if (value instanceof Long) {
+            writeVarInt(VALUE_LONG);
+            writeZigZagLong((Long) value);
+        } else if (value instanceof Float) {
+            writeVarInt(VALUE_FLOAT);
+            final int bits = Float.floatToIntBits((Float) value);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                outputStream.write(bits >>> shift);
+            }
+        } else if (value instanceof Double) {
+            writeVarInt(VALUE_DOUBLE);
+            writeLong(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof BigDecimal && ((BigDecimal) value).unscaledValue().bitLength() < 64) {
+            writeVarInt(VALUE_DECIMAL);
+            final BigDecimal decimal = (BigDecimal) value;
+            writeZigZagLong(decimal.unscaledValue().longValue());
+            writeZigZagLong(decimal.scale());
+        } else if (value instanceof Number) {
+            writeVarInt(VALUE_NUMBER);
+            writeLiteral(value.toString());
+        } else if (value instanceof ZonedDateTime) {
+            writeVarInt(VALUE_ZONED_DATE_TIME);
+            final ZonedDateTime dateTime = (ZonedDateTime) value;
+            final Instant instant = dateTime.toInstant();
+            writeZigZagLong(instant.toEpochMilli());
+            writeVarInt(instant.getNano() % 1_000_000);
+            writeId(dateTime.getZone().getId());
+        } else if (value instanceof Date) {
+            writeVarInt(VALUE_DATE);
+            writeZigZagLong(((Date) value).getTime());
+        } else if (value instanceof UUID) {
+            writeVarInt(VALUE_UUID);
+            writeLong(((UUID) value).getMostSignificantBits());
+            writeLong(((UUID) value).getLeastSignificantBits());
+        } else {
+            throw new IllegalArgumentException("Only String, Number, Boolean, and native values are allowed currently");
+        }
+    }
+
+    private void writeZigZagLong(final long value) throws IOException {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeLiteral(final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        outputStream.write(bytes);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.binary;
+
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.canoo.dp.impl.remoting.codec.binary.BinaryCodecConstants.MAX_STRING_TABLE_SIZE;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * The string table that is used to decode ids that are received from the other side of a connection. See
+ * {@link OutgoingStringTable} for the sending side.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class IncomingStringTable {
+
+    private long tableId = 0;
+
+    private final List<String> entries = new ArrayList<>();
+
+    private int knownCount = 0;
+
+    /**
+     * Defines the table that is used by the other side. If the table differs from the current one (because the
+     * other side has been restarted) all entries will be removed.
+     * @param senderTableId the id of the table of the other side
+     */
+    public synchronized void useTable(final long senderTableId) {
+        if (tableId != senderTableId) {
+            tableId = senderTableId;
+            entries.clear();
+            knownCount = 0;
+        }
+    }
+
+    public synchronized long getTableId() {
+        return tableId;
+    }
+
+    /**
+     * Returns the number of entries (starting at index 0) that are known.
+     * @return the number of known entries
+     */
+    public synchronized int getKnownCount() {
+        return knownCount;
+    }
+
+    public synchronized void define(final int index, final String value) throws IOException {
+        if (index < 0 || index >= MAX_STRING_TABLE_SIZE) {
+            throw new IOException("Illegal string table index " + index);
+        }
+        while (entries.size() <= index) {
+            entries.add(null);
+        }
+        entries.set(index, value);
+        while (knownCount < entries.size() && entries.get(knownCount) != null) {
+            knownCount++;
+        }
+    }
+
+    public synchronized String get(final int index) throws IOException {
+        final String value = index >= 0 && index < entries.size() ? entries.get(index) : null;
+        if (value == null) {
+            throw new IOException("Unknown string table index " + index);
+        }
+        return value;
+    }
+}
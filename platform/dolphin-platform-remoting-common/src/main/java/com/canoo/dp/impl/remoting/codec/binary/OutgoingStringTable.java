@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.binary;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.canoo.dp.impl.remoting.codec.binary.BinaryCodecConstants.MAX_STRING_TABLE_SIZE;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * The string table that is used to encode ids that are send to the other side of a connection. An entry of the
+ * table will only be referenced by its index once the other side acknowledged that it knows the entry. Until then
+ * the entry will be defined again in each message. By doing so the table works even if messages are lost or
+ * received in a different order (like a long poll and a parallel request).
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class OutgoingStringTable {
+
+    private final long tableId;
+
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    private int acknowledgedCount = 0;
+
+    public OutgoingStringTable() {
+        long id = 0;
+        while (id == 0) {
+            id = ThreadLocalRandom.current().nextLong();
+        }
+        this.tableId = id;
+    }
+
+    public long getTableId() {
+        return tableId;
+    }
+
+    /**
+     * Returns the index of the given string. If the string is not part of the table it will be added.
+     * @param value the string
+     * @return the index or -1 if the table is full
+     */
+    public synchronized int indexOf(final String value) {
+        Assert.requireNonNull(value, "value");
+        final Integer index = indices.get(value);
+        if (index != null) {
+            return index;
+        }
+        if (indices.size() >= MAX_STRING_TABLE_SIZE) {
+            return -1;
+        }
+        final int newIndex = indices.size();
+        indices.put(value, newIndex);
+        return newIndex;
+    }
+
+    public synchronized boolean isAcknowledged(final int index) {
+        return index < acknowledgedCount;
+    }
+
+    /**
+     * Called when the other side of the connection sends the number of entries it knows.
+     * @param acknowledgedTableId the id of the table the acknowledgement belongs to
+     * @param count the number of entries (starting at index 0) that are known by the other side
+     */
+    public synchronized void acknowledge(final long acknowledgedTableId, final int count) {
+        if (acknowledgedTableId == tableId && count > acknowledgedCount) {
+            acknowledgedCount = Math.min(count, indices.size());
+        }
+    }
+}
@@ -19,12 +19,17 @@ import com.canoo.dp.impl.platform.core.Assert;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static org.apiguardian.api.API.Status.INTERNAL;
 
 @API(since = "0.x", status = INTERNAL)
-public abstract class AbstractCommandTranscoder<C extends Command> implements CommandTranscoder<C> {
+public abstract class AbstractCommandTranscoder<C extends Command> implements CommandTranscoder<C>, StreamingCommandTranscoder<C>, BinaryCommandTranscoder<C> {
 
     protected boolean isElementJsonNull(final JsonObject jsonObject, final String jsonElementName) {
         return getElement(jsonObject, jsonElementName).isJsonNull();
@@ -41,4 +46,28 @@ public abstract class AbstractCommandTranscoder<C extends Command> implements Co
         Assert.requireNonNull(element, "element");
         return element;
     }
+
+    protected String nextStringOrNull(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    protected void skipRemainingElements(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.skipValue();
+        }
+    }
+
+    protected <T> T requireElement(final T value, final String jsonElementName) {
+        if (value == null) {
+            throw new JsonParseException("Illegal JSON detected: no value for '" + jsonElementName + "' defined");
+        }
+        return value;
+    }
 }
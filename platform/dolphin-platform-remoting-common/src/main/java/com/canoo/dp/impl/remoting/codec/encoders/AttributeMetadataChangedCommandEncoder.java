@@ -16,10 +16,16 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.legacy.communication.AttributeMetadataChangedCommand;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ATTRIBUTE_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ATTRIBUTE_METADATA_CHANGED_COMMAND_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
@@ -50,4 +56,57 @@ public class AttributeMetadataChangedCommandEncoder extends AbstractCommandTrans
         command.setValue(ValueEncoder.decodeValue(jsonObject.get(VALUE)));
         return command;
     }
+
+    @Override
+    public void encode(final AttributeMetadataChangedCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(ATTRIBUTE_METADATA_CHANGED_COMMAND_ID);
+        writer.name(ATTRIBUTE_ID).value(command.getAttributeId());
+        writer.name(NAME).value(command.getMetadataName());
+        writer.name(VALUE);
+        ValueEncoder.writeValue(writer, command.getValue());
+        writer.endObject();
+    }
+
+    @Override
+    public AttributeMetadataChangedCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final AttributeMetadataChangedCommand command = new AttributeMetadataChangedCommand();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (ATTRIBUTE_ID.equals(name)) {
+                command.setAttributeId(nextStringOrNull(reader));
+            } else if (NAME.equals(name)) {
+                command.setMetadataName(nextStringOrNull(reader));
+            } else if (VALUE.equals(name)) {
+                command.setValue(ValueEncoder.readValue(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getAttributeId(), ATTRIBUTE_ID);
+        requireElement(command.getMetadataName(), NAME);
+        return command;
+    }
+
+    @Override
+    public void encode(final AttributeMetadataChangedCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getAttributeId());
+        writer.writeId(command.getMetadataName());
+        writer.writeValue(command.getValue());
+    }
+
+    @Override
+    public AttributeMetadataChangedCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final AttributeMetadataChangedCommand command = new AttributeMetadataChangedCommand();
+        command.setAttributeId(requireElement(reader.readId(), ATTRIBUTE_ID));
+        command.setMetadataName(requireElement(reader.readId(), NAME));
+        command.setValue(reader.readValue());
+        return command;
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.encoders;
+
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Variant of {@link CommandTranscoder} that is used by the binary remoting format.
+ * @param <C> type of the command
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public interface BinaryCommandTranscoder<C extends Command> {
+
+    /**
+     * Writes the content of the given command. The type of the command is written by the codec.
+     * @param command the command
+     * @param writer the writer
+     * @throws IOException if the command can not be written
+     */
+    void encode(C command, BinaryWriter writer) throws IOException;
+
+    /**
+     * Reads the content of a command. The type of the command was already read by the codec.
+     * @param reader the reader
+     * @return the command
+     * @throws IOException if the command can not be read
+     */
+    C decode(BinaryReader reader) throws IOException;
+
+}
@@ -16,13 +16,18 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.commands.CallActionCommand;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
 import java.util.Map;
 
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.CALL_ACTION_COMMAND_ID;
@@ -76,4 +81,93 @@ public class CallActionCommandEncoder extends AbstractCommandTranscoder<CallActi
             throw new JsonParseException("Illegal JSON detected", ex);
         }
     }
+
+    @Override
+    public void encode(final CallActionCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(CALL_ACTION_COMMAND_ID);
+        writer.name(CONTROLLER_ID).value(command.getControllerId());
+        writer.name(NAME).value(command.getActionName());
+        writer.name(PARAMS).beginArray();
+        for(final Map.Entry<String, Object> paramEntry : command.getParams().entrySet()) {
+            writer.beginObject();
+            writer.name(NAME).value(paramEntry.getKey());
+            writer.name(VALUE);
+            ValueEncoder.writeValue(writer, paramEntry.getValue());
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    @Override
+    public CallActionCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CallActionCommand command = new CallActionCommand();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (CONTROLLER_ID.equals(name)) {
+                command.setControllerId(nextStringOrNull(reader));
+            } else if (NAME.equals(name)) {
+                command.setActionName(nextStringOrNull(reader));
+            } else if (PARAMS.equals(name)) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    decodeParam(reader, command);
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getControllerId(), CONTROLLER_ID);
+        requireElement(command.getActionName(), NAME);
+        return command;
+    }
+
+    private void decodeParam(final JsonReader reader, final CallActionCommand command) throws IOException {
+        String paramName = null;
+        Object paramValue = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (NAME.equals(name)) {
+                paramName = nextStringOrNull(reader);
+            } else if (VALUE.equals(name)) {
+                paramValue = ValueEncoder.readValue(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        command.addParam(requireElement(paramName, NAME), paramValue);
+    }
+
+    @Override
+    public void encode(final CallActionCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getControllerId());
+        writer.writeId(command.getActionName());
+        writer.writeVarInt(command.getParams().size());
+        for(final Map.Entry<String, Object> paramEntry : command.getParams().entrySet()) {
+            writer.writeId(paramEntry.getKey());
+            writer.writeValue(paramEntry.getValue());
+        }
+    }
+
+    @Override
+    public CallActionCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CallActionCommand command = new CallActionCommand();
+        command.setControllerId(requireElement(reader.readId(), CONTROLLER_ID));
+        command.setActionName(requireElement(reader.readId(), NAME));
+        final int paramCount = reader.readVarInt();
+        for (int i = 0; i < paramCount; i++) {
+            command.addParam(requireElement(reader.readId(), NAME), reader.readValue());
+        }
+        return command;
+    }
 }
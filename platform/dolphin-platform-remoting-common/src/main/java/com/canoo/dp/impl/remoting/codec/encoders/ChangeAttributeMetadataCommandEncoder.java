@@ -16,10 +16,16 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.legacy.communication.ChangeAttributeMetadataCommand;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ATTRIBUTE_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.CHANGE_ATTRIBUTE_METADATA_COMMAND_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
@@ -49,4 +55,57 @@ public class ChangeAttributeMetadataCommandEncoder extends AbstractCommandTransc
         command.setValue(ValueEncoder.decodeValue(jsonObject.get(VALUE)));
         return command;
     }
+
+    @Override
+    public void encode(final ChangeAttributeMetadataCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(CHANGE_ATTRIBUTE_METADATA_COMMAND_ID);
+        writer.name(ATTRIBUTE_ID).value(command.getAttributeId());
+        writer.name(NAME).value(command.getMetadataName());
+        writer.name(VALUE);
+        ValueEncoder.writeValue(writer, command.getValue());
+        writer.endObject();
+    }
+
+    @Override
+    public ChangeAttributeMetadataCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final ChangeAttributeMetadataCommand command = new ChangeAttributeMetadataCommand();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (ATTRIBUTE_ID.equals(name)) {
+                command.setAttributeId(nextStringOrNull(reader));
+            } else if (NAME.equals(name)) {
+                command.setMetadataName(nextStringOrNull(reader));
+            } else if (VALUE.equals(name)) {
+                command.setValue(ValueEncoder.readValue(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getAttributeId(), ATTRIBUTE_ID);
+        requireElement(command.getMetadataName(), NAME);
+        return command;
+    }
+
+    @Override
+    public void encode(final ChangeAttributeMetadataCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getAttributeId());
+        writer.writeId(command.getMetadataName());
+        writer.writeValue(command.getValue());
+    }
+
+    @Override
+    public ChangeAttributeMetadataCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final ChangeAttributeMetadataCommand command = new ChangeAttributeMetadataCommand();
+        command.setAttributeId(requireElement(reader.readId(), ATTRIBUTE_ID));
+        command.setMetadataName(requireElement(reader.readId(), NAME));
+        command.setValue(reader.readValue());
+        return command;
+    }
 }
@@ -16,26 +16,135 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.CREATE_CONTEXT_COMMAND_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.LIST_SPLICE_SUPPORTED;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.RESPONSE_CHUNK_SIZE;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.SCHEMA_SUPPORTED;
 import static org.apiguardian.api.API.Status.INTERNAL;
 
 @API(since = "0.x", status = INTERNAL)
 public class CreateContextCommandEncoder extends AbstractCommandTranscoder<CreateContextCommand> {
+
+    private static final int LIST_SPLICE_FLAG = 1;
+
+    private static final int SCHEMA_FLAG = 2;
+
+    private static final int RESPONSE_CHUNK_FLAG = 4;
+
     @Override
     public JsonObject encode(final CreateContextCommand command) {
         Assert.requireNonNull(command, "command");
         final JsonObject jsonCommand = new JsonObject();
+        if (command.isListSpliceCommandSupported()) {
+            jsonCommand.addProperty(LIST_SPLICE_SUPPORTED, true);
+        }
+        if (command.isPresentationModelSchemaSupported()) {
+            jsonCommand.addProperty(SCHEMA_SUPPORTED, true);
+        }
+        if (command.getResponseChunkSize() > 0) {
+            jsonCommand.addProperty(RESPONSE_CHUNK_SIZE, command.getResponseChunkSize());
+        }
         jsonCommand.addProperty(ID, CREATE_CONTEXT_COMMAND_ID);
         return jsonCommand;
     }
 
     @Override
     public CreateContextCommand decode(final JsonObject jsonObject) {
-        return new CreateContextCommand();
+        Assert.requireNonNull(jsonObject, "jsonObject");
+        final CreateContextCommand command = new CreateContextCommand();
+        command.setListSpliceCommandSupported(isTrue(jsonObject.get(LIST_SPLICE_SUPPORTED)));
+        command.setPresentationModelSchemaSupported(isTrue(jsonObject.get(SCHEMA_SUPPORTED)));
+        final JsonElement chunkSizeElement = jsonObject.get(RESPONSE_CHUNK_SIZE);
+        if (chunkSizeElement != null && chunkSizeElement.isJsonPrimitive()) {
+            command.setResponseChunkSize(chunkSizeElement.getAsInt());
+        }
+        return command;
+    }
+
+    private boolean isTrue(final JsonElement element) {
+        return element != null && element.isJsonPrimitive() && element.getAsBoolean();
+    }
+
+    @Override
+    public void encode(final CreateContextCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(CREATE_CONTEXT_COMMAND_ID);
+        if (command.isListSpliceCommandSupported()) {
+            writer.name(LIST_SPLICE_SUPPORTED).value(true);
+        }
+        if (command.isPresentationModelSchemaSupported()) {
+            writer.name(SCHEMA_SUPPORTED).value(true);
+        }
+        if (command.getResponseChunkSize() > 0) {
+            writer.name(RESPONSE_CHUNK_SIZE).value(command.getResponseChunkSize());
+        }
+        writer.endObject();
+    }
+
+    @Override
+    public CreateContextCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CreateContextCommand command = new CreateContextCommand();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (LIST_SPLICE_SUPPORTED.equals(name) && reader.peek() == JsonToken.BOOLEAN) {
+                command.setListSpliceCommandSupported(reader.nextBoolean());
+            } else if (SCHEMA_SUPPORTED.equals(name) && reader.peek() == JsonToken.BOOLEAN) {
+                command.setPresentationModelSchemaSupported(reader.nextBoolean());
+            } else if (RESPONSE_CHUNK_SIZE.equals(name) && reader.peek() == JsonToken.NUMBER) {
+                command.setResponseChunkSize(reader.nextInt());
+            } else {
+                reader.skipValue();
+            }
+        }
+        return command;
+    }
+
+    @Override
+    public void encode(final CreateContextCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        int flags = 0;
+        if (command.isListSpliceCommandSupported()) {
+            flags |= LIST_SPLICE_FLAG;
+        }
+        if (command.isPresentationModelSchemaSupported()) {
+            flags |= SCHEMA_FLAG;
+        }
+        if (command.getResponseChunkSize() > 0) {
+            flags |= RESPONSE_CHUNK_FLAG;
+        }
+        writer.writeByte(flags);
+        if (command.getResponseChunkSize() > 0) {
+            writer.writeVarInt(command.getResponseChunkSize());
+        }
+    }
+
+    @Override
+    public CreateContextCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CreateContextCommand command = new CreateContextCommand();
+        final int flags = reader.readByte();
+        command.setListSpliceCommandSupported((flags & LIST_SPLICE_FLAG) != 0);
+        command.setPresentationModelSchemaSupported((flags & SCHEMA_FLAG) != 0);
+        if ((flags & RESPONSE_CHUNK_FLAG) != 0) {
+            command.setResponseChunkSize(reader.readVarInt());
+        }
+        return command;
     }
 }
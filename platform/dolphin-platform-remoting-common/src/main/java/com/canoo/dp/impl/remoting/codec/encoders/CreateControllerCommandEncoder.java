@@ -16,11 +16,17 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.commands.CreateControllerCommand;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.CONTROLLER_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.CREATE_CONTROLLER_COMMAND_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
@@ -54,4 +60,50 @@ public class CreateControllerCommandEncoder extends AbstractCommandTranscoder<Cr
             throw new JsonParseException("Illegal JSON detected", ex);
         }
     }
+
+    @Override
+    public void encode(final CreateControllerCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(CREATE_CONTROLLER_COMMAND_ID);
+        writer.name(CONTROLLER_ID).value(command.getParentControllerId());
+        writer.name(NAME).value(command.getControllerName());
+        writer.endObject();
+    }
+
+    @Override
+    public CreateControllerCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CreateControllerCommand command = new CreateControllerCommand();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (CONTROLLER_ID.equals(name)) {
+                command.setParentControllerId(nextStringOrNull(reader));
+            } else if (NAME.equals(name)) {
+                command.setControllerName(nextStringOrNull(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getControllerName(), NAME);
+        return command;
+    }
+
+    @Override
+    public void encode(final CreateControllerCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getParentControllerId());
+        writer.writeId(command.getControllerName());
+    }
+
+    @Override
+    public CreateControllerCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CreateControllerCommand command = new CreateControllerCommand();
+        command.setParentControllerId(reader.readId());
+        command.setControllerName(requireElement(reader.readId(), NAME));
+        return command;
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.encoders;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
+import com.canoo.dp.impl.remoting.commands.CreateFromSchemaCommand;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ATTRIBUTE_IDS;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.CREATE_FROM_SCHEMA_COMMAND_ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.PM_ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.SCHEMA_ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.VALUES;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+@API(since = "1.0.0", status = INTERNAL)
+public class CreateFromSchemaCommandEncoder extends AbstractCommandTranscoder<CreateFromSchemaCommand> {
+
+    @Override
+    public JsonObject encode(final CreateFromSchemaCommand command) {
+        Assert.requireNonNull(command, "command");
+        final JsonObject jsonCommand = new JsonObject();
+        jsonCommand.addProperty(SCHEMA_ID, command.getSchemaId());
+        jsonCommand.addProperty(PM_ID, command.getPmId());
+        final JsonArray idArray = new JsonArray();
+        for (final String attributeId : command.getAttributeIds()) {
+            idArray.add(attributeId);
+        }
+        jsonCommand.add(ATTRIBUTE_IDS, idArray);
+        final JsonArray valueArray = new JsonArray();
+        for (final Object value : command.getValues()) {
+            valueArray.add(ValueEncoder.encodeValue(value));
+        }
+        jsonCommand.add(VALUES, valueArray);
+        jsonCommand.addProperty(ID, CREATE_FROM_SCHEMA_COMMAND_ID);
+        return jsonCommand;
+    }
+
+    @Override
+    public CreateFromSchemaCommand decode(final JsonObject jsonObject) {
+        Assert.requireNonNull(jsonObject, "jsonObject");
+        try {
+            final CreateFromSchemaCommand command = new CreateFromSchemaCommand();
+            command.setSchemaId(jsonObject.getAsJsonPrimitive(SCHEMA_ID).getAsInt());
+            command.setPmId(getStringElement(jsonObject, PM_ID));
+            final JsonArray idArray = jsonObject.getAsJsonArray(ATTRIBUTE_IDS);
+            final JsonArray valueArray = jsonObject.getAsJsonArray(VALUES);
+            if (idArray.size() != valueArray.size()) {
+                throw new IllegalStateException("Attribute ids and values do not match");
+            }
+            for (int i = 0; i < idArray.size(); i++) {
+                command.addAttribute(idArray.get(i).getAsString(), ValueEncoder.decodeValue(valueArray.get(i)));
+            }
+            return command;
+        } catch (final Exception ex) {
+            throw new JsonParseException("Illegal JSON detected", ex);
+        }
+    }
+
+    @Override
+    public void encode(final CreateFromSchemaCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(CREATE_FROM_SCHEMA_COMMAND_ID);
+        writer.name(SCHEMA_ID).value(command.getSchemaId());
+        writer.name(PM_ID).value(command.getPmId());
+        writer.name(ATTRIBUTE_IDS).beginArray();
+        for (final String attributeId : command.getAttributeIds()) {
+            writer.value(attributeId);
+        }
+        writer.endArray();
+        writer.name(VALUES).beginArray();
+        for (final Object value : command.getValues()) {
+            ValueEncoder.writeValue(writer, value);
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    @Override
+    public CreateFromSchemaCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CreateFromSchemaCommand command = new CreateFromSchemaCommand();
+        Integer schemaId = null;
+        List<String> attributeIds = null;
+        List<Object> values = null;
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (SCHEMA_ID.equals(name)) {
+                schemaId = reader.nextInt();
+            } else if (PM_ID.equals(name)) {
+                command.setPmId(nextStringOrNull(reader));
+            } else if (ATTRIBUTE_IDS.equals(name)) {
+                attributeIds = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    attributeIds.add(nextStringOrNull(reader));
+                }
+                reader.endArray();
+            } else if (VALUES.equals(name)) {
+                values = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    values.add(ValueEncoder.readValue(reader));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        command.setSchemaId(requireElement(schemaId, SCHEMA_ID));
+        requireElement(command.getPmId(), PM_ID);
+        requireElement(attributeIds, ATTRIBUTE_IDS);
+        requireElement(values, VALUES);
+        if (attributeIds.size() != values.size()) {
+            throw new JsonParseException("Illegal JSON detected: " + attributeIds.size() + " attribute ids but " + values.size() + " values");
+        }
+        for (int i = 0; i < attributeIds.size(); i++) {
+            command.addAttribute(requireElement(attributeIds.get(i), ATTRIBUTE_IDS), values.get(i));
+        }
+        return command;
+    }
+
+    @Override
+    public void encode(final CreateFromSchemaCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeVarInt(command.getSchemaId());
+        writer.writeId(command.getPmId());
+        final List<String> attributeIds = command.getAttributeIds();
+        final List<Object> values = command.getValues();
+        writer.writeVarInt(attributeIds.size());
+        for (int i = 0; i < attributeIds.size(); i++) {
+            writer.writeId(attributeIds.get(i));
+            writer.writeValue(values.get(i));
+        }
+    }
+
+    @Override
+    public CreateFromSchemaCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CreateFromSchemaCommand command = new CreateFromSchemaCommand();
+        command.setSchemaId(reader.readVarInt());
+        command.setPmId(requireElement(reader.readId(), PM_ID));
+        final int attributeCount = reader.readVarInt();
+        for (int i = 0; i < attributeCount; i++) {
+            command.addAttribute(requireElement(reader.readId(), ATTRIBUTE_IDS), reader.readValue());
+        }
+        return command;
+    }
+}
@@ -16,14 +16,19 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
 import com.canoo.dp.impl.remoting.legacy.core.Attribute;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -93,4 +98,110 @@ public class CreatePresentationModelCommandEncoder extends AbstractCommandTransc
             throw new JsonParseException("Illegal JSON detected", ex);
         }
     }
+
+    @Override
+    public void encode(final CreatePresentationModelCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(CREATE_PRESENTATION_MODEL_COMMAND_ID);
+        writer.name(PM_ID).value(command.getPmId());
+        writer.name(PM_TYPE).value(command.getPmType());
+        writer.name(PM_ATTRIBUTES).beginArray();
+        for (final Map<String, Object> attribute : command.getAttributes()) {
+            writer.beginObject();
+            writer.name(NAME).value(String.valueOf(attribute.get(Attribute.PROPERTY_NAME)));
+            writer.name(ATTRIBUTE_ID).value(String.valueOf(attribute.get(Attribute.ID)));
+            writer.name(VALUE);
+            ValueEncoder.writeValue(writer, attribute.get(Attribute.VALUE_NAME));
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    @Override
+    public CreatePresentationModelCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CreatePresentationModelCommand command = new CreatePresentationModelCommand();
+        command.setClientSideOnly(false);
+        List<Map<String, Object>> attributes = null;
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (PM_ID.equals(name)) {
+                command.setPmId(nextStringOrNull(reader));
+            } else if (PM_TYPE.equals(name)) {
+                command.setPmType(nextStringOrNull(reader));
+            } else if (PM_ATTRIBUTES.equals(name)) {
+                attributes = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    attributes.add(decodeAttribute(reader));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getPmId(), PM_ID);
+        requireElement(command.getPmType(), PM_TYPE);
+        command.setAttributes(requireElement(attributes, PM_ATTRIBUTES));
+        return command;
+    }
+
+    private Map<String, Object> decodeAttribute(final JsonReader reader) throws IOException {
+        final HashMap<String, Object> map = new HashMap<>();
+        map.put(Attribute.VALUE_NAME, null);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (NAME.equals(name)) {
+                map.put(Attribute.PROPERTY_NAME, nextStringOrNull(reader));
+            } else if (ATTRIBUTE_ID.equals(name)) {
+                map.put(Attribute.ID, nextStringOrNull(reader));
+            } else if (VALUE.equals(name)) {
+                map.put(Attribute.VALUE_NAME, ValueEncoder.readValue(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        requireElement(map.get(Attribute.PROPERTY_NAME), NAME);
+        requireElement(map.get(Attribute.ID), ATTRIBUTE_ID);
+        return map;
+    }
+
+    @Override
+    public void encode(final CreatePresentationModelCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getPmId());
+        writer.writeId(command.getPmType());
+        writer.writeVarInt(command.getAttributes().size());
+        for (final Map<String, Object> attribute : command.getAttributes()) {
+            writer.writeId(String.valueOf(attribute.get(Attribute.PROPERTY_NAME)));
+            writer.writeId(String.valueOf(attribute.get(Attribute.ID)));
+            writer.writeValue(attribute.get(Attribute.VALUE_NAME));
+        }
+    }
+
+    @Override
+    public CreatePresentationModelCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final CreatePresentationModelCommand command = new CreatePresentationModelCommand();
+        command.setClientSideOnly(false);
+        command.setPmId(requireElement(reader.readId(), PM_ID));
+        command.setPmType(requireElement(reader.readId(), PM_TYPE));
+        final int attributeCount = reader.readVarInt();
+        final List<Map<String, Object>> attributes = new ArrayList<>(attributeCount);
+        for (int i = 0; i < attributeCount; i++) {
+            final HashMap<String, Object> map = new HashMap<>();
+            map.put(Attribute.PROPERTY_NAME, requireElement(reader.readId(), NAME));
+            map.put(Attribute.ID, requireElement(reader.readId(), ATTRIBUTE_ID));
+            map.put(Attribute.VALUE_NAME, reader.readValue());
+            attributes.add(map);
+        }
+        command.setAttributes(attributes);
+        return command;
+    }
 }
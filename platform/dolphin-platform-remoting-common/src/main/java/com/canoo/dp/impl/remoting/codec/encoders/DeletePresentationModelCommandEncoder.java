@@ -16,10 +16,16 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.legacy.communication.DeletePresentationModelCommand;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.DELETE_PRESENTATION_MODEL_COMMAND_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.PM_ID;
@@ -43,4 +49,44 @@ public class DeletePresentationModelCommandEncoder extends AbstractCommandTransc
         command.setPmId(getStringElement(jsonObject, PM_ID));
         return command;
     }
+
+    @Override
+    public void encode(final DeletePresentationModelCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(DELETE_PRESENTATION_MODEL_COMMAND_ID);
+        writer.name(PM_ID).value(command.getPmId());
+        writer.endObject();
+    }
+
+    @Override
+    public DeletePresentationModelCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final DeletePresentationModelCommand command = new DeletePresentationModelCommand();
+        while (reader.hasNext()) {
+            if (PM_ID.equals(reader.nextName())) {
+                command.setPmId(nextStringOrNull(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getPmId(), PM_ID);
+        return command;
+    }
+
+    @Override
+    public void encode(final DeletePresentationModelCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getPmId());
+    }
+
+    @Override
+    public DeletePresentationModelCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final DeletePresentationModelCommand command = new DeletePresentationModelCommand();
+        command.setPmId(requireElement(reader.readId(), PM_ID));
+        return command;
+    }
 }
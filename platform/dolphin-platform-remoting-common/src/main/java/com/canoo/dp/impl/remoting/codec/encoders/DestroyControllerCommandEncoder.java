@@ -16,11 +16,17 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.commands.DestroyControllerCommand;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.CONTROLLER_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.DESTROY_CONTROLLER_COMMAND_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
@@ -49,4 +55,44 @@ public class DestroyControllerCommandEncoder extends AbstractCommandTranscoder<D
             throw new JsonParseException("Illegal JSON detected", ex);
         }
     }
+
+    @Override
+    public void encode(final DestroyControllerCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(DESTROY_CONTROLLER_COMMAND_ID);
+        writer.name(CONTROLLER_ID).value(command.getControllerId());
+        writer.endObject();
+    }
+
+    @Override
+    public DestroyControllerCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final DestroyControllerCommand command = new DestroyControllerCommand();
+        while (reader.hasNext()) {
+            if (CONTROLLER_ID.equals(reader.nextName())) {
+                command.setControllerId(nextStringOrNull(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getControllerId(), CONTROLLER_ID);
+        return command;
+    }
+
+    @Override
+    public void encode(final DestroyControllerCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getControllerId());
+    }
+
+    @Override
+    public DestroyControllerCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final DestroyControllerCommand command = new DestroyControllerCommand();
+        command.setControllerId(requireElement(reader.readId(), CONTROLLER_ID));
+        return command;
+    }
 }
@@ -16,10 +16,16 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.legacy.communication.EmptyCommand;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.EMPTY_COMMAND_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
 import static org.apiguardian.api.API.Status.DEPRECATED;
@@ -39,4 +45,29 @@ public class EmptyCommandEncoder extends AbstractCommandTranscoder<EmptyCommand>
     public EmptyCommand decode(final JsonObject jsonObject) {
         return new EmptyCommand();
     }
+
+    @Override
+    public void encode(final EmptyCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(EMPTY_COMMAND_ID);
+        writer.endObject();
+    }
+
+    @Override
+    public EmptyCommand decode(final JsonReader reader) throws IOException {
+        skipRemainingElements(reader);
+        return new EmptyCommand();
+    }
+
+    @Override
+    public void encode(final EmptyCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+    }
+
+    @Override
+    public EmptyCommand decode(final BinaryReader reader) throws IOException {
+        return new EmptyCommand();
+    }
 }
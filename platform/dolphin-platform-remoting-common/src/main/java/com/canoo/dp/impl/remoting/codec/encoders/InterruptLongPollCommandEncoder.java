@@ -16,10 +16,16 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.INTERRUPT_LONG_POLL_COMMAND_ID;
 import static org.apiguardian.api.API.Status.DEPRECATED;
@@ -40,4 +46,29 @@ public class InterruptLongPollCommandEncoder extends AbstractCommandTranscoder<I
     public InterruptLongPollCommand decode(final JsonObject jsonObject) {
         return new InterruptLongPollCommand();
     }
+
+    @Override
+    public void encode(final InterruptLongPollCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(INTERRUPT_LONG_POLL_COMMAND_ID);
+        writer.endObject();
+    }
+
+    @Override
+    public InterruptLongPollCommand decode(final JsonReader reader) throws IOException {
+        skipRemainingElements(reader);
+        return new InterruptLongPollCommand();
+    }
+
+    @Override
+    public void encode(final InterruptLongPollCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+    }
+
+    @Override
+    public InterruptLongPollCommand decode(final BinaryReader reader) throws IOException {
+        return new InterruptLongPollCommand();
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.encoders;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
+import com.canoo.dp.impl.remoting.commands.ListPermutationCommand;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.FROM;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.LIST_PERMUTATION_COMMAND_ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.NAME;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.PERMUTATION;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.SOURCE_ID;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+@API(since = "1.0.0", status = INTERNAL)
+public class ListPermutationCommandEncoder extends AbstractCommandTranscoder<ListPermutationCommand> {
+
+    @Override
+    public JsonObject encode(final ListPermutationCommand command) {
+        Assert.requireNonNull(command, "command");
+        final JsonObject jsonCommand = new JsonObject();
+        jsonCommand.addProperty(SOURCE_ID, command.getSourceId());
+        jsonCommand.addProperty(NAME, command.getAttributeName());
+        jsonCommand.addProperty(FROM, command.getFrom());
+        final JsonArray permutationArray = new JsonArray();
+        for (final int index : command.getPermutation()) {
+            permutationArray.add(index);
+        }
+        jsonCommand.add(PERMUTATION, permutationArray);
+        jsonCommand.addProperty(ID, LIST_PERMUTATION_COMMAND_ID);
+        return jsonCommand;
+    }
+
+    @Override
+    public ListPermutationCommand decode(final JsonObject jsonObject) {
+        Assert.requireNonNull(jsonObject, "jsonObject");
+        try {
+            final ListPermutationCommand command = new ListPermutationCommand();
+            command.setSourceId(getStringElement(jsonObject, SOURCE_ID));
+            command.setAttributeName(getStringElement(jsonObject, NAME));
+            command.setFrom(jsonObject.getAsJsonPrimitive(FROM).getAsInt());
+            final JsonArray permutationArray = jsonObject.getAsJsonArray(PERMUTATION);
+            final int[] permutation = new int[permutationArray.size()];
+            for (int i = 0; i < permutation.length; i++) {
+                permutation[i] = permutationArray.get(i).getAsInt();
+            }
+            command.setPermutation(permutation);
+            return command;
+        } catch (final Exception ex) {
+            throw new JsonParseException("Illegal JSON detected", ex);
+        }
+    }
+
+    @Override
+    public void encode(final ListPermutationCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(LIST_PERMUTATION_COMMAND_ID);
+        writer.name(SOURCE_ID).value(command.getSourceId());
+        writer.name(NAME).value(command.getAttributeName());
+        writer.name(FROM).value(command.getFrom());
+        writer.name(PERMUTATION).beginArray();
+        for (final int index : command.getPermutation()) {
+            writer.value(index);
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    @Override
+    public ListPermutationCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final ListPermutationCommand command = new ListPermutationCommand();
+        Integer from = null;
+        int[] permutation = null;
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (SOURCE_ID.equals(name)) {
+                command.setSourceId(nextStringOrNull(reader));
+            } else if (NAME.equals(name)) {
+                command.setAttributeName(nextStringOrNull(reader));
+            } else if (FROM.equals(name)) {
+                from = reader.nextInt();
+            } else if (PERMUTATION.equals(name)) {
+                permutation = new int[16];
+                int size = 0;
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (size == permutation.length) {
+                        permutation = Arrays.copyOf(permutation, size * 2);
+                    }
+                    permutation[size++] = reader.nextInt();
+                }
+                reader.endArray();
+                permutation = Arrays.copyOf(permutation, size);
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getSourceId(), SOURCE_ID);
+        requireElement(command.getAttributeName(), NAME);
+        command.setFrom(requireElement(from, FROM));
+        command.setPermutation(requireElement(permutation, PERMUTATION));
+        return command;
+    }
+
+    @Override
+    public void encode(final ListPermutationCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getSourceId());
+        writer.writeId(command.getAttributeName());
+        writer.writeVarInt(command.getFrom());
+        final int[] permutation = command.getPermutation();
+        writer.writeVarInt(permutation.length);
+        for (final int index : permutation) {
+            writer.writeVarInt(index);
+        }
+    }
+
+    @Override
+    public ListPermutationCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final ListPermutationCommand command = new ListPermutationCommand();
+        command.setSourceId(requireElement(reader.readId(), SOURCE_ID));
+        command.setAttributeName(requireElement(reader.readId(), NAME));
+        command.setFrom(reader.readVarInt());
+        final int[] permutation = new int[reader.readVarInt()];
+        for (int i = 0; i < permutation.length; i++) {
+            permutation[i] = reader.readVarInt();
+        }
+        command.setPermutation(permutation);
+        return command;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.encoders;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
+import com.canoo.dp.impl.remoting.commands.ListSpliceCommand;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.FROM;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.LIST_SPLICE_COMMAND_ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.NAME;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.SOURCE_ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.TO;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.VALUES;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+@API(since = "1.0.0", status = INTERNAL)
+public class ListSpliceCommandEncoder extends AbstractCommandTranscoder<ListSpliceCommand> {
+
+    @Override
+    public JsonObject encode(final ListSpliceCommand command) {
+        Assert.requireNonNull(command, "command");
+        final JsonObject jsonCommand = new JsonObject();
+        jsonCommand.addProperty(SOURCE_ID, command.getSourceId());
+        jsonCommand.addProperty(NAME, command.getAttributeName());
+        jsonCommand.addProperty(FROM, command.getFrom());
+        jsonCommand.addProperty(TO, command.getTo());
+        final JsonArray valueArray = new JsonArray();
+        for (final Object value : command.getValues()) {
+            valueArray.add(ValueEncoder.encodeValue(value));
+        }
+        jsonCommand.add(VALUES, valueArray);
+        jsonCommand.addProperty(ID, LIST_SPLICE_COMMAND_ID);
+        return jsonCommand;
+    }
+
+    @Override
+    public ListSpliceCommand decode(final JsonObject jsonObject) {
+        Assert.requireNonNull(jsonObject, "jsonObject");
+        try {
+            final ListSpliceCommand command = new ListSpliceCommand();
+            command.setSourceId(getStringElement(jsonObject, SOURCE_ID));
+            command.setAttributeName(getStringElement(jsonObject, NAME));
+            command.setFrom(jsonObject.getAsJsonPrimitive(FROM).getAsInt());
+            command.setTo(jsonObject.getAsJsonPrimitive(TO).getAsInt());
+            final JsonArray valueArray = jsonObject.getAsJsonArray(VALUES);
+            if (valueArray != null) {
+                for (final JsonElement value : valueArray) {
+                    command.addValue(ValueEncoder.decodeValue(value));
+                }
+            }
+            return command;
+        } catch (final Exception ex) {
+            throw new JsonParseException("Illegal JSON detected", ex);
+        }
+    }
+
+    @Override
+    public void encode(final ListSpliceCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(LIST_SPLICE_COMMAND_ID);
+        writer.name(SOURCE_ID).value(command.getSourceId());
+        writer.name(NAME).value(command.getAttributeName());
+        writer.name(FROM).value(command.getFrom());
+        writer.name(TO).value(command.getTo());
+        writer.name(VALUES).beginArray();
+        for (final Object value : command.getValues()) {
+            ValueEncoder.writeValue(writer, value);
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    @Override
+    public ListSpliceCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final ListSpliceCommand command = new ListSpliceCommand();
+        Integer from = null;
+        Integer to = null;
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (SOURCE_ID.equals(name)) {
+                command.setSourceId(nextStringOrNull(reader));
+            } else if (NAME.equals(name)) {
+                command.setAttributeName(nextStringOrNull(reader));
+            } else if (FROM.equals(name)) {
+                from = reader.nextInt();
+            } else if (TO.equals(name)) {
+                to = reader.nextInt();
+            } else if (VALUES.equals(name)) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    command.addValue(ValueEncoder.readValue(reader));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getSourceId(), SOURCE_ID);
+        requireElement(command.getAttributeName(), NAME);
+        command.setFrom(requireElement(from, FROM));
+        command.setTo(requireElement(to, TO));
+        return command;
+    }
+
+    @Override
+    public void encode(final ListSpliceCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getSourceId());
+        writer.writeId(command.getAttributeName());
+        writer.writeVarInt(command.getFrom());
+        writer.writeVarInt(command.getTo());
+        writer.writeVarInt(command.getValues().size());
+        for (final Object value : command.getValues()) {
+            writer.writeValue(value);
+        }
+    }
+
+    @Override
+    public ListSpliceCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final ListSpliceCommand command = new ListSpliceCommand();
+        command.setSourceId(requireElement(reader.readId(), SOURCE_ID));
+        command.setAttributeName(requireElement(reader.readId(), NAME));
+        command.setFrom(reader.readVarInt());
+        command.setTo(reader.readVarInt());
+        final int valueCount = reader.readVarInt();
+        for (int i = 0; i < valueCount; i++) {
+            command.addValue(reader.readValue());
+        }
+        return command;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.encoders;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
+import com.canoo.dp.impl.remoting.commands.PendingResponseCommand;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.PENDING_RESPONSE_COMMAND_ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.REMAINING_COUNT;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+@API(since = "1.0.0", status = INTERNAL)
+public class PendingResponseCommandEncoder extends AbstractCommandTranscoder<PendingResponseCommand> {
+
+    @Override
+    public JsonObject encode(final PendingResponseCommand command) {
+        Assert.requireNonNull(command, "command");
+        final JsonObject jsonCommand = new JsonObject();
+        jsonCommand.addProperty(REMAINING_COUNT, command.getRemainingCommandCount());
+        jsonCommand.addProperty(ID, PENDING_RESPONSE_COMMAND_ID);
+        return jsonCommand;
+    }
+
+    @Override
+    public PendingResponseCommand decode(final JsonObject jsonObject) {
+        Assert.requireNonNull(jsonObject, "jsonObject");
+        try {
+            return new PendingResponseCommand(jsonObject.getAsJsonPrimitive(REMAINING_COUNT).getAsInt());
+        } catch (final Exception ex) {
+            throw new JsonParseException("Illegal JSON detected", ex);
+        }
+    }
+
+    @Override
+    public void encode(final PendingResponseCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(PENDING_RESPONSE_COMMAND_ID);
+        writer.name(REMAINING_COUNT).value(command.getRemainingCommandCount());
+        writer.endObject();
+    }
+
+    @Override
+    public PendingResponseCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        Integer remainingCount = null;
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (REMAINING_COUNT.equals(name)) {
+                remainingCount = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return new PendingResponseCommand(requireElement(remainingCount, REMAINING_COUNT));
+    }
+
+    @Override
+    public void encode(final PendingResponseCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeVarInt(command.getRemainingCommandCount());
+    }
+
+    @Override
+    public PendingResponseCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        return new PendingResponseCommand(reader.readVarInt());
+    }
+}
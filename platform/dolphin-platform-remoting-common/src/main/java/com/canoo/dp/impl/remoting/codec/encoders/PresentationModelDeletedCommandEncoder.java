@@ -16,10 +16,16 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.legacy.communication.PresentationModelDeletedCommand;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.PM_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.PRESENTATION_MODEL_DELETED_COMMAND_ID;
@@ -44,4 +50,44 @@ public class PresentationModelDeletedCommandEncoder extends AbstractCommandTrans
         command.setPmId(getStringElement(jsonObject, PM_ID));
         return command;
     }
+
+    @Override
+    public void encode(final PresentationModelDeletedCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(PRESENTATION_MODEL_DELETED_COMMAND_ID);
+        writer.name(PM_ID).value(command.getPmId());
+        writer.endObject();
+    }
+
+    @Override
+    public PresentationModelDeletedCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final PresentationModelDeletedCommand command = new PresentationModelDeletedCommand();
+        while (reader.hasNext()) {
+            if (PM_ID.equals(reader.nextName())) {
+                command.setPmId(nextStringOrNull(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getPmId(), PM_ID);
+        return command;
+    }
+
+    @Override
+    public void encode(final PresentationModelDeletedCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getPmId());
+    }
+
+    @Override
+    public PresentationModelDeletedCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final PresentationModelDeletedCommand command = new PresentationModelDeletedCommand();
+        command.setPmId(requireElement(reader.readId(), PM_ID));
+        return command;
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.encoders;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
+import com.canoo.dp.impl.remoting.commands.PresentationModelSchemaCommand;
+import com.canoo.dp.impl.remoting.legacy.core.PresentationModelSchema;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.PM_TYPE;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.PRESENTATION_MODEL_SCHEMA_COMMAND_ID;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.PROPERTY_NAMES;
+import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.SCHEMA_ID;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+@API(since = "1.0.0", status = INTERNAL)
+public class PresentationModelSchemaCommandEncoder extends AbstractCommandTranscoder<PresentationModelSchemaCommand> {
+
+    @Override
+    public JsonObject encode(final PresentationModelSchemaCommand command) {
+        Assert.requireNonNull(command, "command");
+        final JsonObject jsonCommand = new JsonObject();
+        jsonCommand.addProperty(SCHEMA_ID, command.getSchemaId());
+        jsonCommand.addProperty(PM_TYPE, command.getSchema().getPresentationModelType());
+        final JsonArray nameArray = new JsonArray();
+        for (final String propertyName : command.getSchema().getPropertyNames()) {
+            nameArray.add(propertyName);
+        }
+        jsonCommand.add(PROPERTY_NAMES, nameArray);
+        jsonCommand.addProperty(ID, PRESENTATION_MODEL_SCHEMA_COMMAND_ID);
+        return jsonCommand;
+    }
+
+    @Override
+    public PresentationModelSchemaCommand decode(final JsonObject jsonObject) {
+        Assert.requireNonNull(jsonObject, "jsonObject");
+        try {
+            final PresentationModelSchemaCommand command = new PresentationModelSchemaCommand();
+            command.setSchemaId(jsonObject.getAsJsonPrimitive(SCHEMA_ID).getAsInt());
+            final List<String> propertyNames = new ArrayList<>();
+            for (final JsonElement propertyName : jsonObject.getAsJsonArray(PROPERTY_NAMES)) {
+                propertyNames.add(propertyName.getAsString());
+            }
+            command.setSchema(new PresentationModelSchema(getStringElement(jsonObject, PM_TYPE), propertyNames));
+            return command;
+        } catch (final Exception ex) {
+            throw new JsonParseException("Illegal JSON detected", ex);
+        }
+    }
+
+    @Override
+    public void encode(final PresentationModelSchemaCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(PRESENTATION_MODEL_SCHEMA_COMMAND_ID);
+        writer.name(SCHEMA_ID).value(command.getSchemaId());
+        writer.name(PM_TYPE).value(command.getSchema().getPresentationModelType());
+        writer.name(PROPERTY_NAMES).beginArray();
+        for (final String propertyName : command.getSchema().getPropertyNames()) {
+            writer.value(propertyName);
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    @Override
+    public PresentationModelSchemaCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final PresentationModelSchemaCommand command = new PresentationModelSchemaCommand();
+        Integer schemaId = null;
+        String pmType = null;
+        List<String> propertyNames = null;
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (SCHEMA_ID.equals(name)) {
+                schemaId = reader.nextInt();
+            } else if (PM_TYPE.equals(name)) {
+                pmType = nextStringOrNull(reader);
+            } else if (PROPERTY_NAMES.equals(name)) {
+                propertyNames = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    propertyNames.add(requireElement(nextStringOrNull(reader), PROPERTY_NAMES));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        command.setSchemaId(requireElement(schemaId, SCHEMA_ID));
+        command.setSchema(new PresentationModelSchema(requireElement(pmType, PM_TYPE), requireElement(propertyNames, PROPERTY_NAMES)));
+        return command;
+    }
+
+    @Override
+    public void encode(final PresentationModelSchemaCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeVarInt(command.getSchemaId());
+        writer.writeId(command.getSchema().getPresentationModelType());
+        final List<String> propertyNames = command.getSchema().getPropertyNames();
+        writer.writeVarInt(propertyNames.size());
+        for (final String propertyName : propertyNames) {
+            writer.writeId(propertyName);
+        }
+    }
+
+    @Override
+    public PresentationModelSchemaCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final PresentationModelSchemaCommand command = new PresentationModelSchemaCommand();
+        command.setSchemaId(reader.readVarInt());
+        final String pmType = requireElement(reader.readId(), PM_TYPE);
+        final int propertyCount = reader.readVarInt();
+        final List<String> propertyNames = new ArrayList<>(propertyCount);
+        for (int i = 0; i < propertyCount; i++) {
+            propertyNames.add(requireElement(reader.readId(), PROPERTY_NAMES));
+        }
+        command.setSchema(new PresentationModelSchema(pmType, propertyNames));
+        return command;
+    }
+}
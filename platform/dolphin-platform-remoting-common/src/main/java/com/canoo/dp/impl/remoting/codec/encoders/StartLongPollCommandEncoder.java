@@ -17,9 +17,15 @@ package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.START_LONG_POLL_COMMAND_ID;
 import static org.apiguardian.api.API.Status.INTERNAL;
@@ -39,4 +45,29 @@ public class StartLongPollCommandEncoder extends AbstractCommandTranscoder<Start
     public StartLongPollCommand decode(final JsonObject jsonObject) {
         return new StartLongPollCommand();
     }
+
+    @Override
+    public void encode(final StartLongPollCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(START_LONG_POLL_COMMAND_ID);
+        writer.endObject();
+    }
+
+    @Override
+    public StartLongPollCommand decode(final JsonReader reader) throws IOException {
+        skipRemainingElements(reader);
+        return new StartLongPollCommand();
+    }
+
+    @Override
+    public void encode(final StartLongPollCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+    }
+
+    @Override
+    public StartLongPollCommand decode(final BinaryReader reader) throws IOException {
+        return new StartLongPollCommand();
+    }
 }
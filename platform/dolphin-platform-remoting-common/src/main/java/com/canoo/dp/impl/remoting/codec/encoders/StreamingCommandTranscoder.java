@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.codec.encoders;
+
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Variant of {@link CommandTranscoder} that works directly on a JSON stream instead of a JSON tree.
+ * @param <C> type of the command
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public interface StreamingCommandTranscoder<C extends Command> {
+
+    /**
+     * Writes the given command as a complete JSON object. The id of the command must be written as the first
+     * property of the object.
+     * @param command the command
+     * @param writer the writer
+     * @throws IOException if the command can not be written
+     */
+    void encode(C command, JsonWriter writer) throws IOException;
+
+    /**
+     * Reads a command from the given reader. The reader is positioned inside the JSON object of the command,
+     * directly behind the id property. All remaining properties must be consumed but the end of the object must
+     * not be consumed.
+     * @param reader the reader
+     * @return the command
+     * @throws IOException if the command can not be read
+     */
+    C decode(JsonReader reader) throws IOException;
+
+}
@@ -16,11 +16,17 @@
 package com.canoo.dp.impl.remoting.codec.encoders;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryReader;
+import com.canoo.dp.impl.remoting.codec.binary.BinaryWriter;
 import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ATTRIBUTE_ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.ID;
 import static com.canoo.dp.impl.remoting.legacy.communication.CommandConstants.VALUE;
@@ -54,4 +60,53 @@ public class ValueChangedCommandEncoder extends AbstractCommandTranscoder<ValueC
             throw new JsonParseException("Illegal JSON detected", ex);
         }
     }
+
+    @Override
+    public void encode(final ValueChangedCommand command, final JsonWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.beginObject();
+        writer.name(ID).value(VALUE_CHANGED_COMMAND_ID);
+        writer.name(ATTRIBUTE_ID).value(command.getAttributeId());
+        if (command.getNewValue() != null) {
+            writer.name(VALUE);
+            ValueEncoder.writeValue(writer, command.getNewValue());
+        }
+        writer.endObject();
+    }
+
+    @Override
+    public ValueChangedCommand decode(final JsonReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final ValueChangedCommand command = new ValueChangedCommand();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (ATTRIBUTE_ID.equals(name)) {
+                command.setAttributeId(nextStringOrNull(reader));
+            } else if (VALUE.equals(name)) {
+                command.setNewValue(ValueEncoder.readValue(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        requireElement(command.getAttributeId(), ATTRIBUTE_ID);
+        return command;
+    }
+
+    @Override
+    public void encode(final ValueChangedCommand command, final BinaryWriter writer) throws IOException {
+        Assert.requireNonNull(command, "command");
+        Assert.requireNonNull(writer, "writer");
+        writer.writeId(command.getAttributeId());
+        writer.writeValue(command.getNewValue());
+    }
+
+    @Override
+    public ValueChangedCommand decode(final BinaryReader reader) throws IOException {
+        Assert.requireNonNull(reader, "reader");
+        final ValueChangedCommand command = new ValueChangedCommand();
+        command.setAttributeId(requireElement(reader.readId(), ATTRIBUTE_ID));
+        command.setNewValue(reader.readValue());
+        return command;
+    }
 }
@@ -15,14 +15,23 @@
  */
 package com.canoo.dp.impl.remoting.codec.encoders;
 
+import com.canoo.dp.impl.remoting.codec.NativeValues;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+
 import static org.apiguardian.api.API.Status.INTERNAL;
 
+/**
+ * Encodes attribute values as JSON. Native values (see {@link NativeValues}) are encoded in their legacy text form.
+ */
 @API(since = "0.x", status = INTERNAL)
 public class ValueEncoder {
 
@@ -41,7 +50,10 @@ public class ValueEncoder {
         if (value instanceof Boolean) {
             return new JsonPrimitive((Boolean) value);
         }
-        throw new JsonParseException("Only String, Number, and Boolean are allowed currently");
+        if (NativeValues.isNativeValue(value)) {
+            return new JsonPrimitive(NativeValues.toTextValue(value));
+        }
+        throw new JsonParseException("Only String, Number, Boolean, and native values are allowed currently");
     }
 
     public static Object decodeValue(final JsonElement jsonElement) {
@@ -62,4 +74,50 @@ public class ValueEncoder {
         }
         throw new JsonParseException("Currently only String, Boolean, or Number are allowed as primitives");
     }
+
+    /**
+     * Writes a value to the given writer. The supported types are the same as the ones supported by
+     * {@link #encodeValue(Object)}.
+     * @param writer the writer
+     * @param value the value
+     * @throws IOException if the value can not be written
+     */
+    public static void writeValue(final JsonWriter writer, final Object value) throws IOException {
+        if(value == null) {
+            writer.nullValue();
+        } else if (value instanceof String) {
+            writer.value((String) value);
+        } else if (value instanceof Number) {
+            writer.value((Number) value);
+        } else if (value instanceof Boolean) {
+            writer.value((Boolean) value);
+        } else if (NativeValues.isNativeValue(value)) {
+            writer.value(NativeValues.toTextValue(value));
+        } else {
+            throw new JsonParseException("Only String, Number, Boolean, and native values are allowed currently");
+        }
+    }
+
+    /**
+     * Reads a value from the given reader. The result types are the same as the ones created by
+     * {@link #decodeValue(JsonElement)}.
+     * @param reader the reader
+     * @return the value
+     * @throws IOException if the value can not be read
+     */
+    public static Object readValue(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case STRING:
+                return reader.nextString();
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NUMBER:
+                return new LazilyParsedNumber(reader.nextString());
+            default:
+                throw new JsonParseException("Currently only String, Boolean, or Number are allowed as primitives");
+        }
+    }
 }
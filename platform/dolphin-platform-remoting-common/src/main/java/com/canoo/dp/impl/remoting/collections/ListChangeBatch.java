@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.collections;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.platform.remoting.ListChangeEvent;
+import org.apiguardian.api.API;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Collects all changes of an {@link ObservableArrayList} that are done in a batch (see
+ * {@link ObservableArrayList#runBatched(java.util.function.Consumer)}) and merges them into a minimal list of
+ * non overlapping changes. All ranges are stored in the coordinates of the current state of the list, the removed
+ * elements of a range always contain the elements of the list before the batch was started.
+ *
+ * @param <E> the type of the list elements
+ */
+@API(since = "1.0.0", status = INTERNAL)
+class ListChangeBatch<E> {
+
+    private final List<Segment<E>> segments = new ArrayList<>();
+
+    void add(final ListChangeEvent<E> event) {
+        Assert.requireNonNull(event, "event");
+        for (final ListChangeEvent.Change<E> change : event.getChanges()) {
+            if (change.isPermutated()) {
+                //A permutation can not be merged with other changes and is handled as a replace of the range
+                final List<E> elementsBefore = new ArrayList<>(change.getTo() - change.getFrom());
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    elementsBefore.add(event.getSource().get(change.getPermutation(i)));
+                }
+                add(change.getFrom(), change.getTo(), elementsBefore);
+            } else {
+                add(change.getFrom(), change.getTo(), change.getRemovedElements());
+            }
+        }
+    }
+
+    void add(final int from, final int to, final List<E> removedElements) {
+        Assert.requireNonNull(removedElements, "removedElements");
+        final int removedTo = from + removedElements.size();
+        final int delta = (to - from) - removedElements.size();
+
+        int start = 0;
+        while (start < segments.size() && segments.get(start).to < from) {
+            start++;
+        }
+        int end = start;
+        while (end < segments.size() && segments.get(end).from <= removedTo) {
+            end++;
+        }
+
+        final List<E> originalElements;
+        final int mergedFrom;
+        int cursor;
+        int next = start;
+        if (start < end && segments.get(start).from <= from) {
+            final Segment<E> first = segments.get(start);
+            originalElements = first.removedElements;
+            mergedFrom = first.from;
+            cursor = first.to;
+            next++;
+        } else {
+            originalElements = new ArrayList<>();
+            mergedFrom = from;
+            cursor = from;
+        }
+        for (int i = next; i < end; i++) {
+            final Segment<E> segment = segments.get(i);
+            originalElements.addAll(removedElements.subList(cursor - from, segment.from - from));
+            originalElements.addAll(segment.removedElements);
+            cursor = segment.to;
+        }
+        if (cursor < removedTo) {
+            originalElements.addAll(removedElements.subList(cursor - from, removedTo - from));
+            cursor = removedTo;
+        }
+
+        final List<Segment<E>> merged = segments.subList(start, end);
+        merged.clear();
+        merged.add(new Segment<>(mergedFrom, cursor + delta, originalElements));
+        for (int i = start + 1; i < segments.size(); i++) {
+            segments.get(i).shift(delta);
+        }
+    }
+
+    /**
+     * Creates the changes for the given final state of the list. Elements at the start or the end of a merged range
+     * that are equal before and after the batch are not part of the change.
+     * @param list the list after all changes of the batch are applied
+     * @return the changes
+     */
+    List<ListChangeEvent.Change<E>> createChanges(final List<E> list) {
+        Assert.requireNonNull(list, "list");
+        final List<ListChangeEvent.Change<E>> changes = new ArrayList<>();
+        for (final Segment<E> segment : segments) {
+            int from = segment.from;
+            int to = segment.to;
+            int removedFrom = 0;
+            int removedTo = segment.removedElements.size();
+            while (from < to && removedFrom < removedTo && Objects.equals(list.get(from), segment.removedElements.get(removedFrom))) {
+                from++;
+                removedFrom++;
+            }
+            while (from < to && removedFrom < removedTo && Objects.equals(list.get(to - 1), segment.removedElements.get(removedTo - 1))) {
+                to--;
+                removedTo--;
+            }
+            if (from < to || removedFrom < removedTo) {
+                final List<E> removed = removedFrom < removedTo ? new ArrayList<>(segment.removedElements.subList(removedFrom, removedTo)) : Collections.<E>emptyList();
+                changes.add(new ListChangeEventImpl.ChangeImpl<>(from, to, removed));
+            }
+        }
+        return changes;
+    }
+
+    private static class Segment<E> {
+
+        private int from;
+
+        private int to;
+
+        private final List<E> removedElements;
+
+        private Segment(final int from, final int to, final List<E> removedElements) {
+            this.from = from;
+            this.to = to;
+            this.removedElements = removedElements;
+        }
+
+        private void shift(final int delta) {
+            from += delta;
+            to += delta;
+        }
+    }
+}
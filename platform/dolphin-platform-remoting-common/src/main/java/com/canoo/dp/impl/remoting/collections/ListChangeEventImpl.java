@@ -60,6 +60,7 @@ public class ListChangeEventImpl<E> implements ListChangeEvent<E> {
         private final int from;
         private final int to;
         private final List<S> removedElements;
+        private final int[] permutation;
 
         public ChangeImpl(final int from, final int to, final List<S> removedElements) {
             if (from < 0) {
@@ -74,6 +75,25 @@ public class ListChangeEventImpl<E> implements ListChangeEvent<E> {
             this.from = from;
             this.to = to;
             this.removedElements = removedElements;
+            this.permutation = null;
+        }
+
+        /**
+         * Creates a permutation change
+         * @param from the index of the first element of the permutated range
+         * @param permutation the new index of each element of the range relative to {@code from}
+         */
+        public ChangeImpl(final int from, final int[] permutation) {
+            if (from < 0) {
+                throw new IllegalArgumentException("Parameter 'from' cannot be negative");
+            }
+            if (permutation == null) {
+                throw new NullPointerException("Parameter 'permutation' cannot be null");
+            }
+            this.from = from;
+            this.to = from + permutation.length;
+            this.removedElements = Collections.emptyList();
+            this.permutation = permutation;
         }
 
         @Override
@@ -93,17 +113,33 @@ public class ListChangeEventImpl<E> implements ListChangeEvent<E> {
 
         @Override
         public boolean isAdded() {
-            return getTo() > getFrom() && getRemovedElements().isEmpty();
+            return !isPermutated() && getTo() > getFrom() && getRemovedElements().isEmpty();
         }
 
         @Override
         public boolean isRemoved() {
-            return getTo() == getFrom() && !getRemovedElements().isEmpty();
+            return !isPermutated() && getTo() == getFrom() && !getRemovedElements().isEmpty();
         }
 
         @Override
         public boolean isReplaced() {
-            return getTo() > getFrom() && !getRemovedElements().isEmpty();
+            return !isPermutated() && getTo() > getFrom() && !getRemovedElements().isEmpty();
+        }
+
+        @Override
+        public boolean isPermutated() {
+            return permutation != null;
+        }
+
+        @Override
+        public int getPermutation(final int index) {
+            if (!isPermutated()) {
+                throw new IllegalStateException("Change is not a permutation");
+            }
+            if (index < from || index >= to) {
+                throw new IndexOutOfBoundsException("Index " + index + " is not part of the permutated range");
+            }
+            return from + permutation[index - from];
         }
     }
 }
@@ -15,6 +15,7 @@
  */
 package com.canoo.dp.impl.remoting.collections;
 
+import com.canoo.dp.impl.platform.core.Assert;
 import com.canoo.dp.impl.remoting.BeanRepository;
 import com.canoo.dp.impl.remoting.ClassRepository;
 import com.canoo.dp.impl.remoting.DolphinEventHandler;
@@ -27,14 +28,19 @@ import com.canoo.dp.impl.remoting.ListMapper;
 import com.canoo.dp.impl.remoting.info.ClassInfo;
 import com.canoo.dp.impl.remoting.info.PropertyInfo;
 import com.canoo.dp.impl.remoting.MappingException;
+import com.canoo.dp.impl.remoting.commands.ListPermutationCommand;
+import com.canoo.dp.impl.remoting.commands.ListSpliceCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
 import com.canoo.dp.impl.remoting.legacy.core.ModelStore;
 import com.canoo.dp.impl.remoting.legacy.core.PresentationModel;
+import com.canoo.platform.remoting.spi.converter.ValueConverterException;
 import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
@@ -47,6 +53,8 @@ public class ListMapperImpl implements ListMapper {
     private final ClassRepository classRepository;
     protected final PresentationModelBuilderFactory builderFactory;
 
+    private volatile Consumer<Command> commandSender;
+
     public ListMapperImpl(final ModelStore modelStore, final ClassRepository classRepository, final BeanRepository beanRepository, final PresentationModelBuilderFactory builderFactory, final EventDispatcher dispatcher) {
         this.beanRepository = beanRepository;
         this.classRepository = classRepository;
@@ -54,30 +62,20 @@ public class ListMapperImpl implements ListMapper {
 
         dispatcher.addListSpliceHandler(new DolphinEventHandler() {
             @Override
-            @SuppressWarnings("unchecked")
             public void onEvent(PresentationModel model) {
                 try {
                     final String sourceId = model.getAttribute("source").getValue().toString();
                     final String attributeName = model.getAttribute("attribute").getValue().toString();
-
-                    final Object bean = ListMapperImpl.this.beanRepository.getBean(sourceId);
-                    final ClassInfo classInfo = ListMapperImpl.this.classRepository.getOrCreateClassInfo(bean.getClass());
-                    final PropertyInfo observableListInfo = classInfo.getObservableListInfo(attributeName);
-
-                    final ObservableArrayList list = (ObservableArrayList) observableListInfo.getPrivileged(bean);
-
                     final int from = ((Number) model.getAttribute("from").getValue()).intValue();
                     final int to = ((Number) model.getAttribute("to").getValue()).intValue();
                     final int count = ((Number) model.getAttribute("count").getValue()).intValue();
 
-                    final List<Object> newElements = new ArrayList<Object>(count);
+                    final List<Object> dolphinValues = new ArrayList<Object>(count);
                     for (int i = 0; i < count; i++) {
-                        final Object dolphinValue = model.getAttribute(Integer.toString(i)).getValue();
-                        final Object value = observableListInfo.convertFromDolphin(dolphinValue);
-                        newElements.add(value);
+                        dolphinValues.add(model.getAttribute(Integer.toString(i)).getValue());
                     }
 
-                    list.internalSplice(from, to, newElements);
+                    splice(sourceId, attributeName, from, to, dolphinValues);
                 } catch (Exception ex) {
                     //TODO: This exception must be handled!
                     LOG.error("Invalid LIST_SPLICE command received: " + model, ex);
@@ -91,35 +89,123 @@ public class ListMapperImpl implements ListMapper {
         });
     }
 
+    /**
+     * Defines how list changes are sent to the other side. If a sender is defined all list changes will be sent as
+     * {@link ListSpliceCommand} or {@link ListPermutationCommand}. Otherwise a temporary list splice presentation model
+     * is created for each change.
+     * @param commandSender the sender or {@code null} to fall back to list splice presentation models
+     */
+    public void setCommandSender(final Consumer<Command> commandSender) {
+        this.commandSender = commandSender;
+    }
+
+    /**
+     * Applies a list change that was received as {@link ListSpliceCommand}.
+     * @param command the command
+     * @throws MappingException if the change can not be applied
+     */
+    public void onListSplice(final ListSpliceCommand command) {
+        Assert.requireNonNull(command, "command");
+        try {
+            splice(command.getSourceId(), command.getAttributeName(), command.getFrom(), command.getTo(), command.getValues());
+        } catch (final Exception ex) {
+            throw new MappingException("Invalid ListSplice command received for list " + command.getAttributeName() + " of bean " + command.getSourceId(), ex);
+        }
+    }
+
+    /**
+     * Applies a reordering of list elements that was received as {@link ListPermutationCommand}.
+     * @param command the command
+     * @throws MappingException if the reordering can not be applied
+     */
+    public void onListPermutation(final ListPermutationCommand command) {
+        Assert.requireNonNull(command, "command");
+        try {
+            getList(command.getSourceId(), command.getAttributeName()).internalPermutate(command.getFrom(), command.getPermutation());
+        } catch (final Exception ex) {
+            throw new MappingException("Invalid ListPermutation command received for list " + command.getAttributeName() + " of bean " + command.getSourceId(), ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObservableArrayList<Object> getList(final String sourceId, final String attributeName) {
+        final Object bean = beanRepository.getBean(sourceId);
+        final ClassInfo classInfo = classRepository.getOrCreateClassInfo(bean.getClass());
+        final PropertyInfo observableListInfo = classInfo.getObservableListInfo(attributeName);
+        return (ObservableArrayList<Object>) observableListInfo.getPrivileged(bean);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void splice(final String sourceId, final String attributeName, final int from, final int to, final List<?> dolphinValues) throws ValueConverterException {
+        final Object bean = beanRepository.getBean(sourceId);
+        final ClassInfo classInfo = classRepository.getOrCreateClassInfo(bean.getClass());
+        final PropertyInfo observableListInfo = classInfo.getObservableListInfo(attributeName);
+
+        final ObservableArrayList list = (ObservableArrayList) observableListInfo.getPrivileged(bean);
+
+        final List<Object> newElements = new ArrayList<Object>(dolphinValues.size());
+        for (final Object dolphinValue : dolphinValues) {
+            newElements.add(observableListInfo.convertFromDolphin(dolphinValue));
+        }
+
+        list.internalSplice(from, to, newElements);
+    }
+
     @Override
     public void processEvent(final PropertyInfo observableListInfo, final String sourceId, final ListChangeEvent<?> event) {
         final String attributeName = observableListInfo.getAttributeName();
+        final Consumer<Command> sender = commandSender;
 
         for (final ListChangeEvent.Change<?> change : event.getChanges()) {
 
             final int from = change.getFrom();
-            final int to = from + change.getRemovedElements().size();
-            final List<?> newElements = event.getSource().subList(from, change.getTo());
-            final int count = newElements.size();
-
-            final PresentationModelBuilder builder = builderFactory.createBuilder();
-            builder.withType(PlatformRemotingConstants.LIST_SPLICE)
-                    .withAttribute("source", sourceId)
-                    .withAttribute("attribute", attributeName)
-                    .withAttribute("from", from)
-                    .withAttribute("to", to)
-                    .withAttribute("count", count);
-
-            int i = 0;
-            for (final Object current : newElements) {
-                try {
-                    builder.withAttribute(Integer.toString(i++), observableListInfo.convertToDolphin(current));
-                }catch (Exception e) {
-                    throw new MappingException("Error in event processing!", e);
+
+            if (change.isPermutated() && sender != null) {
+                final int[] permutation = new int[change.getTo() - from];
+                for (int i = from; i < change.getTo(); i++) {
+                    permutation[i - from] = change.getPermutation(i) - from;
+                }
+                sender.accept(new ListPermutationCommand(sourceId, attributeName, from, permutation));
+            } else {
+                //Without a command sender a permutation is sent as replacement of the permutated range
+                final int to = change.isPermutated() ? change.getTo() : from + change.getRemovedElements().size();
+                final List<Object> newValues = convertToDolphin(observableListInfo, event.getSource(), from, change.getTo());
+
+                if (sender != null) {
+                    sender.accept(new ListSpliceCommand(sourceId, attributeName, from, to, newValues));
+                } else {
+                    createSpliceModel(sourceId, attributeName, from, to, newValues);
                 }
             }
+        }
+    }
 
-            builder.create();
+    private List<Object> convertToDolphin(final PropertyInfo observableListInfo, final List<?> list, final int from, final int to) {
+        final List<Object> values = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            try {
+                values.add(observableListInfo.convertToDolphin(list.get(i)));
+            } catch (Exception e) {
+                throw new MappingException("Error in event processing!", e);
+            }
         }
+        return values;
+    }
+
+    private void createSpliceModel(final String sourceId, final String attributeName, final int from, final int to, final List<Object> newValues) {
+        final PresentationModelBuilder builder = builderFactory.createBuilder();
+        builder.withType(PlatformRemotingConstants.LIST_SPLICE)
+                .withAttribute("source", sourceId)
+                .withAttribute("attribute", attributeName)
+                .withAttribute("from", from)
+                .withAttribute("to", to)
+                .withAttribute("count", newValues.size());
+
+        int i = 0;
+        for (final Object value : newValues) {
+            builder.withAttribute(Integer.toString(i++), value);
+        }
+
+        builder.create();
     }
 }
@@ -26,10 +26,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
@@ -39,6 +41,8 @@ public class ObservableArrayList<E> implements ObservableList<E> {
     private final ArrayList<E> list;
     private final List<ListChangeListener<? super E>> listeners = new CopyOnWriteArrayList<>();
 
+    private ListChangeBatch<E> currentBatch;
+
     public ObservableArrayList() {
         list = new ArrayList<>();
     }
@@ -57,11 +61,33 @@ public class ObservableArrayList<E> implements ObservableList<E> {
     }
 
     protected void fireListChanged(final ListChangeEvent<E> event) {
+        if (currentBatch != null) {
+            currentBatch.add(event);
+            return;
+        }
         notifyInternalListeners(event);
         notifyExternalListeners(event);
     }
 
-
+    @Override
+    public void runBatched(final Consumer<? super ObservableList<E>> modifications) {
+        Assert.requireNonNull(modifications, "modifications");
+        if (currentBatch != null) {
+            modifications.accept(this);
+            return;
+        }
+        final ListChangeBatch<E> batch = new ListChangeBatch<>();
+        currentBatch = batch;
+        try {
+            modifications.accept(this);
+        } finally {
+            currentBatch = null;
+            final List<ListChangeEvent.Change<E>> changes = batch.createChanges(list);
+            if (!changes.isEmpty()) {
+                fireListChanged(new ListChangeEventImpl<>(this, changes));
+            }
+        }
+    }
 
     protected void notifyInternalListeners(final ListChangeEvent<E> event) {
 
@@ -81,6 +107,40 @@ public class ObservableArrayList<E> implements ObservableList<E> {
         notifyExternalListeners(new ListChangeEventImpl<E>(this, from, from + newElements.size(), removedElements));
     }
 
+    /**
+     * Reorders the elements of the list starting at index {@code from} and notifies all listeners with a permutation
+     * change.
+     * @param from the index of the first element that is reordered
+     * @param permutation the new index of each element of the range relative to {@code from}
+     */
+    public void permutate(final int from, final int[] permutation) {
+        fireListChanged(applyPermutation(from, permutation));
+    }
+
+    public void internalPermutate(final int from, final int[] permutation) {
+        notifyExternalListeners(applyPermutation(from, permutation));
+    }
+
+    private ListChangeEvent<E> applyPermutation(final int from, final int[] permutation) {
+        Assert.requireNonNull(permutation, "permutation");
+        final int to = from + permutation.length;
+        if (from < 0 || to > list.size()) {
+            throw new IndexOutOfBoundsException("Permutation of range " + from + "-" + to + " does not fit in list of size " + list.size());
+        }
+        final boolean[] targets = new boolean[permutation.length];
+        for (final int target : permutation) {
+            if (target < 0 || target >= permutation.length || targets[target]) {
+                throw new IllegalArgumentException("Illegal permutation: " + Arrays.toString(permutation));
+            }
+            targets[target] = true;
+        }
+        final List<E> range = new ArrayList<>(list.subList(from, to));
+        for (int i = 0; i < permutation.length; i++) {
+            list.set(from + permutation[i], range.get(i));
+        }
+        return new ListChangeEventImpl<>(this, Collections.<ListChangeEvent.Change<E>>singletonList(new ListChangeEventImpl.ChangeImpl<E>(from, permutation)));
+    }
+
     @Override
     public Subscription onChanged(final ListChangeListener<? super E> listener) {
         listeners.add(listener);
@@ -253,7 +313,7 @@ public class ObservableArrayList<E> implements ObservableList<E> {
     public void remove(final int from, final int to)
     {
         final List<E> toRemove = new ArrayList<>(list.subList(from, to));
-        toRemove.forEach(e -> remove(e));
+        runBatched(l -> toRemove.forEach(e -> remove(e)));
     }
 
     @Override
@@ -394,8 +454,40 @@ public class ObservableArrayList<E> implements ObservableList<E> {
 
     @Override
     public boolean setAll(final Collection<? extends E> col) {
-        clear();
-        return addAll(col);
+        runBatched(l -> {
+            clear();
+            addAll(col);
+        });
+        return !col.isEmpty();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(final Comparator<? super E> c) {
+        final Comparator<? super E> comparator = c != null ? c : (Comparator<? super E>) Comparator.naturalOrder();
+        final int size = list.size();
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> comparator.compare(list.get(a), list.get(b)));
+
+        int from = 0;
+        while (from < size && order[from] == from) {
+            from++;
+        }
+        int to = size;
+        while (to > from && order[to - 1] == to - 1) {
+            to--;
+        }
+        if (from == to) {
+            return;
+        }
+        final int[] permutation = new int[to - from];
+        for (int newIndex = from; newIndex < to; newIndex++) {
+            permutation[order[newIndex] - from] = newIndex - from;
+        }
+        permutate(from, permutation);
     }
 
     @Override
@@ -24,7 +24,56 @@ import static org.apiguardian.api.API.Status.INTERNAL;
 @API(since = "0.x", status = INTERNAL)
 public final class CreateContextCommand extends Command {
 
+    private boolean listSpliceCommandSupported;
+
+    private boolean presentationModelSchemaSupported;
+
+    private int responseChunkSize;
+
     public CreateContextCommand() {
         super(CommandConstants.CREATE_CONTEXT_COMMAND_ID);
     }
+
+    /**
+     * Defines if the client can handle {@link ListSpliceCommand}s and {@link ListPermutationCommand}s. Clients that do
+     * not set this flag receive list changes as list splice presentation models. The server confirms the support by
+     * sending a {@link CreateContextCommand} with this flag back, the client must not send {@link ListSpliceCommand}s
+     * before it received this confirmation.
+     * @return true if the client can handle {@link ListSpliceCommand}s
+     */
+    public boolean isListSpliceCommandSupported() {
+        return listSpliceCommandSupported;
+    }
+
+    public void setListSpliceCommandSupported(final boolean listSpliceCommandSupported) {
+        this.listSpliceCommandSupported = listSpliceCommandSupported;
+    }
+
+    /**
+     * Defines if the client can handle {@link PresentationModelSchemaCommand}s and {@link CreateFromSchemaCommand}s.
+     * Clients that do not set this flag receive a full
+     * {@link com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand} for each presentation model.
+     * @return true if the client can handle presentation model schemas
+     */
+    public boolean isPresentationModelSchemaSupported() {
+        return presentationModelSchemaSupported;
+    }
+
+    public void setPresentationModelSchemaSupported(final boolean presentationModelSchemaSupported) {
+        this.presentationModelSchemaSupported = presentationModelSchemaSupported;
+    }
+
+    /**
+     * Defines the max number of commands the client wants to receive in one response. Bigger responses are split in
+     * chunks by the server: each chunk ends with a {@link PendingResponseCommand} and the following chunks are
+     * delivered by the next polls of the client. A value {@code <= 0} (the default) disables chunking.
+     * @return the max number of commands in one response
+     */
+    public int getResponseChunkSize() {
+        return responseChunkSize;
+    }
+
+    public void setResponseChunkSize(final int responseChunkSize) {
+        this.responseChunkSize = responseChunkSize;
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.commands;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CommandConstants;
+import org.apiguardian.api.API;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Creates a presentation model of a schema that was defined by a {@link PresentationModelSchemaCommand} before. The
+ * attribute ids and values are ordered like the property names of the schema.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class CreateFromSchemaCommand extends Command {
+
+    private int schemaId;
+
+    private String pmId;
+
+    private final List<String> attributeIds = new ArrayList<>();
+
+    private final List<Object> values = new ArrayList<>();
+
+    public CreateFromSchemaCommand() {
+        super(CommandConstants.CREATE_FROM_SCHEMA_COMMAND_ID);
+    }
+
+    public CreateFromSchemaCommand(final int schemaId, final String pmId) {
+        this();
+        setSchemaId(schemaId);
+        setPmId(pmId);
+    }
+
+    public int getSchemaId() {
+        return schemaId;
+    }
+
+    public void setSchemaId(final int schemaId) {
+        this.schemaId = schemaId;
+    }
+
+    public String getPmId() {
+        return pmId;
+    }
+
+    public void setPmId(final String pmId) {
+        Assert.requireNonBlank(pmId, "pmId");
+        this.pmId = pmId;
+    }
+
+    public List<String> getAttributeIds() {
+        return Collections.unmodifiableList(attributeIds);
+    }
+
+    public List<Object> getValues() {
+        return Collections.unmodifiableList(values);
+    }
+
+    public void addAttribute(final String attributeId, final Object value) {
+        Assert.requireNonBlank(attributeId, "attributeId");
+        attributeIds.add(attributeId);
+        values.add(value);
+    }
+}
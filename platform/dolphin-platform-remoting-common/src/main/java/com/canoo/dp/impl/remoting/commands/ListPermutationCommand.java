@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.commands;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CommandConstants;
+import org.apiguardian.api.API;
+
+import java.util.Arrays;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Reorders the elements of an observable list of a bean starting at index {@code from}. For each element of the
+ * permutated range the permutation contains the new index of the element relative to {@code from}.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class ListPermutationCommand extends Command {
+
+    private String sourceId;
+
+    private String attributeName;
+
+    private int from;
+
+    private int[] permutation = new int[0];
+
+    public ListPermutationCommand() {
+        super(CommandConstants.LIST_PERMUTATION_COMMAND_ID);
+    }
+
+    public ListPermutationCommand(final String sourceId, final String attributeName, final int from, final int[] permutation) {
+        this();
+        setSourceId(sourceId);
+        setAttributeName(attributeName);
+        setFrom(from);
+        setPermutation(permutation);
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public void setSourceId(final String sourceId) {
+        Assert.requireNonBlank(sourceId, "sourceId");
+        this.sourceId = sourceId;
+    }
+
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    public void setAttributeName(final String attributeName) {
+        Assert.requireNonBlank(attributeName, "attributeName");
+        this.attributeName = attributeName;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public void setFrom(final int from) {
+        this.from = from;
+    }
+
+    public int[] getPermutation() {
+        return Arrays.copyOf(permutation, permutation.length);
+    }
+
+    public void setPermutation(final int[] permutation) {
+        Assert.requireNonNull(permutation, "permutation");
+        this.permutation = Arrays.copyOf(permutation, permutation.length);
+    }
+}
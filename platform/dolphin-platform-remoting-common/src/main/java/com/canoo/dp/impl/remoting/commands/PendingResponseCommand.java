@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.commands;
+
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CommandConstants;
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Last command of a response that was split in chunks (see {@link CreateContextCommand#getResponseChunkSize()}). The
+ * command tells the client that the server holds further commands of the response that will be delivered by the
+ * following polls of the client.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class PendingResponseCommand extends Command {
+
+    private int remainingCommandCount;
+
+    public PendingResponseCommand() {
+        super(CommandConstants.PENDING_RESPONSE_COMMAND_ID);
+    }
+
+    public PendingResponseCommand(final int remainingCommandCount) {
+        this();
+        setRemainingCommandCount(remainingCommandCount);
+    }
+
+    /**
+     * Returns the number of commands that are still held by the server.
+     * @return the number of remaining commands
+     */
+    public int getRemainingCommandCount() {
+        return remainingCommandCount;
+    }
+
+    public void setRemainingCommandCount(final int remainingCommandCount) {
+        this.remainingCommandCount = remainingCommandCount;
+    }
+}
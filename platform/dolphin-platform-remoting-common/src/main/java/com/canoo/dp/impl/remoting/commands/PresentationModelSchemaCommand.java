@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.commands;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CommandConstants;
+import com.canoo.dp.impl.remoting.legacy.core.PresentationModelSchema;
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Defines a {@link PresentationModelSchema} for the session. Once the schema is defined presentation models of the
+ * schema are created by {@link CreateFromSchemaCommand}s that refer to the schema by its id.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class PresentationModelSchemaCommand extends Command {
+
+    private int schemaId;
+
+    private PresentationModelSchema schema;
+
+    public PresentationModelSchemaCommand() {
+        super(CommandConstants.PRESENTATION_MODEL_SCHEMA_COMMAND_ID);
+    }
+
+    public PresentationModelSchemaCommand(final int schemaId, final PresentationModelSchema schema) {
+        this();
+        setSchemaId(schemaId);
+        setSchema(schema);
+    }
+
+    public int getSchemaId() {
+        return schemaId;
+    }
+
+    public void setSchemaId(final int schemaId) {
+        this.schemaId = schemaId;
+    }
+
+    public PresentationModelSchema getSchema() {
+        return schema;
+    }
+
+    public void setSchema(final PresentationModelSchema schema) {
+        this.schema = Assert.requireNonNull(schema, "schema");
+    }
+}
@@ -22,4 +22,9 @@ import static org.apiguardian.api.API.Status.INTERNAL;
 
 @API(since = "0.x", status = INTERNAL)
 public abstract class AbstractBooleanConverter<B> implements Converter<B, Boolean> {
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -38,8 +38,11 @@ public class BigDecimalConverterFactory extends AbstractConverterFactory {
     private final static Converter CONVERTER = new AbstractNumberConverter<BigDecimal> () {
         @Override
         public BigDecimal convertFromDolphin(final Number value) throws ValueConverterException {
+            if (value == null || value instanceof BigDecimal) {
+                return (BigDecimal) value;
+            }
             try {
-                return value == null ? null : new BigDecimal(value.toString());
+                return new BigDecimal(value.toString());
             } catch (final Exception e) {
                 throw new ValueConverterException("Unable to parse the number: " + value, e);
             }
@@ -39,6 +39,11 @@ public class BooleanConverterFactory extends AbstractConverterFactory {
         public Boolean convertToDolphin(final Boolean value) {
             return value;
         }
+
+        @Override
+        public boolean isIdentity() {
+            return true;
+        }
     };
 
     @Override
@@ -71,5 +71,10 @@ public class ClassConverterFactory implements ConverterFactory {
             }
             return value.getName();
         }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
     }
 }
@@ -15,16 +15,14 @@
  */
 package com.canoo.dp.impl.remoting.converters;
 
+import com.canoo.dp.impl.remoting.codec.NativeValues;
 import com.canoo.platform.remoting.spi.converter.Converter;
 import com.canoo.platform.remoting.spi.converter.ValueConverterException;
 import org.apiguardian.api.API;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.*;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
@@ -55,39 +53,30 @@ public class DateConverterFactory extends AbstractConverterFactory {
         return CONVERTER;
     }
 
-    private static class DateConverter extends AbstractStringConverter<Date> {
-
-        private static final Logger LOG = LoggerFactory.getLogger(DateConverter.class);
-
-        private final DateFormat dateFormat;
-
-        public DateConverter() {
-            dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-            dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-        }
+    private static class DateConverter implements Converter<Date, Object> {
 
         @Override
-        public Date convertFromDolphin(final String value) throws ValueConverterException{
+        public Date convertFromDolphin(final Object value) throws ValueConverterException {
             if (value == null) {
                 return null;
             }
+            if (value instanceof Date) {
+                return new Date(((Date) value).getTime());
+            }
+            final String legacyValue = (String) value;
             try {
-                return dateFormat.parse(value);
-            } catch (ParseException e) {
+                return Date.from(NativeValues.parseLegacyDate(legacyValue));
+            } catch (Exception e) {
                 throw new ValueConverterException("Unable to parse the date: " + value, e);
             }
         }
 
         @Override
-        public String convertToDolphin(final Date value) throws ValueConverterException{
+        public Object convertToDolphin(final Date value) throws ValueConverterException {
             if (value == null) {
                 return null;
             }
-            try {
-                return dateFormat.format(value);
-            } catch (IllegalArgumentException e) {
-                throw new ValueConverterException("Unable to format the date: " + value, e);
-            }
+            return new Date(value.getTime());
         }
     }
 }
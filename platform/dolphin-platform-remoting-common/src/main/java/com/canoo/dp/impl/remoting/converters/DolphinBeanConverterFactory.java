@@ -85,5 +85,10 @@ public class DolphinBeanConverterFactory implements ConverterFactory {
                 throw new ValueConverterException("Can not convert from dolphin bean", e);
             }
         }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
     }
 }
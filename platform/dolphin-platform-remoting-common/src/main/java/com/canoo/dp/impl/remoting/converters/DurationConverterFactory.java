@@ -75,6 +75,11 @@ public class DurationConverterFactory extends AbstractConverterFactory {
                 throw new ValueConverterException("Can not convert from Duration", e);
             }
         }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
     }
 
 }
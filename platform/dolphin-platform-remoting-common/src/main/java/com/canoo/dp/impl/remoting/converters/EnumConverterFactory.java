@@ -91,6 +91,11 @@ public class EnumConverterFactory extends AbstractConverterFactory {
                 throw new ValueConverterException("Unable to evaluatethe enum: " + value, ex);
             }
         }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
     }
 
 }
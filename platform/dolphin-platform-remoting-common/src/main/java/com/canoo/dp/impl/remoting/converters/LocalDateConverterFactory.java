@@ -93,6 +93,11 @@ public class LocalDateConverterFactory extends AbstractConverterFactory {
                         "Can not convert from LocalDate", e);
             }
         }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
     }
 
 }
@@ -88,6 +88,11 @@ public class LocalDateTimeConverterFactory extends AbstractConverterFactory {
                 throw new ValueConverterException("Can not convert from LocalDateTime", e);
             }
         }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
     }
 
 }
@@ -75,6 +75,11 @@ public class PeriodConverterFactory extends AbstractConverterFactory {
                 throw new ValueConverterException("Can not convert from Periode", e);
             }
         }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
     }
 
 }
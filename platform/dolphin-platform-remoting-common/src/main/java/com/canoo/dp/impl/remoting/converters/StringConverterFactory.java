@@ -38,6 +38,11 @@ public class StringConverterFactory extends AbstractConverterFactory {
         public String convertToDolphin(final String value) {
             return value;
         }
+
+        @Override
+        public boolean isIdentity() {
+            return true;
+        }
     };
 
     @Override
@@ -33,22 +33,28 @@ public class UuidConverterFactory extends AbstractConverterFactory {
 
     public final static int FIELD_TYPE_UUID = 14;
 
-    private final static Converter CONVERTER = new AbstractStringConverter<UUID>() {
+    private final static Converter CONVERTER = new Converter<UUID, Object>() {
         @Override
-        public UUID convertFromDolphin(final String value) throws ValueConverterException {
+        public UUID convertFromDolphin(final Object value) throws ValueConverterException {
+            if (value == null || value instanceof UUID) {
+                return (UUID) value;
+            }
+            final String legacyValue = (String) value;
             try {
-                return value == null ? null : UUID.fromString(value);
+                return UUID.fromString(legacyValue);
             } catch (Exception ex) {
                 throw new ValueConverterException("Unable to parse UUID: " + value, ex);
             }
         }
 
         @Override
-        public String convertToDolphin(final UUID value) throws ValueConverterException {
-            if (value == null)
-                return null;
-            
-            return value.toString();
+        public Object convertToDolphin(final UUID value) throws ValueConverterException {
+            return value;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
         }
     };
 
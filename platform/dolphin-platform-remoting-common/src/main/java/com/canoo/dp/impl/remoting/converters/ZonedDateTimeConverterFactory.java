@@ -15,18 +15,15 @@
  */
 package com.canoo.dp.impl.remoting.converters;
 
+import com.canoo.dp.impl.remoting.codec.NativeValues;
 import com.canoo.platform.remoting.spi.converter.Converter;
 import com.canoo.platform.remoting.spi.converter.ValueConverterException;
 import org.apiguardian.api.API;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.*;
+import java.util.Collections;
+import java.util.List;
 
-import static com.canoo.dp.impl.platform.core.PlatformConstants.REMOTING_DATE_FORMAT_PATTERN;
-import static com.canoo.dp.impl.platform.core.PlatformConstants.TIMEZONE_UTC;
 import static org.apiguardian.api.API.Status.INTERNAL;
 
 @API(since = "0.x", status = INTERNAL)
@@ -54,39 +51,32 @@ public class ZonedDateTimeConverterFactory extends AbstractConverterFactory {
         return CONVERTER;
     }
 
-    private static class ZonedDateTimeConverter extends AbstractStringConverter<ZonedDateTime> {
+    private static class ZonedDateTimeConverter implements Converter<ZonedDateTime, Object> {
 
-        private final DateFormat dateFormat;
-
-        public ZonedDateTimeConverter(){
-            dateFormat = new SimpleDateFormat(REMOTING_DATE_FORMAT_PATTERN);
-            dateFormat.setTimeZone(TimeZone.getTimeZone(TIMEZONE_UTC));
-        }
         @Override
-        public ZonedDateTime convertFromDolphin(final String value) throws ValueConverterException {
+        public ZonedDateTime convertFromDolphin(final Object value) throws ValueConverterException {
             if (value == null) {
                 return null;
             }
+            if (value instanceof ZonedDateTime) {
+                return (ZonedDateTime) value;
+            }
+            final String textValue = (String) value;
             try {
-                final Calendar result = Calendar.getInstance();
-                result.setTime(dateFormat.parse(value));
-                return result.toInstant().atZone(ZoneId.systemDefault());
+                return NativeValues.parseZonedDateTime(textValue);
             } catch (Exception e) {
                 throw new ValueConverterException("Can not convert to ZonedDateTime", e);
             }
         }
 
         @Override
-        public String convertToDolphin(final ZonedDateTime value) throws ValueConverterException {
-            if (value == null) {
-                return null;
-            }
-            try {
-                final Calendar calendar = GregorianCalendar.from(value);
-                return dateFormat.format(calendar.getTime());
-            } catch (Exception e) {
-                throw new ValueConverterException("Can not convert from ZonedDateTime", e);
-            }
+        public Object convertToDolphin(final ZonedDateTime value) throws ValueConverterException {
+            return value;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
         }
     }
 
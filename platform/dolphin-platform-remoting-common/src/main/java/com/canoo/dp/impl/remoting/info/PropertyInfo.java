@@ -48,4 +48,20 @@ public abstract class PropertyInfo {
     public Object convertToDolphin(final Object value) throws ValueConverterException {
         return converter.convertToDolphin(value);
     }
+
+    /**
+     * Returns true if the values of the property don't need to be converted (see {@link Converter#isIdentity()}).
+     * @return true if the values of the property don't need to be converted
+     */
+    public boolean isIdentityConversion() {
+        return converter.isIdentity();
+    }
+
+    /**
+     * Returns true if converted values of the property can be cached (see {@link Converter#isCacheable()}).
+     * @return true if converted values of the property can be cached
+     */
+    public boolean isCacheableConversion() {
+        return converter.isCacheable();
+    }
 }
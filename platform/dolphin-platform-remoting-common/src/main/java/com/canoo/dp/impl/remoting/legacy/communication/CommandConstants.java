@@ -36,6 +36,11 @@ public interface CommandConstants {
     String EMPTY_COMMAND_ID = "Empty";
     String PRESENTATION_MODEL_DELETED_COMMAND_ID = "PresentationModelDeleted";
     String DELETE_PRESENTATION_MODEL_COMMAND_ID = "DeletePresentationModel";
+    String LIST_SPLICE_COMMAND_ID = "ListSplice";
+    String LIST_PERMUTATION_COMMAND_ID = "ListPermutation";
+    String PRESENTATION_MODEL_SCHEMA_COMMAND_ID = "PresentationModelSchema";
+    String CREATE_FROM_SCHEMA_COMMAND_ID = "CreateFromSchema";
+    String PENDING_RESPONSE_COMMAND_ID = "PendingResponse";
 
     String ID = "id";
     String ATTRIBUTE_ID = "a_id";
@@ -46,4 +51,16 @@ public interface CommandConstants {
     String VALUE = "v";
     String PARAMS = "p";
     String PM_ATTRIBUTES = "a";
+    String SOURCE_ID = "s";
+    String FROM = "f";
+    String TO = "to";
+    String VALUES = "vs";
+    String PERMUTATION = "pm";
+    String LIST_SPLICE_SUPPORTED = "ls";
+    String SCHEMA_ID = "sc";
+    String PROPERTY_NAMES = "ns";
+    String ATTRIBUTE_IDS = "as";
+    String SCHEMA_SUPPORTED = "ss";
+    String RESPONSE_CHUNK_SIZE = "cs";
+    String REMAINING_COUNT = "rc";
 }
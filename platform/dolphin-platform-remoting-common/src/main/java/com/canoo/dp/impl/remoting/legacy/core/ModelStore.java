@@ -54,11 +54,12 @@ public class ModelStore<A extends Attribute, P extends PresentationModel<A>> {
     // We maintain four indexes in this data structure in order to efficiently access
     // - presentation models: by id; by type
     // - attributes: by id; by qualifier
+    // All index operations are O(1). The type and qualifier indexes keep the insertion order.
 
-    private final Map<String, P>        presentationModels;
-    private final Map<String, List<P>>  modelsPerType;
-    private final Map<String, A>        attributesPerId;
-    private final Map<String, List<A>>  attributesPerQualifier;
+    private final Map<String, P>                presentationModels;
+    private final Map<String, IndexBucket<P>>   modelsPerType;
+    private final Map<String, A>                attributesPerId;
+    private final Map<String, IndexBucket<A>>   attributesPerQualifier;
 
     private final Set<ModelStoreListenerWrapper<A, P>> modelStoreListeners = new LinkedHashSet<ModelStoreListenerWrapper<A, P>>();
 
@@ -88,10 +89,10 @@ public class ModelStore<A extends Attribute, P extends PresentationModel<A>> {
      * @see ModelStoreConfig
      */
     public ModelStore(ModelStoreConfig config) {
-        presentationModels      = new HashMap<String, P>        (config.getPmCapacity());
-        modelsPerType           = new HashMap<String, List<P>>  (config.getTypeCapacity());
-        attributesPerId         = new HashMap<String, A>        (config.getAttributeCapacity());
-        attributesPerQualifier  = new HashMap<String, List<A>>  (config.getQualifierCapacity());
+        presentationModels      = new HashMap<String, P>                (config.getPmCapacity());
+        modelsPerType           = new HashMap<String, IndexBucket<P>>   (config.getTypeCapacity());
+        attributesPerId         = new HashMap<String, A>                (config.getAttributeCapacity());
+        attributesPerQualifier  = new HashMap<String, IndexBucket<A>>   (config.getQualifierCapacity());
     }
 
     /**
@@ -129,19 +130,15 @@ public class ModelStore<A extends Attribute, P extends PresentationModel<A>> {
         if (presentationModels.containsKey(model.getId())) {
             throw new IllegalArgumentException("There already is a PM with id " + model.getId());
         }
-        boolean added = false;
-        if (!presentationModels.containsValue(model)) {
-            presentationModels.put(model.getId(), model);
-            addPresentationModelByType(model);
-            for (A attribute : model.getAttributes()) {
-                addAttributeById(attribute);
-                attribute.addPropertyChangeListener(Attribute.QUALIFIER_NAME, ATTRIBUTE_WORKER);
-                if (!Assert.isBlank(attribute.getQualifier())) addAttributeByQualifier(attribute);
-            }
-            fireModelStoreChangedEvent(model, ModelStoreEvent.Type.ADDED);
-            added = true;
+        presentationModels.put(model.getId(), model);
+        addPresentationModelByType(model);
+        for (A attribute : model.getAttributes()) {
+            addAttributeById(attribute);
+            attribute.addPropertyChangeListener(Attribute.QUALIFIER_NAME, ATTRIBUTE_WORKER);
+            if (!Assert.isBlank(attribute.getQualifier())) addAttributeByQualifier(attribute);
         }
-        return added;
+        fireModelStoreChangedEvent(model, ModelStoreEvent.Type.ADDED);
+        return true;
     }
 
     /**
@@ -152,19 +149,16 @@ public class ModelStore<A extends Attribute, P extends PresentationModel<A>> {
      */
     public boolean remove(P model) {
         if (null == model) return false;
-        boolean removed = false;
-        if (presentationModels.containsValue(model)) {
-            removePresentationModelByType(model);
-            presentationModels.remove(model.getId());
-            for (A attribute : model.getAttributes()) {
-                removeAttributeById(attribute);
-                removeAttributeByQualifier(attribute);
-                attribute.removePropertyChangeListener(Attribute.QUALIFIER_NAME, ATTRIBUTE_WORKER);
-            }
-            fireModelStoreChangedEvent(model, ModelStoreEvent.Type.REMOVED);
-            removed = true;
+        if (presentationModels.get(model.getId()) != model) return false;
+        removePresentationModelByType(model);
+        presentationModels.remove(model.getId());
+        for (A attribute : model.getAttributes()) {
+            removeAttributeById(attribute);
+            removeAttributeByQualifier(attribute);
+            attribute.removePropertyChangeListener(Attribute.QUALIFIER_NAME, ATTRIBUTE_WORKER);
         }
-        return removed;
+        fireModelStoreChangedEvent(model, ModelStoreEvent.Type.REMOVED);
+        return true;
     }
 
     protected void addAttributeById(A attribute) {
@@ -181,54 +175,49 @@ public class ModelStore<A extends Attribute, P extends PresentationModel<A>> {
         if (null == attribute) return;
         String qualifier = attribute.getQualifier();
         if (Assert.isBlank(qualifier)) return;
-        List<A> list = attributesPerQualifier.get(qualifier);
-        if (null == list) {
-            list = new ArrayList<A>();
-            attributesPerQualifier.put(qualifier, list);
+        IndexBucket<A> bucket = attributesPerQualifier.get(qualifier);
+        if (null == bucket) {
+            bucket = new IndexBucket<A>();
+            attributesPerQualifier.put(qualifier, bucket);
         }
-        if (!list.contains(attribute)) list.add(attribute);
+        bucket.add(attribute);
     }
 
     protected void removeAttributeByQualifier(A attribute) {
         if (null == attribute) return;
-        String qualifier = attribute.getQualifier();
-        if (Assert.isBlank(qualifier)) return;
-        List<A> list = attributesPerQualifier.get(qualifier);
-        if (null != list) {
-            list.remove(attribute);
-        }
+        removeAttributeByQualifier(attribute, attribute.getQualifier());
     }
 
     protected void addPresentationModelByType(P model) {
         if (null == model) return;
         String type = model.getPresentationModelType();
         if (Assert.isBlank(type)) return;
-        List<P> list = modelsPerType.get(type);
-        if (null == list) {
-            list = new ArrayList<P>();
-            modelsPerType.put(type, list);
+        IndexBucket<P> bucket = modelsPerType.get(type);
+        if (null == bucket) {
+            bucket = new IndexBucket<P>();
+            modelsPerType.put(type, bucket);
         }
-        if (!list.contains(model)) list.add(model);
+        bucket.add(model);
     }
 
     protected void removePresentationModelByType(P model) {
         if (null == model) return;
         String type = model.getPresentationModelType();
         if (Assert.isBlank(type)) return;
-        List<P> list = modelsPerType.get(type);
-        if (null == list) return;
-        list.remove(model);
-        if (list.isEmpty()) {
+        IndexBucket<P> bucket = modelsPerType.get(type);
+        if (null == bucket) return;
+        bucket.remove(model);
+        if (bucket.isEmpty()) {
             modelsPerType.remove(type);
         }
     }
 
     protected void removeAttributeByQualifier(A attribute, String qualifier) {
         if (Assert.isBlank(qualifier)) return;
-        List<A> list = attributesPerQualifier.get(qualifier);
-        if (null == list) return;
-        list.remove(attribute);
-        if (list.isEmpty()) {
+        IndexBucket<A> bucket = attributesPerQualifier.get(qualifier);
+        if (null == bucket) return;
+        bucket.remove(attribute);
+        if (bucket.isEmpty()) {
             attributesPerQualifier.remove(qualifier);
         }
     }
@@ -252,8 +241,9 @@ public class ModelStore<A extends Attribute, P extends PresentationModel<A>> {
      * @return a {@code List} of all presentation models with the specified type.
      */
     public List<P> findAllPresentationModelsByType(String type) {
-        if (Assert.isBlank(type) || !modelsPerType.containsKey(type)) return Collections.emptyList();
-        return Collections.unmodifiableList(modelsPerType.get(type));
+        if (Assert.isBlank(type)) return Collections.emptyList();
+        IndexBucket<P> bucket = modelsPerType.get(type);
+        return null == bucket ? Collections.<P>emptyList() : bucket.asList();
     }
 
     /**
@@ -284,8 +274,9 @@ public class ModelStore<A extends Attribute, P extends PresentationModel<A>> {
      * @return a {@code List} of all attributes with the specified qualifier.
      */
     public List<A> findAllAttributesByQualifier(String qualifier) {
-        if (Assert.isBlank(qualifier) || !attributesPerQualifier.containsKey(qualifier)) return Collections.emptyList();
-        return Collections.unmodifiableList(attributesPerQualifier.get(qualifier));
+        if (Assert.isBlank(qualifier)) return Collections.emptyList();
+        IndexBucket<A> bucket = attributesPerQualifier.get(qualifier);
+        return null == bucket ? Collections.<A>emptyList() : bucket.asList();
     }
 
     /**
@@ -358,4 +349,35 @@ public class ModelStore<A extends Attribute, P extends PresentationModel<A>> {
             }
         }
     }
+
+    /**
+     * A bucket of the type or qualifier index. Adding, removing and checking an element is O(1) and the insertion
+     * order is kept. The read-only list that is returned by the find methods is created on demand and reused until
+     * the bucket changes.
+     */
+    private static final class IndexBucket<T> {
+
+        private final Set<T> elements = new LinkedHashSet<T>();
+
+        private List<T> view;
+
+        void add(T element) {
+            if (elements.add(element)) view = null;
+        }
+
+        void remove(T element) {
+            if (elements.remove(element)) view = null;
+        }
+
+        boolean isEmpty() {
+            return elements.isEmpty();
+        }
+
+        List<T> asList() {
+            if (null == view) {
+                view = Collections.unmodifiableList(new ArrayList<T>(elements));
+            }
+            return view;
+        }
+    }
 }
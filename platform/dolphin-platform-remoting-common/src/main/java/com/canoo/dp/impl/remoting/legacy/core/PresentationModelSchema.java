@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.remoting.legacy.core;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * The schema of a presentation model: its type and the ordered names of its attributes. Client and server share a
+ * table of the schemas for a session so that a presentation model can be created by only sending the id of its
+ * schema together with the ids and values of its attributes.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class PresentationModelSchema {
+
+    private final String presentationModelType;
+
+    private final List<String> propertyNames;
+
+    public PresentationModelSchema(final String presentationModelType, final List<String> propertyNames) {
+        this.presentationModelType = presentationModelType;
+        this.propertyNames = Collections.unmodifiableList(new ArrayList<>(Assert.requireNonNull(propertyNames, "propertyNames")));
+    }
+
+    public static <A extends Attribute> PresentationModelSchema of(final PresentationModel<A> model) {
+        Assert.requireNonNull(model, "model");
+        final List<A> attributes = model.getAttributes();
+        final List<String> propertyNames = new ArrayList<>(attributes.size());
+        for (final A attribute : attributes) {
+            propertyNames.add(attribute.getPropertyName());
+        }
+        return new PresentationModelSchema(model.getPresentationModelType(), propertyNames);
+    }
+
+    public String getPresentationModelType() {
+        return presentationModelType;
+    }
+
+    public List<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final PresentationModelSchema that = (PresentationModelSchema) o;
+        if (presentationModelType != null ? !presentationModelType.equals(that.presentationModelType) : that.presentationModelType != null) {
+            return false;
+        }
+        return propertyNames.equals(that.propertyNames);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = presentationModelType != null ? presentationModelType.hashCode() : 0;
+        result = 31 * result + propertyNames.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PresentationModelSchema{" + presentationModelType + " " + propertyNames + "}";
+    }
+}
@@ -19,6 +19,7 @@ import org.apiguardian.api.API;
 
 import java.util.List;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 
 /**
@@ -82,5 +83,30 @@ public interface ListChangeEvent<E> {
          * @return true if elements were replaced in the list
          */
         boolean isReplaced();
+
+        /**
+         * Returns true if the elements from {@link #getFrom()} (inclusive) to {@link #getTo()} (exclusive) were only
+         * reordered (like by sorting the list). In that case no elements were added or removed and
+         * {@link #getPermutation(int)} defines the new position of each element of the range. By default a change is no
+         * permutation.
+         *
+         * @return true if elements of the list were permutated
+         */
+        @API(since = "1.0.0", status = EXPERIMENTAL)
+        default boolean isPermutated() {
+            return false;
+        }
+
+        /**
+         * Returns the new index of the element that was located at the given index before the change.
+         *
+         * @param index the old index of an element in the range of this change
+         * @return the new index of the element
+         * @throws IllegalStateException if this change is not a permutation (see {@link #isPermutated()})
+         */
+        @API(since = "1.0.0", status = EXPERIMENTAL)
+        default int getPermutation(int index) {
+            throw new IllegalStateException("Change is not a permutation");
+        }
     }
 }
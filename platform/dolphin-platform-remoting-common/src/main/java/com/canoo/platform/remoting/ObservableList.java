@@ -20,7 +20,9 @@ import org.apiguardian.api.API;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 
 /**
@@ -115,4 +117,19 @@ public interface ObservableList<E> extends List<E> {
      * @throws IndexOutOfBoundsException if an illegal range is provided
      */
     void remove(int from, int to);
+
+    /**
+     * Executes all given modifications of the list as one batch. Registered listeners won't be notified for each
+     * single modification but only once when the batch is finished. The {@link ListChangeEvent} of the batch contains
+     * the merged changes as a minimal list of non overlapping ranges. Since the remoting layer syncs a list based on
+     * its change events this can heavily reduce the amount of data that is sent to the client or server.
+     * Batches can be nested, the changes will be fired once the outermost batch is finished. Implementations that
+     * don't support batches execute the modifications directly and fire a change event for each modification.
+     *
+     * @param modifications a consumer that modifies the list
+     */
+    @API(since = "1.0.0", status = EXPERIMENTAL)
+    default void runBatched(Consumer<? super ObservableList<E>> modifications) {
+        modifications.accept(this);
+    }
 }
@@ -53,4 +53,28 @@ public interface Converter<B, D> {
      */
     D convertToDolphin(B value) throws ValueConverterException;
 
+    /**
+     * Defines if this converter returns the given value unchanged in both directions. For such converters Dolphin
+     * Platform skips the conversion completely and uses the internal value directly. A converter should only
+     * return {@code true} if the custom data type and the Dolphin Platform supported data type are the same.
+     *
+     * @return true if the conversion does not change the value
+     */
+    default boolean isIdentity() {
+        return false;
+    }
+
+    /**
+     * Defines if a value that was created by {@link #convertFromDolphin(Object)} can be reused for later calls with
+     * the same internal value. Dolphin Platform caches the converted value of a property in that case. A converter
+     * should only return {@code true} if the custom data type is immutable (like {@link java.time.LocalDate}) since a
+     * cached instance is returned to every caller. Converters for mutable types like {@link java.util.Date} must
+     * return {@code false}.
+     *
+     * @return true if converted values can be cached
+     */
+    default boolean isCacheable() {
+        return false;
+    }
+
 }
@@ -23,6 +23,8 @@ import org.testng.annotations.Test;
 import java.util.Date;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 public class ConverterTest {
@@ -70,6 +72,17 @@ public class ConverterTest {
         checkConversion(converter, Double.MIN_VALUE);
     }
 
+    @Test
+    public void testIdentityConverters() {
+        Converters converters = new Converters(null);
+
+        assertTrue(converters.getConverter(String.class).isIdentity());
+        assertTrue(converters.getConverter(Boolean.class).isIdentity());
+        assertTrue(converters.getConverter(boolean.class).isIdentity());
+        assertFalse(converters.getConverter(Integer.class).isIdentity());
+        assertFalse(converters.getConverter(Date.class).isIdentity());
+    }
+
     private void checkConversion(Converter converter, Object val) {
         try {
             Object converted = converter.convertToDolphin(val);
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dolphin.impl;
+
+import com.canoo.dp.impl.remoting.PropertyImpl;
+import com.canoo.dp.impl.remoting.converters.DateConverterFactory;
+import com.canoo.dp.impl.remoting.info.PropertyInfo;
+import com.canoo.dp.impl.remoting.legacy.core.BaseAttribute;
+import com.canoo.platform.remoting.spi.converter.Converter;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class PropertyImplTest {
+
+    @Test
+    public void testConvertedValueIsCached() {
+        //given:
+        final CountingConverter converter = new CountingConverter(false, true);
+        final TestAttribute attribute = new TestAttribute("42");
+        final PropertyImpl<Integer> property = new PropertyImpl<>(attribute, new TestPropertyInfo(converter));
+
+        //when:
+        final Integer firstValue = property.get();
+        final Integer secondValue = property.get();
+
+        //then:
+        assertEquals(firstValue, Integer.valueOf(42));
+        assertSame(secondValue, firstValue);
+        assertEquals(converter.getFromDolphinCount(), 1);
+    }
+
+    @Test
+    public void testCacheIsUpdatedOnAttributeChange() {
+        //given:
+        final CountingConverter converter = new CountingConverter(false, true);
+        final TestAttribute attribute = new TestAttribute("1");
+        final PropertyImpl<Integer> property = new PropertyImpl<>(attribute, new TestPropertyInfo(converter));
+        final List<Integer> oldValues = new ArrayList<>();
+        final List<Integer> newValues = new ArrayList<>();
+        property.onChanged(e -> {
+            oldValues.add(e.getOldValue());
+            newValues.add(e.getNewValue());
+        });
+        property.get();
+
+        //when:
+        attribute.setValue("2");
+
+        //then:
+        assertEquals(oldValues.size(), 1);
+        assertEquals(oldValues.get(0), Integer.valueOf(1));
+        assertEquals(newValues.get(0), Integer.valueOf(2));
+        assertEquals(property.get(), Integer.valueOf(2));
+        assertEquals(converter.getFromDolphinCount(), 2);
+
+        //when:
+        property.set(3);
+
+        //then:
+        assertEquals(attribute.getValue(), "3");
+        assertEquals(property.get(), Integer.valueOf(3));
+        assertEquals(newValues.get(1), Integer.valueOf(3));
+        assertEquals(converter.getFromDolphinCount(), 3);
+    }
+
+    @Test
+    public void testIdentityConverterIsSkipped() {
+        //given:
+        final CountingConverter converter = new CountingConverter(true, false);
+        final TestAttribute attribute = new TestAttribute("Hello");
+        final PropertyImpl<Object> property = new PropertyImpl<>(attribute, new TestPropertyInfo(converter));
+        final List<Object> newValues = new ArrayList<>();
+        property.onChanged(e -> newValues.add(e.getNewValue()));
+
+        //when:
+        final Object value = property.get();
+        property.set("World");
+        property.set(null);
+
+        //then:
+        assertEquals(value, "Hello");
+        assertEquals(newValues.size(), 2);
+        assertEquals(newValues.get(0), "World");
+        assertNull(newValues.get(1));
+        assertNull(property.get());
+        assertEquals(converter.getFromDolphinCount(), 0);
+        assertEquals(converter.getToDolphinCount(), 0);
+    }
+
+    @Test
+    public void testNonCacheableValueIsConvertedOnEveryAccess() {
+        //given:
+        final CountingConverter converter = new CountingConverter(false, false);
+        final TestAttribute attribute = new TestAttribute("42");
+        final PropertyImpl<Integer> property = new PropertyImpl<>(attribute, new TestPropertyInfo(converter));
+
+        //when:
+        property.get();
+        property.get();
+
+        //then:
+        assertEquals(converter.getFromDolphinCount(), 2);
+    }
+
+    @Test
+    public void testMutatedDateDoesNotChangeProperty() {
+        //given:
+        final Date date = new Date(1000L);
+        final Converter converter = new DateConverterFactory().getConverterForType(Date.class);
+        final TestAttribute attribute = new TestAttribute(date);
+        final PropertyImpl<Date> property = new PropertyImpl<>(attribute, new TestPropertyInfo(converter));
+
+        //when:
+        property.get().setTime(2000L);
+
+        //then:
+        assertEquals(property.get(), date);
+        assertEquals(property.get().getTime(), 1000L);
+        assertNotSame(property.get(), property.get());
+    }
+
+    private static class CountingConverter implements Converter<Object, Object> {
+
+        private final boolean identity;
+
+        private final boolean cacheable;
+
+        private final AtomicInteger fromDolphinCount = new AtomicInteger();
+
+        private final AtomicInteger toDolphinCount = new AtomicInteger();
+
+        private CountingConverter(final boolean identity, final boolean cacheable) {
+            this.identity = identity;
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public Object convertFromDolphin(final Object value) {
+            fromDolphinCount.incrementAndGet();
+            return value == null ? null : Integer.valueOf(value.toString());
+        }
+
+        @Override
+        public Object convertToDolphin(final Object value) {
+            toDolphinCount.incrementAndGet();
+            return value == null ? null : value.toString();
+        }
+
+        @Override
+        public boolean isIdentity() {
+            return identity;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return cacheable;
+        }
+
+        public int getFromDolphinCount() {
+            return fromDolphinCount.get();
+        }
+
+        public int getToDolphinCount() {
+            return toDolphinCount.get();
+        }
+    }
+
+    private static class TestPropertyInfo extends PropertyInfo {
+
+        private TestPropertyInfo(final Converter converter) {
+            super("value", converter);
+        }
+
+        @Override
+        public Object getPrivileged(final Object bean) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setPriviliged(final Object bean, final Object value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class TestAttribute extends BaseAttribute {
+
+        private TestAttribute(final Object value) {
+            super("value", value);
+        }
+
+        @Override
+        public String getOrigin() {
+            return "T";
+        }
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dolphin.impl.codec;
+
+import com.canoo.dp.impl.remoting.codec.BinaryCodec;
+import com.canoo.dp.impl.remoting.commands.CallActionCommand;
+import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
+import com.canoo.dp.impl.remoting.commands.CreateControllerCommand;
+import com.canoo.dp.impl.remoting.commands.CreateFromSchemaCommand;
+import com.canoo.dp.impl.remoting.commands.ListPermutationCommand;
+import com.canoo.dp.impl.remoting.commands.ListSpliceCommand;
+import com.canoo.dp.impl.remoting.commands.PendingResponseCommand;
+import com.canoo.dp.impl.remoting.commands.PresentationModelSchemaCommand;
+import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
+import com.canoo.dp.impl.remoting.legacy.core.Attribute;
+import com.canoo.dp.impl.remoting.legacy.core.PresentationModelSchema;
+import com.canoo.dp.impl.remoting.converters.ZonedDateTimeConverterFactory;
+import com.canoo.platform.remoting.spi.converter.Converter;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestBinaryCodec {
+
+    @Test
+    public void shouldTransferCommands() throws IOException {
+        //given:
+        final BinaryCodec clientCodec = new BinaryCodec();
+        final BinaryCodec serverCodec = new BinaryCodec();
+
+        //when:
+        final List<Command> commands = decode(serverCodec, encode(clientCodec, createCommands()));
+
+        //then:
+        assertEquals(commands.size(), 4);
+
+        final CreatePresentationModelCommand createCommand = (CreatePresentationModelCommand) commands.get(0);
+        assertEquals(createCommand.getPmId(), "05ee43b7-a884-4d42-9fc5-00b083664eed");
+        assertEquals(createCommand.getPmType(), "com.canoo.sample.Bean");
+        assertFalse(createCommand.isClientSideOnly());
+        assertEquals(createCommand.getAttributes().size(), 2);
+        assertEquals(createCommand.getAttributes().get(0).get(Attribute.PROPERTY_NAME), "name");
+        assertEquals(createCommand.getAttributes().get(0).get(Attribute.ID), "1S");
+        assertEquals(createCommand.getAttributes().get(0).get(Attribute.VALUE_NAME), "Hello");
+        assertEquals(createCommand.getAttributes().get(1).get(Attribute.ID), "2S");
+        assertNull(createCommand.getAttributes().get(1).get(Attribute.VALUE_NAME));
+
+        final ValueChangedCommand valueChangedCommand = (ValueChangedCommand) commands.get(1);
+        assertEquals(valueChangedCommand.getAttributeId(), "1S");
+        assertEquals(valueChangedCommand.getNewValue(), "World");
+
+        final CallActionCommand callActionCommand = (CallActionCommand) commands.get(2);
+        assertEquals(callActionCommand.getControllerId(), "4711");
+        assertEquals(callActionCommand.getActionName(), "action");
+        assertEquals(callActionCommand.getParams().get("A"), 42);
+
+        final CreateControllerCommand createControllerCommand = (CreateControllerCommand) commands.get(3);
+        assertEquals(createControllerCommand.getControllerName(), "SampleController");
+        assertNull(createControllerCommand.getParentControllerId());
+    }
+
+    @Test
+    public void shouldTransferValues() throws IOException {
+        //given:
+        final BinaryCodec clientCodec = new BinaryCodec();
+        final BinaryCodec serverCodec = new BinaryCodec();
+        final List<Object> values = Arrays.<Object>asList(null, "Gr\u00fc\u00dfe \uD83D\uDE00", true, false, 0, -1, Integer.MIN_VALUE,
+                Integer.MAX_VALUE, Long.MIN_VALUE, 987654321234567890L, 2.7182f, -2.7182, Double.NaN);
+
+        //when:
+        final List<Command> commands = decode(serverCodec, encode(clientCodec, createValueChangedCommands(values)));
+
+        //then:
+        assertEquals(commands.size(), values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(((ValueChangedCommand) commands.get(i)).getNewValue(), values.get(i));
+        }
+    }
+
+    @Test
+    public void shouldTransferOtherNumbersAsNumber() throws IOException {
+        //given:
+        final BinaryCodec clientCodec = new BinaryCodec();
+        final BinaryCodec serverCodec = new BinaryCodec();
+        final List<Object> values = Arrays.<Object>asList(new BigDecimal("12345678901234567890.123456789"), (short) 12);
+
+        //when:
+        final List<Command> commands = decode(serverCodec, encode(clientCodec, createValueChangedCommands(values)));
+
+        //then:
+        assertEquals(new BigDecimal(((Number) ((ValueChangedCommand) commands.get(0)).getNewValue()).toString()), values.get(0));
+        assertEquals(((Number) ((ValueChangedCommand) commands.get(1)).getNewValue()).shortValue(), (short) 12);
+    }
+
+    @Test
+    public void shouldTransferNativeValues() throws IOException {
+        //given:
+        final BinaryCodec clientCodec = new BinaryCodec();
+        final BinaryCodec serverCodec = new BinaryCodec();
+        final List<Object> values = Arrays.<Object>asList(
+                ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 123456789, ZoneId.of("Europe/Berlin")),
+                ZonedDateTime.of(1901, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(-3)),
+                new Date(1520166615123L), new Date(-1L),
+                new BigDecimal("1234.50"), new BigDecimal("-0.000001"), new BigDecimal("1E+12"),
+                UUID.randomUUID(), new UUID(0L, -1L));
+
+        //when:
+        final byte[] message = encode(clientCodec, createValueChangedCommands(values));
+        final List<Command> commands = decode(serverCodec, message);
+
+        //then:
+        assertEquals(commands.size(), values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(((ValueChangedCommand) commands.get(i)).getNewValue(), values.get(i));
+        }
+    }
+
+    @Test
+    public void shouldKeepZoneOfZonedDateTime() throws Exception {
+        //given:
+        final BinaryCodec clientCodec = new BinaryCodec();
+        final BinaryCodec serverCodec = new BinaryCodec();
+        final Converter converter = new ZonedDateTimeConverterFactory().getConverterForType(ZonedDateTime.class);
+        final List<ZonedDateTime> values = createZonedDateTimes();
+
+        //when:
+        final List<Command> commands = decode(serverCodec, encode(clientCodec, createValueChangedCommands(new ArrayList<Object>(values))));
+
+        //then:
+        assertEquals(commands.size(), values.size());
+        for (int i = 0; i < values.size(); i++) {
+            final ZonedDateTime decoded = (ZonedDateTime) converter.convertFromDolphin(((ValueChangedCommand) commands.get(i)).getNewValue());
+            assertEquals(decoded, values.get(i));
+            assertEquals(decoded.getZone(), values.get(i).getZone());
+        }
+    }
+
+    @Test
+    public void shouldReferenceAcknowledgedIds() throws IOException {
+        //given:
+        final BinaryCodec clientCodec = new BinaryCodec();
+        final BinaryCodec serverCodec = new BinaryCodec();
+        final List<Command> commands = createValueChangedCommands(Arrays.<Object>asList(1, 2, 3));
+        final byte[] firstMessage = encode(clientCodec, commands);
+        decode(serverCodec, firstMessage);
+
+        //when:
+        final byte[] secondMessage = encode(clientCodec, commands);
+        decode(clientCodec, encode(serverCodec, Collections.<Command>emptyList()));
+        final byte[] thirdMessage = encode(clientCodec, commands);
+
+        //then:
+        assertEquals(secondMessage.length, firstMessage.length);
+        assertTrue(thirdMessage.length < secondMessage.length);
+        final List<Command> decoded = decode(serverCodec, thirdMessage);
+        assertEquals(((ValueChangedCommand) decoded.get(2)).getAttributeId(), "attribute-0");
+        assertEquals(((ValueChangedCommand) decoded.get(2)).getNewValue(), 3);
+    }
+
+    @Test
+    public void shouldSupportMessagesInDifferentOrder() throws IOException {
+        //given:
+        final BinaryCodec clientCodec = new BinaryCodec();
+        final BinaryCodec serverCodec = new BinaryCodec();
+        final byte[] firstMessage = encode(clientCodec, createValueChangedCommands(Arrays.<Object>asList(1, 2)));
+        final byte[] secondMessage = encode(clientCodec, createValueChangedCommands(Arrays.<Object>asList(3, 4)));
+
+        //when:
+        final List<Command> secondCommands = decode(serverCodec, secondMessage);
+        final List<Command> firstCommands = decode(serverCodec, firstMessage);
+
+        //then:
+        assertEquals(((ValueChangedCommand) secondCommands.get(1)).getAttributeId(), "attribute-1");
+        assertEquals(((ValueChangedCommand) firstCommands.get(1)).getAttributeId(), "attribute-1");
+    }
+
+    @Test
+    public void shouldSupportNewClient() throws IOException {
+        //given:
+        final BinaryCodec serverCodec = new BinaryCodec();
+        final BinaryCodec oldClientCodec = new BinaryCodec();
+        decode(serverCodec, encode(oldClientCodec, createValueChangedCommands(Arrays.<Object>asList(1, 2))));
+        decode(oldClientCodec, encode(serverCodec, Collections.<Command>emptyList()));
+        decode(serverCodec, encode(oldClientCodec, createValueChangedCommands(Arrays.<Object>asList(1, 2))));
+
+        //when:
+        final BinaryCodec newClientCodec = new BinaryCodec();
+        final ValueChangedCommand command = new ValueChangedCommand();
+        command.setAttributeId("other");
+        final List<Command> commands = decode(serverCodec, encode(newClientCodec, Collections.<Command>singletonList(command)));
+
+        //then:
+        assertEquals(((ValueChangedCommand) commands.get(0)).getAttributeId(), "other");
+    }
+
+    @Test
+    public void shouldTransferCommandWithoutContent() throws IOException {
+        //when:
+        final List<Command> commands = decode(new BinaryCodec(), encode(new BinaryCodec(), Collections.<Command>singletonList(new InterruptLongPollCommand())));
+
+        //then:
+        assertEquals(commands.size(), 1);
+        assertTrue(commands.get(0) instanceof InterruptLongPollCommand);
+    }
+
+    @Test
+    public void shouldTransferListSpliceCommand() throws IOException {
+        //given:
+        final ListSpliceCommand command = new ListSpliceCommand("42", "items", 2, 5, Arrays.<Object>asList("A", 7, null, 1.5));
+
+        //when:
+        final List<Command> commands = decode(new BinaryCodec(), encode(new BinaryCodec(), Collections.<Command>singletonList(command)));
+
+        //then:
+        assertEquals(commands.size(), 1);
+        final ListSpliceCommand decoded = (ListSpliceCommand) commands.get(0);
+        assertEquals(decoded.getSourceId(), "42");
+        assertEquals(decoded.getAttributeName(), "items");
+        assertEquals(decoded.getFrom(), 2);
+        assertEquals(decoded.getTo(), 5);
+        assertEquals(decoded.getValues(), Arrays.<Object>asList("A", 7, null, 1.5));
+    }
+
+    @Test
+    public void shouldTransferListPermutationCommand() throws IOException {
+        //given:
+        final ListPermutationCommand command = new ListPermutationCommand("42", "items", 3, new int[]{2, 0, 1});
+
+        //when:
+        final List<Command> commands = decode(new BinaryCodec(), encode(new BinaryCodec(), Collections.<Command>singletonList(command)));
+
+        //then:
+        assertEquals(commands.size(), 1);
+        final ListPermutationCommand decoded = (ListPermutationCommand) commands.get(0);
+        assertEquals(decoded.getSourceId(), "42");
+        assertEquals(decoded.getAttributeName(), "items");
+        assertEquals(decoded.getFrom(), 3);
+        assertTrue(Arrays.equals(decoded.getPermutation(), new int[]{2, 0, 1}));
+    }
+
+    @Test
+    public void shouldTransferListSpliceSupportOfCreateContextCommand() throws IOException {
+        //given:
+        final CreateContextCommand command = new CreateContextCommand();
+        command.setListSpliceCommandSupported(true);
+
+        //when:
+        final List<Command> commands = decode(new BinaryCodec(), encode(new BinaryCodec(), Collections.<Command>singletonList(command)));
+
+        //then:
+        assertTrue(((CreateContextCommand) commands.get(0)).isListSpliceCommandSupported());
+    }
+
+    @Test
+    public void shouldTransferSchemaSupportOfCreateContextCommand() throws IOException {
+        //given:
+        final CreateContextCommand command = new CreateContextCommand();
+        command.setPresentationModelSchemaSupported(true);
+
+        //when:
+        final List<Command> commands = decode(new BinaryCodec(), encode(new BinaryCodec(), Collections.<Command>singletonList(command)));
+
+        //then:
+        assertFalse(((CreateContextCommand) commands.get(0)).isListSpliceCommandSupported());
+        assertTrue(((CreateContextCommand) commands.get(0)).isPresentationModelSchemaSupported());
+    }
+
+    @Test
+    public void shouldTransferResponseChunking() throws IOException {
+        //given:
+        final CreateContextCommand createContextCommand = new CreateContextCommand();
+        createContextCommand.setPresentationModelSchemaSupported(true);
+        createContextCommand.setResponseChunkSize(5000);
+        final List<Command> sent = Arrays.<Command>asList(createContextCommand, new PendingResponseCommand(12345));
+
+        //when:
+        final List<Command> commands = decode(new BinaryCodec(), encode(new BinaryCodec(), sent));
+
+        //then:
+        assertEquals(commands.size(), 2);
+        assertTrue(((CreateContextCommand) commands.get(0)).isPresentationModelSchemaSupported());
+        assertEquals(((CreateContextCommand) commands.get(0)).getResponseChunkSize(), 5000);
+        assertEquals(((PendingResponseCommand) commands.get(1)).getRemainingCommandCount(), 12345);
+    }
+
+    @Test
+    public void shouldTransferSchemaAndCreateFromSchemaCommands() throws IOException {
+        //given:
+        final PresentationModelSchemaCommand schemaCommand = new PresentationModelSchemaCommand(7, new PresentationModelSchema("Person", Arrays.asList("name", "age")));
+        final CreateFromSchemaCommand createCommand = new CreateFromSchemaCommand(7, "pm1");
+        createCommand.addAttribute("1S", "Hugo");
+        createCommand.addAttribute("2S", null);
+
+        //when:
+        final List<Command> commands = decode(new BinaryCodec(), encode(new BinaryCodec(), Arrays.<Command>asList(schemaCommand, createCommand)));
+
+        //then:
+        assertEquals(commands.size(), 2);
+        final PresentationModelSchemaCommand decodedSchema = (PresentationModelSchemaCommand) commands.get(0);
+        assertEquals(decodedSchema.getSchemaId(), 7);
+        assertEquals(decodedSchema.getSchema(), schemaCommand.getSchema());
+        final CreateFromSchemaCommand decodedCreate = (CreateFromSchemaCommand) commands.get(1);
+        assertEquals(decodedCreate.getSchemaId(), 7);
+        assertEquals(decodedCreate.getPmId(), "pm1");
+        assertEquals(decodedCreate.getAttributeIds(), Arrays.asList("1S", "2S"));
+        assertEquals(decodedCreate.getValues(), Arrays.asList("Hugo", null));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldFailForTruncatedMessage() throws IOException {
+        //given:
+        final byte[] message = encode(new BinaryCodec(), createCommands());
+
+        //when:
+        new BinaryCodec().decode(new ByteArrayInputStream(Arrays.copyOf(message, message.length - 3)));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldFailForJson() throws IOException {
+        new BinaryCodec().decode(new ByteArrayInputStream("[{\"id\":\"StartLongPoll\"}]".getBytes("UTF-8")));
+    }
+
+    private static byte[] encode(final BinaryCodec codec, final List<? extends Command> commands) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        codec.encode(commands, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static List<Command> decode(final BinaryCodec codec, final byte[] message) throws IOException {
+        return codec.decode(new ByteArrayInputStream(message));
+    }
+
+    private static List<ZonedDateTime> createZonedDateTimes() {
+        return Arrays.asList(
+                ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 123456789, ZoneId.of("Europe/Berlin")),
+                ZonedDateTime.of(2018, 7, 1, 23, 59, 59, 0, ZoneId.of("America/Sao_Paulo")),
+                ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 0, ZoneOffset.UTC),
+                ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 1000000, ZoneOffset.ofHoursMinutes(5, 30)),
+                ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 0, ZoneId.of("GMT")));
+    }
+
+    private static List<Command> createValueChangedCommands(final List<Object> values) {
+        final List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            final ValueChangedCommand command = new ValueChangedCommand();
+            command.setAttributeId("attribute-" + (i % 2));
+            command.setNewValue(values.get(i));
+            commands.add(command);
+        }
+        return commands;
+    }
+
+    private static List<Command> createCommands() {
+        final CreatePresentationModelCommand createCommand = new CreatePresentationModelCommand();
+        createCommand.setPmId("05ee43b7-a884-4d42-9fc5-00b083664eed");
+        createCommand.setPmType("com.canoo.sample.Bean");
+        final List<Map<String, Object>> attributes = new ArrayList<>();
+        final Map<String, Object> nameAttribute = new HashMap<>();
+        nameAttribute.put(Attribute.PROPERTY_NAME, "name");
+        nameAttribute.put(Attribute.ID, "1S");
+        nameAttribute.put(Attribute.VALUE_NAME, "Hello");
+        attributes.add(nameAttribute);
+        final Map<String, Object> countAttribute = new HashMap<>();
+        countAttribute.put(Attribute.PROPERTY_NAME, "count");
+        countAttribute.put(Attribute.ID, "2S");
+        attributes.add(countAttribute);
+        createCommand.setAttributes(attributes);
+
+        final ValueChangedCommand valueChangedCommand = new ValueChangedCommand();
+        valueChangedCommand.setAttributeId("1S");
+        valueChangedCommand.setNewValue("World");
+
+        final CallActionCommand callActionCommand = new CallActionCommand();
+        callActionCommand.setControllerId("4711");
+        callActionCommand.setActionName("action");
+        callActionCommand.addParam("A", 42);
+
+        final CreateControllerCommand createControllerCommand = new CreateControllerCommand();
+        createControllerCommand.setControllerName("SampleController");
+
+        return Arrays.asList(createCommand, valueChangedCommand, callActionCommand, createControllerCommand);
+    }
+}
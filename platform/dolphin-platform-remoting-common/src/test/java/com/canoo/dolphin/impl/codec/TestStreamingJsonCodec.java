@@ -0,0 +1,433 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dolphin.impl.codec;
+
+import com.canoo.dp.impl.remoting.codec.OptimizedJsonCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
+import com.canoo.dp.impl.remoting.commands.CallActionCommand;
+import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
+import com.canoo.dp.impl.remoting.commands.CreateControllerCommand;
+import com.canoo.dp.impl.remoting.commands.CreateFromSchemaCommand;
+import com.canoo.dp.impl.remoting.commands.ListPermutationCommand;
+import com.canoo.dp.impl.remoting.commands.ListSpliceCommand;
+import com.canoo.dp.impl.remoting.commands.PendingResponseCommand;
+import com.canoo.dp.impl.remoting.commands.PresentationModelSchemaCommand;
+import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
+import com.canoo.dp.impl.remoting.legacy.core.Attribute;
+import com.canoo.dp.impl.remoting.legacy.core.PresentationModelSchema;
+import com.canoo.dp.impl.remoting.converters.ZonedDateTimeConverterFactory;
+import com.canoo.platform.remoting.spi.converter.Converter;
+import com.google.gson.JsonParseException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestStreamingJsonCodec {
+
+    @Test
+    public void shouldEncodeEmptyList() {
+        //when:
+        final String actual = StreamingJsonCodec.getInstance().encode(Collections.<Command>emptyList());
+
+        //then:
+        assertEquals(actual, "[]");
+    }
+
+    @Test
+    public void shouldEncodeValueChangedCommand() {
+        //given:
+        final ValueChangedCommand command = new ValueChangedCommand();
+        command.setNewValue("Good Bye");
+        command.setAttributeId("3357S");
+
+        //when:
+        final String actual = StreamingJsonCodec.getInstance().encode(Collections.<Command>singletonList(command));
+
+        //then:
+        assertEquals(actual, "[{\"id\":\"ValueChanged\",\"a_id\":\"3357S\",\"v\":\"Good Bye\"}]");
+    }
+
+    @Test
+    public void shouldEncodeValueChangedCommandWithNulls() {
+        //given:
+        final ValueChangedCommand command = new ValueChangedCommand();
+        command.setAttributeId("3357S");
+
+        //when:
+        final String actual = StreamingJsonCodec.getInstance().encode(Collections.<Command>singletonList(command));
+
+        //then:
+        assertEquals(actual, "[{\"id\":\"ValueChanged\",\"a_id\":\"3357S\"}]");
+    }
+
+    @Test
+    public void shouldEncodeNativeValuesInLegacyFormat() {
+        //given:
+        final ValueChangedCommand dateCommand = new ValueChangedCommand();
+        dateCommand.setAttributeId("1");
+        dateCommand.setNewValue(ZonedDateTime.of(2018, 3, 4, 13, 30, 15, 123000000, ZoneId.of("Europe/Berlin")));
+        final ValueChangedCommand uuidCommand = new ValueChangedCommand();
+        uuidCommand.setAttributeId("2");
+        uuidCommand.setNewValue(new UUID(0L, 1L));
+
+        //when:
+        final String actual = StreamingJsonCodec.getInstance().encode(Arrays.<Command>asList(dateCommand, uuidCommand));
+
+        //then:
+        assertEquals(actual, "[{\"id\":\"ValueChanged\",\"a_id\":\"1\",\"v\":\"2018-03-04T12:30:15.123Z\"}," +
+                "{\"id\":\"ValueChanged\",\"a_id\":\"2\",\"v\":\"00000000-0000-0000-0000-000000000001\"}]");
+    }
+
+    @Test
+    public void shouldKeepInstantOfZonedDateTime() throws Exception {
+        //given:
+        final Converter converter = new ZonedDateTimeConverterFactory().getConverterForType(ZonedDateTime.class);
+        final List<ZonedDateTime> values = Arrays.asList(
+                ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 123456789, ZoneId.of("Europe/Berlin")),
+                ZonedDateTime.of(2018, 7, 1, 23, 59, 59, 0, ZoneId.of("America/Sao_Paulo")),
+                ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 0, ZoneOffset.UTC),
+                ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 1000000, ZoneOffset.ofHoursMinutes(5, 30)),
+                ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 0, ZoneId.of("GMT")));
+        final List<Command> commands = new ArrayList<>();
+        for (final ZonedDateTime value : values) {
+            final ValueChangedCommand command = new ValueChangedCommand();
+            command.setAttributeId(Integer.toString(commands.size()));
+            command.setNewValue(converter.convertToDolphin(value));
+            commands.add(command);
+        }
+
+        //when:
+        final List<Command> decoded = StreamingJsonCodec.getInstance().decode(StreamingJsonCodec.getInstance().encode(commands));
+
+        //then:
+        assertEquals(decoded.size(), values.size());
+        for (int i = 0; i < values.size(); i++) {
+            final ZonedDateTime value = (ZonedDateTime) converter.convertFromDolphin(((ValueChangedCommand) decoded.get(i)).getNewValue());
+            assertEquals(value.toInstant(), values.get(i).toInstant().truncatedTo(ChronoUnit.MILLIS));
+            assertEquals(value.getZone(), ZoneId.systemDefault());
+        }
+    }
+
+    @Test
+    public void shouldDecodeLegacyDateInDefaultZone() throws Exception {
+        //given:
+        final Converter converter = new ZonedDateTimeConverterFactory().getConverterForType(ZonedDateTime.class);
+
+        //when:
+        final ZonedDateTime value = (ZonedDateTime) converter.convertFromDolphin("2018-03-04T12:30:15.123Z");
+
+        //then:
+        assertEquals(value.toInstant(), ZonedDateTime.of(2018, 3, 4, 12, 30, 15, 123000000, ZoneOffset.UTC).toInstant());
+        assertEquals(value.getZone(), ZoneId.systemDefault());
+    }
+
+    @Test
+    public void shouldEncodeCallActionWithParamsCommand() {
+        //given:
+        final CallActionCommand command = new CallActionCommand();
+        command.setControllerId("4711");
+        command.setActionName("action");
+        command.addParam("A", 1);
+        command.addParam("B", 7.6);
+        command.addParam("C", true);
+        command.addParam("D", null);
+        command.addParam("E", "Hello");
+
+        //when:
+        final String actual = StreamingJsonCodec.getInstance().encode(Collections.<Command>singletonList(command));
+
+        //then:
+        assertEquals(actual, "[{\"id\":\"CallAction\",\"c_id\":\"4711\",\"n\":\"action\",\"p\":[{\"n\":\"A\",\"v\":1},{\"n\":\"B\",\"v\":7.6},{\"n\":\"C\",\"v\":true},{\"n\":\"D\",\"v\":null},{\"n\":\"E\",\"v\":\"Hello\"}]}]");
+    }
+
+    @Test
+    public void shouldEncodeListSpliceCommand() {
+        //given:
+        final ListSpliceCommand command = new ListSpliceCommand("42", "items", 1, 3, Arrays.<Object>asList("A", 2, null));
+
+        //when:
+        final String actual = StreamingJsonCodec.getInstance().encode(Collections.<Command>singletonList(command));
+
+        //then:
+        assertEquals(actual, "[{\"id\":\"ListSplice\",\"s\":\"42\",\"n\":\"items\",\"f\":1,\"to\":3,\"vs\":[\"A\",2,null]}]");
+    }
+
+    @Test
+    public void shouldDecodeListSpliceCommand() {
+        //when:
+        final List<Command> commands = StreamingJsonCodec.getInstance().decode("[{\"id\":\"ListSplice\",\"s\":\"42\",\"n\":\"items\",\"f\":0,\"to\":2,\"vs\":[true,\"B\"]}]");
+
+        //then:
+        assertEquals(commands.size(), 1);
+        final ListSpliceCommand command = (ListSpliceCommand) commands.get(0);
+        assertEquals(command.getSourceId(), "42");
+        assertEquals(command.getAttributeName(), "items");
+        assertEquals(command.getFrom(), 0);
+        assertEquals(command.getTo(), 2);
+        assertEquals(command.getValues(), Arrays.<Object>asList(true, "B"));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeListPermutationCommand() {
+        //given:
+        final ListPermutationCommand command = new ListPermutationCommand("42", "items", 3, new int[]{2, 0, 1});
+
+        //when:
+        final String encoded = StreamingJsonCodec.getInstance().encode(Collections.<Command>singletonList(command));
+        final List<Command> decoded = StreamingJsonCodec.getInstance().decode(encoded);
+
+        //then:
+        assertEquals(encoded, "[{\"id\":\"ListPermutation\",\"s\":\"42\",\"n\":\"items\",\"f\":3,\"pm\":[2,0,1]}]");
+        final ListPermutationCommand decodedCommand = (ListPermutationCommand) decoded.get(0);
+        assertEquals(decodedCommand.getFrom(), 3);
+        assertTrue(Arrays.equals(decodedCommand.getPermutation(), new int[]{2, 0, 1}));
+    }
+
+    @Test
+    public void shouldTransferListSpliceSupportOfCreateContextCommand() {
+        //given:
+        final CreateContextCommand command = new CreateContextCommand();
+        command.setListSpliceCommandSupported(true);
+
+        //when:
+        final String encoded = StreamingJsonCodec.getInstance().encode(Collections.<Command>singletonList(command));
+        final List<Command> decoded = StreamingJsonCodec.getInstance().decode(encoded);
+        final List<Command> decodedLegacy = StreamingJsonCodec.getInstance().decode("[{\"id\":\"CreateContext\"}]");
+
+        //then:
+        assertTrue(((CreateContextCommand) decoded.get(0)).isListSpliceCommandSupported());
+        assertFalse(((CreateContextCommand) decodedLegacy.get(0)).isListSpliceCommandSupported());
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeResponseChunking() {
+        //given:
+        final CreateContextCommand createContextCommand = new CreateContextCommand();
+        createContextCommand.setResponseChunkSize(5000);
+
+        //when:
+        final String encoded = StreamingJsonCodec.getInstance().encode(Arrays.<Command>asList(createContextCommand, new PendingResponseCommand(7)));
+        final List<Command> decoded = StreamingJsonCodec.getInstance().decode(encoded);
+        final List<Command> decodedByOptimizedCodec = OptimizedJsonCodec.getInstance().decode(encoded);
+
+        //then:
+        assertEquals(encoded, "[{\"id\":\"CreateContext\",\"cs\":5000},{\"id\":\"PendingResponse\",\"rc\":7}]");
+        assertEquals(((CreateContextCommand) decoded.get(0)).getResponseChunkSize(), 5000);
+        assertEquals(((PendingResponseCommand) decoded.get(1)).getRemainingCommandCount(), 7);
+        assertEquals(((CreateContextCommand) decodedByOptimizedCodec.get(0)).getResponseChunkSize(), 5000);
+        assertEquals(((PendingResponseCommand) decodedByOptimizedCodec.get(1)).getRemainingCommandCount(), 7);
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeSchemaAndCreateFromSchemaCommands() {
+        //given:
+        final PresentationModelSchemaCommand schemaCommand = new PresentationModelSchemaCommand(0, new PresentationModelSchema("Person", Arrays.asList("name", "age")));
+        final CreateFromSchemaCommand createCommand = new CreateFromSchemaCommand(0, "pm1");
+        createCommand.addAttribute("1S", "Hugo");
+        createCommand.addAttribute("2S", true);
+
+        //when:
+        final String encoded = StreamingJsonCodec.getInstance().encode(Arrays.<Command>asList(schemaCommand, createCommand));
+        final List<Command> decoded = StreamingJsonCodec.getInstance().decode(encoded);
+
+        //then:
+        assertEquals(encoded, "[{\"id\":\"PresentationModelSchema\",\"sc\":0,\"t\":\"Person\",\"ns\":[\"name\",\"age\"]},"
+                + "{\"id\":\"CreateFromSchema\",\"sc\":0,\"p_id\":\"pm1\",\"as\":[\"1S\",\"2S\"],\"vs\":[\"Hugo\",true]}]");
+        assertEquals(((PresentationModelSchemaCommand) decoded.get(0)).getSchema(), schemaCommand.getSchema());
+        final CreateFromSchemaCommand decodedCreate = (CreateFromSchemaCommand) decoded.get(1);
+        assertEquals(decodedCreate.getPmId(), "pm1");
+        assertEquals(decodedCreate.getAttributeIds(), Arrays.asList("1S", "2S"));
+        assertEquals(decodedCreate.getValues(), Arrays.<Object>asList("Hugo", true));
+    }
+
+    @Test(expectedExceptions = JsonParseException.class)
+    public void shouldFailForCreateFromSchemaCommandWithMissingValues() {
+        StreamingJsonCodec.getInstance().decode("[{\"id\":\"CreateFromSchema\",\"sc\":0,\"p_id\":\"pm1\",\"as\":[\"1S\"],\"vs\":[]}]");
+    }
+
+    @Test
+    public void shouldEncodeToWriter() throws IOException {
+        //given:
+        final StringWriter writer = new StringWriter();
+
+        //when:
+        StreamingJsonCodec.getInstance().encode(Collections.<Command>singletonList(new StartLongPollCommand()), writer);
+
+        //then:
+        assertEquals(writer.toString(), "[{\"id\":\"StartLongPoll\"}]");
+    }
+
+    @Test
+    public void shouldDecodeFromReader() throws IOException {
+        //given:
+        final StringReader reader = new StringReader("[{\"id\":\"ValueChanged\",\"a_id\":\"3357S\",\"v\":42},{\"id\":\"StartLongPoll\"}]");
+
+        //when:
+        final List<Command> commands = StreamingJsonCodec.getInstance().decode(reader);
+
+        //then:
+        assertEquals(commands.size(), 2);
+        final ValueChangedCommand valueChangedCommand = (ValueChangedCommand) commands.get(0);
+        assertEquals(valueChangedCommand.getAttributeId(), "3357S");
+        assertEquals(((Number) valueChangedCommand.getNewValue()).intValue(), 42);
+        assertTrue(commands.get(1) instanceof StartLongPollCommand);
+    }
+
+    @Test
+    public void shouldDecodeOptimizedJsonCodecFormat() {
+        //given:
+        final String encoded = OptimizedJsonCodec.getInstance().encode(createCommands());
+
+        //when:
+        final List<Command> commands = StreamingJsonCodec.getInstance().decode(encoded);
+
+        //then:
+        assertCommands(commands);
+    }
+
+    @Test
+    public void shouldBeDecodableByOptimizedJsonCodec() {
+        //given:
+        final String encoded = StreamingJsonCodec.getInstance().encode(createCommands());
+
+        //when:
+        final List<Command> commands = OptimizedJsonCodec.getInstance().decode(encoded);
+
+        //then:
+        assertCommands(commands);
+    }
+
+    @Test
+    public void shouldDecodeOwnFormat() {
+        //given:
+        final String encoded = StreamingJsonCodec.getInstance().encode(createCommands());
+
+        //when:
+        final List<Command> commands = StreamingJsonCodec.getInstance().decode(encoded);
+
+        //then:
+        assertCommands(commands);
+    }
+
+    @Test
+    public void shouldIgnoreUnknownProperties() {
+        //when:
+        final List<Command> commands = StreamingJsonCodec.getInstance().decode("[{\"id\":\"ValueChanged\",\"x\":{\"y\":[1,2]},\"a_id\":\"3357S\"}]");
+
+        //then:
+        assertEquals(commands.size(), 1);
+        assertEquals(((ValueChangedCommand) commands.get(0)).getAttributeId(), "3357S");
+        assertNull(((ValueChangedCommand) commands.get(0)).getNewValue());
+    }
+
+    @Test(expectedExceptions = JsonParseException.class)
+    public void shouldFailForMissingAttributeId() {
+        StreamingJsonCodec.getInstance().decode("[{\"id\":\"ValueChanged\",\"v\":42}]");
+    }
+
+    @Test(expectedExceptions = JsonParseException.class)
+    public void shouldFailForUnknownCommand() {
+        StreamingJsonCodec.getInstance().decode("[{\"id\":\"UnknownCommand\"}]");
+    }
+
+    @Test(expectedExceptions = JsonParseException.class)
+    public void shouldFailForInvalidJson() {
+        StreamingJsonCodec.getInstance().decode("[{\"id\":\"StartLongPoll\"");
+    }
+
+    private static List<Command> createCommands() {
+        final CreatePresentationModelCommand createCommand = new CreatePresentationModelCommand();
+        createCommand.setPmId("05ee43b7-a884-4d42-9fc5-00b083664eed");
+        createCommand.setPmType("com.canoo.sample.Bean");
+        final List<Map<String, Object>> attributes = new ArrayList<>();
+        attributes.add(createAttribute("name", "1S", "Hello \"World\""));
+        attributes.add(createAttribute("count", "2S", 7));
+        attributes.add(createAttribute("empty", "3S", null));
+        createCommand.setAttributes(attributes);
+
+        final ValueChangedCommand valueChangedCommand = new ValueChangedCommand();
+        valueChangedCommand.setAttributeId("1S");
+        valueChangedCommand.setNewValue(false);
+
+        final CallActionCommand callActionCommand = new CallActionCommand();
+        callActionCommand.setControllerId("4711");
+        callActionCommand.setActionName("action");
+        callActionCommand.addParam("A", 2.5);
+
+        final CreateControllerCommand createControllerCommand = new CreateControllerCommand();
+        createControllerCommand.setControllerName("SampleController");
+
+        return Arrays.asList(createCommand, valueChangedCommand, callActionCommand, createControllerCommand);
+    }
+
+    private static Map<String, Object> createAttribute(final String name, final String id, final Object value) {
+        final Map<String, Object> attribute = new HashMap<>();
+        attribute.put(Attribute.PROPERTY_NAME, name);
+        attribute.put(Attribute.ID, id);
+        attribute.put(Attribute.VALUE_NAME, value);
+        return attribute;
+    }
+
+    private static void assertCommands(final List<Command> commands) {
+        assertEquals(commands.size(), 4);
+
+        final CreatePresentationModelCommand createCommand = (CreatePresentationModelCommand) commands.get(0);
+        assertEquals(createCommand.getPmId(), "05ee43b7-a884-4d42-9fc5-00b083664eed");
+        assertEquals(createCommand.getPmType(), "com.canoo.sample.Bean");
+        assertFalse(createCommand.isClientSideOnly());
+        assertEquals(createCommand.getAttributes().size(), 3);
+        assertEquals(createCommand.getAttributes().get(0).get(Attribute.PROPERTY_NAME), "name");
+        assertEquals(createCommand.getAttributes().get(0).get(Attribute.ID), "1S");
+        assertEquals(createCommand.getAttributes().get(0).get(Attribute.VALUE_NAME), "Hello \"World\"");
+        assertEquals(((Number) createCommand.getAttributes().get(1).get(Attribute.VALUE_NAME)).intValue(), 7);
+        assertTrue(createCommand.getAttributes().get(2).containsKey(Attribute.VALUE_NAME));
+        assertNull(createCommand.getAttributes().get(2).get(Attribute.VALUE_NAME));
+
+        final ValueChangedCommand valueChangedCommand = (ValueChangedCommand) commands.get(1);
+        assertEquals(valueChangedCommand.getAttributeId(), "1S");
+        assertEquals(valueChangedCommand.getNewValue(), false);
+
+        final CallActionCommand callActionCommand = (CallActionCommand) commands.get(2);
+        assertEquals(callActionCommand.getControllerId(), "4711");
+        assertEquals(callActionCommand.getActionName(), "action");
+        assertEquals(((Number) callActionCommand.getParams().get("A")).doubleValue(), 2.5);
+
+        final CreateControllerCommand createControllerCommand = (CreateControllerCommand) commands.get(3);
+        assertEquals(createControllerCommand.getControllerName(), "SampleController");
+        assertNull(createControllerCommand.getParentControllerId());
+    }
+}
@@ -24,6 +24,8 @@ import com.google.gson.JsonPrimitive;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.Date;
 
 public class ValueEncoderTest {
@@ -125,10 +127,38 @@ public class ValueEncoderTest {
         Assert.assertTrue(encoded.isJsonNull());
     }
 
+    @Test
+    public void testDateEncode() {
+        //given:
+        Object value = new Date(1520166615123L);
+
+        //when:
+        JsonElement encoded = ValueEncoder.encodeValue(value);
+
+        //then:
+        Assert.assertNotNull(encoded);
+        Assert.assertTrue(encoded.isJsonPrimitive());
+        Assert.assertEquals(encoded.getAsString(), "2018-03-04T12:30:15.123Z");
+    }
+
+    @Test
+    public void testZonedDateTimeEncode() {
+        //given:
+        Object value = ZonedDateTime.of(2018, 3, 4, 13, 30, 15, 123000000, ZoneId.of("Europe/Berlin"));
+
+        //when:
+        JsonElement encoded = ValueEncoder.encodeValue(value);
+
+        //then:
+        Assert.assertNotNull(encoded);
+        Assert.assertTrue(encoded.isJsonPrimitive());
+        Assert.assertEquals(encoded.getAsString(), "2018-03-04T12:30:15.123Z");
+    }
+
     @Test(expectedExceptions = JsonParseException.class)
     public void testWrongEncode() {
         //given:
-        Object value = new Date();
+        Object value = new Object();
 
         //when:
         JsonElement encoded = ValueEncoder.encodeValue(value);
@@ -21,9 +21,11 @@ import com.canoo.platform.remoting.ListChangeListener;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -611,6 +613,181 @@ public class TestObservableArrayList {
 
     /** End of SubList Unit Test*/
 
+    @Test
+    public void testBatchedAddsFireOneChange() {
+        //given
+        final ObservableArrayList<String> list = new ObservableArrayList<>("A", "B");
+        final List<ListChangeEvent<? extends String>> events = new ArrayList<>();
+        list.onChanged(e -> events.add(e));
+
+        //when
+        list.runBatched(l -> {
+            for (int i = 0; i < 100; i++) {
+                l.add("" + i);
+            }
+        });
+
+        //then
+        Assert.assertEquals(list.size(), 102);
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(events.get(0).getChanges().size(), 1);
+        final ListChangeEvent.Change<? extends String> change = events.get(0).getChanges().get(0);
+        Assert.assertTrue(change.isAdded());
+        Assert.assertEquals(change.getFrom(), 2);
+        Assert.assertEquals(change.getTo(), 102);
+    }
+
+    @Test
+    public void testBatchedChangesAreMergedIntoRanges() {
+        //given
+        final ObservableArrayList<String> list = new ObservableArrayList<>("1", "2", "3", "4", "5", "6");
+        final List<ListChangeEvent<? extends String>> events = new ArrayList<>();
+        list.onChanged(e -> events.add(e));
+
+        //when
+        list.runBatched(l -> {
+            l.set(0, "A");
+            l.remove(1);
+            l.add(1, "B");
+            l.set(5, "C");
+        });
+
+        //then
+        assertSameContent(list, Arrays.asList("A", "B", "3", "4", "5", "C"));
+        Assert.assertEquals(events.size(), 1);
+        final List<? extends ListChangeEvent.Change<? extends String>> changes = events.get(0).getChanges();
+        Assert.assertEquals(changes.size(), 2);
+        Assert.assertTrue(changes.get(0).isReplaced());
+        Assert.assertEquals(changes.get(0).getFrom(), 0);
+        Assert.assertEquals(changes.get(0).getTo(), 2);
+        Assert.assertEquals(changes.get(0).getRemovedElements(), Arrays.asList("1", "2"));
+        Assert.assertTrue(changes.get(1).isReplaced());
+        Assert.assertEquals(changes.get(1).getFrom(), 5);
+        Assert.assertEquals(changes.get(1).getTo(), 6);
+        Assert.assertEquals(changes.get(1).getRemovedElements(), Arrays.asList("6"));
+    }
+
+    @Test
+    public void testBatchWithoutEffectFiresNoEvent() {
+        //given
+        final ObservableArrayList<String> list = new ObservableArrayList<>("1", "2", "3");
+        final AtomicInteger callCount = new AtomicInteger(0);
+        list.onChanged(e -> callCount.incrementAndGet());
+
+        //when
+        list.runBatched(l -> {
+            l.add("4");
+            l.remove("4");
+        });
+        list.setAll("1", "2", "3");
+        list.sort(String::compareTo);
+
+        //then
+        Assert.assertEquals(callCount.get(), 0);
+    }
+
+    @Test
+    public void testSetAllAndSortFireOneEvent() {
+        //given
+        final ObservableArrayList<String> list = new ObservableArrayList<>("3", "1", "2");
+        final AtomicInteger callCount = new AtomicInteger(0);
+        list.onChanged(e -> callCount.incrementAndGet());
+
+        //when
+        list.sort(String::compareTo);
+        list.setAll("1", "2", "4", "5");
+
+        //then
+        assertSameContent(list, Arrays.asList("1", "2", "4", "5"));
+        Assert.assertEquals(callCount.get(), 2);
+    }
+
+    @Test
+    public void testSortFiresPermutation() {
+        //given
+        final ObservableArrayList<String> list = new ObservableArrayList<>("A", "D", "C", "B", "E");
+        final List<ListChangeEvent<? extends String>> events = new ArrayList<>();
+        list.onChanged(e -> events.add(e));
+
+        //when
+        list.sort(String::compareTo);
+
+        //then
+        assertSameContent(list, Arrays.asList("A", "B", "C", "D", "E"));
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(events.get(0).getChanges().size(), 1);
+        final ListChangeEvent.Change<? extends String> change = events.get(0).getChanges().get(0);
+        Assert.assertTrue(change.isPermutated());
+        Assert.assertFalse(change.isAdded());
+        Assert.assertFalse(change.isRemoved());
+        Assert.assertFalse(change.isReplaced());
+        Assert.assertEquals(change.getFrom(), 1);
+        Assert.assertEquals(change.getTo(), 4);
+        Assert.assertEquals(change.getPermutation(1), 3);
+        Assert.assertEquals(change.getPermutation(2), 2);
+        Assert.assertEquals(change.getPermutation(3), 1);
+    }
+
+    @Test
+    public void testPermutate() {
+        //given
+        final ObservableArrayList<String> list = new ObservableArrayList<>("A", "B", "C", "D");
+        final List<ListChangeEvent<? extends String>> events = new ArrayList<>();
+        list.onChanged(e -> events.add(e));
+
+        //when
+        list.permutate(1, new int[]{2, 0, 1});
+
+        //then
+        assertSameContent(list, Arrays.asList("A", "C", "D", "B"));
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(events.get(0).getChanges().get(0).getPermutation(1), 3);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testPermutateWithIllegalPermutation() {
+        new ObservableArrayList<>("A", "B", "C").permutate(0, new int[]{0, 0, 1});
+    }
+
+    @Test
+    public void testBatchedChangesCanBeReplayed() {
+        //given
+        final Random random = new Random(42);
+        final ObservableArrayList<Integer> list = new ObservableArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            list.add(i);
+        }
+        final List<Integer> mirror = new ArrayList<>(list);
+        list.onChanged(e -> {
+            for (final ListChangeEvent.Change<? extends Integer> change : e.getChanges()) {
+                final int from = change.getFrom();
+                mirror.subList(from, from + change.getRemovedElements().size()).clear();
+                for (int i = from; i < change.getTo(); i++) {
+                    mirror.add(i, e.getSource().get(i));
+                }
+            }
+        });
+
+        for (int run = 0; run < 20; run++) {
+            //when
+            list.runBatched(l -> {
+                for (int i = 0; i < 30; i++) {
+                    final int operation = random.nextInt(3);
+                    if (operation == 0 || l.isEmpty()) {
+                        l.add(random.nextInt(l.size() + 1), random.nextInt(1000));
+                    } else if (operation == 1) {
+                        l.remove(random.nextInt(l.size()));
+                    } else {
+                        l.set(random.nextInt(l.size()), random.nextInt(1000));
+                    }
+                }
+            });
+
+            //then
+            Assert.assertEquals(mirror, new ArrayList<>(list));
+        }
+    }
+
     private <T> void assertSameContent(List<T> a, List<T> b) {
         Assert.assertTrue(a.size() == b.size());
         for(T t : a) {
@@ -55,4 +55,12 @@ public class DateConverterFactoryTest {
         Assert.assertEquals(converter.convertFromDolphin(converted), date);
     }
 
+    @Test
+    public void testLegacyConvertion() throws ValueConverterException {
+        DateConverterFactory factory = new DateConverterFactory();
+        Converter converter = factory.getConverterForType(Date.class);
+
+        Assert.assertEquals(converter.convertFromDolphin("2018-03-04T12:30:15.123Z"), new Date(1520166615123L));
+    }
+
 }
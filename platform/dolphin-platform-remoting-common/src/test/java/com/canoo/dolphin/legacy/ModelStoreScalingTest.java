@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dolphin.legacy;
+
+import com.canoo.dp.impl.remoting.legacy.core.BaseAttribute;
+import com.canoo.dp.impl.remoting.legacy.core.BasePresentationModel;
+import com.canoo.dp.impl.remoting.legacy.core.ModelStore;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ModelStoreScalingTest {
+
+    private static final int MODEL_COUNT = 100_000;
+
+    @Test
+    public void testAddAndRemoveManyModels() {
+        //given:
+        final ModelStore<TestAttribute, BasePresentationModel<TestAttribute>> modelStore = new ModelStore<>();
+        final List<BasePresentationModel<TestAttribute>> models = new ArrayList<>(MODEL_COUNT);
+        for (int i = 0; i < MODEL_COUNT; i++) {
+            models.add(createModel(i));
+        }
+
+        //when:
+        final long start = System.nanoTime();
+        for (final BasePresentationModel<TestAttribute> model : models) {
+            Assert.assertTrue(modelStore.add(model));
+        }
+
+        //then:
+        Assert.assertEquals(modelStore.listPresentationModels().size(), MODEL_COUNT);
+        Assert.assertEquals(modelStore.findAllPresentationModelsByType("type-0").size(), MODEL_COUNT / 2);
+        Assert.assertEquals(modelStore.findAllPresentationModelsByType("type-1").size(), MODEL_COUNT / 2);
+        Assert.assertEquals(modelStore.findAllAttributesByQualifier("qualifier-7").size(), 1);
+        Assert.assertSame(modelStore.findAllPresentationModelsByType("type-0").get(0), models.get(0));
+        Assert.assertSame(modelStore.findAttributeById(models.get(42).getAttributes().get(0).getId()), models.get(42).getAttributes().get(0));
+
+        //when:
+        for (final BasePresentationModel<TestAttribute> model : models) {
+            Assert.assertTrue(modelStore.remove(model));
+        }
+        final long duration = System.nanoTime() - start;
+
+        //then:
+        Assert.assertTrue(modelStore.listPresentationModels().isEmpty());
+        Assert.assertTrue(modelStore.findAllPresentationModelsByType("type-0").isEmpty());
+        Assert.assertTrue(modelStore.findAllAttributesByQualifier("qualifier-7").isEmpty());
+        Assert.assertNull(modelStore.findAttributeById(models.get(42).getAttributes().get(0).getId()));
+        Assert.assertTrue(duration < TimeUnit.SECONDS.toNanos(10), "Adding and removing " + MODEL_COUNT + " models took " + TimeUnit.NANOSECONDS.toMillis(duration) + " ms");
+    }
+
+    @Test
+    public void testRemoveUnknownModelWithSameId() {
+        //given:
+        final ModelStore<TestAttribute, BasePresentationModel<TestAttribute>> modelStore = new ModelStore<>();
+        final BasePresentationModel<TestAttribute> model = createModel(0);
+        final BasePresentationModel<TestAttribute> other = createModel(0);
+        modelStore.add(model);
+
+        //when:
+        final boolean removed = modelStore.remove(other);
+
+        //then:
+        Assert.assertFalse(removed);
+        Assert.assertSame(modelStore.findPresentationModelById(model.getId()), model);
+    }
+
+    @Test
+    public void testQualifierChangeUpdatesIndex() {
+        //given:
+        final ModelStore<TestAttribute, BasePresentationModel<TestAttribute>> modelStore = new ModelStore<>();
+        final BasePresentationModel<TestAttribute> model = createModel(0);
+        modelStore.add(model);
+        final TestAttribute attribute = model.getAttributes().get(0);
+
+        //when:
+        attribute.setQualifier("other-qualifier");
+
+        //then:
+        Assert.assertTrue(modelStore.findAllAttributesByQualifier("qualifier-0").isEmpty());
+        Assert.assertEquals(modelStore.findAllAttributesByQualifier("other-qualifier").size(), 1);
+        Assert.assertSame(modelStore.findAllAttributesByQualifier("other-qualifier").get(0), attribute);
+    }
+
+    private BasePresentationModel<TestAttribute> createModel(final int index) {
+        final TestAttribute qualified = new TestAttribute("name", "value-" + index, "qualifier-" + index);
+        final TestAttribute unqualified = new TestAttribute("description", null, null);
+        final BasePresentationModel<TestAttribute> model = new BasePresentationModel<>("model-" + index, Arrays.asList(qualified, unqualified));
+        model.setPresentationModelType("type-" + (index % 2));
+        return model;
+    }
+
+    private static class TestAttribute extends BaseAttribute {
+
+        TestAttribute(final String propertyName, final Object value, final String qualifier) {
+            super(propertyName, value, qualifier);
+        }
+
+        @Override
+        public String getOrigin() {
+            return "T";
+        }
+    }
+}
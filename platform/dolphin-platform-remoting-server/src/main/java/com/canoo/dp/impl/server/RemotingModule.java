@@ -17,6 +17,7 @@ package com.canoo.dp.impl.server;
 
 import com.canoo.platform.server.spi.components.ManagedBeanFactory;
 import com.canoo.dp.impl.server.bootstrap.modules.ClientSessionModule;
+import com.canoo.dp.impl.server.client.ClientSessionManager;
 import com.canoo.dp.impl.server.client.ClientSessionLifecycleHandler;
 import com.canoo.dp.impl.server.client.ClientSessionProvider;
 import com.canoo.dp.impl.server.config.RemotingConfiguration;
@@ -29,6 +30,9 @@ import com.canoo.dp.impl.server.controller.ControllerValidationException;
 import com.canoo.dp.impl.server.event.AbstractEventBus;
 import com.canoo.dp.impl.server.servlet.DolphinPlatformServlet;
 import com.canoo.dp.impl.server.servlet.InterruptServlet;
+import com.canoo.dp.impl.server.servlet.ShutdownListener;
+import com.canoo.dp.impl.server.websocket.RemotingWebSocketSupport;
+import com.canoo.platform.core.concurrent.PlatformThreadFactory;
 import com.canoo.platform.remoting.server.event.RemotingEventBus;
 import com.canoo.platform.remoting.server.event.spi.EventBusProvider;
 import com.canoo.platform.server.client.ClientSession;
@@ -43,10 +47,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.ServletContext;
+import javax.servlet.ServletRegistration;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static com.canoo.dp.impl.server.servlet.ServletConstants.DOLPHIN_SERVLET_NAME;
 import static com.canoo.dp.impl.server.servlet.ServletConstants.INTERRUPT_SERVLET_NAME;
@@ -87,7 +95,7 @@ public class RemotingModule implements ServerModule {
             final RemotingConfiguration configuration = new RemotingConfiguration(coreComponents.getConfiguration());
             final ClientSessionProvider sessionProvider = coreComponents.getInstance(ClientSessionProvider.class);
             final DolphinContextFactory dolphinContextFactory = new DefaultDolphinContextFactory(configuration, sessionProvider, beanFactory, classpathScanner);
-            final DolphinContextCommunicationHandler communicationHandler = new DolphinContextCommunicationHandler(sessionProvider, dolphinContextFactory);
+            final DolphinContextCommunicationHandler communicationHandler = new DolphinContextCommunicationHandler(configuration, sessionProvider, dolphinContextFactory);
             final DolphinContextProvider contextProvider = new DolphinContextProvider() {
                 @Override
                 public DolphinContext getContext(final ClientSession clientSession) {
@@ -108,10 +116,32 @@ public class RemotingModule implements ServerModule {
 
             final ClientSessionLifecycleHandler lifecycleHandler = coreComponents.getInstance(ClientSessionLifecycleHandler.class);
 
-            servletContext.addServlet(DOLPHIN_SERVLET_NAME, new DolphinPlatformServlet(communicationHandler)).addMapping(configuration.getDolphinPlatformServletMapping());
+            final ServletRegistration.Dynamic dolphinServlet = servletContext.addServlet(DOLPHIN_SERVLET_NAME, new DolphinPlatformServlet(communicationHandler));
+            dolphinServlet.setAsyncSupported(configuration.isAsyncLongPollActive());
+            dolphinServlet.addMapping(configuration.getDolphinPlatformServletMapping());
 
             servletContext.addServlet(INTERRUPT_SERVLET_NAME, new InterruptServlet(contextProvider)).addMapping(configuration.getDolphinPlatformInterruptServletMapping());
 
+            if (configuration.isWebSocketActive()) {
+                if (RemotingWebSocketSupport.isSupported(servletContext)) {
+                    final ClientSessionManager clientSessionManager = coreComponents.getInstance(ClientSessionManager.class);
+                    final PlatformThreadFactory threadFactory = coreComponents.getInstance(PlatformThreadFactory.class);
+                    final ExecutorService webSocketExecutor = Executors.newCachedThreadPool(threadFactory);
+                    final ScheduledExecutorService webSocketScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+                    try {
+                        RemotingWebSocketSupport.register(servletContext, configuration, communicationHandler, clientSessionManager, sessionProvider, webSocketExecutor, webSocketScheduler);
+                    } catch (final Exception e) {
+                        webSocketExecutor.shutdownNow();
+                        webSocketScheduler.shutdownNow();
+                        throw new ModuleInitializationException("Can not register WebSocket endpoint", e);
+                    }
+                    servletContext.addListener(new ShutdownListener("WebSocket executor", webSocketExecutor::shutdownNow));
+                    servletContext.addListener(new ShutdownListener("WebSocket scheduler", webSocketScheduler::shutdownNow));
+                } else {
+                    LOG.warn("WebSockets are not supported by the servlet container. Clients will use HTTP long polling.");
+                }
+            }
+
             LOG.debug("Dolphin Platform initialized under context \"" + servletContext.getContextPath() + "\"");
             LOG.debug("Dolphin Platform endpoint defined as " + configuration.getDolphinPlatformServletMapping());
 
@@ -128,7 +158,9 @@ public class RemotingModule implements ServerModule {
                     providerFound = true;
                     RemotingEventBus eventBus = provider.create(configuration);
                     if(eventBus instanceof AbstractEventBus) {
-                        ((AbstractEventBus) eventBus).init(contextProvider, lifecycleHandler);
+                        final AbstractEventBus abstractEventBus = (AbstractEventBus) eventBus;
+                        abstractEventBus.init(contextProvider, lifecycleHandler);
+                        servletContext.addListener(new ShutdownListener("event bus", abstractEventBus::shutdown));
                     }
                     coreComponents.provideInstance(RemotingEventBus.class, eventBus);
                     flag = true;
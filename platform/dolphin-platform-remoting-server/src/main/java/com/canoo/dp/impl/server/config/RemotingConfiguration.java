@@ -39,8 +39,22 @@ public class RemotingConfiguration implements Serializable {
 
     public static final String GARBAGE_COLLECTION_ACTIVE = "garbageCollectionActive";
 
+    public static final String GARBAGE_COLLECTION_TIME_SLICE = "garbageCollectionTimeSlice";
+
     public static final String MAX_POLL_TIME = "maxPollTime";
 
+    public static final String ASYNC_LONG_POLL_ACTIVE = "asyncLongPollActive";
+
+    public static final String BINARY_CODEC_ACTIVE = "binaryCodecActive";
+
+    public static final String COMPRESSION_ACTIVE = "compressionActive";
+
+    public static final String COMPRESSION_THRESHOLD = "compressionThreshold";
+
+    public static final String WEBSOCKET_ACTIVE = "webSocketActive";
+
+    public static final String WEBSOCKET_MAPPING = "webSocketMapping";
+
     public static final String EVENTBUS_TYPE = "eventbusType";
 
     public static final boolean ACTIVE_DEFAULT_VALUE = true;
@@ -49,12 +63,26 @@ public class RemotingConfiguration implements Serializable {
 
     public final static String DOLPHIN_PLATFORM_INTERRUPT_SERVLET_MAPPING_DEFAULT_VALUE = "/dolphin-interrupt";
 
+    public final static String WEBSOCKET_MAPPING_DEFAULT_VALUE = "/dolphin-websocket";
+
     public final static String EVENTBUS_TYPE_DEFAULT_VALUE = DefaultEventBusProvider.DEFAULT_EVENTBUS_NAME;
 
     public final static long MAX_POLL_TIME_DEFAULT_VALUE = 5000;
 
     public final static boolean USE_GC_DEFAULT_VALUE = true;
 
+    public final static long GARBAGE_COLLECTION_TIME_SLICE_DEFAULT_VALUE = 10;
+
+    public final static boolean ASYNC_LONG_POLL_ACTIVE_DEFAULT_VALUE = false;
+
+    public final static boolean BINARY_CODEC_ACTIVE_DEFAULT_VALUE = true;
+
+    public final static boolean COMPRESSION_ACTIVE_DEFAULT_VALUE = true;
+
+    public final static long COMPRESSION_THRESHOLD_DEFAULT_VALUE = 1024;
+
+    public final static boolean WEBSOCKET_ACTIVE_DEFAULT_VALUE = false;
+
     private final PlatformConfiguration configuration;
 
     public RemotingConfiguration() {
@@ -77,10 +105,38 @@ public class RemotingConfiguration implements Serializable {
         return configuration.getLongProperty(MAX_POLL_TIME, MAX_POLL_TIME_DEFAULT_VALUE);
     }
 
+    public boolean isAsyncLongPollActive() {
+        return configuration.getBooleanProperty(ASYNC_LONG_POLL_ACTIVE, ASYNC_LONG_POLL_ACTIVE_DEFAULT_VALUE);
+    }
+
+    public boolean isBinaryCodecActive() {
+        return configuration.getBooleanProperty(BINARY_CODEC_ACTIVE, BINARY_CODEC_ACTIVE_DEFAULT_VALUE);
+    }
+
+    public boolean isCompressionActive() {
+        return configuration.getBooleanProperty(COMPRESSION_ACTIVE, COMPRESSION_ACTIVE_DEFAULT_VALUE);
+    }
+
+    public int getCompressionThreshold() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, configuration.getLongProperty(COMPRESSION_THRESHOLD, COMPRESSION_THRESHOLD_DEFAULT_VALUE)));
+    }
+
+    public boolean isWebSocketActive() {
+        return configuration.getBooleanProperty(WEBSOCKET_ACTIVE, WEBSOCKET_ACTIVE_DEFAULT_VALUE);
+    }
+
+    public String getWebSocketMapping() {
+        return configuration.getProperty(WEBSOCKET_MAPPING, WEBSOCKET_MAPPING_DEFAULT_VALUE);
+    }
+
     public boolean isUseGc() {
         return configuration.getBooleanProperty(GARBAGE_COLLECTION_ACTIVE, USE_GC_DEFAULT_VALUE);
     }
 
+    public long getGarbageCollectionTimeSlice() {
+        return configuration.getLongProperty(GARBAGE_COLLECTION_TIME_SLICE, GARBAGE_COLLECTION_TIME_SLICE_DEFAULT_VALUE);
+    }
+
     public String getEventbusType() {
         return configuration.getProperty(EVENTBUS_TYPE, EVENTBUS_TYPE_DEFAULT_VALUE);
     }
@@ -16,21 +16,24 @@
 package com.canoo.dp.impl.server.context;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.platform.core.http.CompressionStatistics;
 import com.canoo.dp.impl.remoting.BeanManagerImpl;
 import com.canoo.dp.impl.remoting.ClassRepository;
 import com.canoo.dp.impl.remoting.ClassRepositoryImpl;
 import com.canoo.dp.impl.remoting.Converters;
 import com.canoo.dp.impl.remoting.EventDispatcher;
 import com.canoo.dp.impl.remoting.InternalAttributesBean;
-import com.canoo.dp.impl.remoting.ListMapper;
 import com.canoo.dp.impl.remoting.PresentationModelBuilderFactory;
-import com.canoo.dp.impl.remoting.codec.OptimizedJsonCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
 import com.canoo.dp.impl.remoting.collections.ListMapperImpl;
 import com.canoo.dp.impl.remoting.commands.CallActionCommand;
 import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
 import com.canoo.dp.impl.remoting.commands.CreateControllerCommand;
 import com.canoo.dp.impl.remoting.commands.DestroyContextCommand;
 import com.canoo.dp.impl.remoting.commands.DestroyControllerCommand;
+import com.canoo.dp.impl.remoting.commands.ListPermutationCommand;
+import com.canoo.dp.impl.remoting.commands.ListSpliceCommand;
+import com.canoo.dp.impl.remoting.commands.PendingResponseCommand;
 import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
 import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
@@ -65,6 +68,7 @@ import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -101,6 +105,8 @@ public class DolphinContext {
 
     private final EventDispatcher dispatcher;
 
+    private final ListMapperImpl listMapper;
+
     private ServerPlatformBeanRepository platformBeanRepository;
 
     private final DolphinContextMBeanRegistry mBeanRegistry;
@@ -111,6 +117,8 @@ public class DolphinContext {
 
     private final GarbageCollector garbageCollector;
 
+    private final CompressionStatistics compressionStatistics = new CompressionStatistics();
+
     private final DolphinContextTaskQueue taskQueue;
 
     private final ClientSession clientSession;
@@ -119,6 +127,12 @@ public class DolphinContext {
 
     private boolean active = false;
 
+    private boolean blockingLongPoll = true;
+
+    private int responseChunkSize = 0;
+
+    private final LinkedList<Command> pendingResponseCommands = new LinkedList<>();
+
     public DolphinContext(final RemotingConfiguration configuration, ClientSession clientSession, ClientSessionProvider clientSessionProvider, ManagedBeanFactory beanFactory, ControllerRepository controllerRepository, Consumer<DolphinContext> onDestroyCallback) {
         this.configuration = Assert.requireNonNull(configuration, "configuration");
         Assert.requireNonNull(beanFactory, "beanFactory");
@@ -131,7 +145,7 @@ public class DolphinContext {
 
         //Init Server Connector
         serverConnector = new ServerConnector();
-        serverConnector.setCodec(OptimizedJsonCodec.getInstance());
+        serverConnector.setCodec(StreamingJsonCodec.getInstance());
         serverConnector.setServerModelStore(serverModelStore);
         serverConnector.registerDefaultActions();
 
@@ -161,7 +175,7 @@ public class DolphinContext {
         //Init BeanManager
         final PresentationModelBuilderFactory builderFactory = new ServerPresentationModelBuilderFactory(serverModelStore);
         final ClassRepository classRepository = new ClassRepositoryImpl(serverModelStore, converters, builderFactory);
-        final ListMapper listMapper = new ListMapperImpl(serverModelStore, classRepository, beanRepository, builderFactory, dispatcher);
+        listMapper = new ListMapperImpl(serverModelStore, classRepository, beanRepository, builderFactory, dispatcher);
         final ServerBeanBuilder beanBuilder = new ServerBeanBuilderImpl(classRepository, beanRepository, listMapper, builderFactory, dispatcher, garbageCollector);
         beanManager = new BeanManagerImpl(beanRepository, beanBuilder);
 
@@ -173,7 +187,7 @@ public class DolphinContext {
 
         //Register commands
         registerDolphinPlatformDefaultCommands();
-        mBeanSubscription = mBeanRegistry.registerDolphinContext(clientSession, garbageCollector);
+        mBeanSubscription = mBeanRegistry.registerDolphinContext(clientSession, garbageCollector, compressionStatistics);
     }
 
     protected <T extends Command> void registerCommand(final ActionRegistry registry, final Class<T> commandClass, final Consumer<T> handler) {
@@ -193,7 +207,10 @@ public class DolphinContext {
         serverConnector.register(new DolphinServerAction() {
             @Override
             public void registerIn(ActionRegistry registry) {
-                registerCommand(registry, CreateContextCommand.class, (c) -> onInitContext());
+                registerCommand(registry, CreateContextCommand.class, (createContextCommand) -> {
+                    Assert.requireNonNull(createContextCommand, "createContextCommand");
+                    onInitContext(createContextCommand);
+                });
                 registerCommand(registry, DestroyContextCommand.class, (c) -> onDestroyContext());
                 registerCommand(registry, CreateControllerCommand.class, (createControllerCommand) -> {
                     Assert.requireNonNull(createControllerCommand, "createControllerCommand");
@@ -207,13 +224,29 @@ public class DolphinContext {
                     Assert.requireNonNull(callActionCommand, "callActionCommand");
                     onCallControllerAction(callActionCommand.getControllerId(), callActionCommand.getActionName(), callActionCommand.getParams());
                 });
+                registerCommand(registry, ListSpliceCommand.class, (listSpliceCommand) -> {
+                    Assert.requireNonNull(listSpliceCommand, "listSpliceCommand");
+                    listMapper.onListSplice(listSpliceCommand);
+                });
+                registerCommand(registry, ListPermutationCommand.class, (listPermutationCommand) -> {
+                    Assert.requireNonNull(listPermutationCommand, "listPermutationCommand");
+                    listMapper.onListPermutation(listPermutationCommand);
+                });
                 registerCommand(registry, StartLongPollCommand.class, (c) -> onLongPoll());
                 registerCommand(registry, InterruptLongPollCommand.class, (c) -> interrupt());
             }
         });
     }
 
-    private void onInitContext() {
+    private void onInitContext(final CreateContextCommand createContextCommand) {
+        if (createContextCommand.isListSpliceCommandSupported()) {
+            listMapper.setCommandSender(serverModelStore::addResponseCommand);
+            final CreateContextCommand confirmation = new CreateContextCommand();
+            confirmation.setListSpliceCommandSupported(true);
+            serverModelStore.addResponseCommand(confirmation);
+        }
+        serverModelStore.setPresentationModelSchemaSupported(createContextCommand.isPresentationModelSchemaSupported());
+        responseChunkSize = createContextCommand.getResponseChunkSize();
         platformBeanRepository = new ServerPlatformBeanRepository(serverModelStore, beanRepository, dispatcher, converters);
     }
 
@@ -285,13 +318,21 @@ public class DolphinContext {
     }
 
     protected void onLongPoll() {
+        if (!pendingResponseCommands.isEmpty()) {
+            LOG.trace("Long poll for DolphinContext {} delivers {} pending response commands", getId(), pendingResponseCommands.size());
+            return;
+        }
         if (configuration.isUseGc()) {
             LOG.trace("Handling GarbageCollection for DolphinContext {}", getId());
             onGarbageCollection();
         }
         final Metric metric = ServerTimingFilter.getCurrentTiming().start("TaskExecution", "Execution of Tasks in Long Poll");
         try {
-            taskQueue.executeTasks();
+            if (blockingLongPoll) {
+                taskQueue.executeTasks();
+            } else {
+                taskQueue.executeAvailableTasks();
+            }
         } finally {
             metric.stop();
         }
@@ -300,7 +341,7 @@ public class DolphinContext {
     private void onGarbageCollection() {
         final Metric metric = ServerTimingFilter.getCurrentTiming().start("RemotingGc", "Garbage collection for the remoting model");
         try {
-            garbageCollector.gc();
+            garbageCollector.gc(configuration.getGarbageCollectionTimeSlice(), TimeUnit.MILLISECONDS);
         } finally {
             metric.stop();
         }
@@ -318,24 +359,98 @@ public class DolphinContext {
         return beanManager;
     }
 
+    /**
+     * Returns the statistics about the compression of the responses that are sent to the client of this context.
+     * @return the compression statistics
+     */
+    public CompressionStatistics getCompressionStatistics() {
+        return compressionStatistics;
+    }
+
     public String getId() {
         return clientSession.getId();
     }
 
     public List<Command> handle(final List<Command> commands) {
+        return handle(commands, true);
+    }
+
+    /**
+     * Handles the given commands. If {@code blockingLongPoll} is false a long poll will only execute the tasks that
+     * are currently available and will not wait for new tasks. In that case the caller is responsible to resume the
+     * long poll (see {@link #resumeLongPoll()}) once {@link #onTaskAvailable(Runnable)} fires.
+     * @param commands the commands
+     * @param blockingLongPoll defines if a long poll should block the current thread until tasks are available
+     * @return the response commands
+     */
+    public List<Command> handle(final List<Command> commands, final boolean blockingLongPoll) {
         active = true;
+        this.blockingLongPoll = blockingLongPoll;
         try {
         final List<Command> results = new LinkedList<>();
             for (final Command command : commands) {
                 results.addAll(serverConnector.receive(command));
                 hasResponseCommands = !results.isEmpty();
             }
-            return results;
+            if (isInterruptRequest(commands)) {
+                return results;
+            }
+            pendingResponseCommands.addAll(results);
+            return nextResponseChunk();
         } finally {
+            this.blockingLongPoll = true;
             active = false;
         }
     }
 
+    private boolean isInterruptRequest(final List<Command> commands) {
+        for (final Command command : commands) {
+            if (!(command instanceof InterruptLongPollCommand)) {
+                return false;
+            }
+        }
+        return !commands.isEmpty();
+    }
+
+    /**
+     * Returns the next chunk of the pending response commands. If the client defined a response chunk size (see
+     * {@link CreateContextCommand#getResponseChunkSize()}) and more commands are pending the chunk ends with a
+     * {@link PendingResponseCommand} and the remaining commands will be delivered by the next polls of the client.
+     * @return the response commands
+     */
+    private List<Command> nextResponseChunk() {
+        if (responseChunkSize <= 0 || pendingResponseCommands.size() <= responseChunkSize) {
+            final List<Command> response = new LinkedList<>(pendingResponseCommands);
+            pendingResponseCommands.clear();
+            return response;
+        }
+        final List<Command> chunk = new LinkedList<>();
+        while (chunk.size() < responseChunkSize) {
+            chunk.add(pendingResponseCommands.removeFirst());
+        }
+        chunk.add(new PendingResponseCommand(pendingResponseCommands.size()));
+        LOG.trace("Response for DolphinContext {} was split, {} commands are pending", getId(), pendingResponseCommands.size());
+        return chunk;
+    }
+
+    /**
+     * Continues a long poll that was suspended by calling {@link #handle(List, boolean)} without blocking.
+     * @return the response commands
+     */
+    public List<Command> resumeLongPoll() {
+        return handle(Collections.<Command>singletonList(new StartLongPollCommand()), false);
+    }
+
+    /**
+     * Registers a one-shot listener that will be called once a task for this context is available or the
+     * long poll of this context is interrupted.
+     * @param listener the listener
+     * @return subscription to remove the listener
+     */
+    public Subscription onTaskAvailable(final Runnable listener) {
+        return taskQueue.onWakeUp(listener);
+    }
+
     public ClientSession getClientSession() {
         return clientSession;
     }
@@ -16,26 +16,43 @@
 package com.canoo.dp.impl.server.context;
 
 import com.canoo.dp.impl.platform.core.Assert;
-import com.canoo.dp.impl.remoting.codec.OptimizedJsonCodec;
+import com.canoo.dp.impl.platform.core.http.CompressingOutputStream;
+import com.canoo.dp.impl.platform.core.http.CompressionStatistics;
+import com.canoo.dp.impl.platform.core.http.ContentEncodings;
+import com.canoo.dp.impl.remoting.codec.BinaryCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
 import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
-import com.canoo.dp.impl.remoting.legacy.communication.Codec;
+import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
 import com.canoo.dp.impl.server.client.ClientSessionProvider;
+import com.canoo.dp.impl.server.config.RemotingConfiguration;
 import com.canoo.platform.server.client.ClientSession;
 import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.function.Consumer;
 
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.ACCEPT_ENCODING_HEADER;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.ACCEPT_HEADER;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.CHARSET;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.CONTENT_ENCODING_HEADER;
+import static com.canoo.dp.impl.remoting.PlatformRemotingConstants.BINARY_MIME_TYPE;
 import static org.apiguardian.api.API.Status.INTERNAL;
 
 @API(since = "0.x", status = INTERNAL)
@@ -45,15 +62,24 @@ public class DolphinContextCommunicationHandler {
 
     private final static String DOLPHIN_CONTEXT_ATTRIBUTE_NAME = "DolphinContext";
 
+    private final static String SUSPENDED_LONG_POLL_ATTRIBUTE_NAME = "DolphinSuspendedLongPoll";
+
+    private final static String BINARY_CODEC_ATTRIBUTE_NAME = "DolphinBinaryCodec";
+
+    private final RemotingConfiguration configuration;
+
     private final ClientSessionProvider sessionProvider;
 
-    private final Codec codec = OptimizedJsonCodec.getInstance();
+    private final StreamingCodec codec = StreamingJsonCodec.getInstance();
 
     private final DolphinContextFactory contextFactory;
 
+    private final Object binaryCodecLock = new Object();
+
     private static final HashMap<String, WeakReference<DolphinContext>> weakContextMap = new HashMap<>();
 
-    public DolphinContextCommunicationHandler(final ClientSessionProvider sessionProvider, DolphinContextFactory contextFactory) {
+    public DolphinContextCommunicationHandler(final RemotingConfiguration configuration, final ClientSessionProvider sessionProvider, DolphinContextFactory contextFactory) {
+        this.configuration = Assert.requireNonNull(configuration, "configuration");
         this.sessionProvider = Assert.requireNonNull(sessionProvider, "sessionProvider");
         this.contextFactory = contextFactory;
     }
@@ -71,12 +97,17 @@ public class DolphinContextCommunicationHandler {
         }
 
 
+        if (isResumedLongPoll(request)) {
+            resumeLongPoll(clientSession, request, response);
+            return;
+        }
+
         final String userAgent = request.getHeader("user-agent");
         LOG.trace("receiving RPM request for client session {} in http session {} from client with user-agent {}", clientSession.getId(), httpSession.getId(), userAgent);
 
         final List<Command> commands = new ArrayList<>();
         try {
-            commands.addAll(readCommands(request));
+            commands.addAll(readCommands(clientSession, request));
         } catch (final Exception e) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             LOG.error("Can not parse request! (DolphinContext " + clientSession.getId() + ")", e);
@@ -87,20 +118,27 @@ public class DolphinContextCommunicationHandler {
         try {
             DolphinContext context = getOrCreateContext(clientSession, commands);
 
+            final boolean suspendLongPoll = canSuspendLongPoll(request, commands);
             final List<Command> results = new ArrayList<>();
             try {
-                results.addAll(handle(context, commands));
+                results.addAll(context.handle(commands, !suspendLongPoll));
             } catch (final Exception e) {
                 response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 LOG.error("Can not withoutResult the the received commands (DolphinContext " + context.getId() + ")", e);
                 return;
             }
 
+            if (suspendLongPoll && results.isEmpty()) {
+                request.setAttribute(SUSPENDED_LONG_POLL_ATTRIBUTE_NAME, context.getId());
+                SuspendedLongPoll.suspend(request.startAsync(), context, configuration.getMaxPollTime());
+                return;
+            }
+
             LOG.trace("Sending RPM response for client session {} in http session {} from client with user-agent {}", context.getId(), httpSession.getId(), userAgent);
             LOG.trace("RPM response for client session {} in http session {} contains {} commands", context.getId(), httpSession.getId(), results.size());
 
             try {
-                writeCommands(results, response);
+                writeCommands(clientSession, context.getCompressionStatistics(), results, request, response);
             } catch (final Exception e) {
                 response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 LOG.error("Can not writeRequestContent response!", e);
@@ -113,6 +151,47 @@ public class DolphinContextCommunicationHandler {
         }
     }
 
+    private boolean canSuspendLongPoll(final HttpServletRequest request, final List<Command> commands) {
+        if (!configuration.isAsyncLongPollActive() || commands.isEmpty()) {
+            return false;
+        }
+        if (!request.isAsyncSupported()) {
+            LOG.trace("Async long poll is active but not supported by the current request. Falling back to blocking long poll.");
+            return false;
+        }
+        return commands.get(commands.size() - 1) instanceof StartLongPollCommand;
+    }
+
+    private boolean isResumedLongPoll(final HttpServletRequest request) {
+        return DispatcherType.ASYNC.equals(request.getDispatcherType()) && request.getAttribute(SUSPENDED_LONG_POLL_ATTRIBUTE_NAME) != null;
+    }
+
+    private void resumeLongPoll(final ClientSession clientSession, final HttpServletRequest request, final HttpServletResponse response) {
+        final DolphinContext context = getContext(clientSession);
+        if (context == null) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            LOG.error("DolphinContext {} was destroyed while the long poll was suspended", clientSession.getId());
+            return;
+        }
+        LOG.trace("Resuming long poll for DolphinContext {}", context.getId());
+
+        final List<Command> results = new ArrayList<>();
+        try {
+            results.addAll(context.resumeLongPoll());
+        } catch (final Exception e) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            LOG.error("Can not resume long poll (DolphinContext " + context.getId() + ")", e);
+            return;
+        }
+
+        try {
+            writeCommands(clientSession, context.getCompressionStatistics(), results, request, response);
+        } catch (final Exception e) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            LOG.error("Can not writeRequestContent response!", e);
+        }
+    }
+
     public DolphinContext getContext(final ClientSession clientSession) {
         Assert.requireNonNull(clientSession, "clientSession");
         return clientSession.getAttribute(DOLPHIN_CONTEXT_ATTRIBUTE_NAME);
@@ -163,28 +242,83 @@ public class DolphinContextCommunicationHandler {
         return false;
     }
 
-    private List<Command> readCommands(final HttpServletRequest request) throws IOException {
-        final List<Command> commands = new ArrayList<>();
-        final StringBuilder requestJson = new StringBuilder();
-        String line;
-        while ((line = request.getReader().readLine()) != null) {
-            requestJson.append(line).append("\n");
+    private List<Command> readCommands(final ClientSession clientSession, final HttpServletRequest request) throws IOException {
+        final String contentType = request.getContentType();
+        final String contentEncoding = request.getHeader(CONTENT_ENCODING_HEADER);
+        if (contentType != null && contentType.startsWith(BINARY_MIME_TYPE)) {
+            return getBinaryCodec(clientSession).decode(ContentEncodings.decode(request.getInputStream(), contentEncoding));
+        }
+        if (contentEncoding == null) {
+            return codec.decode(request.getReader());
+        }
+        final String charset = request.getCharacterEncoding() != null ? request.getCharacterEncoding() : CHARSET;
+        return codec.decode(new InputStreamReader(ContentEncodings.decode(request.getInputStream(), contentEncoding), charset));
+    }
+
+    void writeCommands(final ClientSession clientSession, final CompressionStatistics compressionStatistics, final List<Command> commands, final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final boolean binary = configuration.isBinaryCodecActive() && acceptsBinary(request);
+        if (binary) {
+            response.setHeader("Content-Type", BINARY_MIME_TYPE);
+        } else {
+            response.setHeader("Content-Type", "application/json");
+            response.setCharacterEncoding("UTF-8");
+        }
+
+        final String encoding = configuration.isCompressionActive() ? getAcceptedEncoding(request) : null;
+        if (configuration.isCompressionActive()) {
+            //Tells the client that compressed request bodies are supported (see RFC 7694)
+            response.setHeader(ACCEPT_ENCODING_HEADER, ContentEncodings.SUPPORTED_ENCODINGS);
+        }
+        if (encoding == null) {
+            if (binary) {
+                getBinaryCodec(clientSession).encode(commands, response.getOutputStream());
+            } else {
+                codec.encode(commands, response.getWriter());
+            }
+            return;
+        }
+
+        final Runnable onCompressionStart = () -> response.setHeader(CONTENT_ENCODING_HEADER, encoding);
+        try (final CompressingOutputStream outputStream = new CompressingOutputStream(response.getOutputStream(), encoding, configuration.getCompressionThreshold(), onCompressionStart, compressionStatistics)) {
+            if (binary) {
+                getBinaryCodec(clientSession).encode(commands, outputStream);
+            } else {
+                final Writer writer = new OutputStreamWriter(outputStream, CHARSET);
+                codec.encode(commands, writer);
+                writer.flush();
+            }
         }
-        commands.addAll(codec.decode(requestJson.toString()));
-        return commands;
     }
 
-    private void writeCommands(final List<Command> commands, final HttpServletResponse response) throws IOException {
-        response.setHeader("Content-Type", "application/json");
-        response.setCharacterEncoding("UTF-8");
-        final String jsonResponse = codec.encode(commands);
-        response.getWriter().print(jsonResponse);
+    private String getAcceptedEncoding(final HttpServletRequest request) {
+        final Enumeration<String> acceptEncodingHeaders = request.getHeaders(ACCEPT_ENCODING_HEADER);
+        if (acceptEncodingHeaders == null) {
+            return null;
+        }
+        return ContentEncodings.negotiate(String.join(",", Collections.list(acceptEncodingHeaders)));
     }
 
-    private List<Command> handle(final DolphinContext context, List<Command> commands) {
-        final List<Command> results = new ArrayList<>();
-        results.addAll(context.handle(commands));
-        return results;
+    private boolean acceptsBinary(final HttpServletRequest request) {
+        final Enumeration<String> acceptHeaders = request.getHeaders(ACCEPT_HEADER);
+        while (acceptHeaders != null && acceptHeaders.hasMoreElements()) {
+            if (acceptHeaders.nextElement().contains(BINARY_MIME_TYPE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BinaryCodec getBinaryCodec(final ClientSession clientSession) {
+        Assert.requireNonNull(clientSession, "clientSession");
+        synchronized (binaryCodecLock) {
+            final BinaryCodec existingCodec = clientSession.getAttribute(BINARY_CODEC_ATTRIBUTE_NAME);
+            if (existingCodec != null) {
+                return existingCodec;
+            }
+            final BinaryCodec binaryCodec = new BinaryCodec();
+            clientSession.setAttribute(BINARY_CODEC_ATTRIBUTE_NAME, binaryCodec);
+            return binaryCodec;
+        }
     }
 
     private void add(final ClientSession clientSession, final DolphinContext context) {
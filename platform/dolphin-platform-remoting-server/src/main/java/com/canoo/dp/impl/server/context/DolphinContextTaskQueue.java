@@ -17,6 +17,7 @@ package com.canoo.dp.impl.server.context;
 
 import com.canoo.dp.impl.platform.core.Assert;
 import com.canoo.dp.impl.server.client.ClientSessionProvider;
+import com.canoo.platform.core.functional.Subscription;
 import com.canoo.platform.server.client.ClientSession;
 import org.apiguardian.api.API;
 import org.slf4j.Logger;
@@ -29,6 +30,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -62,6 +64,8 @@ public class DolphinContextTaskQueue {
 
     private final AtomicBoolean interrupted = new AtomicBoolean(false);
 
+    private final AtomicReference<Runnable> wakeUpListener = new AtomicReference<>();
+
     public DolphinContextTaskQueue(final String dolphinSessionId, final ClientSessionProvider sessionProvider, final CommunicationManager communicationManager, final long maxExecutionTime, final TimeUnit maxExecutionTimeUnit) {
         this.dolphinSessionId = Assert.requireNonBlank(dolphinSessionId, "dolphinSessionId");
         this.tasks = new LinkedBlockingQueue<>();
@@ -92,6 +96,7 @@ public class DolphinContextTaskQueue {
         } finally {
             taskLock.unlock();
         }
+        fireWakeUp();
         return future;
     }
 
@@ -104,9 +109,68 @@ public class DolphinContextTaskQueue {
         } finally {
             taskLock.unlock();
         }
+        fireWakeUp();
+    }
+
+    /**
+     * Returns true if tasks are waiting for execution or the queue was interrupted since the last execution.
+     * @return true if a call of {@link #executeAvailableTasks()} would do any work
+     */
+    public boolean hasPendingTasks() {
+        return interrupted.get() || !tasks.isEmpty();
+    }
+
+    /**
+     * Registers a one-shot listener that will be called as soon as a task is added to the queue or the queue is
+     * interrupted. If the queue already contains pending tasks the listener will be called directly. Since only one
+     * long poll can wait for a Dolphin Platform session a previously registered listener will be called and replaced.
+     * This is used by a suspended (asynchronous) long poll to resume without blocking a thread while waiting.
+     * @param listener the listener
+     * @return subscription to remove the listener
+     */
+    public Subscription onWakeUp(final Runnable listener) {
+        Assert.requireNonNull(listener, "listener");
+        final Runnable previousListener = wakeUpListener.getAndSet(listener);
+        if (previousListener != null) {
+            LOG.trace("Replacing wake up listener in Dolphin Platform context {}", dolphinSessionId);
+            previousListener.run();
+        }
+        if (hasPendingTasks()) {
+            fireWakeUp();
+        }
+        return new Subscription() {
+            @Override
+            public void unsubscribe() {
+                wakeUpListener.compareAndSet(listener, null);
+            }
+        };
     }
 
+    private void fireWakeUp() {
+        final Runnable listener = wakeUpListener.getAndSet(null);
+        if (listener != null) {
+            LOG.trace("Waking up long poll in Dolphin Platform context {}", dolphinSessionId);
+            listener.run();
+        }
+    }
+
+    /**
+     * Executes the tasks of the queue and blocks the current thread until response commands are available,
+     * the queue is interrupted or the max execution time is reached.
+     */
     public void executeTasks() {
+        executeTasks(true);
+    }
+
+    /**
+     * Executes all tasks that are currently in the queue without waiting for new tasks. The method returns as
+     * soon as response commands are available, the queue is interrupted or no task is left.
+     */
+    public void executeAvailableTasks() {
+        executeTasks(false);
+    }
+
+    private void executeTasks(final boolean waitForTasks) {
         final ClientSession currentSession = sessionProvider.getCurrentClientSession();
         if (currentSession == null || !dolphinSessionId.equals(currentSession.getId())) {
             throw new IllegalStateException("Not in Dolphin Platform session " + dolphinSessionId);
@@ -122,7 +186,9 @@ public class DolphinContextTaskQueue {
                 break;
             }
             final Runnable task = tasks.poll();
-            if (task == null) {
+            if (task == null && !waitForTasks) {
+                break;
+            } else if (task == null) {
                 try {
                     taskLock.lock();
                     try {
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.context;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.platform.core.functional.Subscription;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * A long poll that is suspended by the servlet async API (see {@link AsyncContext}). While suspended no container
+ * thread is blocked. The long poll will be resumed (by dispatching the request again) once a task is available in
+ * the {@link DolphinContext}, the long poll is interrupted or the async timeout is reached.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class SuspendedLongPoll implements AsyncListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SuspendedLongPoll.class);
+
+    private final AsyncContext asyncContext;
+
+    private final String dolphinContextId;
+
+    private final AtomicBoolean resumed = new AtomicBoolean(false);
+
+    private Subscription taskSubscription;
+
+    private SuspendedLongPoll(final AsyncContext asyncContext, final String dolphinContextId) {
+        this.asyncContext = Assert.requireNonNull(asyncContext, "asyncContext");
+        this.dolphinContextId = Assert.requireNonBlank(dolphinContextId, "dolphinContextId");
+    }
+
+    /**
+     * Suspends the long poll of the given context.
+     * @param asyncContext the async context of the long poll request
+     * @param context the dolphin context
+     * @param timeout the max time in milliseconds the long poll will be suspended
+     */
+    public static void suspend(final AsyncContext asyncContext, final DolphinContext context, final long timeout) {
+        Assert.requireNonNull(asyncContext, "asyncContext");
+        Assert.requireNonNull(context, "context");
+        final SuspendedLongPoll longPoll = new SuspendedLongPoll(asyncContext, context.getId());
+        asyncContext.setTimeout(timeout);
+        asyncContext.addListener(longPoll);
+        LOG.trace("Suspending long poll for DolphinContext {}", context.getId());
+        longPoll.taskSubscription = context.onTaskAvailable(() -> longPoll.resume());
+    }
+
+    private void resume() {
+        if (resumed.compareAndSet(false, true)) {
+            LOG.trace("Resuming long poll for DolphinContext {}", dolphinContextId);
+            asyncContext.dispatch();
+        }
+    }
+
+    private void unsubscribe() {
+        final Subscription subscription = taskSubscription;
+        if (subscription != null) {
+            subscription.unsubscribe();
+        }
+    }
+
+    @Override
+    public void onTimeout(final AsyncEvent event) throws IOException {
+        unsubscribe();
+        resume();
+    }
+
+    @Override
+    public void onComplete(final AsyncEvent event) throws IOException {
+        unsubscribe();
+    }
+
+    @Override
+    public void onError(final AsyncEvent event) throws IOException {
+        LOG.warn("Error in suspended long poll for DolphinContext {}", dolphinContextId, event.getThrowable());
+        unsubscribe();
+        if (resumed.compareAndSet(false, true)) {
+            asyncContext.complete();
+        }
+    }
+
+    @Override
+    public void onStartAsync(final AsyncEvent event) throws IOException {
+        //Nothing to do here
+    }
+}
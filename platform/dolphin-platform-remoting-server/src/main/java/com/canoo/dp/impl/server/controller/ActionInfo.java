@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.controller;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.platform.core.ReflectionHelper;
+import com.canoo.platform.remoting.server.Param;
+import com.canoo.platform.remoting.server.RemotingAction;
+import org.apiguardian.api.API;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Describes an action (see {@link RemotingAction}) of a controller. The parameter names and types are read once and the
+ * method is invoked by a {@link MethodHandle} that accepts the controller instance and an array of arguments.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class ActionInfo {
+
+    private final String name;
+
+    private final Method method;
+
+    private final String[] parameterNames;
+
+    private final Class<?>[] parameterTypes;
+
+    private final Class<?>[] boxedParameterTypes;
+
+    private final MethodHandle invoker;
+
+    ActionInfo(final Method method) {
+        this.method = Assert.requireNonNull(method, "method");
+        this.name = ControllerUtils.getActionMethodName(method);
+        this.parameterTypes = method.getParameterTypes();
+        this.parameterNames = new String[parameterTypes.length];
+        this.boxedParameterTypes = new Class<?>[parameterTypes.length];
+        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            String paramName = Integer.toString(i);
+            for (final Annotation annotation : parameterAnnotations[i]) {
+                if (annotation.annotationType().equals(Param.class)) {
+                    final Param param = (Param) annotation;
+                    if (param.value() != null && !param.value().isEmpty()) {
+                        paramName = param.value();
+                    }
+                }
+            }
+            parameterNames[i] = paramName;
+            boxedParameterTypes[i] = ReflectionHelper.getWrapperClass(parameterTypes[i]).orElse(parameterTypes[i]);
+        }
+        this.invoker = ControllerInfo.unreflect(method)
+                .asSpreader(Object[].class, parameterTypes.length)
+                .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+    }
+
+    /**
+     * Returns the name of the action
+     * @return the name of the action
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the method that defines the action
+     * @return the method
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the number of parameters of the action
+     * @return the number of parameters
+     */
+    public int getParameterCount() {
+        return parameterTypes.length;
+    }
+
+    /**
+     * Returns the name of the parameter at the given index as it is defined by {@link Param}
+     * @param index the index of the parameter
+     * @return the name of the parameter
+     */
+    public String getParameterName(final int index) {
+        return parameterNames[index];
+    }
+
+    /**
+     * Returns the type of the parameter at the given index
+     * @param index the index of the parameter
+     * @return the type of the parameter
+     */
+    public Class<?> getParameterType(final int index) {
+        return parameterTypes[index];
+    }
+
+    /**
+     * Returns true if the given value can be passed as the parameter at the given index
+     * @param index the index of the parameter
+     * @param value the value
+     * @return true if the value can be passed
+     */
+    public boolean isAssignableToParameter(final int index, final Object value) {
+        return value == null ? !parameterTypes[index].isPrimitive() : boxedParameterTypes[index].isInstance(value);
+    }
+
+    /**
+     * Invokes the action. Exceptions that are thrown by the action are not wrapped.
+     * @param controller the controller instance
+     * @param args the arguments of the action
+     * @throws Throwable any exception that is thrown by the action
+     */
+    public void invoke(final Object controller, final Object[] args) throws Throwable {
+        Assert.requireNonNull(controller, "controller");
+        Assert.requireNonNull(args, "args");
+        invoker.invokeExact(controller, args);
+    }
+}
@@ -16,7 +16,6 @@
 package com.canoo.dp.impl.server.controller;
 
 import com.canoo.dp.impl.platform.core.Assert;
-import com.canoo.dp.impl.platform.core.ReflectionHelper;
 import com.canoo.dp.impl.platform.core.context.ContextManagerImpl;
 import com.canoo.dp.impl.remoting.BeanRepository;
 import com.canoo.dp.impl.remoting.Converters;
@@ -24,27 +23,18 @@ import com.canoo.dp.impl.server.beans.PostConstructInterceptor;
 import com.canoo.dp.impl.server.error.ActionErrorHandler;
 import com.canoo.dp.impl.server.mbean.DolphinContextMBeanRegistry;
 import com.canoo.dp.impl.server.model.ServerBeanBuilder;
-import com.canoo.platform.core.DolphinRuntimeException;
 import com.canoo.platform.core.functional.Subscription;
-import com.canoo.platform.remoting.server.Param;
-import com.canoo.platform.remoting.server.ParentController;
-import com.canoo.platform.remoting.server.PostChildCreated;
-import com.canoo.platform.remoting.server.PreChildDestroyed;
-import com.canoo.platform.remoting.server.RemotingAction;
-import com.canoo.platform.remoting.server.RemotingModel;
+import com.canoo.platform.remoting.spi.converter.Converter;
 import com.canoo.platform.remoting.spi.converter.ValueConverterException;
 import com.canoo.platform.server.spi.components.ManagedBeanFactory;
 import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -91,6 +81,8 @@ public class ControllerHandler {
 
     private final ActionErrorHandler actionErrorHandler;
 
+    private final Map<ActionInfo, Converter[]> actionConverterCache = new IdentityHashMap<>();
+
     public ControllerHandler(final DolphinContextMBeanRegistry mBeanRegistry, final ManagedBeanFactory beanFactory, final ServerBeanBuilder beanBuilder, final BeanRepository beanRepository, final ControllerRepository controllerRepository, final Converters converters) {
         this.mBeanRegistry = Assert.requireNonNull(mBeanRegistry, "mBeanRegistry");
         this.beanFactory = Assert.requireNonNull(beanFactory, "beanFactory");
@@ -113,13 +105,14 @@ public class ControllerHandler {
             throw new ControllerCreationException("Can not find controller class for name " + name);
         }
 
+        final ControllerInfo controllerInfo = controllerRepository.getControllerInfo(controllerClass);
         final String id = UUID.randomUUID().toString();
         final Object instance = beanFactory.createDependentInstance(controllerClass, new PostConstructInterceptor() {
             @Override
             public void intercept(final Object controller) {
-                attachModel(id, controller);
+                attachModel(id, controller, controllerInfo);
                 if(parentControllerId != null) {
-                    attachParent(id, controller, parentControllerId);
+                    attachParent(id, controller, controllerInfo, parentControllerId);
                 }
             }
         });
@@ -131,7 +124,7 @@ public class ControllerHandler {
         if(parentControllerId != null) {
             final Object parentController = controllers.get(parentControllerId);
             Assert.requireNonNull(parentController, "parentController");
-            firePostChildCreated(parentController, instance);
+            firePostChildCreated(parentControllerId, parentController, instance);
         }
 
         LOG.trace("Created Controller of type %s and id %s for name %s", ControllerUtils.getControllerName(controllerClass), id, name);
@@ -156,7 +149,7 @@ public class ControllerHandler {
         if(parentControllerId != null) {
             final Object parentController = controllers.get(parentControllerId);
             Assert.requireNonNull(parentController, "parentController");
-            firePreChildDestroyed(parentController, controller);
+            firePreChildDestroyed(parentControllerId, parentController, controller);
         }
 
         final Class controllerClass = controllerClassMapping.remove(id);
@@ -180,82 +173,41 @@ public class ControllerHandler {
         }
     }
 
-    private void firePostChildCreated(final Object parentController, final Object childController) {
+    private void firePostChildCreated(final String parentControllerId, final Object parentController, final Object childController) {
         Assert.requireNonNull(parentController, "parentController");
         Assert.requireNonNull(childController, "childController");
-
-        final List<Method> allMethods = ReflectionHelper.getInheritedDeclaredMethods(parentController.getClass());
-
-        for(final Method method : allMethods) {
-            if(method.isAnnotationPresent(PostChildCreated.class)) {
-                if(method.getParameters()[0].getType().isAssignableFrom(childController.getClass())) {
-                    ReflectionHelper.invokePrivileged(method, parentController, childController);
-                }
-            }
-        }
+        getControllerInfo(parentControllerId).firePostChildCreated(parentController, childController);
     }
 
-    private void firePreChildDestroyed(final Object parentController, final Object childController) {
-        final List<Method> allMethods = ReflectionHelper.getInheritedDeclaredMethods(parentController.getClass());
-
-        for(final Method method : allMethods) {
-            if(method.isAnnotationPresent(PreChildDestroyed.class)) {
-                if(method.getParameters()[0].getType().isAssignableFrom(childController.getClass())) {
-                    ReflectionHelper.invokePrivileged(method, parentController, childController);
-                }
-            }
-        }
+    private void firePreChildDestroyed(final String parentControllerId, final Object parentController, final Object childController) {
+        Assert.requireNonNull(parentController, "parentController");
+        Assert.requireNonNull(childController, "childController");
+        getControllerInfo(parentControllerId).firePreChildDestroyed(parentController, childController);
     }
 
-    private void attachModel(final String controllerId, final Object controller) {
+    private void attachModel(final String controllerId, final Object controller, final ControllerInfo controllerInfo) {
         Assert.requireNonNull(controllerId, "controllerId");
         Assert.requireNonNull(controller, "controller");
+        Assert.requireNonNull(controllerInfo, "controllerInfo");
 
-        final List<Field> allFields = ReflectionHelper.getInheritedDeclaredFields(controller.getClass());
-
-        Field modelField = null;
-
-        for (final Field field : allFields) {
-            if (field.isAnnotationPresent(RemotingModel.class)) {
-                if (modelField != null) {
-                    throw new RuntimeException("More than one Model was found for controller " + ControllerUtils.getControllerName(controller.getClass()));
-                }
-                modelField = field;
-            }
-        }
-
-        if (modelField != null) {
-            final Object model = beanBuilder.createRootModel(modelField.getType());
-            ReflectionHelper.setPrivileged(modelField, controller, model);
+        if (controllerInfo.hasModel()) {
+            final Object model = beanBuilder.createRootModel(controllerInfo.getModelType());
+            controllerInfo.injectModel(controller, model);
             models.put(controllerId, model);
         }
     }
 
-    private void attachParent(final String controllerId, final Object controller, final String parentControllerId) {
+    private void attachParent(final String controllerId, final Object controller, final ControllerInfo controllerInfo, final String parentControllerId) {
         Assert.requireNonNull(controllerId, "controllerId");
         Assert.requireNonNull(controller, "controller");
+        Assert.requireNonNull(controllerInfo, "controllerInfo");
         Assert.requireNonNull(parentControllerId, "parentControllerId");
 
-        final List<Field> allFields = ReflectionHelper.getInheritedDeclaredFields(controller.getClass());
-
-        Field parentField = null;
-
-        for (final Field field : allFields) {
-            if (field.isAnnotationPresent(ParentController.class)) {
-                if (parentField != null) {
-                    throw new RuntimeException("More than one parent was found for controller " + ControllerUtils.getControllerName(controller.getClass()));
-                }
-                parentField = field;
-            }
-        }
-        if (parentField != null) {
+        if (controllerInfo.hasParentController()) {
             final Object parentController = controllers.get(parentControllerId);
             Assert.requireNonNull(parentController, "parentController");
 
-            if(!parentField.getType().isAssignableFrom(parentController.getClass())) {
-                throw new RuntimeException("Parent controller in " + controller.getClass() + " defined of wrong type. Should be " + parentController.getClass());
-            }
-            ReflectionHelper.setPrivileged(parentField, controller, parentController);
+            controllerInfo.injectParentController(controller, parentController);
             if(parentChildRelations.get(parentControllerId) == null) {
                 parentChildRelations.put(parentControllerId, new ArrayList<String>());
             }
@@ -264,6 +216,12 @@ public class ControllerHandler {
         }
     }
 
+    private ControllerInfo getControllerInfo(final String controllerId) {
+        final Class<?> controllerClass = controllerClassMapping.get(controllerId);
+        Assert.requireNonNull(controllerClass, "controllerClass");
+        return controllerRepository.getControllerInfo(controllerClass);
+    }
+
     public void invokeAction(final String controllerId, final String actionName, final Map<String, Object> params) throws InvokeActionException {
         Assert.requireNonBlank(controllerId, "controllerId");
         Assert.requireNonBlank(actionName, "actionName");
@@ -284,32 +242,28 @@ public class ControllerHandler {
             if(controllerClass == null) {
                 throw new InvokeActionException("No controllerClass for id " + controllerId + " found");
             }
-            final Method actionMethod = getActionMethod(controllerClass, actionName);
-            if(actionMethod == null) {
-                throw new InvokeActionException("No actionMethod with name " + actionName + " in controller class " + ControllerUtils.getControllerName(controllerClass) + " found");
+            final ControllerInfo controllerInfo = controllerRepository.getControllerInfo(controllerClass);
+            final ActionInfo action = controllerInfo.getAction(actionName);
+            if(action == null) {
+                throw new InvokeActionException("No actionMethod with name " + actionName + " in controller class " + controllerInfo.getControllerName() + " found");
             }
-            final List<Object> args = getArgs(actionMethod, params);
-            LOG.debug("Will call {} action for controller {} ({}.{}) with {} params.", actionName, controllerId, controllerClass, ControllerUtils.getActionMethodName(actionMethod), args.size());
+            final Object[] args = getArgs(action, params);
+            LOG.debug("Will call {} action for controller {} ({}.{}) with {} params.", actionName, controllerId, controllerClass, action.getMethod().getName(), args.length);
             if(LOG.isTraceEnabled()) {
-                int index = 1;
-                for(final Object param : args) {
+                for(int i = 0; i < args.length; i++) {
+                    final Object param = args[i];
                     if(param != null) {
-                        LOG.trace("Action param {}: {} with type {} is called with value \"{}\" and type {}", index, actionMethod.getParameters()[index - 1].getName(), actionMethod.getParameters()[index - 1].getType().getSimpleName(), param, param.getClass());
+                        LOG.trace("Action param {}: {} with type {} is called with value \"{}\" and type {}", i + 1, action.getParameterName(i), action.getParameterType(i).getSimpleName(), param, param.getClass());
                     } else {
-                        LOG.trace("Action param {}: {} with type {} is called with value null", index, actionMethod.getParameters()[index - 1].getName(), actionMethod.getParameters()[index - 1].getType().getSimpleName());
+                        LOG.trace("Action param {}: {} with type {} is called with value null", i + 1, action.getParameterName(i), action.getParameterType(i).getSimpleName());
                     }
-                    index++;
                 }
             }
             try {
-                ReflectionHelper.invokePrivileged(actionMethod, controller, args.toArray());
-            } catch (final DolphinRuntimeException e) {
-                if(e.getCause() instanceof InvocationTargetException) {
-                    final InvocationTargetException invocationTargetException = (InvocationTargetException) e.getCause();
-                    final Throwable internalException = invocationTargetException.getCause();
-                    actionErrorHandler.handle(internalException, controller, ControllerUtils.getControllerName(controllerClass), actionName);
-                }
-                throw e;
+                action.invoke(controller, args);
+            } catch (final Throwable internalException) {
+                actionErrorHandler.handle(internalException, controller, controllerInfo.getControllerName(), actionName);
+                throw new InvokeActionException("Can not call action '" + actionName + "'", internalException);
             }
         } catch (final InvokeActionException e) {
           throw e;
@@ -321,62 +275,52 @@ public class ControllerHandler {
         }
     }
 
-    private List<Object> getArgs(final Method method, final Map<String, Object> params) throws ValueConverterException {
-        Assert.requireNonNull(method, "method");
+    private Object[] getArgs(final ActionInfo action, final Map<String, Object> params) throws ValueConverterException {
+        Assert.requireNonNull(action, "action");
         Assert.requireNonNull(params, "params");
 
-        final int n = method.getParameterTypes().length;
-        final List<Object> args = new ArrayList<>(n);
+        final int n = action.getParameterCount();
+        final Object[] args = new Object[n];
+        final Converter[] actionConverters = getConverters(action);
 
         for (int i = 0; i < n; i++) {
-            String paramName = Integer.toString(i);
-            for (final Annotation annotation : method.getParameterAnnotations()[i]) {
-                if (annotation.annotationType().equals(Param.class)) {
-                    final Param param = (Param) annotation;
-                    if (param.value() != null && !param.value().isEmpty()) {
-                        paramName = param.value();
-                    }
-                }
-            }
+            final String paramName = action.getParameterName(i);
             if(!params.containsKey(paramName)) {
                 throw new IllegalArgumentException("No value for param " + paramName + " specified!");
             }
             final Object value = params.get(paramName);
-            final Class<?> type = method.getParameters()[i].getType();
+            final Class<?> type = action.getParameterType(i);
             if(value != null) {
                 LOG.trace("Param check of value {} with type {} for param with type {}", value, value.getClass(), type);
-                args.add(converters.getConverter(type).convertFromDolphin(value));
+                if(actionConverters[i] == null) {
+                    actionConverters[i] = converters.getConverter(type);
+                }
+                final Object arg = actionConverters[i].convertFromDolphin(value);
+                if(arg != null && !action.isAssignableToParameter(i, arg)) {
+                    throw new IllegalArgumentException("Value of type " + arg.getClass() + " can not be used for parameter '" + paramName + "' of type " + type);
+                }
+                args[i] = arg;
             } else {
                 if(type.isPrimitive()) {
                     throw new IllegalArgumentException("Can not use 'null' for primitive type of parameter '" + paramName + "'");
                 }
-                args.add(null);
+                args[i] = null;
             }
         }
         return args;
     }
 
-    public Set<String> getAllControllerIds() {
-        return Collections.unmodifiableSet(controllers.keySet());
+    private Converter[] getConverters(final ActionInfo action) {
+        Converter[] actionConverters = actionConverterCache.get(action);
+        if(actionConverters == null) {
+            //Converters are resolved lazily since a parameter type might only be supported if a value is passed
+            actionConverters = new Converter[action.getParameterCount()];
+            actionConverterCache.put(action, actionConverters);
+        }
+        return actionConverters;
     }
 
-    private <T> Method getActionMethod(Class<T> controllerClass, String actionName) {
-        Assert.requireNonNull(controllerClass, "controllerClass");
-        Assert.requireNonNull(actionName, "actionName");
-
-        final List<Method> allMethods = ReflectionHelper.getInheritedDeclaredMethods(controllerClass);
-        Method foundMethod = null;
-        for (final Method method : allMethods) {
-            if (method.isAnnotationPresent(RemotingAction.class)) {
-                final String currentActionName = ControllerUtils.getActionMethodName(method);
-                if (currentActionName.equals(actionName)) {
-                    if (foundMethod != null) {
-                        throw new RuntimeException("More than one method for action " + actionName + " found in " + controllerClass);
-                    }
-                    foundMethod = method;
-                }
-            }
-        }
-        return foundMethod;
+    public Set<String> getAllControllerIds() {
+        return Collections.unmodifiableSet(controllers.keySet());
     }
 }
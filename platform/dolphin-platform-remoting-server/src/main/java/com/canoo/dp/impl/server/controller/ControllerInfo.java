@@ -0,0 +1,305 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.controller;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.platform.core.ReflectionHelper;
+import com.canoo.platform.core.DolphinRuntimeException;
+import com.canoo.platform.remoting.server.ParentController;
+import com.canoo.platform.remoting.server.PostChildCreated;
+import com.canoo.platform.remoting.server.PreChildDestroyed;
+import com.canoo.platform.remoting.server.RemotingAction;
+import com.canoo.platform.remoting.server.RemotingController;
+import com.canoo.platform.remoting.server.RemotingModel;
+import org.apiguardian.api.API;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Holds the reflective information of a controller class (see {@link RemotingController}) that is needed at runtime.
+ * The information is read once when the controller class is registered in the {@link ControllerRepository}. All
+ * methods and fields are accessed by {@link MethodHandle}s.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class ControllerInfo {
+
+    private static final MethodType INSTANCE_WITH_VALUE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> controllerClass;
+
+    private final String controllerName;
+
+    private final Map<String, ActionInfo> actions;
+
+    private final Set<String> ambiguousActions;
+
+    private final List<ChildCallback> postChildCreatedCallbacks;
+
+    private final List<ChildCallback> preChildDestroyedCallbacks;
+
+    private final Class<?> modelType;
+
+    private final MethodHandle modelSetter;
+
+    private final Class<?> parentControllerType;
+
+    private final MethodHandle parentControllerSetter;
+
+    private final boolean ambiguousParentController;
+
+    ControllerInfo(final Class<?> controllerClass) {
+        this.controllerClass = Assert.requireNonNull(controllerClass, "controllerClass");
+        this.controllerName = ControllerUtils.getControllerName(controllerClass);
+
+        final Map<String, ActionInfo> foundActions = new HashMap<>();
+        final Set<String> foundAmbiguousActions = new HashSet<>();
+        final List<ChildCallback> foundPostChildCreatedCallbacks = new ArrayList<>();
+        final List<ChildCallback> foundPreChildDestroyedCallbacks = new ArrayList<>();
+        for (final Method method : ReflectionHelper.getInheritedDeclaredMethods(controllerClass)) {
+            if (method.isAnnotationPresent(RemotingAction.class)) {
+                final ActionInfo action = new ActionInfo(method);
+                if (foundActions.put(action.getName(), action) != null) {
+                    foundAmbiguousActions.add(action.getName());
+                }
+            }
+            if (method.isAnnotationPresent(PostChildCreated.class)) {
+                foundPostChildCreatedCallbacks.add(new ChildCallback(method));
+            }
+            if (method.isAnnotationPresent(PreChildDestroyed.class)) {
+                foundPreChildDestroyedCallbacks.add(new ChildCallback(method));
+            }
+        }
+        this.actions = Collections.unmodifiableMap(foundActions);
+        this.ambiguousActions = Collections.unmodifiableSet(foundAmbiguousActions);
+        this.postChildCreatedCallbacks = Collections.unmodifiableList(foundPostChildCreatedCallbacks);
+        this.preChildDestroyedCallbacks = Collections.unmodifiableList(foundPreChildDestroyedCallbacks);
+
+        Field modelField = null;
+        Field parentField = null;
+        boolean foundMoreThanOneParent = false;
+        for (final Field field : ReflectionHelper.getInheritedDeclaredFields(controllerClass)) {
+            if (field.isAnnotationPresent(RemotingModel.class)) {
+                if (modelField != null) {
+                    throw new IllegalArgumentException("More than one Model was found for controller " + controllerName);
+                }
+                modelField = field;
+            }
+            if (field.isAnnotationPresent(ParentController.class)) {
+                foundMoreThanOneParent = foundMoreThanOneParent || parentField != null;
+                parentField = field;
+            }
+        }
+        this.modelType = modelField != null ? modelField.getType() : null;
+        this.modelSetter = modelField != null ? unreflectSetter(modelField) : null;
+        this.parentControllerType = parentField != null ? parentField.getType() : null;
+        this.parentControllerSetter = parentField != null ? unreflectSetter(parentField) : null;
+        this.ambiguousParentController = foundMoreThanOneParent;
+    }
+
+    /**
+     * Returns the controller class
+     * @return the controller class
+     */
+    public Class<?> getControllerClass() {
+        return controllerClass;
+    }
+
+    /**
+     * Returns the name of the controller as it is defined by {@link RemotingController}
+     * @return the name of the controller
+     */
+    public String getControllerName() {
+        return controllerName;
+    }
+
+    /**
+     * Returns the action with the given name or {@code null} if the controller doesn't define such an action
+     * @param actionName the name of the action
+     * @return the action or {@code null}
+     */
+    public ActionInfo getAction(final String actionName) {
+        Assert.requireNonNull(actionName, "actionName");
+        if (ambiguousActions.contains(actionName)) {
+            throw new IllegalStateException("More than one method for action " + actionName + " found in " + controllerClass);
+        }
+        return actions.get(actionName);
+    }
+
+    /**
+     * Returns true if the controller contains a field that is annotated by {@link RemotingModel}
+     * @return true if the controller has a model
+     */
+    public boolean hasModel() {
+        return modelSetter != null;
+    }
+
+    /**
+     * Returns the type of the model field or {@code null} if the controller has no model
+     * @return the type of the model
+     */
+    public Class<?> getModelType() {
+        return modelType;
+    }
+
+    /**
+     * Injects the model in the given controller
+     * @param controller the controller
+     * @param model the model
+     */
+    public void injectModel(final Object controller, final Object model) {
+        Assert.requireNonNull(controller, "controller");
+        if (modelSetter == null) {
+            throw new IllegalStateException("Controller " + controllerName + " does not define a model");
+        }
+        setField(modelSetter, controller, model);
+    }
+
+    /**
+     * Returns true if the controller contains a field that is annotated by {@link ParentController}
+     * @return true if the controller has a parent controller field
+     */
+    public boolean hasParentController() {
+        if (ambiguousParentController) {
+            throw new IllegalStateException("More than one parent was found for controller " + controllerName);
+        }
+        return parentControllerSetter != null;
+    }
+
+    /**
+     * Injects the parent controller in the given controller
+     * @param controller the controller
+     * @param parentController the parent controller
+     */
+    public void injectParentController(final Object controller, final Object parentController) {
+        Assert.requireNonNull(controller, "controller");
+        Assert.requireNonNull(parentController, "parentController");
+        if (!hasParentController()) {
+            throw new IllegalStateException("Controller " + controllerName + " does not define a parent controller");
+        }
+        if (!parentControllerType.isAssignableFrom(parentController.getClass())) {
+            throw new IllegalArgumentException("Parent controller in " + controller.getClass() + " defined of wrong type. Should be " + parentController.getClass());
+        }
+        setField(parentControllerSetter, controller, parentController);
+    }
+
+    /**
+     * Calls all methods of the given parent controller that are annotated by {@link PostChildCreated} and accept the
+     * given child controller.
+     * @param parentController the parent controller
+     * @param childController the child controller
+     */
+    public void firePostChildCreated(final Object parentController, final Object childController) {
+        fire(postChildCreatedCallbacks, parentController, childController);
+    }
+
+    /**
+     * Calls all methods of the given parent controller that are annotated by {@link PreChildDestroyed} and accept the
+     * given child controller.
+     * @param parentController the parent controller
+     * @param childController the child controller
+     */
+    public void firePreChildDestroyed(final Object parentController, final Object childController) {
+        fire(preChildDestroyedCallbacks, parentController, childController);
+    }
+
+    private void fire(final List<ChildCallback> callbacks, final Object parentController, final Object childController) {
+        Assert.requireNonNull(parentController, "parentController");
+        Assert.requireNonNull(childController, "childController");
+        for (final ChildCallback callback : callbacks) {
+            if (callback.childType.isAssignableFrom(childController.getClass())) {
+                try {
+                    callback.handle.invokeExact(parentController, childController);
+                } catch (final RuntimeException | Error e) {
+                    throw e;
+                } catch (final Throwable e) {
+                    throw new DolphinRuntimeException("Error while calling method '" + callback.method.getName() + "' on instance of type '" + parentController.getClass() + "'", e);
+                }
+            }
+        }
+    }
+
+    private void setField(final MethodHandle setter, final Object controller, final Object value) {
+        try {
+            setter.invokeExact(controller, value);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new IllegalStateException("Cannot set field of controller " + controllerName, e);
+        }
+    }
+
+    static MethodHandle unreflect(final Method method) {
+        Assert.requireNonNull(method, "method");
+        return withAccess(method, () -> MethodHandles.lookup().unreflect(method));
+    }
+
+    private static MethodHandle unreflectSetter(final Field field) {
+        Assert.requireNonNull(field, "field");
+        return withAccess(field, () -> MethodHandles.lookup().unreflectSetter(field)).asType(INSTANCE_WITH_VALUE_TYPE);
+    }
+
+    private static MethodHandle withAccess(final AccessibleObject accessibleObject, final HandleFactory factory) {
+        return AccessController.doPrivileged((PrivilegedAction<MethodHandle>) () -> {
+            final boolean wasAccessible = accessibleObject.isAccessible();
+            try {
+                accessibleObject.setAccessible(true);
+                return factory.create();
+            } catch (final IllegalAccessException e) {
+                throw new DolphinRuntimeException("Cannot access " + accessibleObject, e);
+            } finally {
+                accessibleObject.setAccessible(wasAccessible);
+            }
+        });
+    }
+
+    private interface HandleFactory {
+        MethodHandle create() throws IllegalAccessException;
+    }
+
+    private static final class ChildCallback {
+
+        private final Method method;
+
+        private final Class<?> childType;
+
+        private final MethodHandle handle;
+
+        private ChildCallback(final Method method) {
+            if (method.getParameterCount() != 1) {
+                throw new IllegalArgumentException("Method " + method.getName() + " must have exactly one parameter to be called for child controllers");
+            }
+            this.method = method;
+            this.childType = method.getParameterTypes()[0];
+            this.handle = unreflect(method).asType(INSTANCE_WITH_VALUE_TYPE);
+        }
+    }
+}
@@ -28,12 +28,14 @@ import static org.apiguardian.api.API.Status.INTERNAL;
 
 /**
  * This repository manages all Dolphin Platform controller classes (see {@link RemotingController}).
- * Internally the class uses the {@link ClasspathScanner} to find all controller classes.
+ * Internally the class uses the {@link ClasspathScanner} to find all controller classes. For each controller class a
+ * {@link ControllerInfo} is created once that is used to invoke actions and to inject models and parent controllers.
  */
 @API(since = "0.x", status = INTERNAL)
 public class ControllerRepository {
 
     private Map<String, Class> controllersClasses;
+    private final Map<Class<?>, ControllerInfo> controllerInfos;
     private ControllerValidator controllerValidator;
 
     /**
@@ -43,6 +45,7 @@ public class ControllerRepository {
         Assert.requireNonNull(scanner, "scanner");
 
         controllersClasses = new HashMap<>();
+        controllerInfos = new HashMap<>();
         controllerValidator = new ControllerValidator();
         Set<Class<?>> foundControllerClasses = scanner.getTypesAnnotatedWith(RemotingController.class);
         for (Class<?> controllerClass : foundControllerClasses) {
@@ -52,6 +55,7 @@ public class ControllerRepository {
                 name = controllerClass.getAnnotation(RemotingController.class).value();
             }
             controllersClasses.put(name, controllerClass);
+            controllerInfos.put(controllerClass, new ControllerInfo(controllerClass));
         }
     }
 
@@ -69,4 +73,18 @@ public class ControllerRepository {
         }
         return foundClass;
     }
+
+    /**
+     * Returns the information about the given controller class that was created when the class was registered
+     * @param controllerClass the controller class
+     * @return the controller information
+     */
+    public ControllerInfo getControllerInfo(final Class<?> controllerClass) {
+        Assert.requireNonNull(controllerClass, "controllerClass");
+        final ControllerInfo controllerInfo = controllerInfos.get(controllerClass);
+        if(controllerInfo == null) {
+            throw new IllegalArgumentException("Controller type " + controllerClass + " is not registered");
+        }
+        return controllerInfo;
+    }
 }
@@ -21,9 +21,13 @@ import com.canoo.dp.impl.server.context.DolphinContext;
 import com.canoo.dp.impl.server.context.DolphinContextProvider;
 import com.canoo.platform.core.functional.Subscription;
 import com.canoo.platform.remoting.server.event.ClientSessionEventFilter;
+import com.canoo.platform.remoting.server.event.Conflation;
+import com.canoo.platform.remoting.server.event.ContextFreeEventFilter;
 import com.canoo.platform.remoting.server.event.MessageEventContext;
 import com.canoo.platform.remoting.server.event.MessageListener;
 import com.canoo.platform.remoting.server.event.RemotingEventBus;
+import com.canoo.platform.remoting.server.event.Replay;
+import com.canoo.platform.remoting.server.event.ReplayPolicy;
 import com.canoo.platform.remoting.server.event.Topic;
 import com.canoo.platform.server.client.ClientSession;
 import org.apiguardian.api.API;
@@ -34,6 +38,7 @@ import javax.servlet.http.HttpSession;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,12 +55,14 @@ public abstract class AbstractEventBus implements RemotingEventBus {
 
     private DolphinContextProvider contextProvider;
 
-    private final Map<Topic<?>, List<ListenerWithFilter<?>>> topicToListenerMap = new ConcurrentHashMap<>();
-
-    private final Map<MessageListener<?>, String> listenerToSessionMap = new ConcurrentHashMap<>();
+    private final Map<Topic<?>, TopicSubscriptions> topicToSubscriptionsMap = new ConcurrentHashMap<>();
 
     private final Map<String, List<Subscription>> sessionStore = new ConcurrentHashMap<>();
 
+    private final Map<String, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+
+    private final EventConflator conflator = new EventConflator();
+
     private final AtomicBoolean initialized = new AtomicBoolean(false);
 
     public void init(final DolphinContextProvider contextProvider, final ClientSessionLifecycleHandler lifecycleHandler) {
@@ -83,6 +90,11 @@ public abstract class AbstractEventBus implements RemotingEventBus {
                 }
             }
         }
+        final ReplayBuffer replayBuffer = getReplayBuffer(topic);
+        if (replayBuffer != null) {
+            event.addMetadata(Replay.SEQUENCE_METADATA_KEY, replayBuffer.nextSequence());
+            replayBuffer.add(event);
+        }
         //Handle listener in same session
         if (currentContext != null) {
             final List<ListenerWithFilter<T>> listenersInCurrentSession = getListenersForSessionAndTopic(currentContext.getId(), topic);
@@ -109,23 +121,20 @@ public abstract class AbstractEventBus implements RemotingEventBus {
         }
         final String subscriptionSessionId = subscriptionContext.getId();
         LOG.trace("Adding subscription for topic {} in Dolphin Platform context {}", topic.getName(), subscriptionSessionId);
-        List<ListenerWithFilter<?>> listeners = topicToListenerMap.get(topic);
-        if (listeners == null) {
-            listeners = new CopyOnWriteArrayList<>();
-            topicToListenerMap.put(topic, listeners);
-        }
-        final ListenerWithFilter listenerWithFilter = new ListenerWithFilter(listener, filter);
-        listeners.add(listenerWithFilter);
-        listenerToSessionMap.put(listener, subscriptionSessionId);
+        final ListenerWithFilter listenerWithFilter = new ListenerWithFilter(listener, filter, topic.getConflation());
+        topicToSubscriptionsMap.compute(topic, (t, subscriptions) -> {
+            final TopicSubscriptions result = subscriptions != null ? subscriptions : new TopicSubscriptions();
+            result.add(subscriptionSessionId, listenerWithFilter);
+            return result;
+        });
         final Subscription subscription = new Subscription() {
             @Override
             public void unsubscribe() {
                 LOG.trace("Removing subscription for topic {} in Dolphin Platform context {}", topic.getName(), subscriptionSessionId);
-                final List<ListenerWithFilter<?>> listeners = topicToListenerMap.get(topic);
-                if (listeners != null) {
-                    listeners.remove(listenerWithFilter);
-                }
-                listenerToSessionMap.remove(listener);
+                topicToSubscriptionsMap.computeIfPresent(topic, (t, subscriptions) -> {
+                    subscriptions.remove(subscriptionSessionId, listenerWithFilter);
+                    return subscriptions.isEmpty() ? null : subscriptions;
+                });
                 removeSubscriptionForSession(this, subscriptionSessionId);
             }
         };
@@ -137,53 +146,155 @@ public abstract class AbstractEventBus implements RemotingEventBus {
         return subscribe(topic, listener, null);
     }
 
+    @Override
+    public <T extends Serializable> Subscription subscribe(final Topic<T> topic, final MessageListener<? super T> listener, final Predicate<MessageEventContext<T>> filter, final Replay replay) {
+        Assert.requireNonNull(replay, "replay");
+        final Subscription subscription = subscribe(topic, listener, filter);
+        if (replay.isNone()) {
+            return subscription;
+        }
+        final ReplayBuffer replayBuffer = getReplayBuffer(topic);
+        if (replayBuffer == null) {
+            LOG.debug("Topic {} has no replay buffer, no events will be replayed", topic.getName());
+            return subscription;
+        }
+        final List<DolphinEvent<T>> events = replayBuffer.getEvents();
+        LOG.trace("Replaying up to {} events for topic {}", events.size(), topic.getName());
+        for (final DolphinEvent<T> event : events) {
+            final MessageEventContext<T> eventContext = event.getMessageEventContext();
+            final Serializable sequence = eventContext.getMetadata().get(Replay.SEQUENCE_METADATA_KEY);
+            if (replay.includes(eventContext.getTimestamp(), sequence instanceof Long ? (Long) sequence : Long.MIN_VALUE)) {
+                if (filter == null || filter.test(eventContext)) {
+                    ((MessageListener<T>) listener).onMessage(event);
+                }
+            }
+        }
+        return subscription;
+    }
+
+    /**
+     * Creates the buffer for events of a topic with a {@link ReplayPolicy}. By default the events are buffered in
+     * memory.
+     * @param topic the topic
+     * @param policy the replay policy of the topic
+     * @return the replay buffer
+     */
+    protected ReplayBuffer createReplayBuffer(final Topic<?> topic, final ReplayPolicy policy) {
+        return new LocalReplayBuffer(policy);
+    }
+
+    private ReplayBuffer getReplayBuffer(final Topic<?> topic) {
+        final ReplayPolicy policy = topic.getReplayPolicy();
+        if (policy == null) {
+            return replayBuffers.get(topic.getName());
+        }
+        return replayBuffers.computeIfAbsent(topic.getName(), n -> createReplayBuffer(topic, policy));
+    }
+
     protected <T extends Serializable> void triggerEventHandling(final DolphinEvent<T> event) {
         Assert.requireNonNull(event, "event");
 
-        final Topic<T> topic = event.getMessageEventContext().getTopic();
+        final MessageEventContext<T> eventContext = event.getMessageEventContext();
+        final Topic<T> topic = eventContext.getTopic();
         LOG.trace("Handling data for topic {}", topic.getName());
-        final List<ListenerWithFilter<?>> listeners = topicToListenerMap.get(topic);
-        if (listeners != null) {
-            for (final ListenerWithFilter<?> listenerAndFilter : listeners) {
-                final String sessionId = listenerToSessionMap.get(listenerAndFilter.getListener());
-                if (sessionId == null) {
-                    throw new RuntimeException("Internal Error! No session id defined for event bus listener!");
-                }
-                if (sendInSameClientSession(event, (MessageListener<T>) listenerAndFilter.getListener())) {
-                    // This listener was already called at the publish call
+        final TopicSubscriptions subscriptions = topicToSubscriptionsMap.get(topic);
+        if (subscriptions != null) {
+            final String publisherSessionId = getPublisherSessionId(eventContext);
+            // context free filters are evaluated here, so a session only gets a task if at least one listener must be called
+            final Map<String, List<ListenerWithFilter<?>>> sessionListenerMap = subscriptions.getListenersForEvent(eventContext);
+            for (final Map.Entry<String, List<ListenerWithFilter<?>>> entry : sessionListenerMap.entrySet()) {
+                final String sessionId = entry.getKey();
+                if (sessionId.equals(publisherSessionId)) {
+                    // The listeners of this session were already called at the publish call
                     // since the event was called from the same session
-                    LOG.trace("Event listener for topic {} was already called in Dolphin Platform context {}", topic.getName(), sessionId);
+                    LOG.trace("Event listeners for topic {} were already called in Dolphin Platform context {}", topic.getName(), sessionId);
                 } else {
-                    LOG.trace("Event listener for topic {} must be called later in Dolphin Platform context {}", topic.getName(), sessionId);
-                    contextProvider.getContextById(sessionId).runLater(new Runnable() {
-
-                        @Override
-                        public void run() {
-                            LOG.trace("Calling event listener for topic {} in Dolphin Platform context {}", topic.getName(), sessionId);
-                            final Predicate<MessageEventContext<T>> sessionFilter = ((ListenerWithFilter<T>) listenerAndFilter).getFilter();
-                            final MessageListener<T> listener = (MessageListener<T>) listenerAndFilter.getListener();
-                            try {
-                                if (sessionFilter == null || sessionFilter.test(event.getMessageEventContext())) {
-                                    listener.onMessage(event);
+                    LOG.trace("Event listeners for topic {} must be called later in Dolphin Platform context {}", topic.getName(), sessionId);
+                    final List<ListenerWithFilter<?>> listeners = new ArrayList<>();
+                    final Map<Conflation<T>, List<ListenerWithFilter<?>>> conflatingListeners = new IdentityHashMap<>();
+                    for (final ListenerWithFilter<?> listenerAndFilter : entry.getValue()) {
+                        final Conflation<T> conflation = ((ListenerWithFilter<T>) listenerAndFilter).getConflation();
+                        if (conflation == null) {
+                            listeners.add(listenerAndFilter);
+                        } else {
+                            conflatingListeners.computeIfAbsent(conflation, c -> new ArrayList<>()).add(listenerAndFilter);
+                        }
+                    }
+                    final DolphinContext sessionContext = contextProvider.getContextById(sessionId);
+                    if (!listeners.isEmpty()) {
+                        sessionContext.runLater(() -> callListeners(event, listeners, sessionId));
+                    }
+                    for (final Map.Entry<Conflation<T>, List<ListenerWithFilter<?>>> conflationEntry : conflatingListeners.entrySet()) {
+                        final EventConflator.Slot slot = conflator.offer(sessionId, conflationEntry.getKey(), event, conflationEntry.getValue());
+                        if (slot != null) {
+                            sessionContext.runLater(() -> {
+                                final EventConflator.PendingEvent pendingEvent = conflator.take(slot);
+                                if (pendingEvent != null) {
+                                    callListeners((DolphinEvent<T>) pendingEvent.getEvent(), pendingEvent.getListeners(), sessionId);
                                 }
-                            } catch (final Exception e) {
-                                LOG.error("Error in calling event listener for topic '" + topic.getName() + "' in Dolphin Platform context " + sessionId, e);
-                            }
+                            });
+                        } else {
+                            LOG.trace("Event for topic {} was conflated or dropped in Dolphin Platform context {}", topic.getName(), sessionId);
                         }
-                    });
+                    }
                 }
             }
         }
     }
 
-    private <T extends Serializable> boolean sendInSameClientSession(final DolphinEvent<T> event, final MessageListener<T> listener) {
-        Assert.requireNonNull(event, "event");
-        final String listenerSessionId = listenerToSessionMap.get(listener);
+    private <T extends Serializable> void callListeners(final DolphinEvent<T> event, final List<ListenerWithFilter<?>> listeners, final String sessionId) {
         final MessageEventContext<T> eventContext = event.getMessageEventContext();
-        if (eventContext != null) {
-            return new ClientSessionEventFilter(listenerSessionId).test(eventContext);
+        final Topic<T> topic = eventContext.getTopic();
+        LOG.trace("Calling event listeners for topic {} in Dolphin Platform context {}", topic.getName(), sessionId);
+        for (final ListenerWithFilter<?> listenerAndFilter : listeners) {
+            final Predicate<MessageEventContext<T>> sessionFilter = ((ListenerWithFilter<T>) listenerAndFilter).getFilter();
+            final MessageListener<T> listener = (MessageListener<T>) listenerAndFilter.getListener();
+            try {
+                if (sessionFilter == null || sessionFilter instanceof ContextFreeEventFilter || sessionFilter.test(eventContext)) {
+                    listener.onMessage(event);
+                }
+            } catch (final Exception e) {
+                LOG.error("Error in calling event listener for topic '" + topic.getName() + "' in Dolphin Platform context " + sessionId, e);
+            }
         }
-        return false;
+    }
+
+    /**
+     * Releases all resources of the event bus. This method is called once the servlet context is destroyed. By default
+     * nothing needs to be released.
+     */
+    public void shutdown() {}
+
+    /**
+     * Returns the number of events that were replaced by a newer event of a conflating topic before they have been
+     * handled by a dolphin session.
+     * @return the number of conflated events
+     */
+    public long getConflatedEventCount() {
+        return conflator.getConflatedCount();
+    }
+
+    /**
+     * Returns the number of events of conflating topics that were dropped since the max number of pending keys of a
+     * dolphin session was reached.
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        return conflator.getDroppedCount();
+    }
+
+    /**
+     * Returns the id of the client session that published the event or {@code null} if the event was not published
+     * from a client session of this platform. Same logic as a {@link ClientSessionEventFilter}, without creating a
+     * filter per listener.
+     */
+    private <T extends Serializable> String getPublisherSessionId(final MessageEventContext<T> eventContext) {
+        final Map<String, Serializable> metadata = eventContext.getMetadata();
+        if (metadata == null || !EventConstants.TYPE_PLATFORM.equals(metadata.get(EventConstants.TYPE_PARAM))) {
+            return null;
+        }
+        final Serializable clientSessionId = metadata.get(EventConstants.CLIENT_SESSION_PARAM);
+        return clientSessionId instanceof String ? (String) clientSessionId : null;
     }
 
     protected abstract <T extends Serializable> void publishForOtherSessions(final DolphinEvent<T> event);
@@ -198,18 +309,11 @@ public abstract class AbstractEventBus implements RemotingEventBus {
         Assert.requireNonBlank(sessionId, "sessionId");
         Assert.requireNonNull(topic, "topic");
 
-        final List<ListenerWithFilter<?>> handlers = topicToListenerMap.get(topic);
-        if (handlers == null) {
+        final TopicSubscriptions subscriptions = topicToSubscriptionsMap.get(topic);
+        if (subscriptions == null) {
             return Collections.emptyList();
         }
-
-        final List<ListenerWithFilter<T>> ret = new ArrayList<>();
-        for (ListenerWithFilter<?> listener : handlers) {
-            if (sessionId.equals(listenerToSessionMap.get(listener.getListener()))) {
-                ret.add((ListenerWithFilter<T>) listener);
-            }
-        }
-        return ret;
+        return (List<ListenerWithFilter<T>>) (List) subscriptions.getListenersForSession(sessionId);
     }
 
     private void addSubscriptionForSession(final Subscription subscription, final String dolphinSessionId) {
@@ -236,6 +340,7 @@ public abstract class AbstractEventBus implements RemotingEventBus {
                 subscription.unsubscribe();
             }
         }
+        conflator.removeSession(dolphinSessionId);
     }
 
     private DolphinContext getCurrentContext() {
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.platform.remoting.server.event.Conflation;
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Holds the pending events of conflating subscriptions. For each dolphin session, topic, {@link Conflation} and
+ * conflation key only the latest event is stored until the task that handles it is executed in the session.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class EventConflator {
+
+    private final Map<Slot, PendingEvent> pendingEvents = new ConcurrentHashMap<>();
+
+    private final Map<Scope, AtomicInteger> pendingKeyCounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong conflatedCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Adds an event for the given session and conflation.
+     * @return the slot of the event if a new task must be scheduled to handle it or {@code null} if the event replaced
+     * a pending event or was dropped
+     */
+    public <T extends Serializable> Slot offer(final String sessionId, final Conflation<T> conflation, final DolphinEvent<T> event, final List<ListenerWithFilter<?>> listeners) {
+        Assert.requireNonBlank(sessionId, "sessionId");
+        Assert.requireNonNull(conflation, "conflation");
+        Assert.requireNonNull(event, "event");
+        Assert.requireNonNull(listeners, "listeners");
+
+        final Scope scope = new Scope(sessionId, event.getMessageEventContext().getTopic().getName(), conflation);
+        final Slot slot = new Slot(scope, conflation.getKey(event.getData()));
+        final boolean[] scheduled = {false};
+        pendingEvents.compute(slot, (s, pending) -> {
+            if (pending != null) {
+                conflatedCount.incrementAndGet();
+                return new PendingEvent(event, listeners);
+            }
+            if (!tryIncrement(pendingKeyCounts.computeIfAbsent(scope, k -> new AtomicInteger()), conflation.getMaxPendingKeys())) {
+                droppedCount.incrementAndGet();
+                return null;
+            }
+            scheduled[0] = true;
+            return new PendingEvent(event, listeners);
+        });
+        return scheduled[0] ? slot : null;
+    }
+
+    /**
+     * Removes the latest event of the given slot.
+     * @return the event or {@code null} if the slot was already cleared
+     */
+    public PendingEvent take(final Slot slot) {
+        Assert.requireNonNull(slot, "slot");
+        final PendingEvent pending = pendingEvents.remove(slot);
+        if (pending != null) {
+            final AtomicInteger count = pendingKeyCounts.get(slot.scope);
+            if (count != null) {
+                count.decrementAndGet();
+            }
+        }
+        return pending;
+    }
+
+    public void removeSession(final String sessionId) {
+        Assert.requireNonBlank(sessionId, "sessionId");
+        pendingEvents.keySet().removeIf(slot -> slot.scope.sessionId.equals(sessionId));
+        pendingKeyCounts.keySet().removeIf(scope -> scope.sessionId.equals(sessionId));
+    }
+
+    public long getConflatedCount() {
+        return conflatedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private static boolean tryIncrement(final AtomicInteger count, final int max) {
+        while (true) {
+            final int current = count.get();
+            if (current >= max) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public static class PendingEvent {
+
+        private final DolphinEvent<?> event;
+
+        private final List<ListenerWithFilter<?>> listeners;
+
+        private PendingEvent(final DolphinEvent<?> event, final List<ListenerWithFilter<?>> listeners) {
+            this.event = event;
+            this.listeners = listeners;
+        }
+
+        public DolphinEvent<?> getEvent() {
+            return event;
+        }
+
+        public List<ListenerWithFilter<?>> getListeners() {
+            return listeners;
+        }
+    }
+
+    private static class Scope {
+
+        private final String sessionId;
+
+        private final String topicName;
+
+        private final Conflation<?> conflation;
+
+        private Scope(final String sessionId, final String topicName, final Conflation<?> conflation) {
+            this.sessionId = sessionId;
+            this.topicName = topicName;
+            this.conflation = conflation;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Scope scope = (Scope) o;
+            return sessionId.equals(scope.sessionId) && Objects.equals(topicName, scope.topicName) && conflation == scope.conflation;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sessionId, topicName, System.identityHashCode(conflation));
+        }
+    }
+
+    public static class Slot {
+
+        private final Scope scope;
+
+        private final Serializable key;
+
+        private Slot(final Scope scope, final Serializable key) {
+            this.scope = scope;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Slot slot = (Slot) o;
+            return scope.equals(slot.scope) && Objects.equals(key, slot.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, key);
+        }
+    }
+}
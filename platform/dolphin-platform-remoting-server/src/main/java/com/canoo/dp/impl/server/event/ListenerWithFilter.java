@@ -16,6 +16,7 @@
 package com.canoo.dp.impl.server.event;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.platform.remoting.server.event.Conflation;
 import com.canoo.platform.remoting.server.event.MessageEventContext;
 import com.canoo.platform.remoting.server.event.MessageListener;
 import org.apiguardian.api.API;
@@ -32,9 +33,16 @@ public class ListenerWithFilter<T extends Serializable> {
 
     private final Predicate<MessageEventContext<T>> filter;
 
-    public ListenerWithFilter(final MessageListener<T> listener, final Predicate<MessageEventContext<T>> filter) {
+    private final Conflation<T> conflation;
+
+    public ListenerWithFilter(final MessageListener<T> listener, final Predicate<MessageEventContext<T>> filter, final Conflation<T> conflation) {
         this.listener = Assert.requireNonNull(listener, "listener");
         this.filter = filter;
+        this.conflation = conflation;
+    }
+
+    public ListenerWithFilter(final MessageListener<T> listener, final Predicate<MessageEventContext<T>> filter) {
+        this(listener, filter, null);
     }
 
     public ListenerWithFilter(MessageListener<T> listener) {
@@ -48,4 +56,8 @@ public class ListenerWithFilter<T extends Serializable> {
     public Predicate<MessageEventContext<T>> getFilter() {
         return filter;
     }
+
+    public Conflation<T> getConflation() {
+        return conflation;
+    }
 }
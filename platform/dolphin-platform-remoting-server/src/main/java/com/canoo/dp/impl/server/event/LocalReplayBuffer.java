@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.platform.remoting.server.event.ReplayPolicy;
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * In memory {@link ReplayBuffer} of one server instance.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class LocalReplayBuffer implements ReplayBuffer {
+
+    private final ReplayPolicy policy;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Deque<DolphinEvent<?>> events = new ArrayDeque<>();
+
+    public LocalReplayBuffer(final ReplayPolicy policy) {
+        this.policy = Assert.requireNonNull(policy, "policy");
+    }
+
+    @Override
+    public long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    @Override
+    public synchronized <T extends Serializable> void add(final DolphinEvent<T> event) {
+        Assert.requireNonNull(event, "event");
+        events.addLast(event);
+        while (events.size() > policy.getMaxEvents()) {
+            events.removeFirst();
+        }
+        removeExpired();
+    }
+
+    @Override
+    public synchronized <T extends Serializable> List<DolphinEvent<T>> getEvents() {
+        removeExpired();
+        final List<DolphinEvent<T>> result = new ArrayList<>(events.size());
+        for (final DolphinEvent<?> event : events) {
+            result.add((DolphinEvent<T>) event);
+        }
+        return result;
+    }
+
+    private void removeExpired() {
+        final long minTimestamp = System.currentTimeMillis() - policy.getMaxAgeInMillis();
+        while (!events.isEmpty() && events.peekFirst().getMessageEventContext().getTimestamp() < minTimestamp) {
+            events.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+import java.util.List;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Buffer of the last published events of one topic that is used to replay events for late subscribers.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public interface ReplayBuffer {
+
+    /**
+     * Returns the next sequence number of the topic. The sequence number is added as metadata to the event before it
+     * will be added to the buffer.
+     * @return the next sequence number
+     */
+    long nextSequence();
+
+    /**
+     * Adds the event to the buffer
+     * @param event the event
+     */
+    <T extends Serializable> void add(DolphinEvent<T> event);
+
+    /**
+     * Returns all buffered events, oldest first. Events that are outside of the bounds of the buffer are not
+     * contained.
+     * @return the events
+     */
+    <T extends Serializable> List<DolphinEvent<T>> getEvents();
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.platform.remoting.server.event.ContextFreeEventFilter;
+import com.canoo.platform.remoting.server.event.MessageEventContext;
+import com.canoo.platform.remoting.server.event.MetadataEventFilter;
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * All subscriptions of one topic, indexed by dolphin session. Subscriptions with a {@link MetadataEventFilter} are
+ * additionally indexed by metadata key and value so that only matching subscriptions are checked when an event is
+ * dispatched. Changes must be done by one thread at a time while the lookups can be done concurrently.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class TopicSubscriptions {
+
+    private final Map<String, List<ListenerWithFilter<?>>> sessionListeners = new ConcurrentHashMap<>();
+
+    private final Map<String, List<ListenerWithFilter<?>>> unindexedSessionListeners = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<Serializable, Map<String, List<ListenerWithFilter<?>>>>> metadataIndex = new ConcurrentHashMap<>();
+
+    public synchronized void add(final String sessionId, final ListenerWithFilter<?> listenerWithFilter) {
+        Assert.requireNonBlank(sessionId, "sessionId");
+        Assert.requireNonNull(listenerWithFilter, "listenerWithFilter");
+        addTo(sessionListeners, sessionId, listenerWithFilter);
+
+        final Predicate<?> filter = listenerWithFilter.getFilter();
+        if (filter instanceof MetadataEventFilter) {
+            final MetadataEventFilter<?> metadataFilter = (MetadataEventFilter<?>) filter;
+            final Map<Serializable, Map<String, List<ListenerWithFilter<?>>>> valueIndex = metadataIndex.computeIfAbsent(metadataFilter.getMetadataKey(), k -> new ConcurrentHashMap<>());
+            for (final Serializable value : metadataFilter.getMetadataValues()) {
+                addTo(valueIndex.computeIfAbsent(value, v -> new ConcurrentHashMap<>()), sessionId, listenerWithFilter);
+            }
+        } else {
+            addTo(unindexedSessionListeners, sessionId, listenerWithFilter);
+        }
+    }
+
+    public synchronized void remove(final String sessionId, final ListenerWithFilter<?> listenerWithFilter) {
+        Assert.requireNonBlank(sessionId, "sessionId");
+        Assert.requireNonNull(listenerWithFilter, "listenerWithFilter");
+        removeFrom(sessionListeners, sessionId, listenerWithFilter);
+
+        final Predicate<?> filter = listenerWithFilter.getFilter();
+        if (filter instanceof MetadataEventFilter) {
+            final MetadataEventFilter<?> metadataFilter = (MetadataEventFilter<?>) filter;
+            final Map<Serializable, Map<String, List<ListenerWithFilter<?>>>> valueIndex = metadataIndex.get(metadataFilter.getMetadataKey());
+            if (valueIndex != null) {
+                for (final Serializable value : metadataFilter.getMetadataValues()) {
+                    final Map<String, List<ListenerWithFilter<?>>> valueSessionListeners = valueIndex.get(value);
+                    if (valueSessionListeners != null) {
+                        removeFrom(valueSessionListeners, sessionId, listenerWithFilter);
+                        if (valueSessionListeners.isEmpty()) {
+                            valueIndex.remove(value);
+                        }
+                    }
+                }
+                if (valueIndex.isEmpty()) {
+                    metadataIndex.remove(metadataFilter.getMetadataKey());
+                }
+            }
+        } else {
+            removeFrom(unindexedSessionListeners, sessionId, listenerWithFilter);
+        }
+    }
+
+    public boolean isEmpty() {
+        return sessionListeners.isEmpty();
+    }
+
+    /**
+     * Returns all listeners of the given session.
+     * @param sessionId the id of the dolphin session
+     * @return the listeners
+     */
+    public List<ListenerWithFilter<?>> getListenersForSession(final String sessionId) {
+        final List<ListenerWithFilter<?>> listeners = sessionListeners.get(sessionId);
+        if (listeners == null) {
+            return Collections.emptyList();
+        }
+        return listeners;
+    }
+
+    /**
+     * Returns the listeners that must be called for the given event, grouped by dolphin session. All
+     * {@link ContextFreeEventFilter} instances are already evaluated. Sessions without a matching listener are not
+     * part of the result.
+     * @param eventContext the context of the event
+     * @param <T> type of the event data
+     * @return the listeners per dolphin session
+     */
+    public <T extends Serializable> Map<String, List<ListenerWithFilter<?>>> getListenersForEvent(final MessageEventContext<T> eventContext) {
+        Assert.requireNonNull(eventContext, "eventContext");
+        final Map<String, List<ListenerWithFilter<?>>> result = new HashMap<>();
+
+        for (final Map.Entry<String, List<ListenerWithFilter<?>>> entry : unindexedSessionListeners.entrySet()) {
+            for (final ListenerWithFilter<?> listenerWithFilter : entry.getValue()) {
+                final Predicate<MessageEventContext<T>> filter = ((ListenerWithFilter<T>) listenerWithFilter).getFilter();
+                if (!(filter instanceof ContextFreeEventFilter) || filter.test(eventContext)) {
+                    result.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).add(listenerWithFilter);
+                }
+            }
+        }
+
+        if (!metadataIndex.isEmpty()) {
+            final Map<String, Serializable> metadata = eventContext.getMetadata();
+            if (metadata != null) {
+                for (final Map.Entry<String, Map<Serializable, Map<String, List<ListenerWithFilter<?>>>>> keyEntry : metadataIndex.entrySet()) {
+                    final Serializable value = metadata.get(keyEntry.getKey());
+                    if (value == null) {
+                        continue;
+                    }
+                    final Map<String, List<ListenerWithFilter<?>>> valueSessionListeners = keyEntry.getValue().get(value);
+                    if (valueSessionListeners == null) {
+                        continue;
+                    }
+                    for (final Map.Entry<String, List<ListenerWithFilter<?>>> entry : valueSessionListeners.entrySet()) {
+                        for (final ListenerWithFilter<?> listenerWithFilter : entry.getValue()) {
+                            if (((ListenerWithFilter<T>) listenerWithFilter).getFilter().test(eventContext)) {
+                                result.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).add(listenerWithFilter);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addTo(final Map<String, List<ListenerWithFilter<?>>> map, final String sessionId, final ListenerWithFilter<?> listenerWithFilter) {
+        map.computeIfAbsent(sessionId, id -> new CopyOnWriteArrayList<>()).add(listenerWithFilter);
+    }
+
+    private void removeFrom(final Map<String, List<ListenerWithFilter<?>>> map, final String sessionId, final ListenerWithFilter<?> listenerWithFilter) {
+        final List<ListenerWithFilter<?>> listeners = map.get(sessionId);
+        if (listeners != null) {
+            listeners.remove(listenerWithFilter);
+            if (listeners.isEmpty()) {
+                map.remove(sessionId);
+            }
+        }
+    }
+}
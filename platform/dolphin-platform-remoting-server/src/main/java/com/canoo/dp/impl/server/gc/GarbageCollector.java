@@ -30,10 +30,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
@@ -42,13 +45,21 @@ import static org.apiguardian.api.API.Status.INTERNAL;
  * has been created or the hierarchy in a Dolphin model changes the GC will check if the mutated models are still
  * referenced by a root model. In this case a root model is a model as it's defined as a model for a MVC group in
  * Dolphin Platform (see {@link RemotingModel}).
+ *
+ * Since cycles are not allowed in the model hierarchy a bean can be removed as soon as it isn't referenced anymore.
+ * Each {@link Instance} counts its references and only beans that have lost their last reference (or have never been
+ * referenced) are queued for the next collection. A collection removes the queued beans and queues the children of
+ * the removed beans that are not referenced anymore. By doing so a collection never visits referenced beans and can
+ * be interrupted at any time (see {@link #gc(long, TimeUnit)}).
  */
 @API(since = "0.x", status = INTERNAL)
 public class GarbageCollector {
 
     private static final Logger LOG = LoggerFactory.getLogger(GarbageCollector.class);
 
-    private final IdentityHashMap<Instance, Object> removeOnGC = new IdentityHashMap<>();
+    private static final int TIME_CHECK_INTERVAL = 64;
+
+    private final ArrayDeque<Instance> removeOnGC = new ArrayDeque<>();
 
     private final IdentityHashMap<Object, Instance> allInstances = new IdentityHashMap<>();
 
@@ -60,12 +71,22 @@ public class GarbageCollector {
 
     private final IdentityHashMap<Class, List<Field>> listFieldCache = new IdentityHashMap<>();
 
+    private final ArrayDeque<Instance> ancestorStack = new ArrayDeque<>();
+
     private final GarbageCollectionCallback onRemoveCallback;
 
+    private long visitMark = 0;
+
     private long gcCalls = 0;
 
     private long removedBeansCount = 0;
 
+    private long lastPauseTime = 0;
+
+    private long maxPauseTime = 0;
+
+    private long totalPauseTime = 0;
+
     private final RemotingConfiguration configuration;
 
     /**
@@ -107,7 +128,7 @@ public class GarbageCollector {
 
         if (!rootBean) {
             //Until the bean isn't referenced in another bean it will be removed at gc
-            addToGC(instance, bean);
+            addToGC(instance);
         }
     }
 
@@ -121,22 +142,7 @@ public class GarbageCollector {
         }
 
         Instance instance = allInstances.remove(bean);
-        removeOnGC.remove(instance);
-
-        IdentitySet<Property> properties = getAllProperties(bean);
-        IdentitySet<ObservableList> lists = getAllLists(bean);
-
-        for (Property property : properties) {
-            propertyToParent.remove(property);
-            removeReferenceAndCheckForGC(property, property.get());
-        }
-
-        for (ObservableList list : lists) {
-            listToParent.remove(list);
-            for (Object item : list) {
-                removeReferenceAndCheckForGC(list, item);
-            }
-        }
+        release(instance);
     }
 
     /**
@@ -150,16 +156,21 @@ public class GarbageCollector {
         if (!configuration.isUseGc()) {
             return;
         }
+        Instance parent = propertyToParent.get(property);
+        if (parent == null) {
+            LOG.trace("Property is not part of a managed bean. Value change will be ignored by GC");
+            return;
+        }
         removeReferenceAndCheckForGC(property, oldValue);
 
         if (newValue != null && DolphinUtils.isDolphinBean(newValue.getClass())) {
             Instance instance = getInstance(newValue);
-            Reference reference = new PropertyReference(propertyToParent.get(property), property, instance);
-            if (reference.hasCircularReference()) {
-                throw new CircularDependencyException("Circular dependency detected!");
+            Reference reference = instance.getReference(property);
+            if (reference == null) {
+                checkForCircularReference(parent, instance);
+                reference = new PropertyReference(parent, property, instance);
             }
-            instance.getReferences().add(reference);
-            removeFromGC(instance);
+            instance.addReference(property, reference);
         }
     }
 
@@ -173,14 +184,19 @@ public class GarbageCollector {
         if (!configuration.isUseGc()) {
             return;
         }
+        Instance parent = listToParent.get(list);
+        if (parent == null) {
+            LOG.trace("List is not part of a managed bean. Added item will be ignored by GC");
+            return;
+        }
         if (value != null && DolphinUtils.isDolphinBean(value.getClass())) {
             Instance instance = getInstance(value);
-            Reference reference = new ListReference(listToParent.get(list), list, instance);
-            if (reference.hasCircularReference()) {
-                throw new CircularDependencyException("Circular dependency detected!");
+            Reference reference = instance.getReference(list);
+            if (reference == null) {
+                checkForCircularReference(parent, instance);
+                reference = new ListReference(parent, list, instance);
             }
-            instance.getReferences().add(reference);
-            removeFromGC(instance);
+            instance.addReference(list, reference);
         }
     }
 
@@ -194,6 +210,10 @@ public class GarbageCollector {
         if (!configuration.isUseGc()) {
             return;
         }
+        if (!listToParent.containsKey(list)) {
+            LOG.trace("List is not part of a managed bean. Removed item will be ignored by GC");
+            return;
+        }
         removeReferenceAndCheckForGC(list, value);
     }
 
@@ -203,133 +223,131 @@ public class GarbageCollector {
      * will be called.
      */
     public synchronized void gc() {
+        collect(0);
+    }
+
+    /**
+     * Triggers an incremental garbage collection that ends once the given time slice is exceeded. Beans that are not
+     * handled in the time slice will be removed by the next garbage collection. For all removed dolphin beans
+     * (see {@link RemotingBean}) the defined {@link GarbageCollectionCallback} (see constructor) will be called.
+     *
+     * @param timeSlice the max time of the garbage collection. If the value is {@code <= 0} all beans that are not
+     *                  referenced by a root bean will be removed.
+     * @param unit      the time unit of the time slice
+     */
+    public synchronized void gc(long timeSlice, TimeUnit unit) {
+        Assert.requireNonNull(unit, "unit");
+        collect(unit.toNanos(timeSlice));
+    }
+
+    private void collect(long timeSlice) {
         if (!configuration.isUseGc()) {
             LOG.trace("GC deactivated, no beans will be removed!");
             return;
         }
 
-        LOG.trace("Garbage collection started! GC will remove {} beans!", removeOnGC.size());
-
-        onRemoveCallback.onReject(removeOnGC.keySet());
-
-        for (Map.Entry<Instance, Object> entry : removeOnGC.entrySet()) {
-            Instance removedInstance = entry.getKey();
-            for (Property property : removedInstance.getProperties()) {
-                propertyToParent.remove(property);
+        LOG.trace("Garbage collection started! {} beans are queued for removal!", removeOnGC.size());
+
+        final long startTime = System.nanoTime();
+        Set<Instance> removed = Collections.emptySet();
+        int handled = 0;
+        while (!removeOnGC.isEmpty()) {
+            final Instance instance = removeOnGC.poll();
+            instance.setQueued(false);
+            if (instance.isManaged() && !instance.hasReferences()) {
+                if (removed.isEmpty()) {
+                    removed = new IdentitySet<>();
+                }
+                removed.add(instance);
+                allInstances.remove(instance.getBean());
+                release(instance);
             }
-            for (ObservableList list : removedInstance.getLists()) {
-                listToParent.remove(list);
+            handled++;
+            if (timeSlice > 0 && handled % TIME_CHECK_INTERVAL == 0 && System.nanoTime() - startTime >= timeSlice) {
+                break;
             }
-            allInstances.remove(entry.getValue());
         }
 
-        removedBeansCount = removedBeansCount + removeOnGC.size();
-        removeOnGC.clear();
+        onRemoveCallback.onReject(removed);
+
+        final long pauseTime = System.nanoTime() - startTime;
+        lastPauseTime = pauseTime;
+        maxPauseTime = Math.max(maxPauseTime, pauseTime);
+        totalPauseTime = totalPauseTime + pauseTime;
+        removedBeansCount = removedBeansCount + removed.size();
         gcCalls = gcCalls + 1;
 
-        LOG.trace("Garbage collection done! GC currently manages {} referenced beans!", allInstances.size());
+        LOG.trace("Garbage collection done! Removed {} beans, {} beans are still queued. GC currently manages {} beans!", removed.size(), removeOnGC.size(), allInstances.size());
     }
 
     public synchronized int getManagedInstancesCount() {
         return allInstances.size();
     }
 
-    private void removeReferenceAndCheckForGC(ObservableList list, Object value) {
-        Assert.requireNonNull(list, "list");
-        if (value != null && DolphinUtils.isDolphinBean(value.getClass())) {
-            Instance instance = getInstance(value);
-            Reference toRemove = null;
-            for (Reference reference : instance.getReferences()) {
-                if (reference instanceof ListReference && list == ((ListReference) reference).getList()) {
-                    toRemove = reference;
-                    break;
-                }
-            }
-            if (toRemove == null) {
-                throw new RuntimeException("REFERENCE NOT FOUND! ERROR IN GC!!");
-            } else {
-                instance.getReferences().remove(toRemove);
-                if (instance.getReferences().isEmpty()) {
-                    addToGC(instance, value);
-                }
-            }
-        }
+    /**
+     * Returns the number of beans that are queued for the next garbage collection. A queued bean will only be removed
+     * if it is still not referenced when the garbage collection handles it.
+     * @return the number of queued beans
+     */
+    public synchronized int getQueuedInstancesCount() {
+        return removeOnGC.size();
     }
 
-    private void removeReferenceAndCheckForGC(Property property, Object value) {
-        Assert.requireNonNull(property, "property");
+    private void removeReferenceAndCheckForGC(Object source, Object value) {
+        Assert.requireNonNull(source, "source");
         if (value != null && DolphinUtils.isDolphinBean(value.getClass())) {
             Instance instance = getInstance(value);
-            Reference toRemove = null;
-            for (Reference reference : instance.getReferences()) {
-                if (reference instanceof PropertyReference && property == ((PropertyReference) reference).getProperty()) {
-                    toRemove = reference;
-                    break;
-                }
+            if (instance.removeReference(source) == null) {
+                throw new IllegalStateException("REFERENCE NOT FOUND! ERROR IN GC!!");
             }
-            if (toRemove == null) {
-                throw new RuntimeException("REFERENCE NOT FOUND! ERROR IN GC!!");
-            } else {
-                instance.getReferences().remove(toRemove);
-                if (instance.getReferences().isEmpty()) {
-                    addToGC(instance, value);
-                }
+            if (!instance.hasReferences() && !instance.isRootBean()) {
+                addToGC(instance);
             }
         }
     }
 
-    private void addToGC(Instance instance, Object value) {
-
-        LOG.trace("Bean of type {} added to GC and will be removed on next GC run", value.getClass());
-
-        removeOnGC.put(instance, value);
-
-        LOG.trace("GC will remove {} beans at next GC run", removeOnGC.size());
-
-
+    private void release(Instance instance) {
+        instance.setManaged(false);
         for (Property property : instance.getProperties()) {
-            Object propertyValue = property.get();
-            if (propertyValue != null && DolphinUtils.isDolphinBean(propertyValue.getClass())) {
-                Instance childInstance = getInstance(propertyValue);
-                if (!childInstance.isReferencedByRoot()) {
-                    addToGC(childInstance, propertyValue);
-                }
-            }
+            propertyToParent.remove(property);
+            removeReferenceAndCheckForGC(property, property.get());
         }
         for (ObservableList list : instance.getLists()) {
-            for (Object listValue : list) {
-                if (listValue != null && DolphinUtils.isDolphinBean(listValue.getClass())) {
-                    Instance childInstance = getInstance(listValue);
-                    if (!childInstance.isReferencedByRoot()) {
-                        addToGC(childInstance, listValue);
-                    }
-                }
+            listToParent.remove(list);
+            for (Object item : list) {
+                removeReferenceAndCheckForGC(list, item);
             }
         }
     }
 
-    private void removeFromGC(Instance instance) {
-        LOG.trace("Bean of type {} removed from GC and will not be removed on next GC run", instance.getBean().getClass());
-
-        Object removed = removeOnGC.remove(instance);
-
-        LOG.trace("GC will remove {} beans at next GC run", removeOnGC.size());
-
+    private void addToGC(Instance instance) {
+        if (!instance.isQueued()) {
+            LOG.trace("Bean of type {} added to GC and will be removed on next GC run", instance.getBean().getClass());
+            instance.setQueued(true);
+            removeOnGC.add(instance);
+        }
+    }
 
-        if (removed != null) {
-            for (Property property : instance.getProperties()) {
-                Object value = property.get();
-                if (value != null && DolphinUtils.isDolphinBean(value.getClass())) {
-                    Instance childInstance = getInstance(value);
-                    removeFromGC(childInstance);
+    private void checkForCircularReference(Instance parent, Instance child) {
+        if (parent == child) {
+            throw new CircularDependencyException("Circular dependency detected!");
+        }
+        if (!child.hasChildReferences()) {
+            //A bean that doesn't reference other beans can not be an ancestor of the parent
+            return;
+        }
+        final long mark = ++visitMark;
+        ancestorStack.clear();
+        ancestorStack.push(parent);
+        while (!ancestorStack.isEmpty()) {
+            for (Reference reference : ancestorStack.pop().getReferencesBySource()) {
+                final Instance ancestor = reference.getParent();
+                if (ancestor == child) {
+                    ancestorStack.clear();
+                    throw new CircularDependencyException("Circular dependency detected!");
                 }
-            }
-            for (ObservableList list : instance.getLists()) {
-                for (Object value : list) {
-                    if (value != null && DolphinUtils.isDolphinBean(value.getClass())) {
-                        Instance childInstance = getInstance(value);
-                        removeFromGC(childInstance);
-                    }
+                if (ancestor.mark(mark)) {
+                    ancestorStack.push(ancestor);
                 }
             }
         }
@@ -388,4 +406,28 @@ public class GarbageCollector {
     public long getRemovedBeansCount() {
         return removedBeansCount;
     }
+
+    /**
+     * Returns the duration of the last garbage collection in nanoseconds
+     * @return the duration of the last garbage collection
+     */
+    public long getLastPauseTime() {
+        return lastPauseTime;
+    }
+
+    /**
+     * Returns the duration of the longest garbage collection in nanoseconds
+     * @return the duration of the longest garbage collection
+     */
+    public long getMaxPauseTime() {
+        return maxPauseTime;
+    }
+
+    /**
+     * Returns the duration of all garbage collections in nanoseconds
+     * @return the duration of all garbage collections
+     */
+    public long getTotalPauseTime() {
+        return totalPauseTime;
+    }
 }
@@ -22,14 +22,22 @@ import com.canoo.platform.remoting.Property;
 import com.canoo.platform.remoting.server.RemotingModel;
 import org.apiguardian.api.API;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
 /**
  * This class holds an instance of a dolphin bean (see {@link RemotingBean}) for the internal
  * garbage collection (see {@link GarbageCollector}).
+ * The incoming references of the bean are indexed by the {@link Property} or {@link ObservableList} that holds the
+ * reference. By doing so adding and removing a reference is O(1).
  */
 @API(since = "0.x", status = INTERNAL)
 public class Instance {
@@ -41,7 +49,17 @@ public class Instance {
     private IdentitySet<Property> properties;
     private IdentitySet<ObservableList> lists;
 
-    private List<Reference> references;
+    private final Map<Object, Reference> references;
+
+    private int referenceCount;
+
+    private int childReferenceCount;
+
+    private boolean managed = true;
+
+    private boolean queued;
+
+    private long visitMark;
 
     /**
      * Constructor
@@ -55,7 +73,7 @@ public class Instance {
         this.rootBean = rootBean;
         this.properties = properties;
         this.lists = lists;
-        references = new ArrayList<>();
+        references = new IdentityHashMap<>(4);
     }
 
     /**
@@ -67,11 +85,12 @@ public class Instance {
     }
 
     /**
-     * Returns all references of the bean
+     * Returns all references of the bean. The list contains one reference for each {@link Property} or
+     * {@link ObservableList} that references the bean.
      * @return list of all references
      */
     public List<Reference> getReferences() {
-        return references;
+        return Collections.unmodifiableList(new ArrayList<>(references.values()));
     }
 
     /**
@@ -103,15 +122,83 @@ public class Instance {
      * @return true if the dolphin bean instance is a root bean or is referenced by a root bean
      */
     public boolean isReferencedByRoot() {
-        if(rootBean) {
-            return true;
-        }
-        for(Reference reference : references) {
-            Instance parent = reference.getParent();
-            if(parent.isReferencedByRoot()) {
+        final IdentitySet<Instance> visited = new IdentitySet<>();
+        final Deque<Instance> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            final Instance current = stack.pop();
+            if (current.rootBean) {
                 return true;
             }
+            for (Reference reference : current.references.values()) {
+                if (visited.add(reference.getParent())) {
+                    stack.push(reference.getParent());
+                }
+            }
         }
         return false;
     }
+
+    Reference getReference(Object source) {
+        return references.get(source);
+    }
+
+    Collection<Reference> getReferencesBySource() {
+        return references.values();
+    }
+
+    void addReference(Object source, Reference reference) {
+        final Reference existing = references.put(source, reference);
+        if (existing != null && existing != reference) {
+            throw new IllegalStateException("Source already references the bean by another reference");
+        }
+        reference.increment();
+        referenceCount++;
+        reference.getParent().childReferenceCount++;
+    }
+
+    Reference removeReference(Object source) {
+        final Reference reference = references.get(source);
+        if (reference == null) {
+            return null;
+        }
+        if (reference.decrement() == 0) {
+            references.remove(source);
+        }
+        referenceCount--;
+        reference.getParent().childReferenceCount--;
+        return reference;
+    }
+
+    boolean hasReferences() {
+        return referenceCount > 0;
+    }
+
+    boolean hasChildReferences() {
+        return childReferenceCount > 0;
+    }
+
+    boolean isManaged() {
+        return managed;
+    }
+
+    void setManaged(boolean managed) {
+        this.managed = managed;
+    }
+
+    boolean isQueued() {
+        return queued;
+    }
+
+    void setQueued(boolean queued) {
+        this.queued = queued;
+    }
+
+    boolean mark(long mark) {
+        if (visitMark == mark) {
+            return false;
+        }
+        visitMark = mark;
+        return true;
+    }
 }
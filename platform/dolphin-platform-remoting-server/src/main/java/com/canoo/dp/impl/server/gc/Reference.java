@@ -15,15 +15,21 @@
  */
 package com.canoo.dp.impl.server.gc;
 
+import com.canoo.dp.impl.platform.core.IdentitySet;
 import com.canoo.platform.remoting.RemotingBean;
 import org.apiguardian.api.API;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import static org.apiguardian.api.API.Status.INTERNAL;
 
 /**
  * Describes a direct reference between 2 dolphin beans (see {@link RemotingBean}). In each
  * reference one dolphin bean must be the parent that holds the reference to the other dolphin bean that is defined as child.
  * Internally the dolphin beans are defined by {@link Instance} instances that hold additional informationen next to the bean instance.
+ * Since an {@link com.canoo.platform.remoting.ObservableList} can contain the same bean several times a reference
+ * counts how often the parent references the child.
  */
 @API(since = "0.x", status = INTERNAL)
 public abstract class Reference {
@@ -32,6 +38,8 @@ public abstract class Reference {
 
     private Instance child;
 
+    private int count;
+
     /**
      * Constructor
      * @param parent the parent dolphin bean
@@ -50,23 +58,44 @@ public abstract class Reference {
         return parent;
     }
 
+    /**
+     * Returns the child dolphin bean
+     * @return the child dolphin bean
+     */
+    public Instance getChild() {
+        return child;
+    }
+
     /**
      * Returns true if this reference is part of a circular reference.
      * @return true if this reference is part of a circular reference.
      */
     public boolean hasCircularReference() {
-        return recursiveCircularReferenceCheck(parent);
-    }
-
-    private boolean recursiveCircularReferenceCheck(Instance currentInstance) {
-        if(currentInstance == this.child) {
+        if (parent == child) {
             return true;
         }
-        for(Reference reference : currentInstance.getReferences()) {
-            if(recursiveCircularReferenceCheck(reference.getParent())) {
-                return true;
+        final IdentitySet<Instance> visited = new IdentitySet<>();
+        final Deque<Instance> stack = new ArrayDeque<>();
+        stack.push(parent);
+        while (!stack.isEmpty()) {
+            for (Reference reference : stack.pop().getReferencesBySource()) {
+                final Instance ancestor = reference.getParent();
+                if (ancestor == child) {
+                    return true;
+                }
+                if (visited.add(ancestor)) {
+                    stack.push(ancestor);
+                }
             }
         }
         return false;
     }
+
+    void increment() {
+        count++;
+    }
+
+    int decrement() {
+        return --count;
+    }
 }
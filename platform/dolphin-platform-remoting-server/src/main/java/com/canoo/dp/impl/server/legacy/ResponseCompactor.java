@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.legacy;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.commands.CreateFromSchemaCommand;
+import com.canoo.dp.impl.remoting.commands.PresentationModelSchemaCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.AttributeMetadataChangedCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.DeletePresentationModelCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
+import org.apiguardian.api.API;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Removes redundant {@link ValueChangedCommand}s from a server response:
+ * <ul>
+ *     <li>only the last value change of an attribute is kept (at the position of the last change)</li>
+ *     <li>value changes for presentation models that are created and deleted in the same response are removed</li>
+ * </ul>
+ * A change of the metadata of an attribute and any command that is not part of the presentation model protocol end
+ * the range in that value changes can be merged. By doing so the order of the commands that the client depends on is
+ * never changed.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class ResponseCompactor {
+
+    private static final String ATTRIBUTE_ID = "id";
+
+    private ResponseCompactor() {
+    }
+
+    public static List<Command> compact(final List<Command> response) {
+        Assert.requireNonNull(response, "response");
+        if (response.size() < 2) {
+            return response;
+        }
+        final Command[] commands = response.toArray(new Command[response.size()]);
+
+        final Map<String, String> createdAttributeToModel = new HashMap<>();
+        final Map<String, Integer> createIndex = new HashMap<>();
+        final Map<String, Integer> deleteIndex = new HashMap<>();
+        for (int i = 0; i < commands.length; i++) {
+            final Command command = commands[i];
+            if (command instanceof CreatePresentationModelCommand) {
+                final CreatePresentationModelCommand createCommand = (CreatePresentationModelCommand) command;
+                createIndex.put(createCommand.getPmId(), i);
+                for (final Map<String, Object> attribute : createCommand.getAttributes()) {
+                    final Object attributeId = attribute.get(ATTRIBUTE_ID);
+                    if (attributeId != null) {
+                        createdAttributeToModel.put(attributeId.toString(), createCommand.getPmId());
+                    }
+                }
+            } else if (command instanceof CreateFromSchemaCommand) {
+                final CreateFromSchemaCommand createCommand = (CreateFromSchemaCommand) command;
+                createIndex.put(createCommand.getPmId(), i);
+                for (final String attributeId : createCommand.getAttributeIds()) {
+                    createdAttributeToModel.put(attributeId, createCommand.getPmId());
+                }
+            } else if (command instanceof DeletePresentationModelCommand) {
+                final String pmId = ((DeletePresentationModelCommand) command).getPmId();
+                if (createIndex.containsKey(pmId)) {
+                    deleteIndex.put(pmId, i);
+                }
+            }
+        }
+
+        // walking backwards the first value change of an attribute is the last one that was added to the response
+        final boolean[] removed = new boolean[commands.length];
+        final Set<String> changedAttributes = new HashSet<>();
+        int removedCount = 0;
+        for (int i = commands.length - 1; i >= 0; i--) {
+            final Command command = commands[i];
+            if (command instanceof ValueChangedCommand) {
+                final String attributeId = ((ValueChangedCommand) command).getAttributeId();
+                if (isInsideCreateAndDelete(createdAttributeToModel.get(attributeId), i, createIndex, deleteIndex) || !changedAttributes.add(attributeId)) {
+                    removed[i] = true;
+                    removedCount++;
+                }
+            } else if (command instanceof AttributeMetadataChangedCommand) {
+                changedAttributes.remove(((AttributeMetadataChangedCommand) command).getAttributeId());
+            } else if (!isModelLifecycleCommand(command)) {
+                changedAttributes.clear();
+            }
+        }
+
+        if (removedCount == 0) {
+            return response;
+        }
+        final List<Command> result = new ArrayList<>(commands.length - removedCount);
+        for (int i = 0; i < commands.length; i++) {
+            if (!removed[i]) {
+                result.add(commands[i]);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isModelLifecycleCommand(final Command command) {
+        return command instanceof CreatePresentationModelCommand
+                || command instanceof CreateFromSchemaCommand
+                || command instanceof PresentationModelSchemaCommand
+                || command instanceof DeletePresentationModelCommand;
+    }
+
+    private static boolean isInsideCreateAndDelete(final String pmId, final int index, final Map<String, Integer> createIndex, final Map<String, Integer> deleteIndex) {
+        if (pmId == null) {
+            return false;
+        }
+        final Integer deletedAt = deleteIndex.get(pmId);
+        return deletedAt != null && createIndex.get(pmId) < index && index < deletedAt;
+    }
+}
@@ -47,7 +47,8 @@ public class ServerAttribute extends BaseAttribute {
 
     @Override
     public void setValue(final Object newValue) {
-        if (notifyClient) {
+        // a write of the current value is a no-op on the client and must not be part of the response
+        if (notifyClient && !Objects.equals(getValue(), newValue)) {
             ServerModelStore.changeValueCommand(getPresentationModel().getModelStore().getCurrentResponse(), this, newValue);
         }
 
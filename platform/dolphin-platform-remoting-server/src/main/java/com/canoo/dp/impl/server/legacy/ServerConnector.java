@@ -90,7 +90,7 @@ public class ServerConnector {
             throw exception;
         }
 
-        return response;
+        return ResponseCompactor.compact(response);
     }
 
     public void register(final DolphinServerAction action) {
@@ -16,12 +16,15 @@
 package com.canoo.dp.impl.server.legacy;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.commands.CreateFromSchemaCommand;
+import com.canoo.dp.impl.remoting.commands.PresentationModelSchemaCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
 import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.DeletePresentationModelCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
 import com.canoo.dp.impl.remoting.legacy.core.ModelStore;
 import com.canoo.dp.impl.remoting.legacy.core.ModelStoreConfig;
+import com.canoo.dp.impl.remoting.legacy.core.PresentationModelSchema;
 import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,6 +65,13 @@ public class ServerModelStore extends ModelStore<ServerAttribute, ServerPresenta
      */
     protected long pmInstanceCount = 0L;
 
+    /**
+     * The schemas that were already sent to the client, mapped to their id.
+     */
+    private final Map<PresentationModelSchema, Integer> schemaIds = new HashMap<>();
+
+    private boolean presentationModelSchemaSupported = false;
+
     public ServerModelStore() {
     }
 
@@ -90,6 +100,15 @@ public class ServerModelStore extends ModelStore<ServerAttribute, ServerPresenta
         this.currentResponse = currentResponse;
     }
 
+    /**
+     * Adds the given command to the response that is currently created.
+     * @param command the command
+     */
+    public void addResponseCommand(final Command command) {
+        Assert.requireNonNull(command, "command");
+        getCurrentResponse().add(command);
+    }
+
     @Override
     public boolean add(final ServerPresentationModel model) {
         boolean added = super.add(model);
@@ -97,10 +116,38 @@ public class ServerModelStore extends ModelStore<ServerAttribute, ServerPresenta
             throw new IllegalStateException("Model " + model + " already defined on server!");
         }
         model.setModelStore(this);
-        getCurrentResponse().add(CreatePresentationModelCommand.makeFrom(model));
+        if (presentationModelSchemaSupported && model.getPresentationModelType() != null) {
+            addCreateFromSchemaCommand(model);
+        } else {
+            getCurrentResponse().add(CreatePresentationModelCommand.makeFrom(model));
+        }
         return true;
     }
 
+    private void addCreateFromSchemaCommand(final ServerPresentationModel model) {
+        final PresentationModelSchema schema = PresentationModelSchema.of(model);
+        Integer schemaId = schemaIds.get(schema);
+        if (schemaId == null) {
+            schemaId = schemaIds.size();
+            schemaIds.put(schema, schemaId);
+            getCurrentResponse().add(new PresentationModelSchemaCommand(schemaId, schema));
+        }
+        final CreateFromSchemaCommand command = new CreateFromSchemaCommand(schemaId, model.getId());
+        for (final ServerAttribute attribute : model.getAttributes()) {
+            command.addAttribute(attribute.getId(), attribute.getValue());
+        }
+        getCurrentResponse().add(command);
+    }
+
+    /**
+     * Defines if new presentation models are sent to the client as {@link CreateFromSchemaCommand}s that refer to a
+     * {@link PresentationModelSchema} that is only sent once per session.
+     * @param presentationModelSchemaSupported true if the client can handle presentation model schemas
+     */
+    public void setPresentationModelSchemaSupported(final boolean presentationModelSchemaSupported) {
+        this.presentationModelSchemaSupported = presentationModelSchemaSupported;
+    }
+
     public boolean checkClientAdded(final ServerPresentationModel model) {
         boolean added = super.add(model);
         //FIXME: Currently the client has the same event for a add answer and a add trigger
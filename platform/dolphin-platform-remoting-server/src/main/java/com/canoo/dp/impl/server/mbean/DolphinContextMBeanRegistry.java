@@ -16,6 +16,7 @@
 package com.canoo.dp.impl.server.mbean;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.platform.core.http.CompressionStatistics;
 import com.canoo.dp.impl.server.gc.GarbageCollector;
 import com.canoo.dp.impl.server.mbean.beans.*;
 import com.canoo.platform.core.functional.Subscription;
@@ -43,12 +44,15 @@ public class DolphinContextMBeanRegistry {
     /**
      * Register a new dolphin session as a MBean
      * @param session the session
+     * @param garbageCollector the garbage collector of the session
+     * @param compressionStatistics the statistics about the compressed responses of the session
      * @return the subscription for deregistration
      */
-    public Subscription registerDolphinContext(ClientSession session, GarbageCollector garbageCollector) {
+    public Subscription registerDolphinContext(ClientSession session, GarbageCollector garbageCollector, CompressionStatistics compressionStatistics) {
         Assert.requireNonNull(session, "session");
         Assert.requireNonNull(garbageCollector, "garbageCollector");
-        DolphinSessionInfoMBean mBean = new DolphinSessionInfo(session, garbageCollector);
+        Assert.requireNonNull(compressionStatistics, "compressionStatistics");
+        DolphinSessionInfoMBean mBean = new DolphinSessionInfo(session, garbageCollector, compressionStatistics);
         return MBeanRegistry.getInstance().register(mBean, new MBeanDescription("com.canoo.dolphin", "DolphinSession", "session"));
     }
 
@@ -16,6 +16,7 @@
 package com.canoo.dp.impl.server.mbean.beans;
 
 import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.platform.core.http.CompressionStatistics;
 import com.canoo.dp.impl.server.gc.GarbageCollector;
 import com.canoo.platform.server.client.ClientSession;
 import org.apiguardian.api.API;
@@ -35,9 +36,12 @@ public class DolphinSessionInfo implements DolphinSessionInfoMBean {
 
     private final WeakReference<GarbageCollector> garbageCollectionRef;
 
-    public DolphinSessionInfo(ClientSession dolphinSession, GarbageCollector garbageCollector) {
+    private final WeakReference<CompressionStatistics> compressionStatisticsRef;
+
+    public DolphinSessionInfo(ClientSession dolphinSession, GarbageCollector garbageCollector, CompressionStatistics compressionStatistics) {
         this.dolphinSessionRef = new WeakReference<>(dolphinSession);
         this.garbageCollectionRef = new WeakReference<>(garbageCollector);
+        this.compressionStatisticsRef = new WeakReference<>(compressionStatistics);
     }
 
     private ClientSession getSession() {
@@ -52,6 +56,12 @@ public class DolphinSessionInfo implements DolphinSessionInfoMBean {
         return garbageCollector;
     }
 
+    private CompressionStatistics getCompressionStatistics() {
+        CompressionStatistics compressionStatistics = compressionStatisticsRef.get();
+        Assert.requireNonNull(compressionStatistics, "compressionStatistics");
+        return compressionStatistics;
+    }
+
     @Override
     public String getDolphinSessionId() {
         return getSession().getId();
@@ -81,4 +91,63 @@ public class DolphinSessionInfo implements DolphinSessionInfoMBean {
     public int getGarbageCollectionCurrentManagedBeansCount() {
         return getGarbageCollection().getManagedInstancesCount();
     }
+
+    @Override
+    public int getGarbageCollectionQueuedBeansCount() {
+        return getGarbageCollection().getQueuedInstancesCount();
+    }
+
+    @Override
+    public double getGarbageCollectionLastPauseMillis() {
+        return toMillis(getGarbageCollection().getLastPauseTime());
+    }
+
+    @Override
+    public double getGarbageCollectionMaxPauseMillis() {
+        return toMillis(getGarbageCollection().getMaxPauseTime());
+    }
+
+    @Override
+    public double getGarbageCollectionTotalPauseMillis() {
+        return toMillis(getGarbageCollection().getTotalPauseTime());
+    }
+
+    @Override
+    public double getGarbageCollectionRemovedBeansPerMilli() {
+        final GarbageCollector garbageCollector = getGarbageCollection();
+        final double totalPauseMillis = toMillis(garbageCollector.getTotalPauseTime());
+        if (totalPauseMillis <= 0) {
+            return 0;
+        }
+        return garbageCollector.getRemovedBeansCount() / totalPauseMillis;
+    }
+
+    @Override
+    public long getCompressedResponseCount() {
+        return getCompressionStatistics().getCompressedBodyCount();
+    }
+
+    @Override
+    public long getCompressionUncompressedBytes() {
+        return getCompressionStatistics().getUncompressedBytes();
+    }
+
+    @Override
+    public long getCompressionCompressedBytes() {
+        return getCompressionStatistics().getCompressedBytes();
+    }
+
+    @Override
+    public double getCompressionRatio() {
+        return getCompressionStatistics().getCompressionRatio();
+    }
+
+    @Override
+    public double getCompressionCpuTimeMillis() {
+        return toMillis(getCompressionStatistics().getCpuTimeNanos());
+    }
+
+    private double toMillis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
 }
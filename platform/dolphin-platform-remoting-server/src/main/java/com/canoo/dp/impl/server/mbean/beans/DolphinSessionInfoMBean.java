@@ -38,4 +38,24 @@ public interface DolphinSessionInfoMBean {
     long getGarbageCollectionRemovedBeansTotal();
 
     int getGarbageCollectionCurrentManagedBeansCount();
+
+    int getGarbageCollectionQueuedBeansCount();
+
+    double getGarbageCollectionLastPauseMillis();
+
+    double getGarbageCollectionMaxPauseMillis();
+
+    double getGarbageCollectionTotalPauseMillis();
+
+    double getGarbageCollectionRemovedBeansPerMilli();
+
+    long getCompressedResponseCount();
+
+    long getCompressionUncompressedBytes();
+
+    long getCompressionCompressedBytes();
+
+    double getCompressionRatio();
+
+    double getCompressionCpuTimeMillis();
 }
@@ -74,19 +74,18 @@ public class ServerBeanBuilderImpl extends AbstractBeanBuilder implements Server
             @Override
             public void listChanged(ListChangeEvent<? extends T> event) {
                 for(ListChangeEvent.Change<? extends T> c : event.getChanges()) {
-                    if(c.isAdded()) {
-                        for(Object added : list.subList(c.getFrom(), c.getTo())) {
-                            garbageCollector.onAddedToList(list, added);
+                    //Added elements are handled first: for a replace (like a batch or a sort) an element that is part
+                    //of the removed and the added elements must never lose its last reference
+                    if(c.isAdded() || c.isReplaced()) {
+                        for(int i = c.getFrom(); i < c.getTo(); i++) {
+                            garbageCollector.onAddedToList(list, list.get(i));
                         }
                     }
-                    if(c.isRemoved()) {
+                    if(c.isRemoved() || c.isReplaced()) {
                         for(Object removed : c.getRemovedElements()) {
                             garbageCollector.onRemovedFromList(list, removed);
                         }
                     }
-                    if(c.isReplaced()) {
-                        //??? TODO
-                    }
                 }
             }
         });
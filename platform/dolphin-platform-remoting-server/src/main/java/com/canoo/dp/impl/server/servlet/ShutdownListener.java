@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.servlet;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * A {@link ServletContextListener} that releases a resource of the remoting layer once the servlet context is
+ * destroyed.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class ShutdownListener implements ServletContextListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShutdownListener.class);
+
+    private final String name;
+
+    private final Runnable shutdownHandler;
+
+    public ShutdownListener(final String name, final Runnable shutdownHandler) {
+        this.name = Assert.requireNonBlank(name, "name");
+        this.shutdownHandler = Assert.requireNonNull(shutdownHandler, "shutdownHandler");
+    }
+
+    @Override
+    public void contextInitialized(final ServletContextEvent sce) {}
+
+    @Override
+    public void contextDestroyed(final ServletContextEvent sce) {
+        LOG.debug("Servlet context destroyed! Will shut down {}.", name);
+        try {
+            shutdownHandler.run();
+        } catch (final Exception e) {
+            LOG.error("Error while shutting down " + name, e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.websocket;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpSession;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the http sessions of open WebSockets alive. A servlet container only refreshes a http session if a http
+ * request for the session arrives. A client that uses a WebSocket does not send http requests, so its http session
+ * (and with it the client session and the remoting context) would expire while the WebSocket is open.
+ *
+ * The last access time of a http session can not be changed outside of a http request. Instead each message of the
+ * client extends the max inactive interval of the http session by the time since the last http request. Therefore the
+ * http session expires once the client did not send a message within the original timeout. A WebSocket that is still
+ * open but no longer used by its client does not keep the http session alive. The client sends a message at least
+ * once per max poll time since the server answers each long poll within that time.
+ */
+final class HttpSessionKeepAlive {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpSessionKeepAlive.class);
+
+    private final Map<String, KeptSession> keptSessions = new HashMap<>();
+
+    /**
+     * Starts to refresh the given http session until {@link #release(HttpSession)} is called.
+     * @param httpSession the http session of an opened WebSocket
+     */
+    synchronized void acquire(final HttpSession httpSession) {
+        Assert.requireNonNull(httpSession, "httpSession");
+        final KeptSession keptSession = keptSessions.get(httpSession.getId());
+        if (keptSession != null) {
+            keptSession.webSocketCount++;
+            return;
+        }
+        final int maxInactiveInterval = httpSession.getMaxInactiveInterval();
+        if (maxInactiveInterval <= 0) {
+            // the session never expires
+            return;
+        }
+        keptSessions.put(httpSession.getId(), new KeptSession(maxInactiveInterval));
+        LOG.trace("Refreshing http session {} while WebSockets are open", httpSession.getId());
+    }
+
+    /**
+     * Refreshes the given http session once a message of the client arrived.
+     * @param httpSession the http session of an open WebSocket
+     */
+    synchronized void refresh(final HttpSession httpSession) {
+        Assert.requireNonNull(httpSession, "httpSession");
+        final KeptSession keptSession = keptSessions.get(httpSession.getId());
+        if (keptSession != null) {
+            refresh(httpSession, keptSession);
+        }
+    }
+
+    /**
+     * Stops to refresh the given http session if no other WebSocket of the session is open. The http session expires
+     * once it is not used within its original timeout.
+     * @param httpSession the http session of a closed WebSocket
+     */
+    synchronized void release(final HttpSession httpSession) {
+        Assert.requireNonNull(httpSession, "httpSession");
+        final KeptSession keptSession = keptSessions.get(httpSession.getId());
+        if (keptSession == null || --keptSession.webSocketCount > 0) {
+            return;
+        }
+        keptSessions.remove(httpSession.getId());
+        // gives the client the original timeout to fall back to http
+        refresh(httpSession, keptSession);
+    }
+
+    private void refresh(final HttpSession httpSession, final KeptSession keptSession) {
+        try {
+            final long secondsSinceLastAccess = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - httpSession.getLastAccessedTime());
+            httpSession.setMaxInactiveInterval((int) Math.min(Integer.MAX_VALUE, keptSession.maxInactiveInterval + Math.max(0, secondsSinceLastAccess)));
+        } catch (final IllegalStateException e) {
+            LOG.trace("Http session {} is already invalidated", httpSession.getId());
+        }
+    }
+
+    private static final class KeptSession {
+
+        private final int maxInactiveInterval;
+
+        private int webSocketCount = 1;
+
+        private KeptSession(final int maxInactiveInterval) {
+            this.maxInactiveInterval = maxInactiveInterval;
+        }
+    }
+}
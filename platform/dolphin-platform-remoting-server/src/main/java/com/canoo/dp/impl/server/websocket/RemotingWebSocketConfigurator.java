@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.websocket;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
+import org.apiguardian.api.API;
+
+import javax.servlet.http.HttpSession;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpointConfig;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Configurator of the {@link RemotingWebSocketEndpoint} that confirms the ticket of a handshake request for the http
+ * session of the request (see {@link RemotingWebSocketHandshakes}).
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class RemotingWebSocketConfigurator extends ServerEndpointConfig.Configurator {
+
+    private final RemotingWebSocketHandshakes handshakes;
+
+    private final Supplier<RemotingWebSocketEndpoint> endpointFactory;
+
+    RemotingWebSocketConfigurator(final RemotingWebSocketHandshakes handshakes, final Supplier<RemotingWebSocketEndpoint> endpointFactory) {
+        this.handshakes = Assert.requireNonNull(handshakes, "handshakes");
+        this.endpointFactory = Assert.requireNonNull(endpointFactory, "endpointFactory");
+    }
+
+    @Override
+    public void modifyHandshake(final ServerEndpointConfig config, final HandshakeRequest request, final HandshakeResponse response) {
+        final Object httpSession = request.getHttpSession();
+        final String ticket = getParameter(request, PlatformRemotingConstants.WEBSOCKET_TICKET_PARAMETER);
+        if (httpSession instanceof HttpSession && ticket != null && !ticket.isEmpty()) {
+            handshakes.confirm(ticket, (HttpSession) httpSession);
+        }
+    }
+
+    private String getParameter(final HandshakeRequest request, final String name) {
+        final Map<String, List<String>> parameters = request.getParameterMap();
+        if (parameters == null) {
+            return null;
+        }
+        final List<String> values = parameters.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    @Override
+    public <T> T getEndpointInstance(final Class<T> endpointClass) throws InstantiationException {
+        return endpointClass.cast(endpointFactory.get());
+    }
+}
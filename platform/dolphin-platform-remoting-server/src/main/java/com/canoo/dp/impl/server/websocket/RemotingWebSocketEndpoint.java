@@ -0,0 +1,349 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.websocket;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
+import com.canoo.dp.impl.remoting.codec.BinaryCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingCodec;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
+import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
+import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.server.client.ClientSessionManager;
+import com.canoo.dp.impl.server.client.ClientSessionProvider;
+import com.canoo.dp.impl.server.context.DolphinContext;
+import com.canoo.dp.impl.server.context.DolphinContextCommunicationHandler;
+import com.canoo.platform.core.functional.Subscription;
+import com.canoo.platform.server.client.ClientSession;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpSession;
+import javax.websocket.CloseReason;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.MessageHandler;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * WebSocket endpoint (JSR-356) that can be used by clients as an alternative to the HTTP long polling. Each message
+ * contains a batch of commands that is encoded by the JSON codec (text messages) or the binary codec (binary
+ * messages) and is handled by the {@link DolphinContext} of the client. The response is sent as a message in the
+ * same format.
+ *
+ * The socket can only be used by a client session that already created its {@link DolphinContext} by a HTTP request.
+ * A long poll of the client is suspended without blocking a thread and answered once a task is available, the long
+ * poll is interrupted or the max poll time is reached. Only one WebSocket can be open per client session. Batches that only contain an {@link InterruptLongPollCommand} are not answered and an empty
+ * batch is answered by an empty response.
+ *
+ * The client session is defined by the ticket of the handshake (see {@link RemotingWebSocketHandshakes}). While the
+ * WebSocket is open no http requests of the client refresh its http session. Therefore each message of the client
+ * refreshes the http session (see {@link HttpSessionKeepAlive}).
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public class RemotingWebSocketEndpoint extends Endpoint {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemotingWebSocketEndpoint.class);
+
+    private final DolphinContextCommunicationHandler communicationHandler;
+
+    private final ClientSessionManager clientSessionManager;
+
+    private final ClientSessionProvider sessionProvider;
+
+    private final Executor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final long maxPollTime;
+
+    private final RemotingWebSocketHandshakes handshakes;
+
+    private final HttpSessionKeepAlive keepAlive;
+
+    private final StreamingCodec codec = StreamingJsonCodec.getInstance();
+
+    private final BinaryCodec binaryCodec = new BinaryCodec();
+
+    private final Object lock = new Object();
+
+    private Session session;
+
+    private HttpSession httpSession;
+
+    private String clientId;
+
+    private Subscription taskSubscription;
+
+    private ScheduledFuture<?> longPollTimeout;
+
+    private boolean longPollSuspended = false;
+
+    private boolean accepted = false;
+
+    RemotingWebSocketEndpoint(final DolphinContextCommunicationHandler communicationHandler, final ClientSessionManager clientSessionManager, final ClientSessionProvider sessionProvider, final Executor executor, final ScheduledExecutorService scheduler, final long maxPollTime, final RemotingWebSocketHandshakes handshakes, final HttpSessionKeepAlive keepAlive) {
+        this.communicationHandler = Assert.requireNonNull(communicationHandler, "communicationHandler");
+        this.clientSessionManager = Assert.requireNonNull(clientSessionManager, "clientSessionManager");
+        this.sessionProvider = Assert.requireNonNull(sessionProvider, "sessionProvider");
+        this.executor = Assert.requireNonNull(executor, "executor");
+        this.scheduler = Assert.requireNonNull(scheduler, "scheduler");
+        this.maxPollTime = maxPollTime;
+        this.handshakes = Assert.requireNonNull(handshakes, "handshakes");
+        this.keepAlive = Assert.requireNonNull(keepAlive, "keepAlive");
+    }
+
+    @Override
+    public void onOpen(final Session session, final EndpointConfig config) {
+        Assert.requireNonNull(session, "session");
+        Assert.requireNonNull(config, "config");
+        synchronized (lock) {
+            this.session = session;
+            final String ticket = getParameter(session, PlatformRemotingConstants.WEBSOCKET_TICKET_PARAMETER);
+            final RemotingWebSocketHandshakes.Handshake handshake = ticket != null ? handshakes.remove(ticket) : null;
+            if (handshake != null) {
+                this.httpSession = handshake.getHttpSession();
+                this.clientId = handshake.getClientId();
+            }
+            if (!isValidClientSession()) {
+                LOG.warn("Can not open WebSocket {} since no valid client session is defined", session.getId());
+                close(CloseReason.CloseCodes.VIOLATED_POLICY, "Missing or invalid ticket");
+                return;
+            }
+            if (!handshakes.open(clientId)) {
+                LOG.warn("Can not open WebSocket {} since client session {} already uses a WebSocket", session.getId(), clientId);
+                close(CloseReason.CloseCodes.VIOLATED_POLICY, "Client session already uses a WebSocket");
+                return;
+            }
+            keepAlive.acquire(httpSession);
+            accepted = true;
+        }
+        LOG.trace("WebSocket {} opened for client session {}", session.getId(), clientId);
+
+        // The message handlers are defined as inner classes since the container can not resolve the message type of a lambda
+        session.addMessageHandler(new MessageHandler.Whole<Reader>() {
+            @Override
+            public void onMessage(final Reader reader) {
+                onTextMessage(reader);
+            }
+        });
+        session.addMessageHandler(new MessageHandler.Whole<InputStream>() {
+            @Override
+            public void onMessage(final InputStream inputStream) {
+                onBinaryMessage(inputStream);
+            }
+        });
+    }
+
+    private boolean isValidClientSession() {
+        if (httpSession == null) {
+            return false;
+        }
+        try {
+            return clientSessionManager.checkValidClientSession(httpSession, clientId);
+        } catch (final IllegalStateException e) {
+            // the http session was invalidated after the handshake
+            return false;
+        }
+    }
+
+    private String getParameter(final Session session, final String name) {
+        final Map<String, List<String>> parameters = session.getRequestParameterMap();
+        if (parameters == null) {
+            return null;
+        }
+        final List<String> values = parameters.get(name);
+        return values != null && !values.isEmpty() && !values.get(0).isEmpty() ? values.get(0) : null;
+    }
+
+    private void onTextMessage(final Reader reader) {
+        final List<Command> commands;
+        try {
+            commands = codec.decode(reader);
+        } catch (final Exception e) {
+            LOG.error("Can not parse message of WebSocket for client session " + clientId, e);
+            close(CloseReason.CloseCodes.CANNOT_ACCEPT, "Can not parse message");
+            return;
+        }
+        handle(commands, false);
+    }
+
+    private void onBinaryMessage(final InputStream inputStream) {
+        final List<Command> commands;
+        try {
+            commands = binaryCodec.decode(inputStream);
+        } catch (final Exception e) {
+            LOG.error("Can not parse message of WebSocket for client session " + clientId, e);
+            close(CloseReason.CloseCodes.CANNOT_ACCEPT, "Can not parse message");
+            return;
+        }
+        handle(commands, true);
+    }
+
+    private void handle(final List<Command> commands, final boolean binary) {
+        synchronized (lock) {
+            keepAlive.refresh(httpSession);
+            if (commands.isEmpty()) {
+                // an empty batch is used by the client to check that the socket was accepted
+                try {
+                    send(commands, binary);
+                } catch (final IOException e) {
+                    LOG.error("Can not answer message of WebSocket for client session " + clientId, e);
+                }
+                return;
+            }
+            clientSessionManager.setClientSessionForThread(httpSession, clientId);
+            try {
+                final DolphinContext context = getContext();
+                if (context == null) {
+                    return;
+                }
+                LOG.trace("WebSocket message for DolphinContext {} contains {} commands", context.getId(), commands.size());
+                final List<Command> results = context.handle(commands, false);
+                if (isInterruptRequest(commands)) {
+                    return;
+                }
+                if (results.isEmpty() && commands.get(commands.size() - 1) instanceof StartLongPollCommand) {
+                    suspendLongPoll(context, binary);
+                    return;
+                }
+                send(results, binary);
+            } catch (final Exception e) {
+                LOG.error("Can not handle message of WebSocket for client session " + clientId, e);
+                close(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "Can not handle message");
+            } finally {
+                clientSessionManager.resetClientSessionForThread();
+            }
+        }
+    }
+
+    private void suspendLongPoll(final DolphinContext context, final boolean binary) {
+        LOG.trace("Suspending long poll for DolphinContext {}", context.getId());
+        longPollSuspended = true;
+        taskSubscription = context.onTaskAvailable(() -> executor.execute(() -> resumeLongPoll(binary)));
+        longPollTimeout = scheduler.schedule(() -> executor.execute(() -> resumeLongPoll(binary)), maxPollTime, TimeUnit.MILLISECONDS);
+    }
+
+    private void releaseLongPoll() {
+        longPollSuspended = false;
+        if (taskSubscription != null) {
+            taskSubscription.unsubscribe();
+            taskSubscription = null;
+        }
+        if (longPollTimeout != null) {
+            longPollTimeout.cancel(false);
+            longPollTimeout = null;
+        }
+    }
+
+    private void resumeLongPoll(final boolean binary) {
+        synchronized (lock) {
+            if (!longPollSuspended) {
+                // the long poll was already resumed by a task, an interrupt or the max poll time
+                return;
+            }
+            releaseLongPoll();
+            if (!session.isOpen()) {
+                return;
+            }
+            clientSessionManager.setClientSessionForThread(httpSession, clientId);
+            try {
+                final DolphinContext context = getContext();
+                if (context == null) {
+                    return;
+                }
+                LOG.trace("Resuming long poll for DolphinContext {}", context.getId());
+                send(context.resumeLongPoll(), binary);
+            } catch (final Exception e) {
+                LOG.error("Can not resume long poll of WebSocket for client session " + clientId, e);
+                close(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "Can not resume long poll");
+            } finally {
+                clientSessionManager.resetClientSessionForThread();
+            }
+        }
+    }
+
+    private DolphinContext getContext() {
+        final ClientSession clientSession = sessionProvider.getCurrentClientSession();
+        final DolphinContext context = clientSession != null ? communicationHandler.getContext(clientSession) : null;
+        if (context == null) {
+            LOG.warn("No DolphinContext defined for client session {}. Closing WebSocket {}", clientId, session.getId());
+            close(CloseReason.CloseCodes.VIOLATED_POLICY, "No remoting context defined");
+        }
+        return context;
+    }
+
+    private void send(final List<Command> commands, final boolean binary) throws IOException {
+        if (binary) {
+            try (final OutputStream outputStream = session.getBasicRemote().getSendStream()) {
+                binaryCodec.encode(commands, outputStream);
+            }
+        } else {
+            try (final Writer writer = session.getBasicRemote().getSendWriter()) {
+                codec.encode(commands, writer);
+            }
+        }
+    }
+
+    private boolean isInterruptRequest(final List<Command> commands) {
+        for (final Command command : commands) {
+            if (!(command instanceof InterruptLongPollCommand)) {
+                return false;
+            }
+        }
+        return !commands.isEmpty();
+    }
+
+    private void close(final CloseReason.CloseCode closeCode, final String reason) {
+        try {
+            session.close(new CloseReason(closeCode, reason));
+        } catch (final IOException e) {
+            LOG.debug("Can not close WebSocket {}", session.getId(), e);
+        }
+    }
+
+    @Override
+    public void onClose(final Session session, final CloseReason closeReason) {
+        LOG.trace("WebSocket {} of client session {} closed: {}", session.getId(), clientId, closeReason.getReasonPhrase());
+        synchronized (lock) {
+            releaseLongPoll();
+            if (accepted) {
+                accepted = false;
+                handshakes.close(clientId);
+                keepAlive.release(httpSession);
+            }
+        }
+    }
+
+    @Override
+    public void onError(final Session session, final Throwable throwable) {
+        LOG.warn("Error in WebSocket {} of client session {}", session.getId(), clientId, throwable);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.websocket;
+
+import com.canoo.dp.impl.platform.core.Assert;
+
+import javax.servlet.http.HttpSession;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands the http session and the client session of a WebSocket handshake over to the
+ * {@link RemotingWebSocketEndpoint} of the new connection. The user properties of the endpoint configuration can not
+ * be used for the handover since the configuration is shared by all connections.
+ *
+ * Before a client opens a WebSocket it requests a ticket by a http request (see {@link RemotingWebSocketTicketFilter}).
+ * The ticket is a random value that is created by the server and bound to the http session and the client session of
+ * that request. The client sends the ticket as query parameter
+ * {@link com.canoo.dp.impl.remoting.PlatformRemotingConstants#WEBSOCKET_TICKET_PARAMETER} of the handshake. The
+ * handshake confirms the ticket only if it belongs to the same http session, and the endpoint accepts a confirmed
+ * ticket only once. Tickets that are never used are removed after a timeout.
+ *
+ * Next to that only one WebSocket can be open per client session since the messages of a client session must not be
+ * handled concurrently by several connections.
+ */
+final class RemotingWebSocketHandshakes {
+
+    private static final long TICKET_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<String, Handshake> handshakes = new ConcurrentHashMap<>();
+
+    private final Set<String> openClientSessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Issues a new ticket for the given sessions.
+     * @param httpSession the http session
+     * @param clientId the client session id
+     * @return the ticket
+     */
+    String issue(final HttpSession httpSession, final String clientId) {
+        Assert.requireNonNull(httpSession, "httpSession");
+        Assert.requireNonBlank(clientId, "clientId");
+        removeOutdated();
+        final String ticket = UUID.randomUUID().toString();
+        handshakes.put(ticket, new Handshake(httpSession, clientId));
+        return ticket;
+    }
+
+    /**
+     * Confirms the given ticket if it was issued for the http session of the handshake.
+     * @param ticket the ticket of the handshake
+     * @param httpSession the http session of the handshake
+     */
+    void confirm(final String ticket, final HttpSession httpSession) {
+        Assert.requireNonBlank(ticket, "ticket");
+        Assert.requireNonNull(httpSession, "httpSession");
+        final Handshake handshake = handshakes.get(ticket);
+        if (handshake != null && handshake.httpSession.getId().equals(httpSession.getId())) {
+            handshake.confirmed = true;
+        }
+    }
+
+    /**
+     * Removes the given ticket.
+     * @param ticket the ticket of the new connection
+     * @return the handshake or {@code null} if the ticket is unknown, outdated or was not confirmed by the handshake
+     */
+    Handshake remove(final String ticket) {
+        Assert.requireNonBlank(ticket, "ticket");
+        final Handshake handshake = handshakes.remove(ticket);
+        if (handshake == null || !handshake.confirmed || handshake.isOutdated()) {
+            return null;
+        }
+        return handshake;
+    }
+
+    /**
+     * Registers an open WebSocket for the given client session.
+     * @param clientId the client session id
+     * @return false if the client session already uses an open WebSocket
+     */
+    boolean open(final String clientId) {
+        Assert.requireNonBlank(clientId, "clientId");
+        return openClientSessions.add(clientId);
+    }
+
+    /**
+     * Removes the WebSocket of the given client session that was registered by {@link #open(String)}.
+     * @param clientId the client session id
+     */
+    void close(final String clientId) {
+        Assert.requireNonBlank(clientId, "clientId");
+        openClientSessions.remove(clientId);
+    }
+
+    private void removeOutdated() {
+        final Iterator<Handshake> iterator = handshakes.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isOutdated()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    static final class Handshake {
+
+        private final HttpSession httpSession;
+
+        private final String clientId;
+
+        private final long creationTime = System.currentTimeMillis();
+
+        private volatile boolean confirmed = false;
+
+        private Handshake(final HttpSession httpSession, final String clientId) {
+            this.httpSession = httpSession;
+            this.clientId = clientId;
+        }
+
+        HttpSession getHttpSession() {
+            return httpSession;
+        }
+
+        String getClientId() {
+            return clientId;
+        }
+
+        private boolean isOutdated() {
+            return System.currentTimeMillis() - creationTime > TICKET_TIMEOUT;
+        }
+    }
+}
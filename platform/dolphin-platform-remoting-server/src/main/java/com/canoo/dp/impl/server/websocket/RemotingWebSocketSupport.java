@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.websocket;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.server.client.ClientSessionManager;
+import com.canoo.dp.impl.server.client.ClientSessionProvider;
+import com.canoo.dp.impl.server.config.RemotingConfiguration;
+import com.canoo.dp.impl.server.context.DolphinContextCommunicationHandler;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterRegistration;
+import javax.servlet.ServletContext;
+import javax.websocket.DeploymentException;
+import javax.websocket.server.ServerContainer;
+import javax.websocket.server.ServerEndpointConfig;
+import java.util.EnumSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+/**
+ * Registers the {@link RemotingWebSocketEndpoint} in the WebSocket container of the servlet container. Since the
+ * WebSocket API is an optional dependency this class must only be used if {@link #isSupported(ServletContext)} returns
+ * true.
+ */
+@API(since = "1.0.0", status = INTERNAL)
+public final class RemotingWebSocketSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemotingWebSocketSupport.class);
+
+    /**
+     * Name of the servlet context attribute that contains the WebSocket container (see JSR-356)
+     */
+    public static final String SERVER_CONTAINER_ATTRIBUTE = "javax.websocket.server.ServerContainer";
+
+    public static final String TICKET_FILTER_NAME = "webSocketTicketFilter";
+
+    private RemotingWebSocketSupport() {
+    }
+
+    /**
+     * Checks if the servlet container provides a WebSocket container.
+     * @param servletContext the servlet context
+     * @return true if WebSockets are supported
+     */
+    public static boolean isSupported(final ServletContext servletContext) {
+        Assert.requireNonNull(servletContext, "servletContext");
+        return servletContext.getAttribute(SERVER_CONTAINER_ATTRIBUTE) != null;
+    }
+
+    /**
+     * Registers the remoting WebSocket endpoint and the filter that issues the tickets of the WebSockets for the
+     * remoting servlet.
+     * @param servletContext the servlet context
+     * @param configuration the remoting configuration that defines the mappings and the max poll time
+     * @param communicationHandler the communication handler that provides the dolphin contexts
+     * @param clientSessionManager the client session manager
+     * @param sessionProvider the client session provider
+     * @param executor executor that is used to resume suspended long polls
+     * @param scheduler scheduler that is used to release suspended long polls after the max poll time
+     * @throws DeploymentException if the endpoint can not be registered
+     */
+    public static void register(final ServletContext servletContext, final RemotingConfiguration configuration, final DolphinContextCommunicationHandler communicationHandler, final ClientSessionManager clientSessionManager, final ClientSessionProvider sessionProvider, final Executor executor, final ScheduledExecutorService scheduler) throws DeploymentException {
+        Assert.requireNonNull(servletContext, "servletContext");
+        Assert.requireNonNull(configuration, "configuration");
+        Assert.requireNonNull(communicationHandler, "communicationHandler");
+        Assert.requireNonNull(clientSessionManager, "clientSessionManager");
+        Assert.requireNonNull(sessionProvider, "sessionProvider");
+        Assert.requireNonNull(executor, "executor");
+        Assert.requireNonNull(scheduler, "scheduler");
+
+        final ServerContainer serverContainer = (ServerContainer) servletContext.getAttribute(SERVER_CONTAINER_ATTRIBUTE);
+        if (serverContainer == null) {
+            throw new DeploymentException("No WebSocket container defined in servlet context");
+        }
+        final String path = configuration.getWebSocketMapping();
+        final long maxPollTime = configuration.getMaxPollTime();
+        final RemotingWebSocketHandshakes handshakes = new RemotingWebSocketHandshakes();
+        final HttpSessionKeepAlive keepAlive = new HttpSessionKeepAlive();
+        final RemotingWebSocketConfigurator configurator = new RemotingWebSocketConfigurator(handshakes, () -> new RemotingWebSocketEndpoint(communicationHandler, clientSessionManager, sessionProvider, executor, scheduler, maxPollTime, handshakes, keepAlive));
+        serverContainer.addEndpoint(ServerEndpointConfig.Builder.create(RemotingWebSocketEndpoint.class, path).configurator(configurator).build());
+        LOG.debug("Dolphin Platform WebSocket endpoint defined as " + path);
+
+        // registered after the client session filter since the ticket is bound to the client session of the request
+        final FilterRegistration.Dynamic ticketFilter = servletContext.addFilter(TICKET_FILTER_NAME, new RemotingWebSocketTicketFilter(handshakes, sessionProvider));
+        ticketFilter.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), true, configuration.getDolphinPlatformServletMapping());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.websocket;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
+import com.canoo.dp.impl.server.client.ClientSessionProvider;
+import com.canoo.platform.server.client.ClientSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+
+/**
+ * Issues the tickets that are needed to open a remoting WebSocket (see {@link RemotingWebSocketHandshakes}). A request
+ * to the remoting servlet that contains the header {@link PlatformRemotingConstants#WEBSOCKET_TICKET_HEADER} is
+ * answered by this filter and never reaches the servlet. The ticket is bound to the http session and the client
+ * session of the request and is sent back in the same header. The filter must be called after the client session
+ * filter.
+ */
+final class RemotingWebSocketTicketFilter implements Filter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemotingWebSocketTicketFilter.class);
+
+    private final RemotingWebSocketHandshakes handshakes;
+
+    private final ClientSessionProvider sessionProvider;
+
+    RemotingWebSocketTicketFilter(final RemotingWebSocketHandshakes handshakes, final ClientSessionProvider sessionProvider) {
+        this.handshakes = Assert.requireNonNull(handshakes, "handshakes");
+        this.sessionProvider = Assert.requireNonNull(sessionProvider, "sessionProvider");
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain) throws IOException, ServletException {
+        Assert.requireNonNull(request, "request");
+        Assert.requireNonNull(response, "response");
+        Assert.requireNonNull(chain, "chain");
+        final HttpServletRequest servletRequest = (HttpServletRequest) request;
+        final HttpServletResponse servletResponse = (HttpServletResponse) response;
+        if (servletRequest.getHeader(PlatformRemotingConstants.WEBSOCKET_TICKET_HEADER) == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final HttpSession httpSession = servletRequest.getSession(false);
+        final ClientSession clientSession = sessionProvider.getCurrentClientSession();
+        if (httpSession == null || clientSession == null) {
+            LOG.warn("Can not issue WebSocket ticket since no client session is defined");
+            servletResponse.sendError(HttpServletResponse.SC_BAD_REQUEST, "No client session defined");
+            return;
+        }
+        LOG.trace("Issuing WebSocket ticket for client session {}", clientSession.getId());
+        servletResponse.setHeader(PlatformRemotingConstants.WEBSOCKET_TICKET_HEADER, handshakes.issue(httpSession, clientSession.getId()));
+        servletResponse.setStatus(HttpServletResponse.SC_OK);
+    }
+
+    @Override
+    public void init(final FilterConfig filterConfig) throws ServletException {
+        //Nothing to do here
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
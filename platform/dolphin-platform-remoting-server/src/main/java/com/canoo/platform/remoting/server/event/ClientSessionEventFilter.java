@@ -21,14 +21,14 @@ import org.apiguardian.api.API;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
 @API(since = "0.x", status = INTERNAL)
-public class ClientSessionEventFilter<T extends Serializable> implements Predicate<MessageEventContext<T>> {
+public class ClientSessionEventFilter<T extends Serializable> implements MetadataEventFilter<T> {
 
     private final List<String> sessionIds;
 
@@ -36,6 +36,16 @@ public class ClientSessionEventFilter<T extends Serializable> implements Predica
         this.sessionIds = Arrays.asList(sessionIds);
     }
 
+    @Override
+    public String getMetadataKey() {
+        return EventConstants.CLIENT_SESSION_PARAM;
+    }
+
+    @Override
+    public Collection<? extends Serializable> getMetadataValues() {
+        return sessionIds;
+    }
+
     @Override
     public boolean test(MessageEventContext<T> context) {
         Assert.requireNonNull(context, "context");
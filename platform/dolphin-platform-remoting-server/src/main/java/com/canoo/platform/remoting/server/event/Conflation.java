@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.platform.remoting.server.event;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Defines how events of a {@link Topic} are conflated for a subscribing dolphin session. While an event for a
+ * conflation key is waiting to be handled by the session, a newer event with the same key replaces it. By doing so a
+ * slow or idle client will only receive the latest event per key once its session handles the queued tasks. This is
+ * useful for high-rate topics like price ticks or sensor values where only the latest value is of interest.
+ *
+ * @param <T> the type of data of the topic
+ */
+@API(since = "1.0.0", status = EXPERIMENTAL)
+public final class Conflation<T extends Serializable> implements Serializable {
+
+    private static final long serialVersionUID = 2940512839560815373L;
+
+    private static final String TOPIC_KEY = "";
+
+    private final ConflationKeyExtractor<T> keyExtractor;
+
+    private final int maxPendingKeys;
+
+    private Conflation(final ConflationKeyExtractor<T> keyExtractor, final int maxPendingKeys) {
+        this.keyExtractor = keyExtractor;
+        if (maxPendingKeys <= 0) {
+            throw new IllegalArgumentException("maxPendingKeys must be > 0");
+        }
+        this.maxPendingKeys = maxPendingKeys;
+    }
+
+    /**
+     * Only the latest event of the topic will be kept for a session.
+     * @param <T> the type of data of the topic
+     * @return the conflation
+     */
+    public static <T extends Serializable> Conflation<T> perTopic() {
+        return new Conflation<>(null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The latest event for each key that is extracted from the event data will be kept for a session.
+     * @param keyExtractor the function that returns the conflation key for the data of an event
+     * @param <T> the type of data of the topic
+     * @return the conflation
+     */
+    public static <T extends Serializable> Conflation<T> byKey(final ConflationKeyExtractor<T> keyExtractor) {
+        return new Conflation<>(Assert.requireNonNull(keyExtractor, "keyExtractor"), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a conflation that keeps events for at most the given number of keys per session. Events with a new key
+     * will be dropped while the limit is reached.
+     * @param maxPendingKeys the max number of keys
+     * @return the conflation
+     */
+    public Conflation<T> withMaxPendingKeys(final int maxPendingKeys) {
+        return new Conflation<>(keyExtractor, maxPendingKeys);
+    }
+
+    /**
+     * Returns the conflation key for the given event data
+     * @param data the data
+     * @return the conflation key
+     */
+    public Serializable getKey(final T data) {
+        if (keyExtractor == null || data == null) {
+            return TOPIC_KEY;
+        }
+        return keyExtractor.getKey(data);
+    }
+
+    public int getMaxPendingKeys() {
+        return maxPendingKeys;
+    }
+
+    /**
+     * Function that returns the conflation key for the data of an event.
+     * @param <T> the type of the event data
+     */
+    @FunctionalInterface
+    public interface ConflationKeyExtractor<T extends Serializable> extends Serializable {
+
+        Serializable getKey(T data);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.platform.remoting.server.event;
+
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+import java.util.function.Predicate;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A filter for subscriptions of the {@link RemotingEventBus} that only depends on the given
+ * {@link MessageEventContext} and not on the state or thread of the subscribing dolphin session. Such a filter
+ * will be evaluated when an event is dispatched. Events that are rejected by the filter will never be queued for
+ * the subscribing session.
+ *
+ * @param <T> type of the event data
+ */
+@API(since = "1.0.0", status = EXPERIMENTAL)
+public interface ContextFreeEventFilter<T extends Serializable> extends Predicate<MessageEventContext<T>> {
+}
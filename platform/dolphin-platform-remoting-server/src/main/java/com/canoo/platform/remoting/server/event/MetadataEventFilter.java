@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.platform.remoting.server.event;
+
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A {@link ContextFreeEventFilter} that can only accept events that contain one of the given values for a specific
+ * metadata key (see {@link MessageEventContext#getMetadata()}). The event bus indexes subscriptions with such a
+ * filter by the metadata value and only calls {@link #test(Object)} for events that match the index.
+ *
+ * @param <T> type of the event data
+ */
+@API(since = "1.0.0", status = EXPERIMENTAL)
+public interface MetadataEventFilter<T extends Serializable> extends ContextFreeEventFilter<T> {
+
+    /**
+     * Returns the metadata key that is checked by this filter.
+     * @return the metadata key
+     */
+    String getMetadataKey();
+
+    /**
+     * Returns all metadata values that can be accepted by this filter.
+     * @return the metadata values
+     */
+    Collection<? extends Serializable> getMetadataValues();
+}
@@ -20,6 +20,7 @@ import com.canoo.platform.remoting.server.RemotingController;
 import org.apiguardian.api.API;
 
 import java.io.Serializable;
+import java.util.Objects;
 import java.util.function.Predicate;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
@@ -65,4 +66,26 @@ public interface RemotingEventBus {
      * @param filter   the filter
      */
     <T extends Serializable> Subscription subscribe(Topic<T> topic, MessageListener<? super T> listener, Predicate<MessageEventContext<T>> filter);
+
+    /**
+     * Register as a listener for a given topic. All messages that will be published for the given address
+     * by any dolphin session will trigger the given handler in the correct dolphin session. If the topic has a
+     * {@link ReplayPolicy} the buffered events that match the given replay will be passed to the listener once the
+     * subscription is registered. Since events can be published while the replay is done a listener can receive an
+     * event twice. The sequence number of an event (see {@link Replay#SEQUENCE_METADATA_KEY}) can be used to detect
+     * such duplicates. By default the replay of events is not supported and only {@link Replay#none()} is accepted.
+     *
+     * @param topic    the topic
+     * @param listener the listener
+     * @param filter   the filter
+     * @param replay   the replay
+     * @throws UnsupportedOperationException if the event bus does not support the replay of events
+     */
+    default <T extends Serializable> Subscription subscribe(Topic<T> topic, MessageListener<? super T> listener, Predicate<MessageEventContext<T>> filter, Replay replay) {
+        Objects.requireNonNull(replay, "replay");
+        if (replay.isNone()) {
+            return subscribe(topic, listener, filter);
+        }
+        throw new UnsupportedOperationException("The event bus does not support the replay of events");
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.platform.remoting.server.event;
+
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Defines which buffered events of a {@link Topic} with a {@link ReplayPolicy} will be replayed when subscribing to the
+ * topic (see {@link RemotingEventBus#subscribe(Topic, MessageListener, java.util.function.Predicate, Replay)}).
+ * Each buffered event contains its sequence number as metadata (see {@link #SEQUENCE_METADATA_KEY}) that can be
+ * stored by a client to request the events it missed after a reconnect.
+ */
+@API(since = "1.0.0", status = EXPERIMENTAL)
+public final class Replay implements Serializable {
+
+    private static final long serialVersionUID = 7430150826114946361L;
+
+    /**
+     * Key of the metadata entry that contains the sequence number ({@link Long}) of an event in the replay buffer of
+     * its topic.
+     */
+    public static final String SEQUENCE_METADATA_KEY = "replay.sequence";
+
+    private final long fromTimestamp;
+
+    private final long fromSequence;
+
+    private Replay(final long fromTimestamp, final long fromSequence) {
+        this.fromTimestamp = fromTimestamp;
+        this.fromSequence = fromSequence;
+    }
+
+    /**
+     * Replays no events.
+     * @return the replay
+     */
+    public static Replay none() {
+        return new Replay(Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Replays all buffered events.
+     * @return the replay
+     */
+    public static Replay all() {
+        return new Replay(Long.MIN_VALUE, Long.MIN_VALUE);
+    }
+
+    /**
+     * Replays all buffered events that were published at or after the given time.
+     * @param timestamp the time in milliseconds
+     * @return the replay
+     */
+    public static Replay fromTimestamp(final long timestamp) {
+        return new Replay(timestamp, Long.MIN_VALUE);
+    }
+
+    /**
+     * Replays all buffered events with a sequence number that is greater than or equal to the given one.
+     * @param sequence the sequence number
+     * @return the replay
+     */
+    public static Replay fromSequence(final long sequence) {
+        return new Replay(Long.MIN_VALUE, sequence);
+    }
+
+    /**
+     * Returns {@code true} if an event with the given timestamp and sequence number must be replayed
+     * @param timestamp the timestamp of the event
+     * @param sequence the sequence number of the event
+     * @return {@code true} if the event must be replayed
+     */
+    public boolean includes(final long timestamp, final long sequence) {
+        return !isNone() && timestamp >= fromTimestamp && sequence >= fromSequence;
+    }
+
+    /**
+     * Returns {@code true} if no events will be replayed (see {@link #none()}).
+     * @return {@code true} if no events will be replayed
+     */
+    public boolean isNone() {
+        return fromTimestamp == Long.MAX_VALUE && fromSequence == Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.platform.remoting.server.event;
+
+import com.canoo.dp.impl.platform.core.Assert;
+import org.apiguardian.api.API;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Defines the replay buffer of a {@link Topic}. If a topic has a replay policy the last published events of the topic
+ * are kept in a bounded buffer so that a subscriber can request a {@link Replay} of the events that it missed (for
+ * example after a reconnect). The buffer is bounded by a max number of events and / or a max age of the events.
+ */
+@API(since = "1.0.0", status = EXPERIMENTAL)
+public final class ReplayPolicy implements Serializable {
+
+    private static final long serialVersionUID = -3851466017389627346L;
+
+    private final int maxEvents;
+
+    private final long maxAgeInMillis;
+
+    private ReplayPolicy(final int maxEvents, final long maxAgeInMillis) {
+        if (maxEvents <= 0) {
+            throw new IllegalArgumentException("maxEvents must be > 0");
+        }
+        if (maxAgeInMillis <= 0) {
+            throw new IllegalArgumentException("maxAge must be > 0");
+        }
+        this.maxEvents = maxEvents;
+        this.maxAgeInMillis = maxAgeInMillis;
+    }
+
+    /**
+     * Creates a policy that keeps the given number of events.
+     * @param maxEvents the max number of events
+     * @return the policy
+     */
+    public static ReplayPolicy ofSize(final int maxEvents) {
+        return new ReplayPolicy(maxEvents, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a policy that keeps all events that are not older than the given age.
+     * @param maxAge the max age
+     * @param unit the time unit of the max age
+     * @return the policy
+     */
+    public static ReplayPolicy ofAge(final long maxAge, final TimeUnit unit) {
+        Assert.requireNonNull(unit, "unit");
+        return new ReplayPolicy(Integer.MAX_VALUE, unit.toMillis(maxAge));
+    }
+
+    /**
+     * Returns a policy that additionally limits the age of the events.
+     * @param maxAge the max age
+     * @param unit the time unit of the max age
+     * @return the policy
+     */
+    public ReplayPolicy withMaxAge(final long maxAge, final TimeUnit unit) {
+        Assert.requireNonNull(unit, "unit");
+        return new ReplayPolicy(maxEvents, unit.toMillis(maxAge));
+    }
+
+    public int getMaxEvents() {
+        return maxEvents;
+    }
+
+    public long getMaxAgeInMillis() {
+        return maxAgeInMillis;
+    }
+}
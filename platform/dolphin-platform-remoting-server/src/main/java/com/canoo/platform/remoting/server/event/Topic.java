@@ -36,6 +36,10 @@ public class Topic<T extends Serializable> implements Serializable {
 
     private final String name;
 
+    private final Conflation<T> conflation;
+
+    private final ReplayPolicy replayPolicy;
+
     /**
      * Default constructur that uses a {@link UUID} based string for the name of this topic.
      */
@@ -49,7 +53,32 @@ public class Topic<T extends Serializable> implements Serializable {
      * @param name the name
      */
     public Topic(String name) {
+        this(name, null);
+    }
+
+    /**
+     * Constructor that creates a topic based on its name and a conflation. This name must be unique. The conflation
+     * will be used for all subscriptions that are created with this topic instance (see {@link Conflation}).
+     *
+     * @param name the name
+     * @param conflation the conflation or {@code null} if events should not be conflated
+     */
+    public Topic(String name, Conflation<T> conflation) {
+        this(name, conflation, null);
+    }
+
+    /**
+     * Constructor that creates a topic based on its name, a conflation and a replay policy. This name must be unique.
+     * The replay policy defines the buffer of last published events of the topic (see {@link ReplayPolicy}).
+     *
+     * @param name the name
+     * @param conflation the conflation or {@code null} if events should not be conflated
+     * @param replayPolicy the replay policy or {@code null} if events should not be buffered for replay
+     */
+    public Topic(String name, Conflation<T> conflation, ReplayPolicy replayPolicy) {
         this.name = name;
+        this.conflation = conflation;
+        this.replayPolicy = replayPolicy;
     }
 
     /**
@@ -61,6 +90,24 @@ public class Topic<T extends Serializable> implements Serializable {
         return name;
     }
 
+    /**
+     * Returns the conflation of the topic
+     *
+     * @return the conflation or {@code null} if events of this topic are not conflated
+     */
+    public Conflation<T> getConflation() {
+        return conflation;
+    }
+
+    /**
+     * Returns the replay policy of the topic
+     *
+     * @return the replay policy or {@code null} if events of this topic are not buffered for replay
+     */
+    public ReplayPolicy getReplayPolicy() {
+        return replayPolicy;
+    }
+
     /**
      * Convenience methods that creates a new topic based on the given unique name
      *
@@ -81,6 +128,32 @@ public class Topic<T extends Serializable> implements Serializable {
         return new Topic<>();
     }
 
+    /**
+     * Convenience methods that creates a new topic based on the given unique name whose events will be conflated
+     * for subscribers (see {@link Conflation}).
+     *
+     * @param uniqueName the name
+     * @param conflation the conflation
+     * @param <T>        the type of data that can be send to the created topic
+     * @return the topic
+     */
+    public static <T extends Serializable> Topic<T> createConflating(String uniqueName, Conflation<T> conflation) {
+        return new Topic<>(uniqueName, conflation);
+    }
+
+    /**
+     * Convenience methods that creates a new topic based on the given unique name whose last published events will be
+     * buffered for replay (see {@link ReplayPolicy}).
+     *
+     * @param uniqueName   the name
+     * @param replayPolicy the replay policy
+     * @param <T>          the type of data that can be send to the created topic
+     * @return the topic
+     */
+    public static <T extends Serializable> Topic<T> createReplayable(String uniqueName, ReplayPolicy replayPolicy) {
+        return new Topic<>(uniqueName, null, replayPolicy);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
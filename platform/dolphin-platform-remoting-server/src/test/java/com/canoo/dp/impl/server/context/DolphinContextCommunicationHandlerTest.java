@@ -0,0 +1,211 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.context;
+
+import com.canoo.dp.impl.platform.core.http.CompressionStatistics;
+import com.canoo.dp.impl.platform.core.http.ContentEncodings;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
+import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.server.client.HttpClientSessionImpl;
+import com.canoo.dp.impl.server.config.RemotingConfiguration;
+import com.canoo.dp.impl.server.config.ServerConfiguration;
+import com.canoo.impl.server.util.HttpSessionMock;
+import com.canoo.platform.server.client.ClientSession;
+import org.testng.annotations.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.ACCEPT_ENCODING_HEADER;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.CHARSET;
+import static com.canoo.dp.impl.platform.core.http.HttpHeaderConstants.CONTENT_ENCODING_HEADER;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class DolphinContextCommunicationHandlerTest {
+
+    @Test
+    public void testGzipIsUsedIfAccepted() throws IOException {
+        //given:
+        final DolphinContextCommunicationHandler handler = createHandler(true);
+        final ResponseRecorder response = new ResponseRecorder();
+
+        //when:
+        handler.writeCommands(createSession(), new CompressionStatistics(), createCommands(), createRequest("gzip, deflate"), response.create());
+
+        //then:
+        assertEquals(response.headers.get(CONTENT_ENCODING_HEADER), "gzip");
+        assertEquals(response.headers.get(ACCEPT_ENCODING_HEADER), ContentEncodings.SUPPORTED_ENCODINGS);
+        assertEquals(decode(response, "gzip").size(), createCommands().size());
+    }
+
+    @Test
+    public void testDeflateIsUsedIfGzipIsRefused() throws IOException {
+        //given:
+        final DolphinContextCommunicationHandler handler = createHandler(true);
+        final ResponseRecorder response = new ResponseRecorder();
+
+        //when:
+        handler.writeCommands(createSession(), new CompressionStatistics(), createCommands(), createRequest("gzip;q=0, deflate"), response.create());
+
+        //then:
+        assertEquals(response.headers.get(CONTENT_ENCODING_HEADER), "deflate");
+        assertEquals(decode(response, "deflate").size(), createCommands().size());
+    }
+
+    @Test
+    public void testNoEncodingWithoutAcceptEncoding() throws IOException {
+        //given:
+        final DolphinContextCommunicationHandler handler = createHandler(true);
+        final ResponseRecorder response = new ResponseRecorder();
+
+        //when:
+        handler.writeCommands(createSession(), new CompressionStatistics(), createCommands(), createRequest(null), response.create());
+
+        //then:
+        assertNull(response.headers.get(CONTENT_ENCODING_HEADER));
+        assertEquals(response.headers.get(ACCEPT_ENCODING_HEADER), ContentEncodings.SUPPORTED_ENCODINGS);
+        assertEquals(decode(response, null).size(), createCommands().size());
+    }
+
+    @Test
+    public void testNoEncodingIfAllEncodingsAreRefused() throws IOException {
+        //given:
+        final DolphinContextCommunicationHandler handler = createHandler(true);
+        final ResponseRecorder response = new ResponseRecorder();
+
+        //when:
+        handler.writeCommands(createSession(), new CompressionStatistics(), createCommands(), createRequest("gzip;q=0, deflate;q=0"), response.create());
+
+        //then:
+        assertNull(response.headers.get(CONTENT_ENCODING_HEADER));
+        assertEquals(decode(response, null).size(), createCommands().size());
+    }
+
+    @Test
+    public void testNoEncodingIfCompressionIsDeactivated() throws IOException {
+        //given:
+        final DolphinContextCommunicationHandler handler = createHandler(false);
+        final ResponseRecorder response = new ResponseRecorder();
+
+        //when:
+        handler.writeCommands(createSession(), new CompressionStatistics(), createCommands(), createRequest("gzip"), response.create());
+
+        //then:
+        assertNull(response.headers.get(CONTENT_ENCODING_HEADER));
+        assertNull(response.headers.get(ACCEPT_ENCODING_HEADER));
+        assertEquals(decode(response, null).size(), createCommands().size());
+    }
+
+    private DolphinContextCommunicationHandler createHandler(final boolean compressionActive) {
+        final Properties properties = new Properties();
+        properties.setProperty(RemotingConfiguration.COMPRESSION_ACTIVE, Boolean.toString(compressionActive));
+        properties.setProperty(RemotingConfiguration.COMPRESSION_THRESHOLD, "0");
+        final RemotingConfiguration configuration = new RemotingConfiguration(new ServerConfiguration(properties));
+        final ClientSession session = createSession();
+        return new DolphinContextCommunicationHandler(configuration, () -> session, null);
+    }
+
+    private ClientSession createSession() {
+        return new HttpClientSessionImpl(new HttpSessionMock());
+    }
+
+    private List<Command> createCommands() {
+        final List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            commands.add(new CreateContextCommand());
+        }
+        return commands;
+    }
+
+    private List<Command> decode(final ResponseRecorder response, final String encoding) throws IOException {
+        response.writer.flush();
+        final ByteArrayInputStream content = new ByteArrayInputStream(response.content.toByteArray());
+        return StreamingJsonCodec.getInstance().decode(new InputStreamReader(ContentEncodings.decode(content, encoding), CHARSET));
+    }
+
+    private HttpServletRequest createRequest(final String acceptEncoding) {
+        return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpServletRequest.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getHeaders")) {
+                if (ACCEPT_ENCODING_HEADER.equals(args[0]) && acceptEncoding != null) {
+                    return Collections.enumeration(Collections.singletonList(acceptEncoding));
+                }
+                return Collections.emptyEnumeration();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static class ResponseRecorder {
+
+        private final Map<String, String> headers = new HashMap<>();
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        private final PrintWriter writer = new PrintWriter(new OutputStreamWriter(content, StandardCharsets.UTF_8));
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(final int b) {
+                content.write(b);
+            }
+        };
+
+        private HttpServletResponse create() {
+            return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpServletResponse.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setHeader":
+                        headers.put((String) args[0], (String) args[1]);
+                        return null;
+                    case "setCharacterEncoding":
+                        return null;
+                    case "getOutputStream":
+                        return outputStream;
+                    case "getWriter":
+                        return writer;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+    }
+}
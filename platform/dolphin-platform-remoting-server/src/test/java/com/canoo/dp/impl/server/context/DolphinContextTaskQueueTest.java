@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.context;
+
+import com.canoo.dp.impl.server.client.ClientSessionProvider;
+import com.canoo.dp.impl.server.client.HttpClientSessionImpl;
+import com.canoo.impl.server.util.HttpSessionMock;
+import com.canoo.platform.core.functional.Subscription;
+import com.canoo.platform.server.client.ClientSession;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class DolphinContextTaskQueueTest {
+
+    @Test
+    public void testWakeUpOnAddTask() {
+        //given:
+        final DolphinContextTaskQueue taskQueue = createQueue(createSession());
+        final AtomicInteger wakeUpCounter = new AtomicInteger();
+
+        //when:
+        taskQueue.onWakeUp(() -> wakeUpCounter.incrementAndGet());
+
+        //then:
+        assertEquals(wakeUpCounter.get(), 0);
+
+        //when:
+        taskQueue.addTask(() -> null);
+        taskQueue.addTask(() -> null);
+
+        //then:
+        assertEquals(wakeUpCounter.get(), 1);
+    }
+
+    @Test
+    public void testWakeUpOnInterrupt() {
+        //given:
+        final DolphinContextTaskQueue taskQueue = createQueue(createSession());
+        final AtomicInteger wakeUpCounter = new AtomicInteger();
+        taskQueue.onWakeUp(() -> wakeUpCounter.incrementAndGet());
+
+        //when:
+        taskQueue.interrupt();
+
+        //then:
+        assertEquals(wakeUpCounter.get(), 1);
+        assertTrue(taskQueue.hasPendingTasks());
+    }
+
+    @Test
+    public void testDirectWakeUpForPendingTasks() {
+        //given:
+        final DolphinContextTaskQueue taskQueue = createQueue(createSession());
+        final AtomicInteger wakeUpCounter = new AtomicInteger();
+        taskQueue.addTask(() -> null);
+
+        //when:
+        taskQueue.onWakeUp(() -> wakeUpCounter.incrementAndGet());
+
+        //then:
+        assertEquals(wakeUpCounter.get(), 1);
+    }
+
+    @Test
+    public void testUnsubscribedWakeUp() {
+        //given:
+        final DolphinContextTaskQueue taskQueue = createQueue(createSession());
+        final AtomicInteger wakeUpCounter = new AtomicInteger();
+        final Subscription subscription = taskQueue.onWakeUp(() -> wakeUpCounter.incrementAndGet());
+
+        //when:
+        subscription.unsubscribe();
+        taskQueue.addTask(() -> null);
+
+        //then:
+        assertEquals(wakeUpCounter.get(), 0);
+    }
+
+    @Test
+    public void testExecuteAvailableTasksDoesNotWait() {
+        //given:
+        final ClientSession session = createSession();
+        final DolphinContextTaskQueue taskQueue = createQueue(session);
+        final AtomicInteger taskCounter = new AtomicInteger();
+        taskQueue.addTask(() -> taskCounter.incrementAndGet());
+        taskQueue.addTask(() -> taskCounter.incrementAndGet());
+
+        //when:
+        final long startTime = System.currentTimeMillis();
+        taskQueue.executeAvailableTasks();
+
+        //then:
+        assertEquals(taskCounter.get(), 2);
+        assertFalse(taskQueue.hasPendingTasks());
+        assertTrue(System.currentTimeMillis() - startTime < 1000);
+    }
+
+    private ClientSession createSession() {
+        return new HttpClientSessionImpl(new HttpSessionMock());
+    }
+
+    private DolphinContextTaskQueue createQueue(final ClientSession session) {
+        final ClientSessionProvider sessionProvider = () -> session;
+        return new DolphinContextTaskQueue(session.getId(), sessionProvider, () -> false, 10, TimeUnit.SECONDS);
+    }
+}
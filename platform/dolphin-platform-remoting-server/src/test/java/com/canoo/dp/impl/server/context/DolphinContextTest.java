@@ -20,9 +20,11 @@ import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
 import com.canoo.dp.impl.remoting.commands.CreateControllerCommand;
 import com.canoo.dp.impl.remoting.commands.DestroyContextCommand;
 import com.canoo.dp.impl.remoting.commands.DestroyControllerCommand;
+import com.canoo.dp.impl.remoting.commands.PendingResponseCommand;
 import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
 import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
 import com.canoo.dp.impl.server.beans.PostConstructInterceptor;
 import com.canoo.dp.impl.server.client.ClientSessionProvider;
 import com.canoo.dp.impl.server.client.HttpClientSessionImpl;
@@ -38,12 +40,14 @@ import org.testng.annotations.Test;
 
 import javax.servlet.ServletContext;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 public class DolphinContextTest {
@@ -151,6 +155,75 @@ public class DolphinContextTest {
         assertNotNull(dolphinActions.containsKey(InterruptLongPollCommand.class));
     }
 
+    @Test
+    public void testListSpliceSupportIsConfirmed() throws ControllerValidationException {
+        //given:
+        final DolphinContext dolphinContext = createContext();
+        final CreateContextCommand createContextCommand = new CreateContextCommand();
+        createContextCommand.setListSpliceCommandSupported(true);
+
+        //when:
+        final List<Command> response = dolphinContext.handle(Collections.<Command>singletonList(createContextCommand));
+
+        //then:
+        final CreateContextCommand confirmation = findCreateContextCommand(response);
+        assertNotNull(confirmation);
+        assertTrue(confirmation.isListSpliceCommandSupported());
+    }
+
+    @Test
+    public void testListSpliceSupportIsNotConfirmedForLegacyClients() throws ControllerValidationException {
+        //given:
+        final DolphinContext dolphinContext = createContext();
+
+        //when:
+        final List<Command> response = dolphinContext.handle(Collections.<Command>singletonList(new CreateContextCommand()));
+
+        //then:
+        assertNull(findCreateContextCommand(response));
+    }
+
+    private CreateContextCommand findCreateContextCommand(final List<Command> commands) {
+        for (final Command command : commands) {
+            if (command instanceof CreateContextCommand) {
+                return (CreateContextCommand) command;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testChunkedResponse() throws ControllerValidationException {
+        //given:
+        final DolphinContext dolphinContext = createContext();
+        final CreateContextCommand createContextCommand = new CreateContextCommand();
+        createContextCommand.setResponseChunkSize(3);
+        dolphinContext.handle(Collections.<Command>singletonList(createContextCommand));
+        dolphinContext.handle(Collections.<Command>singletonList(new StartLongPollCommand()), false);
+        dolphinContext.runLater(() -> {
+            for (int i = 0; i < 7; i++) {
+                dolphinContext.getServerModelStore().addResponseCommand(new ValueChangedCommand("attribute-" + i, i));
+            }
+        });
+
+        //when:
+        final List<Command> firstChunk = dolphinContext.handle(Collections.<Command>singletonList(new StartLongPollCommand()), false);
+        final List<Command> interruptResponse = dolphinContext.handle(Collections.<Command>singletonList(new InterruptLongPollCommand()));
+        final List<Command> secondChunk = dolphinContext.handle(Collections.<Command>singletonList(new StartLongPollCommand()), false);
+        final List<Command> lastChunk = dolphinContext.handle(Collections.<Command>singletonList(new StartLongPollCommand()), false);
+
+        //then:
+        assertEquals(firstChunk.size(), 4);
+        assertEquals(((ValueChangedCommand) firstChunk.get(0)).getAttributeId(), "attribute-0");
+        assertEquals(((PendingResponseCommand) firstChunk.get(3)).getRemainingCommandCount(), 4);
+        assertTrue(interruptResponse.isEmpty());
+        assertEquals(secondChunk.size(), 4);
+        assertEquals(((ValueChangedCommand) secondChunk.get(0)).getAttributeId(), "attribute-3");
+        assertEquals(((PendingResponseCommand) secondChunk.get(3)).getRemainingCommandCount(), 1);
+        assertEquals(lastChunk.size(), 1);
+        assertEquals(((ValueChangedCommand) lastChunk.get(0)).getAttributeId(), "attribute-6");
+    }
+
     private final DefaultClasspathScanner classpathScanner = new DefaultClasspathScanner("com.canoo.dolphin");
 
     private DolphinContext createContext() throws ControllerValidationException {
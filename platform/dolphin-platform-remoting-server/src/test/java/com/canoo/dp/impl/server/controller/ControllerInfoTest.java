@@ -0,0 +1,235 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.controller;
+
+import com.canoo.platform.remoting.server.Param;
+import com.canoo.platform.remoting.server.ParentController;
+import com.canoo.platform.remoting.server.PostChildCreated;
+import com.canoo.platform.remoting.server.PreChildDestroyed;
+import com.canoo.platform.remoting.server.RemotingAction;
+import com.canoo.platform.remoting.server.RemotingController;
+import com.canoo.platform.remoting.server.RemotingModel;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class ControllerInfoTest {
+
+    @Test
+    public void testActionInvocation() throws Throwable {
+        //given:
+        final ControllerInfo controllerInfo = new ControllerInfo(InfoTestController.class);
+        final InfoTestController controller = new InfoTestController();
+
+        //when:
+        final ActionInfo action = controllerInfo.getAction("renamedAction");
+        action.invoke(controller, new Object[]{"value", 42});
+
+        //then:
+        assertNotNull(action);
+        assertEquals(action.getParameterCount(), 2);
+        assertEquals(action.getParameterName(0), "text");
+        assertEquals(action.getParameterName(1), "1");
+        assertEquals(action.getParameterType(1), int.class);
+        assertEquals(controller.calls, 1);
+        assertEquals(controller.lastText, "value");
+        assertEquals(controller.lastNumber, 42);
+        assertNull(controllerInfo.getAction("privateAction2"));
+    }
+
+    @Test
+    public void testPrivateActionInvocation() throws Throwable {
+        //given:
+        final ControllerInfo controllerInfo = new ControllerInfo(InfoTestController.class);
+        final InfoTestController controller = new InfoTestController();
+
+        //when:
+        controllerInfo.getAction("privateAction").invoke(controller, new Object[0]);
+
+        //then:
+        assertEquals(controller.calls, 1);
+    }
+
+    @Test
+    public void testActionExceptionIsNotWrapped() {
+        //given:
+        final ControllerInfo controllerInfo = new ControllerInfo(InfoTestController.class);
+        final InfoTestController controller = new InfoTestController();
+
+        //when:
+        try {
+            controllerInfo.getAction("failingAction").invoke(controller, new Object[0]);
+            fail("Exception expected");
+        } catch (final Throwable e) {
+            //then:
+            assertEquals(e.getClass(), IllegalStateException.class);
+            assertEquals(e.getMessage(), "Action failed");
+        }
+    }
+
+    @Test
+    public void testParameterCheck() {
+        //given:
+        final ActionInfo action = new ControllerInfo(InfoTestController.class).getAction("renamedAction");
+
+        //then:
+        assertTrue(action.isAssignableToParameter(0, "text"));
+        assertTrue(action.isAssignableToParameter(0, null));
+        assertFalse(action.isAssignableToParameter(0, 1));
+        assertTrue(action.isAssignableToParameter(1, 1));
+        assertFalse(action.isAssignableToParameter(1, null));
+        assertFalse(action.isAssignableToParameter(1, 1L));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAmbiguousAction() {
+        //given:
+        final ControllerInfo controllerInfo = new ControllerInfo(InfoTestControllerWithAmbiguousAction.class);
+
+        //when:
+        controllerInfo.getAction("action");
+    }
+
+    @Test
+    public void testModelAndParentInjection() {
+        //given:
+        final ControllerInfo controllerInfo = new ControllerInfo(InfoTestChildController.class);
+        final InfoTestChildController controller = new InfoTestChildController();
+        final InfoTestController parentController = new InfoTestController();
+        final Object model = new Object();
+
+        //when:
+        controllerInfo.injectModel(controller, model);
+        controllerInfo.injectParentController(controller, parentController);
+
+        //then:
+        assertTrue(controllerInfo.hasModel());
+        assertEquals(controllerInfo.getModelType(), Object.class);
+        assertTrue(controllerInfo.hasParentController());
+        assertSame(controller.getModel(), model);
+        assertSame(controller.getParent(), parentController);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testParentInjectionWithWrongType() {
+        //given:
+        final ControllerInfo controllerInfo = new ControllerInfo(InfoTestChildController.class);
+
+        //when:
+        controllerInfo.injectParentController(new InfoTestChildController(), new Object());
+    }
+
+    @Test
+    public void testChildCallbacks() {
+        //given:
+        final ControllerInfo controllerInfo = new ControllerInfo(InfoTestController.class);
+        final InfoTestController controller = new InfoTestController();
+        final InfoTestChildController childController = new InfoTestChildController();
+
+        //when:
+        controllerInfo.firePostChildCreated(controller, childController);
+        controllerInfo.firePostChildCreated(controller, new Object());
+        controllerInfo.firePreChildDestroyed(controller, childController);
+
+        //then:
+        assertFalse(controllerInfo.hasModel());
+        assertFalse(controllerInfo.hasParentController());
+        assertEquals(controller.createdChildren.size(), 1);
+        assertSame(controller.createdChildren.get(0), childController);
+        assertEquals(controller.destroyedChildren.size(), 1);
+        assertSame(controller.destroyedChildren.get(0), childController);
+    }
+}
+
+@RemotingController
+class InfoTestController {
+
+    int calls;
+
+    String lastText;
+
+    int lastNumber;
+
+    final List<Object> createdChildren = new ArrayList<>();
+
+    final List<Object> destroyedChildren = new ArrayList<>();
+
+    @RemotingAction("renamedAction")
+    public void action(@Param("text") final String text, @Param final int number) {
+        calls++;
+        lastText = text;
+        lastNumber = number;
+    }
+
+    @RemotingAction
+    private void privateAction() {
+        calls++;
+    }
+
+    @RemotingAction
+    public void failingAction() {
+        throw new IllegalStateException("Action failed");
+    }
+
+    @PostChildCreated
+    private void onChildCreated(final InfoTestChildController childController) {
+        createdChildren.add(childController);
+    }
+
+    @PreChildDestroyed
+    public void onChildDestroyed(final InfoTestChildController childController) {
+        destroyedChildren.add(childController);
+    }
+}
+
+@RemotingController
+class InfoTestChildController {
+
+    @RemotingModel
+    private Object model;
+
+    @ParentController
+    private InfoTestController parent;
+
+    Object getModel() {
+        return model;
+    }
+
+    InfoTestController getParent() {
+        return parent;
+    }
+}
+
+@RemotingController
+class InfoTestControllerWithAmbiguousAction {
+
+    @RemotingAction
+    public void action() {
+    }
+
+    @RemotingAction("action")
+    public void otherAction() {
+    }
+}
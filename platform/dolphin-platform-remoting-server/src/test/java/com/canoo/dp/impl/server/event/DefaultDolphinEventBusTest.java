@@ -26,9 +26,13 @@ import com.canoo.dp.impl.server.controller.ControllerRepository;
 import com.canoo.dp.impl.server.scanner.DefaultClasspathScanner;
 import com.canoo.impl.server.util.HttpSessionMock;
 import com.canoo.platform.core.functional.Subscription;
+import com.canoo.platform.remoting.server.event.ClientSessionEventFilter;
+import com.canoo.platform.remoting.server.event.Conflation;
 import com.canoo.platform.remoting.server.event.MessageEvent;
 import com.canoo.platform.remoting.server.event.MessageListener;
 import com.canoo.platform.remoting.server.event.RemotingEventBus;
+import com.canoo.platform.remoting.server.event.Replay;
+import com.canoo.platform.remoting.server.event.ReplayPolicy;
 import com.canoo.platform.remoting.server.event.Topic;
 import com.canoo.platform.server.client.ClientSession;
 import com.canoo.platform.server.spi.components.ManagedBeanFactory;
@@ -36,7 +40,12 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import javax.servlet.ServletContext;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class DefaultDolphinEventBusTest {
 
@@ -105,6 +114,206 @@ public class DefaultDolphinEventBusTest {
         Assert.assertFalse(calledCheck.get());
     }
 
+    @Test
+    public void TestOneTaskPerSessionForOtherSessions() {
+        //given
+        final RecordingDolphinContext publisherContext = createRecordingContext();
+        final RecordingDolphinContext subscriberContext1 = createRecordingContext();
+        final RecordingDolphinContext subscriberContext2 = createRecordingContext();
+        final AtomicReference<DolphinContext> currentContext = new AtomicReference<>();
+        final DefaultDolphinEventBus eventBus = create(currentContext, publisherContext, subscriberContext1, subscriberContext2);
+
+        final AtomicInteger publisherCalls = new AtomicInteger();
+        final AtomicInteger subscriberCalls = new AtomicInteger();
+        currentContext.set(publisherContext);
+        eventBus.subscribe(TEST_TOPIC, m -> publisherCalls.incrementAndGet());
+        currentContext.set(subscriberContext1);
+        eventBus.subscribe(TEST_TOPIC, m -> subscriberCalls.incrementAndGet());
+        eventBus.subscribe(TEST_TOPIC, m -> subscriberCalls.incrementAndGet());
+        eventBus.subscribe(TEST_TOPIC, m -> subscriberCalls.incrementAndGet(), c -> false);
+        currentContext.set(subscriberContext2);
+        eventBus.subscribe(TEST_TOPIC, m -> subscriberCalls.incrementAndGet());
+
+        //when
+        currentContext.set(publisherContext);
+        eventBus.publish(TEST_TOPIC, "huhu");
+
+        //then
+        Assert.assertEquals(publisherCalls.get(), 1);
+        Assert.assertEquals(publisherContext.getTasks().size(), 0);
+        Assert.assertEquals(subscriberContext1.getTasks().size(), 1);
+        Assert.assertEquals(subscriberContext2.getTasks().size(), 1);
+        Assert.assertEquals(subscriberCalls.get(), 0);
+
+        //when
+        subscriberContext1.getTasks().forEach(Runnable::run);
+        subscriberContext2.getTasks().forEach(Runnable::run);
+
+        //then
+        Assert.assertEquals(subscriberCalls.get(), 3);
+        Assert.assertEquals(publisherCalls.get(), 1);
+    }
+
+    @Test
+    public void TestNoTaskForSessionAfterUnsubscribe() {
+        //given
+        final RecordingDolphinContext publisherContext = createRecordingContext();
+        final RecordingDolphinContext subscriberContext = createRecordingContext();
+        final AtomicReference<DolphinContext> currentContext = new AtomicReference<>();
+        final DefaultDolphinEventBus eventBus = create(currentContext, publisherContext, subscriberContext);
+        currentContext.set(subscriberContext);
+        final Subscription subscription = eventBus.subscribe(TEST_TOPIC, m -> {});
+
+        //when
+        subscription.unsubscribe();
+        currentContext.set(publisherContext);
+        eventBus.publish(TEST_TOPIC, "huhu");
+
+        //then
+        Assert.assertEquals(subscriberContext.getTasks().size(), 0);
+    }
+
+    @Test
+    public void TestRejectedEventIsNotQueued() {
+        //given
+        final RecordingDolphinContext publisherContext = createRecordingContext();
+        final RecordingDolphinContext subscriberContext = createRecordingContext();
+        final AtomicReference<DolphinContext> currentContext = new AtomicReference<>();
+        final DefaultDolphinEventBus eventBus = create(currentContext, publisherContext, subscriberContext);
+        currentContext.set(subscriberContext);
+        eventBus.subscribe(TEST_TOPIC, m -> {}, new ClientSessionEventFilter<>("unknown-session"));
+        eventBus.subscribe(TEST_TOPIC, m -> {}, new ClientSessionEventFilter<>(publisherContext.getId()));
+
+        //when
+        currentContext.set(publisherContext);
+        eventBus.publish(TEST_TOPIC, "huhu");
+        currentContext.set(null);
+        eventBus.publish(TEST_TOPIC, "huhu");
+
+        //then
+        Assert.assertEquals(subscriberContext.getTasks().size(), 1);
+    }
+
+    @Test
+    public void TestConflatingTopicKeepsLatestEvent() {
+        //given
+        final Topic<String> topic = Topic.createConflating("conflating-topic", Conflation.perTopic());
+        final RecordingDolphinContext publisherContext = createRecordingContext();
+        final RecordingDolphinContext subscriberContext = createRecordingContext();
+        final AtomicReference<DolphinContext> currentContext = new AtomicReference<>();
+        final DefaultDolphinEventBus eventBus = create(currentContext, publisherContext, subscriberContext);
+        final List<String> received = new CopyOnWriteArrayList<>();
+        currentContext.set(subscriberContext);
+        eventBus.subscribe(topic, m -> received.add(m.getData()));
+
+        //when
+        currentContext.set(publisherContext);
+        eventBus.publish(topic, "1");
+        eventBus.publish(topic, "2");
+        eventBus.publish(topic, "3");
+
+        //then
+        Assert.assertEquals(subscriberContext.getTasks().size(), 1);
+        Assert.assertEquals(eventBus.getConflatedEventCount(), 2L);
+
+        //when
+        subscriberContext.getTasks().forEach(Runnable::run);
+        eventBus.publish(topic, "4");
+
+        //then
+        Assert.assertEquals(received.size(), 1);
+        Assert.assertEquals(received.get(0), "3");
+        Assert.assertEquals(subscriberContext.getTasks().size(), 2);
+    }
+
+    @Test
+    public void TestConflationByKeyDropsNewKeysAtLimit() {
+        //given
+        final Topic<String> topic = Topic.createConflating("keyed-topic", Conflation.<String>byKey(d -> d.substring(0, 1)).withMaxPendingKeys(2));
+        final RecordingDolphinContext publisherContext = createRecordingContext();
+        final RecordingDolphinContext subscriberContext = createRecordingContext();
+        final AtomicReference<DolphinContext> currentContext = new AtomicReference<>();
+        final DefaultDolphinEventBus eventBus = create(currentContext, publisherContext, subscriberContext);
+        final List<String> received = new CopyOnWriteArrayList<>();
+        currentContext.set(subscriberContext);
+        eventBus.subscribe(topic, m -> received.add(m.getData()));
+
+        //when
+        currentContext.set(publisherContext);
+        eventBus.publish(topic, "a1");
+        eventBus.publish(topic, "b1");
+        eventBus.publish(topic, "a2");
+        eventBus.publish(topic, "c1");
+        subscriberContext.getTasks().forEach(Runnable::run);
+
+        //then
+        Assert.assertEquals(subscriberContext.getTasks().size(), 2);
+        Assert.assertEquals(eventBus.getConflatedEventCount(), 1L);
+        Assert.assertEquals(eventBus.getDroppedEventCount(), 1L);
+        Assert.assertEquals(received.size(), 2);
+        Assert.assertTrue(received.contains("a2"));
+        Assert.assertTrue(received.contains("b1"));
+    }
+
+    @Test
+    public void TestReplayForLateSubscriber() {
+        //given
+        final Topic<String> topic = Topic.createReplayable("replay-topic", ReplayPolicy.ofSize(10));
+        final RecordingDolphinContext publisherContext = createRecordingContext();
+        final RecordingDolphinContext subscriberContext = createRecordingContext();
+        final AtomicReference<DolphinContext> currentContext = new AtomicReference<>();
+        final DefaultDolphinEventBus eventBus = create(currentContext, publisherContext, subscriberContext);
+        final List<MessageEvent<String>> received = new CopyOnWriteArrayList<>();
+        currentContext.set(publisherContext);
+        eventBus.publish(topic, "1");
+        eventBus.publish(topic, "2");
+        eventBus.publish(topic, "3");
+
+        //when
+        currentContext.set(subscriberContext);
+        eventBus.subscribe(topic, m -> received.add(m), null, Replay.all());
+
+        //then
+        Assert.assertEquals(received.size(), 3);
+        Assert.assertEquals(received.get(0).getData(), "1");
+        final long secondSequence = (Long) received.get(1).getMessageEventContext().getMetadata().get(Replay.SEQUENCE_METADATA_KEY);
+
+        //when
+        received.clear();
+        eventBus.subscribe(topic, m -> received.add(m), null, Replay.fromSequence(secondSequence));
+
+        //then
+        Assert.assertEquals(received.size(), 2);
+        Assert.assertEquals(received.get(0).getData(), "2");
+        Assert.assertEquals(received.get(1).getData(), "3");
+    }
+
+    private DefaultDolphinEventBus create(final AtomicReference<DolphinContext> currentContext, final DolphinContext... contexts) {
+        final DefaultDolphinEventBus eventBus = new DefaultDolphinEventBus();
+        eventBus.init(new DolphinContextProvider() {
+            @Override
+            public DolphinContext getContext(ClientSession clientSession) {
+                return getContextById(clientSession.getId());
+            }
+
+            @Override
+            public DolphinContext getContextById(String clientSessionId) {
+                for (final DolphinContext context : contexts) {
+                    if (context.getId().equals(clientSessionId)) {
+                        return context;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public DolphinContext getCurrentDolphinContext() {
+                return currentContext.get();
+            }
+        }, new ClientSessionLifecycleHandlerImpl());
+        return eventBus;
+    }
+
     private DefaultDolphinEventBus create(final DolphinContext context) {
         DefaultDolphinEventBus eventBus = new DefaultDolphinEventBus();
         eventBus.init(new DolphinContextProvider() {
@@ -144,6 +353,34 @@ public class DefaultDolphinEventBusTest {
             throw new RuntimeException("FAIL", e);
         }
     }
+    private RecordingDolphinContext createRecordingContext() {
+        try {
+            final ClientSession session = new HttpClientSessionImpl(new HttpSessionMock());
+            return new RecordingDolphinContext(session);
+        } catch (Exception e) {
+            throw new RuntimeException("FAIL", e);
+        }
+    }
+
+    private class RecordingDolphinContext extends DolphinContext {
+
+        private final List<Runnable> tasks = new CopyOnWriteArrayList<>();
+
+        public RecordingDolphinContext(final ClientSession session) throws Exception {
+            super(new RemotingConfiguration(), session, () -> session, new ManagedBeanFactoryMock(), new ControllerRepository(classpathScanner), v -> {});
+        }
+
+        @Override
+        public Future<Void> runLater(final Runnable runnable) {
+            tasks.add(runnable);
+            return null;
+        }
+
+        public List<Runnable> getTasks() {
+            return tasks;
+        }
+    }
+
     private class ManagedBeanFactoryMock implements ManagedBeanFactory {
 
         @Override
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import com.canoo.platform.remoting.server.event.ReplayPolicy;
+import com.canoo.platform.remoting.server.event.Topic;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class LocalReplayBufferTest {
+
+    private final static Topic<String> TEST_TOPIC = Topic.create();
+
+    @Test
+    public void testBufferIsBoundedBySize() {
+        //given
+        final LocalReplayBuffer buffer = new LocalReplayBuffer(ReplayPolicy.ofSize(2));
+
+        //when
+        buffer.add(new DolphinEvent<>(TEST_TOPIC, System.currentTimeMillis(), "1"));
+        buffer.add(new DolphinEvent<>(TEST_TOPIC, System.currentTimeMillis(), "2"));
+        buffer.add(new DolphinEvent<>(TEST_TOPIC, System.currentTimeMillis(), "3"));
+        final List<DolphinEvent<String>> events = buffer.getEvents();
+
+        //then
+        Assert.assertEquals(events.size(), 2);
+        Assert.assertEquals(events.get(0).getData(), "2");
+        Assert.assertEquals(events.get(1).getData(), "3");
+    }
+
+    @Test
+    public void testBufferIsBoundedByAge() {
+        //given
+        final LocalReplayBuffer buffer = new LocalReplayBuffer(ReplayPolicy.ofAge(1, TimeUnit.MINUTES));
+
+        //when
+        buffer.add(new DolphinEvent<>(TEST_TOPIC, System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2), "old"));
+        buffer.add(new DolphinEvent<>(TEST_TOPIC, System.currentTimeMillis(), "new"));
+        final List<DolphinEvent<String>> events = buffer.getEvents();
+
+        //then
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(events.get(0).getData(), "new");
+    }
+
+    @Test
+    public void testSequenceIsIncreasing() {
+        //given
+        final LocalReplayBuffer buffer = new LocalReplayBuffer(ReplayPolicy.ofSize(10));
+
+        //when
+        final long first = buffer.nextSequence();
+        final long second = buffer.nextSequence();
+
+        //then
+        Assert.assertTrue(second > first);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import com.canoo.platform.core.functional.Subscription;
+import com.canoo.platform.remoting.server.event.MessageEventContext;
+import com.canoo.platform.remoting.server.event.MessageListener;
+import com.canoo.platform.remoting.server.event.RemotingEventBus;
+import com.canoo.platform.remoting.server.event.Replay;
+import com.canoo.platform.remoting.server.event.Topic;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+public class RemotingEventBusTest {
+
+    @Test
+    public void testSubscribeWithoutReplayIsDelegated() {
+        //given:
+        final CountingEventBus eventBus = new CountingEventBus();
+
+        //when:
+        final Subscription subscription = eventBus.subscribe(new Topic<String>(), m -> {}, null, Replay.none());
+
+        //then:
+        Assert.assertNotNull(subscription);
+        Assert.assertEquals(eventBus.getSubscribeCount(), 1);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testReplayIsNotSupportedByDefault() {
+        //given:
+        final CountingEventBus eventBus = new CountingEventBus();
+
+        //when:
+        eventBus.subscribe(new Topic<String>(), m -> {}, null, Replay.all());
+    }
+
+    @Test
+    public void testNoneReplayIncludesNoEvent() {
+        Assert.assertTrue(Replay.none().isNone());
+        Assert.assertFalse(Replay.none().includes(Long.MAX_VALUE, Long.MAX_VALUE));
+        Assert.assertFalse(Replay.all().isNone());
+        Assert.assertTrue(Replay.all().includes(0, 0));
+    }
+
+    private static class CountingEventBus implements RemotingEventBus {
+
+        private final AtomicInteger subscribeCount = new AtomicInteger();
+
+        @Override
+        public <T extends Serializable> void publish(final Topic<T> topic, final T data) {
+        }
+
+        @Override
+        public <T extends Serializable> Subscription subscribe(final Topic<T> topic, final MessageListener<? super T> listener) {
+            return subscribe(topic, listener, null);
+        }
+
+        @Override
+        public <T extends Serializable> Subscription subscribe(final Topic<T> topic, final MessageListener<? super T> listener, final Predicate<MessageEventContext<T>> filter) {
+            subscribeCount.incrementAndGet();
+            return () -> subscribeCount.decrementAndGet();
+        }
+
+        public int getSubscribeCount() {
+            return subscribeCount.get();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.event;
+
+import com.canoo.platform.remoting.server.event.ClientSessionEventFilter;
+import com.canoo.platform.remoting.server.event.ContextFreeEventFilter;
+import com.canoo.platform.remoting.server.event.HttpSessionEventFilter;
+import com.canoo.platform.remoting.server.event.Topic;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TopicSubscriptionsTest {
+
+    private final static Topic<String> TEST_TOPIC = Topic.create();
+
+    @Test
+    public void testListenersWithoutFilterMatchAllEvents() {
+        //given
+        final TopicSubscriptions subscriptions = new TopicSubscriptions();
+        final ListenerWithFilter<String> listener1 = new ListenerWithFilter<>(m -> {});
+        final ListenerWithFilter<String> listener2 = new ListenerWithFilter<>(m -> {});
+        subscriptions.add("session-1", listener1);
+        subscriptions.add("session-2", listener2);
+
+        //when
+        final Map<String, List<ListenerWithFilter<?>>> result = subscriptions.getListenersForEvent(createEvent("client-1", "http-1").getMessageEventContext());
+
+        //then
+        Assert.assertEquals(result.size(), 2);
+        Assert.assertEquals(result.get("session-1").size(), 1);
+        Assert.assertEquals(result.get("session-2").size(), 1);
+    }
+
+    @Test
+    public void testMetadataFilterIsIndexed() {
+        //given
+        final TopicSubscriptions subscriptions = new TopicSubscriptions();
+        subscriptions.add("session-1", new ListenerWithFilter<String>(m -> {}, new HttpSessionEventFilter<>("http-1")));
+        subscriptions.add("session-2", new ListenerWithFilter<String>(m -> {}, new HttpSessionEventFilter<>("http-2", "http-3")));
+        subscriptions.add("session-3", new ListenerWithFilter<String>(m -> {}, new ClientSessionEventFilter<>("client-1")));
+
+        //when
+        final Map<String, List<ListenerWithFilter<?>>> result = subscriptions.getListenersForEvent(createEvent("client-1", "http-3").getMessageEventContext());
+
+        //then
+        Assert.assertEquals(result.size(), 2);
+        Assert.assertTrue(result.containsKey("session-2"));
+        Assert.assertTrue(result.containsKey("session-3"));
+    }
+
+    @Test
+    public void testContextFreeFilterIsEvaluated() {
+        //given
+        final AtomicInteger contextFreeCalls = new AtomicInteger();
+        final AtomicInteger contextBoundCalls = new AtomicInteger();
+        final TopicSubscriptions subscriptions = new TopicSubscriptions();
+        subscriptions.add("session-1", new ListenerWithFilter<String>(m -> {}, (ContextFreeEventFilter<String>) c -> contextFreeCalls.incrementAndGet() < 0));
+        subscriptions.add("session-2", new ListenerWithFilter<String>(m -> {}, c -> contextBoundCalls.incrementAndGet() < 0));
+
+        //when
+        final Map<String, List<ListenerWithFilter<?>>> result = subscriptions.getListenersForEvent(createEvent("client-1", "http-1").getMessageEventContext());
+
+        //then
+        Assert.assertEquals(result.size(), 1);
+        Assert.assertTrue(result.containsKey("session-2"));
+        Assert.assertEquals(contextFreeCalls.get(), 1);
+        Assert.assertEquals(contextBoundCalls.get(), 0);
+    }
+
+    @Test
+    public void testRemove() {
+        //given
+        final TopicSubscriptions subscriptions = new TopicSubscriptions();
+        final ListenerWithFilter<String> listener1 = new ListenerWithFilter<>(m -> {});
+        final ListenerWithFilter<String> listener2 = new ListenerWithFilter<String>(m -> {}, new HttpSessionEventFilter<>("http-1"));
+        subscriptions.add("session-1", listener1);
+        subscriptions.add("session-1", listener2);
+
+        //when
+        subscriptions.remove("session-1", listener1);
+
+        //then
+        Assert.assertFalse(subscriptions.isEmpty());
+        Assert.assertEquals(subscriptions.getListenersForSession("session-1").size(), 1);
+
+        //when
+        subscriptions.remove("session-1", listener2);
+
+        //then
+        Assert.assertTrue(subscriptions.isEmpty());
+        Assert.assertTrue(subscriptions.getListenersForEvent(createEvent("client-1", "http-1").getMessageEventContext()).isEmpty());
+    }
+
+    private DolphinEvent<String> createEvent(final String clientSessionId, final String httpSessionId) {
+        final DolphinEvent<String> event = new DolphinEvent<>(TEST_TOPIC, System.currentTimeMillis(), "data");
+        event.addMetadata(EventConstants.TYPE_PARAM, EventConstants.TYPE_PLATFORM);
+        event.addMetadata(EventConstants.CLIENT_SESSION_PARAM, clientSessionId);
+        event.addMetadata(EventConstants.HTTP_SESSION_PARAM, httpSessionId);
+        return event;
+    }
+}
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
@@ -607,6 +608,109 @@ public class TestGarbageCollection {
         removedObjects.clear();
     }
 
+    @Test
+    public void testIncrementalCollection() {
+        final List<Object> removedObjects = new ArrayList<>();
+        GarbageCollectionCallback gcConsumer = new GarbageCollectionCallback() {
+            @Override
+            public void onReject(Set<Instance> instances) {
+                for (Instance instance : instances) {
+                    removedObjects.add(instance.getBean());
+                }
+            }
+        };
+        GarbageCollector garbageCollector = createGarbageCollection(gcConsumer);
+
+        BeanWithLists parentBean = new BeanWithLists(garbageCollector);
+        garbageCollector.onBeanCreated(parentBean, true);
+
+        for (int i = 0; i < 1000; i++) {
+            BeanWithLists wrapperBean = new BeanWithLists(garbageCollector);
+            garbageCollector.onBeanCreated(wrapperBean, false);
+            parentBean.getBeansList().add(wrapperBean);
+        }
+        garbageCollector.onBeanRemoved(parentBean);
+        assertEquals(garbageCollector.getQueuedInstancesCount(), 1000);
+
+        garbageCollector.gc(1, TimeUnit.NANOSECONDS);
+        assertTrue(removedObjects.size() > 0);
+        assertTrue(removedObjects.size() < 1000);
+        assertEquals(garbageCollector.getQueuedInstancesCount(), 1000 - removedObjects.size());
+        assertEquals(garbageCollector.getManagedInstancesCount(), 1000 - removedObjects.size());
+
+        garbageCollector.gc();
+        assertThat(removedObjects, hasSize(1000));
+        assertEquals(garbageCollector.getQueuedInstancesCount(), 0);
+        assertEquals(garbageCollector.getManagedInstancesCount(), 0);
+        assertEquals(garbageCollector.getRemovedBeansCount(), 1000L);
+        assertEquals(garbageCollector.getGcCalls(), 2L);
+        assertTrue(garbageCollector.getMaxPauseTime() > 0);
+        assertTrue(garbageCollector.getTotalPauseTime() >= garbageCollector.getMaxPauseTime());
+    }
+
+    @Test
+    public void testUnreferencedParentRemovesChildren() {
+        final List<Object> removedObjects = new ArrayList<>();
+        GarbageCollectionCallback gcConsumer = new GarbageCollectionCallback() {
+            @Override
+            public void onReject(Set<Instance> instances) {
+                for (Instance instance : instances) {
+                    removedObjects.add(instance.getBean());
+                }
+            }
+        };
+        GarbageCollector garbageCollector = createGarbageCollection(gcConsumer);
+
+        BeanWithProperties parentBean = new BeanWithProperties(garbageCollector);
+        garbageCollector.onBeanCreated(parentBean, false);
+        BeanWithProperties childBean = new BeanWithProperties(garbageCollector);
+        garbageCollector.onBeanCreated(childBean, false);
+        parentBean.beanProperty().set(childBean);
+
+        garbageCollector.gc();
+        assertThat(removedObjects, hasSize(2));
+        assertTrue(removedObjects.contains(parentBean));
+        assertTrue(removedObjects.contains(childBean));
+        assertEquals(garbageCollector.getManagedInstancesCount(), 0);
+    }
+
+    @Test
+    public void testSharedChildInDeepHierarchy() {
+        final List<Object> removedObjects = new ArrayList<>();
+        GarbageCollectionCallback gcConsumer = new GarbageCollectionCallback() {
+            @Override
+            public void onReject(Set<Instance> instances) {
+                for (Instance instance : instances) {
+                    removedObjects.add(instance.getBean());
+                }
+            }
+        };
+        GarbageCollector garbageCollector = createGarbageCollection(gcConsumer);
+
+        BeanWithLists rootBean = new BeanWithLists(garbageCollector);
+        garbageCollector.onBeanCreated(rootBean, true);
+        BeanWithLists sharedBean = new BeanWithLists(garbageCollector);
+        garbageCollector.onBeanCreated(sharedBean, false);
+
+        BeanWithLists parent = rootBean;
+        for (int i = 0; i < 1000; i++) {
+            BeanWithLists child = new BeanWithLists(garbageCollector);
+            garbageCollector.onBeanCreated(child, false);
+            parent.getBeansList().add(child);
+            child.getBeansList().add(sharedBean);
+            parent = child;
+        }
+
+        garbageCollector.gc();
+        assertThat(removedObjects, hasSize(0));
+        assertEquals(garbageCollector.getManagedInstancesCount(), 1002);
+
+        rootBean.getBeansList().clear();
+        garbageCollector.gc();
+        assertThat(removedObjects, hasSize(1001));
+        assertEquals(garbageCollector.getManagedInstancesCount(), 1);
+    }
+
     @Test
     public void testManyObjects() {
         final List<Object> removedObjects = new ArrayList<>();
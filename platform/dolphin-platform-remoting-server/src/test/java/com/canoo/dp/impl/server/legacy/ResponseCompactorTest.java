@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.legacy;
+
+import com.canoo.dp.impl.remoting.commands.CreateFromSchemaCommand;
+import com.canoo.dp.impl.remoting.commands.PresentationModelSchemaCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.AttributeMetadataChangedCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.DeletePresentationModelCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
+import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
+import com.canoo.dp.impl.remoting.legacy.core.PresentationModelSchema;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ResponseCompactorTest {
+
+    @Test
+    public void testOnlyLastValuePerAttributeIsKept() {
+        //given
+        final List<Command> response = Arrays.<Command>asList(
+                new ValueChangedCommand("a1", 1),
+                new ValueChangedCommand("a2", "x"),
+                new ValueChangedCommand("a1", 2),
+                new ValueChangedCommand("a1", 3));
+
+        //when
+        final List<Command> compacted = ResponseCompactor.compact(response);
+
+        //then
+        Assert.assertEquals(compacted.size(), 2);
+        Assert.assertEquals(((ValueChangedCommand) compacted.get(0)).getAttributeId(), "a2");
+        Assert.assertEquals(((ValueChangedCommand) compacted.get(1)).getNewValue(), 3);
+    }
+
+    @Test
+    public void testValueChangesOfCreatedAndDeletedModelAreRemoved() {
+        //given
+        final List<Command> response = Arrays.<Command>asList(
+                createCommand("pm1", "a1"),
+                new ValueChangedCommand("a1", 1),
+                new DeletePresentationModelCommand("pm1"),
+                createCommand("pm2", "a2"),
+                new ValueChangedCommand("a2", 1));
+
+        //when
+        final List<Command> compacted = ResponseCompactor.compact(response);
+
+        //then
+        Assert.assertEquals(compacted.size(), 4);
+        Assert.assertTrue(compacted.get(0) instanceof CreatePresentationModelCommand);
+        Assert.assertTrue(compacted.get(1) instanceof DeletePresentationModelCommand);
+        Assert.assertTrue(compacted.get(2) instanceof CreatePresentationModelCommand);
+        Assert.assertTrue(compacted.get(3) instanceof ValueChangedCommand);
+    }
+
+    @Test
+    public void testMetadataChangeAndUnknownCommandsAreBarriers() {
+        //given
+        final List<Command> response = Arrays.<Command>asList(
+                new ValueChangedCommand("a1", 1),
+                new AttributeMetadataChangedCommand("a1", "qualifier", "q"),
+                new ValueChangedCommand("a1", 2),
+                new InterruptLongPollCommand(),
+                new ValueChangedCommand("a1", 3));
+
+        //when
+        final List<Command> compacted = ResponseCompactor.compact(response);
+
+        //then
+        Assert.assertEquals(compacted.size(), 5);
+    }
+
+    @Test
+    public void testValueChangesOfModelCreatedFromSchemaAreCompacted() {
+        //given
+        final CreateFromSchemaCommand createCommand = new CreateFromSchemaCommand(0, "pm1");
+        createCommand.addAttribute("a1", null);
+        final List<Command> response = Arrays.<Command>asList(
+                new ValueChangedCommand("a2", 1),
+                new PresentationModelSchemaCommand(0, new PresentationModelSchema("type", Collections.singletonList("value"))),
+                createCommand,
+                new ValueChangedCommand("a1", 1),
+                new ValueChangedCommand("a2", 2),
+                new DeletePresentationModelCommand("pm1"));
+
+        //when
+        final List<Command> compacted = ResponseCompactor.compact(response);
+
+        //then
+        Assert.assertEquals(compacted.size(), 4);
+        Assert.assertTrue(compacted.get(0) instanceof PresentationModelSchemaCommand);
+        Assert.assertTrue(compacted.get(1) instanceof CreateFromSchemaCommand);
+        Assert.assertEquals(((ValueChangedCommand) compacted.get(2)).getNewValue(), 2);
+        Assert.assertTrue(compacted.get(3) instanceof DeletePresentationModelCommand);
+    }
+
+    private CreatePresentationModelCommand createCommand(final String pmId, final String attributeId) {
+        final Map<String, Object> attribute = new HashMap<>();
+        attribute.put("id", attributeId);
+        attribute.put("propertyName", "value");
+        final List<Map<String, Object>> attributes = new ArrayList<>(Collections.singletonList(attribute));
+        return new CreatePresentationModelCommand(pmId, "type", attributes);
+    }
+}
@@ -15,7 +15,10 @@
  */
 package com.canoo.dp.impl.server.legacy;
 
+import com.canoo.dp.impl.remoting.commands.CreateFromSchemaCommand;
+import com.canoo.dp.impl.remoting.commands.PresentationModelSchemaCommand;
 import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.CreatePresentationModelCommand;
 import com.canoo.dp.impl.remoting.legacy.core.ModelStoreEvent;
 import com.canoo.dp.impl.remoting.legacy.core.ModelStoreListener;
 import com.canoo.dp.impl.remoting.legacy.core.PresentationModel;
@@ -24,7 +27,9 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class ServerDolphinTest {
@@ -67,6 +72,46 @@ public class ServerDolphinTest {
 
     }
 
+    @Test
+    public void testSchemaIsOnlySentOncePerSession() {
+        //given
+        final ServerModelStore modelStore = dolphin.getModelStore();
+        final List<Command> response = new ArrayList<>();
+        modelStore.setCurrentResponse(response);
+        modelStore.setPresentationModelSchemaSupported(true);
+
+        //when
+        modelStore.add(createPerson("p1", "Hugo"));
+        modelStore.add(createPerson("p2", "Egon"));
+
+        //then
+        Assert.assertEquals(response.size(), 3);
+        final PresentationModelSchemaCommand schemaCommand = (PresentationModelSchemaCommand) response.get(0);
+        Assert.assertEquals(schemaCommand.getSchema().getPresentationModelType(), "person");
+        Assert.assertEquals(schemaCommand.getSchema().getPropertyNames(), Arrays.asList("name", "age"));
+        final CreateFromSchemaCommand secondCreate = (CreateFromSchemaCommand) response.get(2);
+        Assert.assertEquals(secondCreate.getSchemaId(), schemaCommand.getSchemaId());
+        Assert.assertEquals(secondCreate.getPmId(), "p2");
+        Assert.assertEquals(secondCreate.getAttributeIds(), Arrays.asList(
+                modelStore.findPresentationModelById("p2").getAttribute("name").getId(),
+                modelStore.findPresentationModelById("p2").getAttribute("age").getId()));
+        Assert.assertEquals(secondCreate.getValues(), Arrays.<Object>asList("Egon", null));
+    }
+
+    @Test
+    public void testFullCreateCommandWithoutSchemaSupport() {
+        //given
+        final List<Command> response = new ArrayList<>();
+        dolphin.getModelStore().setCurrentResponse(response);
+
+        //when
+        dolphin.getModelStore().add(createPerson("p1", "Hugo"));
+
+        //then
+        Assert.assertEquals(response.size(), 1);
+        Assert.assertTrue(response.get(0) instanceof CreatePresentationModelCommand);
+    }
+
     @Test
     public void testAddRemoveModelStoreListener() {
         final AtomicInteger typedListenerCallCount = new AtomicInteger(0);
@@ -159,4 +204,10 @@ public class ServerDolphinTest {
 
         };
     }
+
+    private ServerPresentationModel createPerson(final String id, final String name) {
+        final ServerPresentationModel model = new ServerPresentationModel(id, Arrays.asList(new ServerAttribute("name", name), new ServerAttribute("age", null)), dolphin.getModelStore());
+        model.setPresentationModelType("person");
+        return model;
+    }
 }
@@ -0,0 +1,539 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.websocket;
+
+import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
+import com.canoo.dp.impl.remoting.codec.StreamingJsonCodec;
+import com.canoo.dp.impl.remoting.commands.CreateContextCommand;
+import com.canoo.dp.impl.remoting.commands.PendingResponseCommand;
+import com.canoo.dp.impl.remoting.legacy.commands.InterruptLongPollCommand;
+import com.canoo.dp.impl.remoting.legacy.commands.StartLongPollCommand;
+import com.canoo.dp.impl.remoting.legacy.communication.Command;
+import com.canoo.dp.impl.remoting.legacy.communication.ValueChangedCommand;
+import com.canoo.dp.impl.server.beans.PostConstructInterceptor;
+import com.canoo.dp.impl.server.client.ClientSessionLifecycleHandlerImpl;
+import com.canoo.dp.impl.server.client.ClientSessionManager;
+import com.canoo.dp.impl.server.config.RemotingConfiguration;
+import com.canoo.dp.impl.server.config.ServerConfiguration;
+import com.canoo.dp.impl.server.context.DolphinContext;
+import com.canoo.dp.impl.server.context.DolphinContextCommunicationHandler;
+import com.canoo.dp.impl.server.controller.ControllerRepository;
+import com.canoo.dp.impl.server.scanner.DefaultClasspathScanner;
+import com.canoo.platform.server.client.ClientSession;
+import com.canoo.platform.server.spi.components.ManagedBeanFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpSession;
+import javax.websocket.CloseReason;
+import javax.websocket.MessageHandler;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpointConfig;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class RemotingWebSocketEndpointTest {
+
+    private static final int SESSION_TIMEOUT = 1800;
+
+    private final DefaultClasspathScanner classpathScanner = new DefaultClasspathScanner("com.canoo.dolphin");
+
+    private ExecutorService executor;
+
+    private ScheduledExecutorService scheduler;
+
+    private long maxPollTime;
+
+    private ClientSessionLifecycleHandlerImpl lifecycleHandler;
+
+    private ClientSessionManager clientSessionManager;
+
+    private HttpSession httpSession;
+
+    private String clientId;
+
+    private final long[] lastAccessedTime = new long[1];
+
+    private DolphinContext context;
+
+    private RemotingWebSocketHandshakes handshakes;
+
+    private HttpSessionKeepAlive keepAlive;
+
+    private RemotingWebSocketConfigurator configurator;
+
+    private ServerEndpointConfig config;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        maxPollTime = TimeUnit.MINUTES.toMillis(1);
+        lastAccessedTime[0] = System.currentTimeMillis();
+        lifecycleHandler = new ClientSessionLifecycleHandlerImpl();
+        clientSessionManager = new ClientSessionManager(new ServerConfiguration(), lifecycleHandler);
+        httpSession = createHttpSession();
+        clientId = clientSessionManager.createClientSession(httpSession);
+
+        clientSessionManager.setClientSessionForThread(httpSession, clientId);
+        final ClientSession clientSession = lifecycleHandler.getCurrentDolphinSession();
+        clientSessionManager.resetClientSessionForThread();
+        context = new DolphinContext(new RemotingConfiguration(), clientSession, lifecycleHandler::getCurrentDolphinSession, new ManagedBeanFactoryMock(), new ControllerRepository(classpathScanner), v -> {});
+
+        final DolphinContextCommunicationHandler communicationHandler = new DolphinContextCommunicationHandler(new RemotingConfiguration(), lifecycleHandler::getCurrentDolphinSession, null) {
+            @Override
+            public DolphinContext getContext(final ClientSession session) {
+                return session.getId().equals(clientId) ? context : null;
+            }
+        };
+        handshakes = new RemotingWebSocketHandshakes();
+        keepAlive = new HttpSessionKeepAlive();
+        configurator = new RemotingWebSocketConfigurator(handshakes, () -> new RemotingWebSocketEndpoint(communicationHandler, clientSessionManager, lifecycleHandler::getCurrentDolphinSession, executor, scheduler, maxPollTime, handshakes, keepAlive));
+        config = ServerEndpointConfig.Builder.create(RemotingWebSocketEndpoint.class, "/dolphin-websocket").configurator(configurator).build();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testUnknownTicketIsRejected() throws Exception {
+        //given:
+        final WebSocketSessionMock socket = new WebSocketSessionMock(UUID.randomUUID().toString());
+
+        //when:
+        open(httpSession, socket);
+
+        //then:
+        assertEquals(socket.closeReason.getCloseCode(), CloseReason.CloseCodes.VIOLATED_POLICY);
+        assertTrue(socket.handlers.isEmpty());
+        assertEquals(httpSession.getMaxInactiveInterval(), SESSION_TIMEOUT);
+    }
+
+    @Test
+    public void testTicketOfOtherHttpSessionIsRejected() throws Exception {
+        //given:
+        final WebSocketSessionMock socket = new WebSocketSessionMock(ticket(clientId));
+
+        //when:
+        open(createHttpSession(), socket);
+
+        //then:
+        assertEquals(socket.closeReason.getCloseCode(), CloseReason.CloseCodes.VIOLATED_POLICY);
+        assertTrue(socket.handlers.isEmpty());
+    }
+
+    @Test
+    public void testTicketIsOnlyUsedOnce() throws Exception {
+        //given:
+        final String ticket = ticket(clientId);
+        final WebSocketSessionMock firstSocket = new WebSocketSessionMock(ticket);
+        final WebSocketSessionMock secondSocket = new WebSocketSessionMock(ticket);
+        open(httpSession, firstSocket);
+
+        //when:
+        final RemotingWebSocketEndpoint secondEndpoint = configurator.getEndpointInstance(RemotingWebSocketEndpoint.class);
+        secondSocket.endpoint = secondEndpoint;
+        secondEndpoint.onOpen(secondSocket.session, config);
+
+        //then:
+        assertNull(firstSocket.closeReason);
+        assertEquals(secondSocket.closeReason.getCloseCode(), CloseReason.CloseCodes.VIOLATED_POLICY);
+    }
+
+    @Test
+    public void testSecondWebSocketOfClientSessionIsRejected() throws Exception {
+        //given:
+        final WebSocketSessionMock firstSocket = new WebSocketSessionMock(ticket(clientId));
+        final WebSocketSessionMock secondSocket = new WebSocketSessionMock(ticket(clientId));
+        final WebSocketSessionMock thirdSocket = new WebSocketSessionMock(ticket(clientId));
+        final RemotingWebSocketEndpoint firstEndpoint = open(httpSession, firstSocket);
+
+        //when:
+        open(httpSession, secondSocket);
+
+        //then:
+        assertNull(firstSocket.closeReason);
+        assertEquals(secondSocket.closeReason.getCloseCode(), CloseReason.CloseCodes.VIOLATED_POLICY);
+
+        //when:
+        firstEndpoint.onClose(firstSocket.session, new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, ""));
+        open(httpSession, thirdSocket);
+
+        //then:
+        assertNull(thirdSocket.closeReason);
+        assertEquals(thirdSocket.handlers.size(), 2);
+    }
+
+    @Test
+    public void testEmptyBatchIsAnswered() throws Exception {
+        //given:
+        final WebSocketSessionMock socket = new WebSocketSessionMock(ticket(clientId));
+        open(httpSession, socket);
+
+        //when:
+        socket.receive(Collections.<Command>emptyList());
+
+        //then:
+        assertTrue(socket.nextMessage().isEmpty());
+    }
+
+    @Test
+    public void testHttpSessionIsRefreshedByMessages() throws Exception {
+        //given:
+        lastAccessedTime[0] = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(100);
+        final WebSocketSessionMock socket = new WebSocketSessionMock(ticket(clientId));
+        open(httpSession, socket);
+
+        //then:
+        assertEquals(httpSession.getMaxInactiveInterval(), SESSION_TIMEOUT);
+
+        //when:
+        socket.receive(Collections.<Command>emptyList());
+
+        //then:
+        assertTrue(httpSession.getMaxInactiveInterval() >= SESSION_TIMEOUT + 100);
+        assertTrue(httpSession.getMaxInactiveInterval() < SESSION_TIMEOUT + 110);
+    }
+
+    @Test
+    public void testHttpSessionIsNotRefreshedAfterLastWebSocketIsClosed() throws Exception {
+        //given:
+        lastAccessedTime[0] = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(100);
+        final WebSocketSessionMock firstSocket = new WebSocketSessionMock(ticket(clientId));
+        final WebSocketSessionMock secondSocket = new WebSocketSessionMock(ticket(clientSessionManager.createClientSession(httpSession)));
+        final RemotingWebSocketEndpoint firstEndpoint = open(httpSession, firstSocket);
+        final RemotingWebSocketEndpoint secondEndpoint = open(httpSession, secondSocket);
+
+        //when:
+        firstEndpoint.onClose(firstSocket.session, new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, ""));
+        httpSession.setMaxInactiveInterval(SESSION_TIMEOUT);
+        keepAlive.refresh(httpSession);
+
+        //then:
+        assertTrue(httpSession.getMaxInactiveInterval() >= SESSION_TIMEOUT + 100);
+
+        //when:
+        secondEndpoint.onClose(secondSocket.session, new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, ""));
+        httpSession.setMaxInactiveInterval(SESSION_TIMEOUT);
+        keepAlive.refresh(httpSession);
+
+        //then:
+        assertEquals(httpSession.getMaxInactiveInterval(), SESSION_TIMEOUT);
+    }
+
+    @Test
+    public void testLongPollIsSuspendedAndResumed() throws Exception {
+        //given:
+        context.handle(Collections.<Command>singletonList(new CreateContextCommand()));
+        final WebSocketSessionMock socket = new WebSocketSessionMock(ticket(clientId));
+        open(httpSession, socket);
+
+        //when:
+        socket.receive(Collections.<Command>singletonList(new StartLongPollCommand()));
+
+        //then:
+        assertNull(socket.messages.poll(100, TimeUnit.MILLISECONDS));
+
+        //when:
+        context.runLater(() -> context.getServerModelStore().addResponseCommand(new ValueChangedCommand("attribute", 1)));
+
+        //then:
+        final List<Command> response = socket.nextMessage();
+        assertEquals(response.size(), 1);
+        assertEquals(((ValueChangedCommand) response.get(0)).getAttributeId(), "attribute");
+    }
+
+    @Test
+    public void testLongPollIsReleasedAfterMaxPollTime() throws Exception {
+        //given:
+        maxPollTime = 200;
+        context.handle(Collections.<Command>singletonList(new CreateContextCommand()));
+        final WebSocketSessionMock socket = new WebSocketSessionMock(ticket(clientId));
+        open(httpSession, socket);
+
+        //when:
+        socket.receive(Collections.<Command>singletonList(new StartLongPollCommand()));
+
+        //then:
+        assertTrue(socket.nextMessage().isEmpty());
+        assertNull(socket.messages.poll(400, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testInterruptOnlyBatchIsNotAnswered() throws Exception {
+        //given:
+        context.handle(Collections.<Command>singletonList(new CreateContextCommand()));
+        final WebSocketSessionMock socket = new WebSocketSessionMock(ticket(clientId));
+        open(httpSession, socket);
+
+        //when:
+        socket.receive(Collections.<Command>singletonList(new InterruptLongPollCommand()));
+
+        //then:
+        assertNull(socket.messages.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testInterruptResumesSuspendedLongPoll() throws Exception {
+        //given:
+        context.handle(Collections.<Command>singletonList(new CreateContextCommand()));
+        final WebSocketSessionMock socket = new WebSocketSessionMock(ticket(clientId));
+        open(httpSession, socket);
+        socket.receive(Collections.<Command>singletonList(new StartLongPollCommand()));
+
+        //when:
+        socket.receive(Collections.<Command>singletonList(new InterruptLongPollCommand()));
+
+        //then:
+        assertTrue(socket.nextMessage().isEmpty());
+        assertNull(socket.messages.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPendingChunksAreSentOverWebSocket() throws Exception {
+        //given:
+        final CreateContextCommand createContextCommand = new CreateContextCommand();
+        createContextCommand.setResponseChunkSize(3);
+        context.handle(Collections.<Command>singletonList(createContextCommand));
+        final WebSocketSessionMock socket = new WebSocketSessionMock(ticket(clientId));
+        open(httpSession, socket);
+        socket.receive(Collections.<Command>singletonList(new StartLongPollCommand()));
+
+        //when:
+        context.runLater(() -> {
+            for (int i = 0; i < 7; i++) {
+                context.getServerModelStore().addResponseCommand(new ValueChangedCommand("attribute-" + i, i));
+            }
+        });
+        final List<Command> firstChunk = socket.nextMessage();
+        socket.receive(Collections.<Command>singletonList(new InterruptLongPollCommand()));
+        socket.receive(Collections.<Command>singletonList(new StartLongPollCommand()));
+        final List<Command> secondChunk = socket.nextMessage();
+        socket.receive(Collections.<Command>singletonList(new StartLongPollCommand()));
+        final List<Command> lastChunk = socket.nextMessage();
+
+        //then:
+        assertEquals(firstChunk.size(), 4);
+        assertEquals(((ValueChangedCommand) firstChunk.get(0)).getAttributeId(), "attribute-0");
+        assertEquals(((PendingResponseCommand) firstChunk.get(3)).getRemainingCommandCount(), 4);
+        assertEquals(secondChunk.size(), 4);
+        assertEquals(((ValueChangedCommand) secondChunk.get(0)).getAttributeId(), "attribute-3");
+        assertEquals(((PendingResponseCommand) secondChunk.get(3)).getRemainingCommandCount(), 1);
+        assertEquals(lastChunk.size(), 1);
+        assertEquals(((ValueChangedCommand) lastChunk.get(0)).getAttributeId(), "attribute-6");
+        assertNull(socket.messages.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testClosedWithoutContext() throws Exception {
+        //given:
+        final WebSocketSessionMock socket = new WebSocketSessionMock(ticket(clientId));
+        open(httpSession, socket);
+        context = null;
+
+        //when:
+        socket.receive(Collections.<Command>singletonList(new StartLongPollCommand()));
+
+        //then:
+        assertEquals(socket.closeReason.getCloseCode(), CloseReason.CloseCodes.VIOLATED_POLICY);
+        assertFalse(socket.session.isOpen());
+    }
+
+    private RemotingWebSocketEndpoint open(final HttpSession handshakeSession, final WebSocketSessionMock socket) throws Exception {
+        final Map<String, List<String>> parameters = socket.session.getRequestParameterMap();
+        final HandshakeRequest request = (HandshakeRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HandshakeRequest.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getHttpSession":
+                    return handshakeSession;
+                case "getParameterMap":
+                    return parameters;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        configurator.modifyHandshake(config, request, null);
+        final RemotingWebSocketEndpoint endpoint = configurator.getEndpointInstance(RemotingWebSocketEndpoint.class);
+        socket.endpoint = endpoint;
+        endpoint.onOpen(socket.session, config);
+        return endpoint;
+    }
+
+    private String ticket(final String clientSessionId) {
+        return handshakes.issue(httpSession, clientSessionId);
+    }
+
+    private HttpSession createHttpSession() {
+        final String id = UUID.randomUUID().toString();
+        final Map<String, Object> attributes = new HashMap<>();
+        final int[] maxInactiveInterval = {SESSION_TIMEOUT};
+        return (HttpSession) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpSession.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getId":
+                    return id;
+                case "getAttribute":
+                    return attributes.get(args[0]);
+                case "setAttribute":
+                    attributes.put((String) args[0], args[1]);
+                    return null;
+                case "getMaxInactiveInterval":
+                    return maxInactiveInterval[0];
+                case "setMaxInactiveInterval":
+                    maxInactiveInterval[0] = (Integer) args[0];
+                    return null;
+                case "getLastAccessedTime":
+                    return lastAccessedTime[0];
+                case "hashCode":
+                    return id.hashCode();
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private class WebSocketSessionMock {
+
+        private final String id = UUID.randomUUID().toString();
+
+        private final List<MessageHandler> handlers = new ArrayList<>();
+
+        private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+        private final Session session;
+
+        private volatile boolean open = true;
+
+        private volatile RemotingWebSocketEndpoint endpoint;
+
+        private volatile CloseReason closeReason;
+
+        private WebSocketSessionMock(final String ticket) {
+            final Map<String, List<String>> parameters = Collections.singletonMap(PlatformRemotingConstants.WEBSOCKET_TICKET_PARAMETER, Collections.singletonList(ticket));
+            final RemoteEndpoint.Basic remote = (RemoteEndpoint.Basic) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{RemoteEndpoint.Basic.class}, (proxy, method, args) -> {
+                if (method.getName().equals("getSendWriter")) {
+                    return new StringWriter() {
+                        @Override
+                        public void close() {
+                            messages.add(toString());
+                        }
+                    };
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+            session = (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Session.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getId":
+                        return id;
+                    case "getRequestParameterMap":
+                        return parameters;
+                    case "addMessageHandler":
+                        handlers.add((MessageHandler) args[0]);
+                        return null;
+                    case "getBasicRemote":
+                        return remote;
+                    case "isOpen":
+                        return open;
+                    case "close":
+                        open = false;
+                        closeReason = (CloseReason) args[0];
+                        endpoint.onClose((Session) proxy, closeReason);
+                        return null;
+                    case "hashCode":
+                        return id.hashCode();
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "WebSocket " + id;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private void receive(final List<Command> commands) {
+            final String message = StreamingJsonCodec.getInstance().encode(commands);
+            for (final MessageHandler handler : handlers) {
+                for (final Type type : handler.getClass().getGenericInterfaces()) {
+                    if (type instanceof ParameterizedType && ((ParameterizedType) type).getActualTypeArguments()[0] == Reader.class) {
+                        ((MessageHandler.Whole<Reader>) handler).onMessage(new StringReader(message));
+                        return;
+                    }
+                }
+            }
+            throw new IllegalStateException("No text message handler defined");
+        }
+
+        private List<Command> nextMessage() throws InterruptedException {
+            final String message = messages.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message, "No message sent");
+            return StreamingJsonCodec.getInstance().decode(message);
+        }
+    }
+
+    private class ManagedBeanFactoryMock implements ManagedBeanFactory {
+
+        @Override
+        public void init(ServletContext servletContext) {
+
+        }
+
+        @Override
+        public <T> T createDependentInstance(Class<T> cls) {
+            return null;
+        }
+
+        @Override
+        public <T> T createDependentInstance(Class<T> cls, PostConstructInterceptor<T> interceptor) {
+            return null;
+        }
+
+        @Override
+        public <T> void destroyDependentInstance(T instance, Class<T> cls) {
+
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015-2018 Canoo Engineering AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.canoo.dp.impl.server.websocket;
+
+import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
+import com.canoo.dp.impl.server.client.ClientSessionLifecycleHandlerImpl;
+import com.canoo.dp.impl.server.client.ClientSessionManager;
+import com.canoo.dp.impl.server.config.ServerConfiguration;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class RemotingWebSocketTicketFilterTest {
+
+    private ClientSessionLifecycleHandlerImpl lifecycleHandler;
+
+    private ClientSessionManager clientSessionManager;
+
+    private RemotingWebSocketHandshakes handshakes;
+
+    private RemotingWebSocketTicketFilter filter;
+
+    private HttpSession httpSession;
+
+    private String clientId;
+
+    private final Map<String, String> responseHeaders = new HashMap<>();
+
+    private final AtomicInteger chainCalls = new AtomicInteger();
+
+    private int status;
+
+    private final FilterChain chain = (request, response) -> chainCalls.incrementAndGet();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        lifecycleHandler = new ClientSessionLifecycleHandlerImpl();
+        clientSessionManager = new ClientSessionManager(new ServerConfiguration(), lifecycleHandler);
+        handshakes = new RemotingWebSocketHandshakes();
+        filter = new RemotingWebSocketTicketFilter(handshakes, lifecycleHandler::getCurrentDolphinSession);
+        httpSession = createHttpSession();
+        clientId = clientSessionManager.createClientSession(httpSession);
+        responseHeaders.clear();
+        chainCalls.set(0);
+        status = HttpServletResponse.SC_OK;
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        clientSessionManager.resetClientSessionForThread();
+    }
+
+    @Test
+    public void testRequestWithoutTicketHeaderIsPassed() throws Exception {
+        //given:
+        clientSessionManager.setClientSessionForThread(httpSession, clientId);
+
+        //when:
+        filter.doFilter(createRequest(false), createResponse(), chain);
+
+        //then:
+        assertEquals(chainCalls.get(), 1);
+        assertNull(responseHeaders.get(PlatformRemotingConstants.WEBSOCKET_TICKET_HEADER));
+    }
+
+    @Test
+    public void testTicketIsIssued() throws Exception {
+        //given:
+        clientSessionManager.setClientSessionForThread(httpSession, clientId);
+
+        //when:
+        filter.doFilter(createRequest(true), createResponse(), chain);
+
+        //then:
+        assertEquals(chainCalls.get(), 0);
+        assertEquals(status, HttpServletResponse.SC_OK);
+        final String ticket = responseHeaders.get(PlatformRemotingConstants.WEBSOCKET_TICKET_HEADER);
+        assertNotNull(ticket);
+
+        //when:
+        handshakes.confirm(ticket, httpSession);
+        final RemotingWebSocketHandshakes.Handshake handshake = handshakes.remove(ticket);
+
+        //then:
+        assertNotNull(handshake);
+        assertEquals(handshake.getClientId(), clientId);
+        assertEquals(handshake.getHttpSession(), httpSession);
+    }
+
+    @Test
+    public void testTicketIsNotIssuedWithoutClientSession() throws Exception {
+        //when:
+        filter.doFilter(createRequest(true), createResponse(), chain);
+
+        //then:
+        assertEquals(chainCalls.get(), 0);
+        assertEquals(status, HttpServletResponse.SC_BAD_REQUEST);
+        assertNull(responseHeaders.get(PlatformRemotingConstants.WEBSOCKET_TICKET_HEADER));
+    }
+
+    private HttpServletRequest createRequest(final boolean ticketRequested) {
+        return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpServletRequest.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getHeader":
+                    return ticketRequested && PlatformRemotingConstants.WEBSOCKET_TICKET_HEADER.equals(args[0]) ? "request" : null;
+                case "getSession":
+                    return httpSession;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private HttpServletResponse createResponse() {
+        return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpServletResponse.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setHeader":
+                    responseHeaders.put((String) args[0], (String) args[1]);
+                    return null;
+                case "setStatus":
+                case "sendError":
+                    status = (Integer) args[0];
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private HttpSession createHttpSession() {
+        final String id = UUID.randomUUID().toString();
+        final Map<String, Object> attributes = new HashMap<>();
+        return (HttpSession) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpSession.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getId":
+                    return id;
+                case "getAttribute":
+                    return attributes.get(args[0]);
+                case "setAttribute":
+                    attributes.put((String) args[0], args[1]);
+                    return null;
+                case "hashCode":
+                    return id.hashCode();
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
@@ -15,7 +15,13 @@
  */
 package com.canoo.impl.server;
 
+import com.canoo.dp.impl.remoting.BeanRepository;
+import com.canoo.dp.impl.remoting.EventDispatcher;
+import com.canoo.dp.impl.remoting.MappingException;
 import com.canoo.dp.impl.remoting.PlatformRemotingConstants;
+import com.canoo.dp.impl.remoting.collections.ListMapperImpl;
+import com.canoo.dp.impl.remoting.commands.ListPermutationCommand;
+import com.canoo.dp.impl.remoting.commands.ListSpliceCommand;
 import com.canoo.dp.impl.remoting.converters.DolphinBeanConverterFactory;
 import com.canoo.dp.impl.remoting.legacy.RemotingConstants;
 import com.canoo.dp.impl.remoting.legacy.core.PresentationModel;
@@ -149,6 +155,34 @@ public class TestObservableListSync extends AbstractDolphinBasedTest {
         assertThat(change.getAttribute("0").getValue(), allOf(instanceOf(String.class), is((Object) value)));
     }
 
+    @Test
+    public void sortingPrimitiveListAsUser_shouldReplaceReorderedRange() {
+        // given :
+        final ServerModelStore serverModelStore = createServerModelStore();
+        final BeanManager manager = createBeanManager(serverModelStore);
+
+        final ListReferenceModel model = manager.create(ListReferenceModel.class);
+        final PresentationModel sourceModel = serverModelStore.findAllPresentationModelsByType(ListReferenceModel.class.getName()).get(0);
+        model.getPrimitiveList().addAll(Arrays.asList("A", "C", "B", "D"));
+        removeAllPresentationModelsOfType(serverModelStore, PlatformRemotingConstants.LIST_SPLICE);
+
+        // when :
+        model.getPrimitiveList().sort(String::compareTo);
+
+        // then :
+        final List<ServerPresentationModel> changes = serverModelStore.findAllPresentationModelsByType(PlatformRemotingConstants.LIST_SPLICE);
+        assertThat(changes, hasSize(1));
+
+        final PresentationModel change = changes.get(0);
+        assertThat(change.getAttribute("source").getValue(), allOf(instanceOf(String.class), is((Object) sourceModel.getId())));
+        assertThat(change.getAttribute("attribute").getValue(), allOf(instanceOf(String.class), is((Object) "primitiveList")));
+        assertThat(change.getAttribute("from").getValue(), allOf(instanceOf(Integer.class), is((Object) 1)));
+        assertThat(change.getAttribute("to").getValue(), allOf(instanceOf(Integer.class), is((Object) 3)));
+        assertThat(change.getAttribute("count").getValue(), allOf(instanceOf(Integer.class), is((Object) 2)));
+        assertThat(change.getAttribute("0").getValue(), allOf(instanceOf(String.class), is((Object) "B")));
+        assertThat(change.getAttribute("1").getValue(), allOf(instanceOf(String.class), is((Object) "C")));
+    }
+
     @Test
     public void addingPrimitiveNullAsUser_shouldAddElement() {
         // given :
@@ -1937,4 +1971,32 @@ public class TestObservableListSync extends AbstractDolphinBasedTest {
         assertThat(model.getPrimitiveList(), is(Arrays.asList("1", "2", "42", "4711", "Hello World")));
         assertThat(serverModelStore.findAllPresentationModelsByType(PlatformRemotingConstants.LIST_SPLICE), empty());
     }
+
+    @Test(expectedExceptions = MappingException.class)
+    public void invalidListSpliceCommand_shouldThrowMappingException() {
+        // given :
+        final ServerModelStore serverModelStore = createServerModelStore();
+        final EventDispatcher dispatcher = createEventDispatcher(serverModelStore);
+        final ListMapperImpl listMapper = createListMapper(serverModelStore, createBeanRepository(serverModelStore, dispatcher), dispatcher);
+
+        // when :
+        listMapper.onListSplice(new ListSpliceCommand("unknown-bean", "primitiveList", 0, 0, Collections.emptyList()));
+    }
+
+    @Test(expectedExceptions = MappingException.class)
+    public void invalidListPermutationCommand_shouldThrowMappingException() {
+        // given :
+        final ServerModelStore serverModelStore = createServerModelStore();
+        final EventDispatcher dispatcher = createEventDispatcher(serverModelStore);
+        final BeanRepository beanRepository = createBeanRepository(serverModelStore, dispatcher);
+        final BeanManager manager = createBeanManager(serverModelStore, beanRepository, dispatcher);
+        final ListMapperImpl listMapper = createListMapper(serverModelStore, beanRepository, dispatcher);
+
+        final ListReferenceModel model = manager.create(ListReferenceModel.class);
+        final PresentationModel sourceModel = serverModelStore.findAllPresentationModelsByType(ListReferenceModel.class.getName()).get(0);
+        model.getPrimitiveList().addAll(Arrays.asList("1", "2"));
+
+        // when :
+        listMapper.onListPermutation(new ListPermutationCommand(sourceModel.getId(), "primitiveList", 0, new int[]{0, 0}));
+    }
 }
@@ -152,7 +152,7 @@ public class TestPropertyValue extends AbstractDolphinBasedTest {
         assertThat(dateAttribute.getValue(), nullValue());
 
         model.getDateProperty().set(date1.getTime());
-        assertThat((String) dateAttribute.getValue(), is("2016-02-29T22:01:02.003Z"));
+        assertThat(dateAttribute.getValue(), is((Object) date1.getTime()));
         assertThat(model.getDateProperty().get(), is(date1.getTime()));
 
         dateAttribute.setValue("2016-02-29T00:01:02.003Z");
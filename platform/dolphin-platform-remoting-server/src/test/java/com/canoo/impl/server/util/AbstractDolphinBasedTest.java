@@ -79,6 +79,13 @@ public abstract class AbstractDolphinBasedTest {
         return new BeanManagerImpl(beanRepository, beanBuilder);
     }
 
+    protected ListMapperImpl createListMapper(ServerModelStore serverModelStore, BeanRepository beanRepository, EventDispatcher dispatcher) {
+        final Converters converters = new Converters(beanRepository);
+        final PresentationModelBuilderFactory builderFactory = new ServerPresentationModelBuilderFactory(serverModelStore);
+        final ClassRepository classRepository = new ClassRepositoryImpl(serverModelStore, converters, builderFactory);
+        return new ListMapperImpl(serverModelStore, classRepository, beanRepository, builderFactory, dispatcher);
+    }
+
 
     protected BeanManager createBeanManager(ServerModelStore serverModelStore) {
         final EventDispatcher dispatcher = new ServerEventDispatcher(serverModelStore);
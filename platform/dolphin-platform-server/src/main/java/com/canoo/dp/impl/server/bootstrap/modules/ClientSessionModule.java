@@ -86,11 +86,13 @@ public class ClientSessionModule extends AbstractBaseModule {
 
 
         final ClientSessionManager clientSessionManager = new ClientSessionManager(configuration, lifecycleHandler);
+        coreComponents.provideInstance(ClientSessionManager.class, clientSessionManager);
 
         final List<String> endpointList = configuration.getListProperty(ID_FILTER_URL_MAPPINGS, ID_FILTER_URL_MAPPINGS_DEFAULT_VALUE);
         final String[] endpoints = endpointList.toArray(new String[endpointList.size()]);
         final ClientSessionFilter filter = new ClientSessionFilter(clientSessionManager);
         final FilterRegistration.Dynamic createdFilter = servletContext.addFilter(DOLPHIN_CLIENT_ID_FILTER_NAME, filter);
+        createdFilter.setAsyncSupported(true);
         createdFilter.addMappingForUrlPatterns(EnumSet.allOf(DispatcherType.class), true, endpoints);
 
         final HttpSessionCleanerListener sessionCleaner = new HttpSessionCleanerListener(clientSessionManager);
@@ -59,13 +59,18 @@ public class ServerTimingFilter implements Filter {
             chain.doFilter(request, responseWrapper);
             totalMetric.stop();
         } finally {
-            if(addServerTiming) {
-                timing.dump((HttpServletResponse) response);
-            } else {
+            timingLocal.set(null);
+            if(request.isAsyncStarted()) {
+                //The response will be written by the dispatch that resumes the async request
                 timing.clear();
+            } else {
+                if(addServerTiming) {
+                    timing.dump((HttpServletResponse) response);
+                } else {
+                    timing.clear();
+                }
+                responseWrapper.flushBuffer();
             }
-            timingLocal.set(null);
-            responseWrapper.flushBuffer();
         }
     }
 